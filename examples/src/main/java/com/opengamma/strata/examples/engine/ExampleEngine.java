@@ -19,6 +19,8 @@ import com.opengamma.strata.engine.marketdata.function.ObservableMarketDataFunct
 import com.opengamma.strata.engine.marketdata.function.TimeSeriesProvider;
 import com.opengamma.strata.engine.marketdata.mapping.FeedIdMapping;
 import com.opengamma.strata.examples.marketdata.ExampleMarketData;
+import com.opengamma.strata.function.marketdata.credit.IsdaCreditCurveMarketDataFunction;
+import com.opengamma.strata.function.marketdata.credit.IsdaYieldCurveMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.DiscountFactorsMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.IborIndexRatesMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.OvernightIndexRatesMarketDataFunction;
@@ -59,7 +61,9 @@ public final class ExampleEngine {
         FeedIdMapping.identity(),
         new DiscountFactorsMarketDataFunction(),
         new IborIndexRatesMarketDataFunction(),
-        new OvernightIndexRatesMarketDataFunction());
+        new OvernightIndexRatesMarketDataFunction(),
+        new IsdaYieldCurveMarketDataFunction(),
+        new IsdaCreditCurveMarketDataFunction());
 
     // combine the runner and market data factory
     return new DefaultCalculationEngine(calcRunner, marketDataFactory, LinkResolver.none());
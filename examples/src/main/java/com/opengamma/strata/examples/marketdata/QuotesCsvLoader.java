@@ -10,7 +10,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.opengamma.strata.collect.id.StandardId;
-import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvIterator;
+import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.market.id.QuoteId;
 
@@ -43,19 +44,24 @@ public final class QuotesCsvLoader {
    */
   public static Map<QuoteId, Double> loadQuotes(ResourceLocator quotesResource, LocalDate marketDataDate) {
     Map<QuoteId, Double> map = new HashMap<>();
-    CsvFile csv = CsvFile.of(quotesResource.getCharSource(), true);
-    for (int i = 0; i < csv.rowCount(); i++) {
-      String dateText = csv.field(i, DATE_NAME);
-      LocalDate date = LocalDate.parse(dateText);
-      if (!date.equals(marketDataDate)) {
-        continue;
-      }
-      String schemeText = csv.field(i, SCHEME_NAME);
-      String tickerText = csv.field(i, TICKER_NAME);
-      String valueText = csv.field(i, VALUE_NAME);
-      double value = Double.valueOf(valueText);
+    // the rows are read one at a time, so only the quotes for the date are held in memory
+    try (CsvIterator csv = CsvIterator.of(quotesResource.getCharSource(), true)) {
+      int dateIndex = csv.headerIndex(DATE_NAME);
+      int schemeIndex = csv.headerIndex(SCHEME_NAME);
+      int tickerIndex = csv.headerIndex(TICKER_NAME);
+      int valueIndex = csv.headerIndex(VALUE_NAME);
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
+        LocalDate date = row.parseDate(dateIndex);
+        if (!date.equals(marketDataDate)) {
+          continue;
+        }
+        String schemeText = row.field(schemeIndex);
+        String tickerText = row.field(tickerIndex);
+        double value = row.parseDouble(valueIndex);
 
-      map.put(QuoteId.of(StandardId.of(schemeText, tickerText)), value);
+        map.put(QuoteId.of(StandardId.of(schemeText, tickerText)), value);
+      }
     }
     return map;
   }
@@ -27,6 +27,8 @@ import com.opengamma.strata.basics.interpolator.CurveExtrapolator;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvIterator;
+import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.examples.marketdata.LoaderUtils;
 import com.opengamma.strata.market.curve.Curve;
@@ -257,33 +259,36 @@ public final class RatesCurvesCsvLoader {
       Map<LoadedCurveName, LoadedCurveSettings> settingsMap,
       LocalDate curveDate) {
 
-    // parse the curve nodes
-    CsvFile csv = CsvFile.of(curvesResource.getCharSource(), true);
+    // parse the curve nodes, reading the rows one at a time so only the nodes for the date are held in memory
     Map<LoadedCurveKey, List<LoadedCurveNode>> builders = new HashMap<>();
-    for (int i = 0; i < csv.rowCount(); i++) {
-      String valuationDateText = csv.field(i, CURVE_DATE);
-      String curveGroup = csv.field(i, CURVE_GROUP_NAME);
-      String curveName = csv.field(i, CURVE_NAME);
-      String pointDateText = csv.field(i, CURVE_POINT_DATE);
-      String pointValueText = csv.field(i, CURVE_POINT_VALUE);
-      String pointLabel = csv.field(i, CURVE_POINT_LABEL);
-
-      LocalDate valuationDate = LocalDate.parse(valuationDateText);
-      if (curveDate != null && !valuationDate.equals(curveDate)) {
-        continue;
-      }
-
-      LocalDate pointDate = LocalDate.parse(pointDateText);
-      double pointValue = Double.valueOf(pointValueText);
+    try (CsvIterator csv = CsvIterator.of(curvesResource.getCharSource(), true)) {
+      int valuationDateIndex = csv.headerIndex(CURVE_DATE);
+      int curveGroupIndex = csv.headerIndex(CURVE_GROUP_NAME);
+      int curveNameIndex = csv.headerIndex(CURVE_NAME);
+      int pointDateIndex = csv.headerIndex(CURVE_POINT_DATE);
+      int pointValueIndex = csv.headerIndex(CURVE_POINT_VALUE);
+      int pointLabelIndex = csv.headerIndex(CURVE_POINT_LABEL);
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
+        LocalDate valuationDate = row.parseDate(valuationDateIndex);
+        if (curveDate != null && !valuationDate.equals(curveDate)) {
+          continue;
+        }
+        String curveGroup = row.field(curveGroupIndex);
+        String curveName = row.field(curveNameIndex);
+        String pointLabel = row.field(pointLabelIndex);
+        LocalDate pointDate = row.parseDate(pointDateIndex);
+        double pointValue = row.parseDouble(pointValueIndex);
 
-      LoadedCurveKey key = LoadedCurveKey.of(valuationDate, curveGroup, curveName);
-      List<LoadedCurveNode> curveNodes = builders.get(key);
-      if (curveNodes == null) {
-        curveNodes = new ArrayList<LoadedCurveNode>();
-        builders.put(key, curveNodes);
+        LoadedCurveKey key = LoadedCurveKey.of(valuationDate, curveGroup, curveName);
+        List<LoadedCurveNode> curveNodes = builders.get(key);
+        if (curveNodes == null) {
+          curveNodes = new ArrayList<LoadedCurveNode>();
+          builders.put(key, curveNodes);
+        }
+        LoadedCurveNode curvePoint = LoadedCurveNode.of(pointDate, pointValue, pointLabel);
+        curveNodes.add(curvePoint);
       }
-      LoadedCurveNode curvePoint = LoadedCurveNode.of(pointDate, pointValue, pointLabel);
-      curveNodes.add(curvePoint);
     }
 
     // build the curves
@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.examples.marketdata.timeseries;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.engine.marketdata.function.MappedTimeSeriesProvider;
+
+/**
+ * Converts historical fixing series from CSV resources to the binary format read by
+ * {@link MappedTimeSeriesProvider}.
+ * <p>
+ * The CSV resources are in the format read by {@link FixingSeriesCsvLoader}.
+ * Reading the binary file does not require the time-series to be parsed or copied onto the heap,
+ * which is faster and uses less memory than loading the CSV resources when there are many long series.
+ */
+public class FixingSeriesBinaryConverter {
+
+  /**
+   * Restricted constructor.
+   */
+  private FixingSeriesBinaryConverter() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts historical fixing series from CSV resources to a binary file.
+   * <p>
+   * The first argument is the path of the binary file to write.
+   * The remaining arguments are the CSV resources to read, in the format used by {@link ResourceLocator}.
+   *
+   * @param args  the path of the binary file followed by the CSV resources
+   */
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.err.println("Usage: FixingSeriesBinaryConverter <output file> <CSV resource>...");
+      System.exit(1);
+    }
+    Collection<ResourceLocator> resources = Arrays.stream(args, 1, args.length)
+        .map(ResourceLocator::of)
+        .collect(Guavate.toImmutableList());
+    convert(resources, Paths.get(args[0]));
+  }
+
+  /**
+   * Converts historical fixing series from CSV resources to a binary file.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param fixingSeriesResources  the fixing series CSV resources
+   * @param path  the path of the binary file to write
+   */
+  public static void convert(Collection<ResourceLocator> fixingSeriesResources, Path path) {
+    Map<ObservableId, LocalDateDoubleTimeSeries> fixingSeries =
+        FixingSeriesCsvLoader.loadFixingSeries(fixingSeriesResources);
+    MappedTimeSeriesProvider.write(path, fixingSeries);
+  }
+
+}
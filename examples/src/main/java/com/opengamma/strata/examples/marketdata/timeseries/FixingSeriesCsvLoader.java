@@ -15,7 +15,8 @@ import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.index.RateIndex;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.collect.Messages;
-import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvIterator;
+import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
@@ -63,30 +64,36 @@ public class FixingSeriesCsvLoader {
   // loads a single fixing series CSV file
   private static Map<ObservableId, LocalDateDoubleTimeSeries> loadFixingSeries(ResourceLocator resourceLocator) {
     Map<ObservableId, LocalDateDoubleTimeSeriesBuilder> builders = new HashMap<>();
-    CsvFile csv;
+    CsvIterator csv;
     try {
-      csv = CsvFile.of(resourceLocator.getCharSource(), true);
+      csv = CsvIterator.of(resourceLocator.getCharSource(), true);
     } catch (IllegalArgumentException e) {
       throw new IllegalArgumentException(
           Messages.format("Error processing resource as CSV file: {}", resourceLocator), e);
     }
-    for (int i = 0; i < csv.rowCount(); i++) {
-      String reference = csv.field(i, REFERENCE_FIELD);
-      String dateText = csv.field(i, DATE_FIELD);
-      String valueText = csv.field(i, VALUE_FIELD);
+    try {
+      int referenceIndex = csv.headerIndex(REFERENCE_FIELD);
+      int dateIndex = csv.headerIndex(DATE_FIELD);
+      int valueIndex = csv.headerIndex(VALUE_FIELD);
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
+        String reference = row.field(referenceIndex);
 
-      RateIndex index = LoaderUtils.findIndex(reference);
-      ObservableId id = IndexRateId.of(index);
+        RateIndex index = LoaderUtils.findIndex(reference);
+        ObservableId id = IndexRateId.of(index);
 
-      LocalDate date = LocalDate.parse(dateText);
-      double value = Double.parseDouble(valueText);
+        LocalDate date = row.parseDate(dateIndex);
+        double value = row.parseDouble(valueIndex);
 
-      LocalDateDoubleTimeSeriesBuilder builder = builders.get(id);
-      if (builder == null) {
-        builder = LocalDateDoubleTimeSeries.builder();
-        builders.put(id, builder);
+        LocalDateDoubleTimeSeriesBuilder builder = builders.get(id);
+        if (builder == null) {
+          builder = LocalDateDoubleTimeSeries.builder();
+          builders.put(id, builder);
+        }
+        builder.put(date, value);
       }
-      builder.put(date, value);
+    } finally {
+      csv.close();
     }
 
     return builders.entrySet().stream()
@@ -298,6 +298,9 @@ public interface HolidayCalendar
    * <p>
    * The resulting calendar will declare a day as a business day if it is a
    * business day in both source calendars.
+   * <p>
+   * Where possible, the combination is evaluated eagerly into a single calendar,
+   * such that queries on the result do not need to query both source calendars.
    * 
    * @param other  the other holiday calendar
    * @return the combined calendar
@@ -311,7 +314,7 @@ public interface HolidayCalendar
     if (other == HolidayCalendars.NO_HOLIDAYS) {
       return this;
     }
-    return new HolidayCalendars.Combined(this, other);
+    return HolidayCalendars.combined(this, other);
   }
 
   //-------------------------------------------------------------------------
@@ -7,6 +7,7 @@ package com.opengamma.strata.basics.date;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Optional;
 
 import com.google.common.base.Splitter;
 import com.opengamma.strata.collect.ArgChecker;
@@ -174,6 +175,32 @@ public final class HolidayCalendars {
     return ENUM_LOOKUP.lookup(uniqueName);
   }
 
+  /**
+   * Obtains a calendar that combines two calendars.
+   * <p>
+   * If either calendar is an {@link ImmutableHolidayCalendar}, the other calendar is evaluated
+   * for each date in its range, producing a single immutable calendar.
+   * This ensures that the combined calendar benefits from the bitmask implementation.
+   * Otherwise, the calendars are combined lazily, with each query delegating to both calendars.
+   * 
+   * @param calendar1  the first calendar
+   * @param calendar2  the second calendar
+   * @return the combined calendar
+   */
+  static HolidayCalendar combined(HolidayCalendar calendar1, HolidayCalendar calendar2) {
+    ArgChecker.notNull(calendar1, "calendar1");
+    ArgChecker.notNull(calendar2, "calendar2");
+    String name = calendar1.getName() + "+" + calendar2.getName();
+    Optional<ImmutableHolidayCalendar> eager = Optional.empty();
+    if (calendar1 instanceof ImmutableHolidayCalendar) {
+      eager = ((ImmutableHolidayCalendar) calendar1).combineEagerly(calendar2, name);
+    }
+    if (!eager.isPresent() && calendar2 instanceof ImmutableHolidayCalendar) {
+      eager = ((ImmutableHolidayCalendar) calendar2).combineEagerly(calendar1, name);
+    }
+    return eager.isPresent() ? eager.get() : new Combined(calendar1, calendar2);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Restricted constructor.
@@ -184,6 +211,8 @@ public final class HolidayCalendars {
   //-------------------------------------------------------------------------
   /**
    * Implementation of the combined holiday calendar.
+   * <p>
+   * This is used when the combination cannot be evaluated eagerly into an {@link ImmutableHolidayCalendar}.
    */
   static final class Combined implements HolidayCalendar, Serializable {
 
@@ -9,10 +9,13 @@ import java.io.Serializable;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeSet;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -288,21 +291,28 @@ public final class ImmutableHolidayCalendar
     // find data for month
     int index = (baseYear - startYear) * 12 + baseMonth - 1;
     int monthData = lookup[index];
-    // loop around amount, the number of days to shift by
     // use domOffset to keep track of day-of-month
     int domOffset = baseDom0;
-    for (int amt = amount; amt > 0; amt--) {
+    int amt = amount;
+    // skip whole months while they contain fewer business days than the remaining amount
+    // use JDK bitCount() method which is mapped to a fast intrinsic
+    int count = Integer.bitCount(monthData >> domOffset);
+    while (count < amt) {
+      amt -= count;
+      index++;
+      monthData = lookup[index];
+      domOffset = 0;
+      count = Integer.bitCount(monthData);
+    }
+    // loop around amount, the number of days to shift by, knowing the month contains the target
+    for (; amt > 0; amt--) {
       // shift to move the target day-of-month into bit-0, removing earlier days
       int shifted = monthData >> domOffset;
-      // recurse to next month if no more business days in the month
-      if (shifted == 0) {
-        return baseMonth == 12 ? shiftNext(baseYear + 1, 1, 0, amt) : shiftNext(baseYear, baseMonth + 1, 0, amt);
-      }
       // find least significant bit, which is next business day
       // use JDK numberOfTrailingZeros() method which is mapped to a fast intrinsic
       domOffset += (Integer.numberOfTrailingZeros(shifted) + 1);
     }
-    return LocalDate.of(baseYear, baseMonth, domOffset);
+    return LocalDate.of(startYear + index / 12, index % 12 + 1, domOffset);
   }
 
   //-------------------------------------------------------------------------
@@ -322,26 +332,34 @@ public final class ImmutableHolidayCalendar
   }
 
   // shift to an earlier working day, following previousOrSame semantics
-  // input day-of-month is one-based and may be zero or negative
+  // input day-of-month is one-based and may be zero
   private LocalDate shiftPrev(int baseYear, int baseMonth, int baseDom, int amount) {
     // find data for month
     int index = (baseYear - startYear) * 12 + baseMonth - 1;
     int monthData = lookup[index];
-    // loop around amount, the number of days to shift by
     // use domOffset to keep track of day-of-month
     int domOffset = baseDom;
-    for (int amt = amount; amt < 0; amt++) {
+    int amt = amount;
+    // skip whole months while they contain fewer business days than the remaining amount
+    // the mask removes later days, the bits for day-of-month 31 and earlier are always within the mask
+    // use JDK bitCount() method which is mapped to a fast intrinsic
+    int count = Integer.bitCount(monthData & ((1 << domOffset) - 1));
+    while (count < -amt) {
+      amt += count;
+      index--;
+      monthData = lookup[index];
+      domOffset = 31;
+      count = Integer.bitCount(monthData);
+    }
+    // loop around amount, the number of days to shift by, knowing the month contains the target
+    for (; amt < 0; amt++) {
       // shift to move the target day-of-month into bit-31, removing later days
       int shifted = (monthData << (32 - domOffset));
-      // recurse to previous month if no more business days in the month
-      if (shifted == 0 || domOffset <= 0) {
-        return baseMonth == 1 ? shiftPrev(baseYear - 1, 12, 31, amt) : shiftPrev(baseYear, baseMonth - 1, 31, amt);
-      }
       // find most significant bit, which is previous business day
       // use JDK numberOfLeadingZeros() method which is mapped to a fast intrinsic
       domOffset -= (Integer.numberOfLeadingZeros(shifted) + 1);
     }
-    return LocalDate.of(baseYear, baseMonth, domOffset + 1);
+    return LocalDate.of(startYear + index / 12, index % 12 + 1, domOffset + 1);
   }
 
   //-------------------------------------------------------------------------
@@ -420,6 +438,52 @@ public final class ImmutableHolidayCalendar
     }
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    if (startInclusive.equals(endExclusive)) {
+      return 0;
+    }
+    try {
+      // find data for months
+      int startIndex = (startInclusive.getYear() - startYear) * 12 + startInclusive.getMonthValue() - 1;
+      int endIndex = (endExclusive.getYear() - startYear) * 12 + endExclusive.getMonthValue() - 1;
+      // mask of the start day-of-month and later days, and mask of the days before the end day-of-month
+      int startMask = -1 << (startInclusive.getDayOfMonth() - 1);
+      int endMask = (1 << (endExclusive.getDayOfMonth() - 1)) - 1;
+      // count the business days of each month
+      // use JDK bitCount() method which is mapped to a fast intrinsic
+      if (startIndex == endIndex) {
+        return Integer.bitCount(lookup[startIndex] & startMask & endMask);
+      }
+      int total = Integer.bitCount(lookup[startIndex] & startMask);
+      for (int i = startIndex + 1; i < endIndex; i++) {
+        total += Integer.bitCount(lookup[i]);
+      }
+      // the end month is not queried if the end is the first of the month, as it may be outside the range
+      if (endMask != 0) {
+        total += Integer.bitCount(lookup[endIndex] & endMask);
+      }
+      return total;
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      if (startYear == 0) {
+        return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+      }
+      LocalDate invalid = startInclusive.isBefore(range.getStart()) ? startInclusive : endExclusive;
+      throw new IllegalArgumentException(rangeError(invalid));
+    }
+  }
+
+  @Override
+  public int daysBetween(LocalDateRange dateRange) {
+    ArgChecker.notNull(dateRange, "dateRange");
+    return daysBetween(dateRange.getStart(), dateRange.getEndExclusive());
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public HolidayCalendar combineWith(HolidayCalendar other) {
@@ -443,6 +507,44 @@ public final class ImmutableHolidayCalendar
     return HolidayCalendar.super.combineWith(other);
   }
 
+  // combines with a calendar of a different type, evaluating the other calendar for each day in the range
+  // the combined name is specified, as this calendar may be either the first or second in the name
+  // the result is empty if this calendar has no range or the other calendar cannot be evaluated over it
+  Optional<ImmutableHolidayCalendar> combineEagerly(HolidayCalendar other, String combinedName) {
+    if (startYear == 0) {
+      return Optional.empty();
+    }
+    try {
+      // a day-of-week with no business days in the other calendar is a weekend day
+      int[] otherBusinessDays = new int[7];
+      SortedSet<LocalDate> combinedHolidays = new TreeSet<>();
+      for (LocalDate date = range.getStart(); date.isBefore(range.getEndExclusive()); date = date.plusDays(1)) {
+        boolean otherHoliday = other.isHoliday(date);
+        if (!otherHoliday) {
+          otherBusinessDays[date.getDayOfWeek().ordinal()]++;
+        }
+        if ((otherHoliday || isHoliday(date)) && !weekendDays.contains(date.getDayOfWeek())) {
+          combinedHolidays.add(date);
+        }
+      }
+      Set<DayOfWeek> combinedWeekends = EnumSet.noneOf(DayOfWeek.class);
+      combinedWeekends.addAll(weekendDays);
+      for (DayOfWeek dow : DayOfWeek.values()) {
+        if (otherBusinessDays[dow.ordinal()] == 0) {
+          combinedWeekends.add(dow);
+        }
+      }
+      combinedHolidays.removeIf(date -> combinedWeekends.contains(date.getDayOfWeek()));
+      ImmutableHolidayCalendar combined =
+          new ImmutableHolidayCalendar(combinedName, combinedHolidays, combinedWeekends);
+      // the range is defined by the holidays, so it may differ if holidays became weekend days
+      return combined.range.equals(range) ? Optional.of(combined) : Optional.empty();
+
+    } catch (IllegalArgumentException ex) {
+      return Optional.empty();
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public boolean equals(Object obj) {
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+/**
+ * A curve extrapolator that can be bound to the nodes of a curve.
+ * <p>
+ * The extrapolator is bound separately for each end of the curve.
+ * The bound form is only defined beyond that end of the curve.
+ * See {@link BoundCurveExtrapolators} for the standard implementations.
+ */
+public interface BindableCurveExtrapolator extends CurveExtrapolator {
+
+  /**
+   * Binds this extrapolator to the left of the specified nodes.
+   * <p>
+   * The x-values must be sorted and distinct, and there must be at least two nodes.
+   * The arrays are not copied and must not be altered after this method is called.
+   * 
+   * @param xValues  the x-values of the nodes
+   * @param yValues  the y-values of the nodes
+   * @param interpolator  the interpolator bound to the same nodes
+   * @return the bound extrapolator, defined for x-values smaller than the first x-value
+   */
+  public abstract BoundCurveInterpolator bindLeft(
+      double[] xValues,
+      double[] yValues,
+      BoundCurveInterpolator interpolator);
+
+  /**
+   * Binds this extrapolator to the right of the specified nodes.
+   * <p>
+   * The x-values must be sorted and distinct, and there must be at least two nodes.
+   * The arrays are not copied and must not be altered after this method is called.
+   * 
+   * @param xValues  the x-values of the nodes
+   * @param yValues  the y-values of the nodes
+   * @param interpolator  the interpolator bound to the same nodes
+   * @return the bound extrapolator, defined for x-values larger than the last x-value
+   */
+  public abstract BoundCurveInterpolator bindRight(
+      double[] xValues,
+      double[] yValues,
+      BoundCurveInterpolator interpolator);
+
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+/**
+ * A curve interpolator that can be bound to the nodes of a curve.
+ * <p>
+ * Curves use the bound form, avoiding the legacy interpolation code.
+ * See {@link BoundCurveInterpolators} for the standard implementations.
+ */
+public interface BindableCurveInterpolator extends CurveInterpolator {
+
+  /**
+   * Binds this interpolator to the specified nodes.
+   * <p>
+   * The x-values must be sorted and distinct, and there must be at least two nodes.
+   * The arrays are not copied and must not be altered after this method is called.
+   * <p>
+   * The bound interpolator is only defined between the first and last x-value.
+   * It is typically combined with extrapolators using
+   * {@link BoundCurveInterpolators#combined(BoundCurveInterpolator, BoundCurveInterpolator, BoundCurveInterpolator,
+   * double[]) BoundCurveInterpolators.combined}.
+   * 
+   * @param xValues  the x-values of the nodes
+   * @param yValues  the y-values of the nodes
+   * @return the bound interpolator
+   */
+  public abstract BoundCurveInterpolator bind(double[] xValues, double[] yValues);
+
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The standard bound curve extrapolators.
+ * <p>
+ * Each extrapolator is bound to one end of the curve, identified by the index of the end node.
+ * The gradient at the end node, and its sensitivity to the y-values of the nodes,
+ * are calculated from the interpolator when the extrapolator is bound.
+ */
+public final class BoundCurveExtrapolators {
+
+  /**
+   * Restricted constructor.
+   */
+  private BoundCurveExtrapolators() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an extrapolator that returns the y-value of the end node.
+   *
+   * @param yValues  the y-values of the nodes
+   * @param nodeIndex  the index of the end node, either zero or the index of the last node
+   * @return the bound extrapolator
+   */
+  public static BoundCurveInterpolator flat(double[] yValues, int nodeIndex) {
+    ArgChecker.notNull(yValues, "yValues");
+    ArgChecker.inRange(nodeIndex, 0, yValues.length, "nodeIndex");
+    return new Flat(yValues[nodeIndex], nodeIndex);
+  }
+
+  /**
+   * Obtains an extrapolator that is linear in the y-values, continuing the gradient at the end node.
+   *
+   * @param xValues  the x-values of the nodes
+   * @param yValues  the y-values of the nodes
+   * @param nodeIndex  the index of the end node, either zero or the index of the last node
+   * @param interpolator  the interpolator bound to the same nodes
+   * @return the bound extrapolator
+   */
+  public static BoundCurveInterpolator linear(
+      double[] xValues,
+      double[] yValues,
+      int nodeIndex,
+      BoundCurveInterpolator interpolator) {
+
+    ArgChecker.notNull(xValues, "xValues");
+    ArgChecker.notNull(yValues, "yValues");
+    ArgChecker.inRange(nodeIndex, 0, xValues.length, "nodeIndex");
+    ArgChecker.notNull(interpolator, "interpolator");
+    return new Linear(xValues[nodeIndex], yValues[nodeIndex], nodeIndex, interpolator, xValues.length);
+  }
+
+  /**
+   * Obtains an extrapolator that is linear in the log of the y-values, continuing the gradient at the end node.
+   * <p>
+   * This is exponential extrapolation of the y-values. The y-values must be positive.
+   *
+   * @param xValues  the x-values of the nodes
+   * @param yValues  the y-values of the nodes
+   * @param nodeIndex  the index of the end node, either zero or the index of the last node
+   * @param interpolator  the interpolator bound to the same nodes
+   * @return the bound extrapolator
+   */
+  public static BoundCurveInterpolator logLinear(
+      double[] xValues,
+      double[] yValues,
+      int nodeIndex,
+      BoundCurveInterpolator interpolator) {
+
+    ArgChecker.notNull(xValues, "xValues");
+    ArgChecker.notNull(yValues, "yValues");
+    ArgChecker.inRange(nodeIndex, 0, xValues.length, "nodeIndex");
+    ArgChecker.notNull(interpolator, "interpolator");
+    return new LogLinear(xValues[nodeIndex], yValues[nodeIndex], nodeIndex, interpolator, xValues.length);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Flat extrapolation.
+   */
+  private static final class Flat implements BoundCurveInterpolator {
+
+    private final double yValue;
+    private final int nodeIndex;
+
+    Flat(double yValue, int nodeIndex) {
+      this.yValue = yValue;
+      this.nodeIndex = nodeIndex;
+    }
+
+    @Override
+    public double interpolate(double x) {
+      return yValue;
+    }
+
+    @Override
+    public double firstDerivative(double x) {
+      return 0d;
+    }
+
+    @Override
+    public void parameterSensitivity(double x, double[] result) {
+      Arrays.fill(result, 0d);
+      result[nodeIndex] = 1d;
+    }
+
+    @Override
+    public void firstDerivativeParameterSensitivity(double x, double[] result) {
+      Arrays.fill(result, 0d);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Linear extrapolation.
+   */
+  private static final class Linear implements BoundCurveInterpolator {
+
+    private final double xValue;
+    private final double yValue;
+    private final int nodeIndex;
+    private final double gradient;
+    private final double[] gradientSensitivity;
+
+    Linear(double xValue, double yValue, int nodeIndex, BoundCurveInterpolator interpolator, int size) {
+      this.xValue = xValue;
+      this.yValue = yValue;
+      this.nodeIndex = nodeIndex;
+      this.gradient = interpolator.firstDerivative(xValue);
+      this.gradientSensitivity = new double[size];
+      interpolator.firstDerivativeParameterSensitivity(xValue, gradientSensitivity);
+    }
+
+    @Override
+    public double interpolate(double x) {
+      return yValue + gradient * (x - xValue);
+    }
+
+    @Override
+    public double firstDerivative(double x) {
+      return gradient;
+    }
+
+    @Override
+    public void parameterSensitivity(double x, double[] result) {
+      double dx = x - xValue;
+      for (int k = 0; k < result.length; k++) {
+        result[k] = gradientSensitivity[k] * dx;
+      }
+      result[nodeIndex] += 1d;
+    }
+
+    @Override
+    public void firstDerivativeParameterSensitivity(double x, double[] result) {
+      System.arraycopy(gradientSensitivity, 0, result, 0, result.length);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Log-linear extrapolation.
+   */
+  private static final class LogLinear implements BoundCurveInterpolator {
+
+    private final double xValue;
+    private final double yValue;
+    private final int nodeIndex;
+    // the gradient of the log of the y-value
+    private final double gradient;
+    private final double[] gradientSensitivity;
+
+    LogLinear(double xValue, double yValue, int nodeIndex, BoundCurveInterpolator interpolator, int size) {
+      this.xValue = xValue;
+      this.yValue = yValue;
+      this.nodeIndex = nodeIndex;
+      double derivative = interpolator.firstDerivative(xValue);
+      this.gradient = derivative / yValue;
+      this.gradientSensitivity = new double[size];
+      interpolator.firstDerivativeParameterSensitivity(xValue, gradientSensitivity);
+      for (int k = 0; k < size; k++) {
+        gradientSensitivity[k] /= yValue;
+      }
+      gradientSensitivity[nodeIndex] -= derivative / (yValue * yValue);
+    }
+
+    @Override
+    public double interpolate(double x) {
+      return yValue * Math.exp(gradient * (x - xValue));
+    }
+
+    @Override
+    public double firstDerivative(double x) {
+      return yValue * Math.exp(gradient * (x - xValue)) * gradient;
+    }
+
+    @Override
+    public void parameterSensitivity(double x, double[] result) {
+      double dx = x - xValue;
+      double value = yValue * Math.exp(gradient * dx);
+      for (int k = 0; k < result.length; k++) {
+        result[k] = value * gradientSensitivity[k] * dx;
+      }
+      result[nodeIndex] += value / yValue;
+    }
+
+    @Override
+    public void firstDerivativeParameterSensitivity(double x, double[] result) {
+      double dx = x - xValue;
+      double value = yValue * Math.exp(gradient * dx);
+      // derivative is value * gradient, where both depend on the nodes
+      for (int k = 0; k < result.length; k++) {
+        result[k] = value * gradientSensitivity[k] * (1d + gradient * dx);
+      }
+      result[nodeIndex] += value * gradient / yValue;
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+/**
+ * An interpolator that has been bound to the nodes of a curve.
+ * <p>
+ * A bound interpolator is created once for a set of nodes, allowing any coefficients that
+ * depend on the nodes to be calculated when the curve is created rather than on each call.
+ * The methods do not allocate memory, with the parameter sensitivity being written
+ * into an array supplied by the caller.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface BoundCurveInterpolator {
+
+  /**
+   * Computes the y-value for the specified x-value.
+   * 
+   * @param x  the x-value to find the y-value for
+   * @return the value at the x-value
+   */
+  public abstract double interpolate(double x);
+
+  /**
+   * Computes the first derivative of the y-value for the specified x-value.
+   * 
+   * @param x  the x-value to find the first derivative for
+   * @return the first derivative of the value at the x-value
+   */
+  public abstract double firstDerivative(double x);
+
+  /**
+   * Computes the sensitivity of the y-value with respect to the y-values of the nodes.
+   * <p>
+   * The array must have one element for each node. Every element is overwritten.
+   * 
+   * @param x  the x-value to find the sensitivity for
+   * @param result  the array to write the sensitivity to
+   */
+  public abstract void parameterSensitivity(double x, double[] result);
+
+  /**
+   * Computes the sensitivity of the first derivative with respect to the y-values of the nodes.
+   * <p>
+   * The array must have one element for each node. Every element is overwritten.
+   * 
+   * @param x  the x-value to find the sensitivity for
+   * @param result  the array to write the sensitivity to
+   */
+  public abstract void firstDerivativeParameterSensitivity(double x, double[] result);
+
+}
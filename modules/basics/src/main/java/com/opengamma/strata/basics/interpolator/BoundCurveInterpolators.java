@@ -0,0 +1,606 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The standard bound curve interpolators.
+ * <p>
+ * Each interpolator calculates any coefficients that depend on the nodes when it is bound.
+ * The interval containing an x-value is found by checking the interval of the previous call,
+ * which matches when a curve is evaluated at increasing x-values, such as the payment dates of a swap.
+ * Otherwise a binary search is used.
+ * <p>
+ * Between the first two nodes and the last two nodes, the interpolation formula of the end interval is used
+ * for x-values beyond the nodes. This is used by the extrapolators to calculate the gradient at the ends.
+ */
+public final class BoundCurveInterpolators {
+
+  /**
+   * Restricted constructor.
+   */
+  private BoundCurveInterpolators() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an interpolator that is linear in the y-values.
+   *
+   * @param xValues  the x-values of the nodes, sorted and distinct
+   * @param yValues  the y-values of the nodes
+   * @return the bound interpolator
+   */
+  public static BoundCurveInterpolator linear(double[] xValues, double[] yValues) {
+    return new Linear(xValues, yValues);
+  }
+
+  /**
+   * Obtains an interpolator that is linear in the log of the y-values.
+   * <p>
+   * The y-values must be positive.
+   *
+   * @param xValues  the x-values of the nodes, sorted and distinct
+   * @param yValues  the y-values of the nodes
+   * @return the bound interpolator
+   */
+  public static BoundCurveInterpolator logLinear(double[] xValues, double[] yValues) {
+    return new LogLinear(xValues, yValues);
+  }
+
+  /**
+   * Obtains an interpolator that uses a weighted average of two quadratics.
+   * <p>
+   * Each quadratic passes through three consecutive nodes. Within an interval, the y-value
+   * is the average of the quadratic centered on the left node and the quadratic centered on
+   * the right node, weighted linearly by the distance from the nodes.
+   * The first and last intervals use the single quadratic that is available.
+   * If there are only two nodes, the interpolation is linear.
+   *
+   * @param xValues  the x-values of the nodes, sorted and distinct
+   * @param yValues  the y-values of the nodes
+   * @return the bound interpolator
+   */
+  public static BoundCurveInterpolator doubleQuadratic(double[] xValues, double[] yValues) {
+    if (xValues.length == 2) {
+      return new Linear(xValues, yValues);
+    }
+    return new DoubleQuadratic(xValues, yValues);
+  }
+
+  /**
+   * Obtains an interpolator that uses a natural cubic spline.
+   * <p>
+   * The second derivative of the spline is zero at the first and last nodes.
+   *
+   * @param xValues  the x-values of the nodes, sorted and distinct
+   * @param yValues  the y-values of the nodes
+   * @return the bound interpolator
+   */
+  public static BoundCurveInterpolator naturalCubicSpline(double[] xValues, double[] yValues) {
+    return new NaturalCubicSpline(xValues, yValues);
+  }
+
+  /**
+   * Obtains an interpolator that combines an interpolator with two extrapolators.
+   * <p>
+   * The left extrapolator is used for x-values smaller than the first x-value.
+   * The right extrapolator is used for x-values larger than the last x-value.
+   *
+   * @param interpolator  the interpolator
+   * @param extrapolatorLeft  the left extrapolator
+   * @param extrapolatorRight  the right extrapolator
+   * @param xValues  the x-values of the nodes, sorted and distinct
+   * @return the bound interpolator
+   */
+  public static BoundCurveInterpolator combined(
+      BoundCurveInterpolator interpolator,
+      BoundCurveInterpolator extrapolatorLeft,
+      BoundCurveInterpolator extrapolatorRight,
+      double[] xValues) {
+
+    return new Combined(interpolator, extrapolatorLeft, extrapolatorRight, xValues);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Base class for interpolators, locating the interval containing an x-value.
+   */
+  private abstract static class AbstractBound implements BoundCurveInterpolator {
+
+    /**
+     * The x-values.
+     */
+    final double[] xValues;
+    /**
+     * The y-values.
+     */
+    final double[] yValues;
+    /**
+     * The index of the last interval.
+     */
+    final int lastInterval;
+    /**
+     * The interval of the previous call.
+     * This is not volatile as any value is valid, thus threads may safely see different values.
+     */
+    private int previousInterval;
+
+    AbstractBound(double[] xValues, double[] yValues) {
+      ArgChecker.notNull(xValues, "xValues");
+      ArgChecker.notNull(yValues, "yValues");
+      ArgChecker.isTrue(xValues.length >= 2, "Length of x-values must be at least 2");
+      ArgChecker.isTrue(xValues.length == yValues.length, "Length of x-values and y-values must match");
+      this.xValues = xValues;
+      this.yValues = yValues;
+      this.lastInterval = xValues.length - 2;
+    }
+
+    // finds the index of the node at the start of the interval containing the x-value
+    // the last node is in the last interval, and x-values outside the nodes are in the end intervals
+    final int interval(double x) {
+      int previous = previousInterval;
+      if (x >= xValues[previous] && x < xValues[previous + 1]) {
+        return previous;
+      }
+      int index;
+      if (x < xValues[1]) {
+        index = 0;
+      } else if (x >= xValues[lastInterval]) {
+        index = lastInterval;
+      } else {
+        int found = Arrays.binarySearch(xValues, x);
+        index = Math.min(Math.max(found >= 0 ? found : -found - 2, 0), lastInterval);
+      }
+      previousInterval = index;
+      return index;
+    }
+
+    @Override
+    public void parameterSensitivity(double x, double[] result) {
+      Arrays.fill(result, 0d);
+      addParameterSensitivity(x, interval(x), result);
+    }
+
+    @Override
+    public void firstDerivativeParameterSensitivity(double x, double[] result) {
+      Arrays.fill(result, 0d);
+      addFirstDerivativeParameterSensitivity(x, interval(x), result);
+    }
+
+    // adds the sensitivity to the result, which has been cleared
+    abstract void addParameterSensitivity(double x, int interval, double[] result);
+
+    // adds the sensitivity of the first derivative to the result, which has been cleared
+    abstract void addFirstDerivativeParameterSensitivity(double x, int interval, double[] result);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Linear interpolation.
+   */
+  private static final class Linear extends AbstractBound {
+
+    /**
+     * The gradient of each interval.
+     */
+    private final double[] gradients;
+
+    Linear(double[] xValues, double[] yValues) {
+      super(xValues, yValues);
+      this.gradients = new double[lastInterval + 1];
+      for (int i = 0; i <= lastInterval; i++) {
+        gradients[i] = (yValues[i + 1] - yValues[i]) / (xValues[i + 1] - xValues[i]);
+      }
+    }
+
+    @Override
+    public double interpolate(double x) {
+      int i = interval(x);
+      return yValues[i] + gradients[i] * (x - xValues[i]);
+    }
+
+    @Override
+    public double firstDerivative(double x) {
+      return gradients[interval(x)];
+    }
+
+    @Override
+    void addParameterSensitivity(double x, int i, double[] result) {
+      double weight = (x - xValues[i]) / (xValues[i + 1] - xValues[i]);
+      result[i] = 1d - weight;
+      result[i + 1] = weight;
+    }
+
+    @Override
+    void addFirstDerivativeParameterSensitivity(double x, int i, double[] result) {
+      double inverseWidth = 1d / (xValues[i + 1] - xValues[i]);
+      result[i] = -inverseWidth;
+      result[i + 1] = inverseWidth;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Linear interpolation of the log of the y-values.
+   */
+  private static final class LogLinear extends AbstractBound {
+
+    /**
+     * The log of the y-values.
+     */
+    private final double[] logYValues;
+    /**
+     * The gradient of the log of the y-values in each interval.
+     */
+    private final double[] gradients;
+
+    LogLinear(double[] xValues, double[] yValues) {
+      super(xValues, yValues);
+      this.logYValues = new double[yValues.length];
+      for (int i = 0; i < yValues.length; i++) {
+        logYValues[i] = Math.log(yValues[i]);
+      }
+      this.gradients = new double[lastInterval + 1];
+      for (int i = 0; i <= lastInterval; i++) {
+        gradients[i] = (logYValues[i + 1] - logYValues[i]) / (xValues[i + 1] - xValues[i]);
+      }
+    }
+
+    @Override
+    public double interpolate(double x) {
+      int i = interval(x);
+      return Math.exp(logYValues[i] + gradients[i] * (x - xValues[i]));
+    }
+
+    @Override
+    public double firstDerivative(double x) {
+      int i = interval(x);
+      return Math.exp(logYValues[i] + gradients[i] * (x - xValues[i])) * gradients[i];
+    }
+
+    @Override
+    void addParameterSensitivity(double x, int i, double[] result) {
+      double value = Math.exp(logYValues[i] + gradients[i] * (x - xValues[i]));
+      double weight = (x - xValues[i]) / (xValues[i + 1] - xValues[i]);
+      result[i] = value * (1d - weight) / yValues[i];
+      result[i + 1] = value * weight / yValues[i + 1];
+    }
+
+    @Override
+    void addFirstDerivativeParameterSensitivity(double x, int i, double[] result) {
+      double value = Math.exp(logYValues[i] + gradients[i] * (x - xValues[i]));
+      double width = xValues[i + 1] - xValues[i];
+      double weight = (x - xValues[i]) / width;
+      // derivative is value * gradient, where both depend on the two nodes
+      result[i] = value * ((1d - weight) * gradients[i] - 1d / width) / yValues[i];
+      result[i + 1] = value * (weight * gradients[i] + 1d / width) / yValues[i + 1];
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Double quadratic interpolation.
+   */
+  private static final class DoubleQuadratic extends AbstractBound {
+
+    /**
+     * The coefficient of the square term of each quadratic.
+     * The quadratic at index i passes through nodes i to i + 2, and is centered on node i + 1.
+     */
+    private final double[] squareCoefficients;
+    /**
+     * The coefficient of the linear term of each quadratic.
+     */
+    private final double[] linearCoefficients;
+
+    DoubleQuadratic(double[] xValues, double[] yValues) {
+      super(xValues, yValues);
+      int count = xValues.length - 2;
+      this.squareCoefficients = new double[count];
+      this.linearCoefficients = new double[count];
+      for (int j = 0; j < count; j++) {
+        double leftWidth = xValues[j + 1] - xValues[j];
+        double rightWidth = xValues[j + 2] - xValues[j + 1];
+        double leftGradient = (yValues[j + 1] - yValues[j]) / leftWidth;
+        double rightGradient = (yValues[j + 2] - yValues[j + 1]) / rightWidth;
+        squareCoefficients[j] = (rightGradient - leftGradient) / (leftWidth + rightWidth);
+        linearCoefficients[j] = (rightGradient * leftWidth + leftGradient * rightWidth) / (leftWidth + rightWidth);
+      }
+    }
+
+    @Override
+    public double interpolate(double x) {
+      int i = interval(x);
+      if (i == 0) {
+        return quadratic(0, x);
+      }
+      if (i == lastInterval) {
+        return quadratic(i - 1, x);
+      }
+      double weight = (xValues[i + 1] - x) / (xValues[i + 1] - xValues[i]);
+      return weight * quadratic(i - 1, x) + (1d - weight) * quadratic(i, x);
+    }
+
+    @Override
+    public double firstDerivative(double x) {
+      int i = interval(x);
+      if (i == 0) {
+        return quadraticDerivative(0, x);
+      }
+      if (i == lastInterval) {
+        return quadraticDerivative(i - 1, x);
+      }
+      double width = xValues[i + 1] - xValues[i];
+      double weight = (xValues[i + 1] - x) / width;
+      return weight * quadraticDerivative(i - 1, x) + (1d - weight) * quadraticDerivative(i, x) -
+          (quadratic(i - 1, x) - quadratic(i, x)) / width;
+    }
+
+    @Override
+    void addParameterSensitivity(double x, int i, double[] result) {
+      if (i == 0) {
+        addQuadraticSensitivity(0, x, 1d, result);
+      } else if (i == lastInterval) {
+        addQuadraticSensitivity(i - 1, x, 1d, result);
+      } else {
+        double weight = (xValues[i + 1] - x) / (xValues[i + 1] - xValues[i]);
+        addQuadraticSensitivity(i - 1, x, weight, result);
+        addQuadraticSensitivity(i, x, 1d - weight, result);
+      }
+    }
+
+    @Override
+    void addFirstDerivativeParameterSensitivity(double x, int i, double[] result) {
+      if (i == 0) {
+        addQuadraticDerivativeSensitivity(0, x, 1d, result);
+      } else if (i == lastInterval) {
+        addQuadraticDerivativeSensitivity(i - 1, x, 1d, result);
+      } else {
+        double width = xValues[i + 1] - xValues[i];
+        double weight = (xValues[i + 1] - x) / width;
+        addQuadraticDerivativeSensitivity(i - 1, x, weight, result);
+        addQuadraticDerivativeSensitivity(i, x, 1d - weight, result);
+        addQuadraticSensitivity(i - 1, x, -1d / width, result);
+        addQuadraticSensitivity(i, x, 1d / width, result);
+      }
+    }
+
+    // the value of the quadratic
+    private double quadratic(int j, double x) {
+      double dx = x - xValues[j + 1];
+      return (squareCoefficients[j] * dx + linearCoefficients[j]) * dx + yValues[j + 1];
+    }
+
+    // the first derivative of the quadratic
+    private double quadraticDerivative(int j, double x) {
+      double dx = x - xValues[j + 1];
+      return 2d * squareCoefficients[j] * dx + linearCoefficients[j];
+    }
+
+    // adds the scaled sensitivity of the quadratic to its three nodes, using the Lagrange basis
+    private void addQuadraticSensitivity(int j, double x, double scale, double[] result) {
+      double leftWidth = xValues[j + 1] - xValues[j];
+      double rightWidth = xValues[j + 2] - xValues[j + 1];
+      double dx = x - xValues[j + 1];
+      result[j] += scale * dx * (dx - rightWidth) / (leftWidth * (leftWidth + rightWidth));
+      result[j + 1] += scale * (dx + leftWidth) * (rightWidth - dx) / (leftWidth * rightWidth);
+      result[j + 2] += scale * dx * (dx + leftWidth) / (rightWidth * (leftWidth + rightWidth));
+    }
+
+    // adds the scaled sensitivity of the first derivative of the quadratic to its three nodes
+    private void addQuadraticDerivativeSensitivity(int j, double x, double scale, double[] result) {
+      double leftWidth = xValues[j + 1] - xValues[j];
+      double rightWidth = xValues[j + 2] - xValues[j + 1];
+      double dx = x - xValues[j + 1];
+      result[j] += scale * (2d * dx - rightWidth) / (leftWidth * (leftWidth + rightWidth));
+      result[j + 1] += scale * (rightWidth - leftWidth - 2d * dx) / (leftWidth * rightWidth);
+      result[j + 2] += scale * (2d * dx + leftWidth) / (rightWidth * (leftWidth + rightWidth));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Natural cubic spline interpolation.
+   * <p>
+   * The second derivatives at the nodes are found by solving a tridiagonal system.
+   * As the system only depends on the x-values, the sensitivity of the second derivatives
+   * to the y-values is a matrix that is calculated when the interpolator is bound.
+   */
+  private static final class NaturalCubicSpline extends AbstractBound {
+
+    /**
+     * The second derivative at each node.
+     */
+    private final double[] secondDerivatives;
+    /**
+     * The sensitivity of the second derivative at each node to the y-value at each node.
+     */
+    private final double[][] secondDerivativeSensitivities;
+
+    NaturalCubicSpline(double[] xValues, double[] yValues) {
+      super(xValues, yValues);
+      int size = xValues.length;
+      double[] widths = new double[size - 1];
+      for (int i = 0; i < size - 1; i++) {
+        widths[i] = xValues[i + 1] - xValues[i];
+      }
+      // forward elimination coefficients of the tridiagonal system, rows 1 to size - 2
+      double[] upper = new double[size];
+      double[] pivots = new double[size];
+      for (int r = 1; r < size - 1; r++) {
+        double diagonal = 2d * (widths[r - 1] + widths[r]);
+        pivots[r] = r == 1 ? diagonal : diagonal - widths[r - 1] * upper[r - 1];
+        upper[r] = widths[r] / pivots[r];
+      }
+      // second derivatives
+      double[] rhs = new double[size];
+      for (int r = 1; r < size - 1; r++) {
+        rhs[r] = 6d * ((yValues[r + 1] - yValues[r]) / widths[r] - (yValues[r] - yValues[r - 1]) / widths[r - 1]);
+      }
+      solve(widths, upper, pivots, rhs);
+      this.secondDerivatives = rhs;
+      // sensitivity of the second derivatives, solved for each y-value in turn
+      double[][] sensitivities = new double[size][size];
+      double[] column = new double[size];
+      for (int k = 0; k < size; k++) {
+        Arrays.fill(column, 0d);
+        if (k >= 2) {
+          column[k - 1] = 6d / widths[k - 1];
+        }
+        if (k >= 1 && k <= size - 2) {
+          column[k] = -6d * (1d / widths[k - 1] + 1d / widths[k]);
+        }
+        if (k <= size - 3) {
+          column[k + 1] = 6d / widths[k];
+        }
+        solve(widths, upper, pivots, column);
+        for (int r = 0; r < size; r++) {
+          sensitivities[r][k] = column[r];
+        }
+      }
+      this.secondDerivativeSensitivities = sensitivities;
+    }
+
+    // solves the tridiagonal system in place, the first and last elements being zero
+    private static void solve(double[] widths, double[] upper, double[] pivots, double[] rhs) {
+      int size = rhs.length;
+      for (int r = 1; r < size - 1; r++) {
+        rhs[r] = (r == 1 ? rhs[r] : rhs[r] - widths[r - 1] * rhs[r - 1]) / pivots[r];
+      }
+      for (int r = size - 3; r >= 1; r--) {
+        rhs[r] -= upper[r] * rhs[r + 1];
+      }
+      rhs[0] = 0d;
+      rhs[size - 1] = 0d;
+    }
+
+    @Override
+    public double interpolate(double x) {
+      int i = interval(x);
+      double width = xValues[i + 1] - xValues[i];
+      double a = (xValues[i + 1] - x) / width;
+      double b = 1d - a;
+      return a * yValues[i] + b * yValues[i + 1] +
+          ((a * a * a - a) * secondDerivatives[i] + (b * b * b - b) * secondDerivatives[i + 1]) * width * width / 6d;
+    }
+
+    @Override
+    public double firstDerivative(double x) {
+      int i = interval(x);
+      double width = xValues[i + 1] - xValues[i];
+      double a = (xValues[i + 1] - x) / width;
+      double b = 1d - a;
+      return (yValues[i + 1] - yValues[i]) / width +
+          ((1d - 3d * a * a) * secondDerivatives[i] + (3d * b * b - 1d) * secondDerivatives[i + 1]) * width / 6d;
+    }
+
+    @Override
+    void addParameterSensitivity(double x, int i, double[] result) {
+      double width = xValues[i + 1] - xValues[i];
+      double a = (xValues[i + 1] - x) / width;
+      double b = 1d - a;
+      double lower = (a * a * a - a) * width * width / 6d;
+      double upper = (b * b * b - b) * width * width / 6d;
+      double[] lowerSensitivities = secondDerivativeSensitivities[i];
+      double[] upperSensitivities = secondDerivativeSensitivities[i + 1];
+      for (int k = 0; k < result.length; k++) {
+        result[k] = lower * lowerSensitivities[k] + upper * upperSensitivities[k];
+      }
+      result[i] += a;
+      result[i + 1] += b;
+    }
+
+    @Override
+    void addFirstDerivativeParameterSensitivity(double x, int i, double[] result) {
+      double width = xValues[i + 1] - xValues[i];
+      double a = (xValues[i + 1] - x) / width;
+      double b = 1d - a;
+      double lower = (1d - 3d * a * a) * width / 6d;
+      double upper = (3d * b * b - 1d) * width / 6d;
+      double[] lowerSensitivities = secondDerivativeSensitivities[i];
+      double[] upperSensitivities = secondDerivativeSensitivities[i + 1];
+      for (int k = 0; k < result.length; k++) {
+        result[k] = lower * lowerSensitivities[k] + upper * upperSensitivities[k];
+      }
+      result[i] -= 1d / width;
+      result[i + 1] += 1d / width;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Interpolation between the nodes, with extrapolation beyond the nodes.
+   */
+  private static final class Combined implements BoundCurveInterpolator {
+
+    private final BoundCurveInterpolator interpolator;
+    private final BoundCurveInterpolator extrapolatorLeft;
+    private final BoundCurveInterpolator extrapolatorRight;
+    private final double firstXValue;
+    private final double lastXValue;
+
+    Combined(
+        BoundCurveInterpolator interpolator,
+        BoundCurveInterpolator extrapolatorLeft,
+        BoundCurveInterpolator extrapolatorRight,
+        double[] xValues) {
+
+      this.interpolator = ArgChecker.notNull(interpolator, "interpolator");
+      this.extrapolatorLeft = ArgChecker.notNull(extrapolatorLeft, "extrapolatorLeft");
+      this.extrapolatorRight = ArgChecker.notNull(extrapolatorRight, "extrapolatorRight");
+      this.firstXValue = xValues[0];
+      this.lastXValue = xValues[xValues.length - 1];
+    }
+
+    @Override
+    public double interpolate(double x) {
+      if (x < firstXValue) {
+        return extrapolatorLeft.interpolate(x);
+      }
+      if (x > lastXValue) {
+        return extrapolatorRight.interpolate(x);
+      }
+      return interpolator.interpolate(x);
+    }
+
+    @Override
+    public double firstDerivative(double x) {
+      if (x < firstXValue) {
+        return extrapolatorLeft.firstDerivative(x);
+      }
+      if (x > lastXValue) {
+        return extrapolatorRight.firstDerivative(x);
+      }
+      return interpolator.firstDerivative(x);
+    }
+
+    @Override
+    public void parameterSensitivity(double x, double[] result) {
+      if (x < firstXValue) {
+        extrapolatorLeft.parameterSensitivity(x, result);
+      } else if (x > lastXValue) {
+        extrapolatorRight.parameterSensitivity(x, result);
+      } else {
+        interpolator.parameterSensitivity(x, result);
+      }
+    }
+
+    @Override
+    public void firstDerivativeParameterSensitivity(double x, double[] result) {
+      if (x < firstXValue) {
+        extrapolatorLeft.firstDerivativeParameterSensitivity(x, result);
+      } else if (x > lastXValue) {
+        extrapolatorRight.firstDerivativeParameterSensitivity(x, result);
+      } else {
+        interpolator.firstDerivativeParameterSensitivity(x, result);
+      }
+    }
+  }
+
+}
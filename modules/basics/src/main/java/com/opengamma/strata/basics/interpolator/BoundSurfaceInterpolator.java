@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+/**
+ * An interpolator that has been bound to the nodes of a surface.
+ * <p>
+ * A bound interpolator is created once for a set of nodes, allowing any coefficients that
+ * depend on the nodes to be calculated when the surface is created rather than on each call.
+ * The methods do not allocate memory, with the results being written into arrays supplied by the caller.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface BoundSurfaceInterpolator {
+
+  /**
+   * Computes the z-value for the specified x-value and y-value.
+   *
+   * @param x  the x-value to find the z-value for
+   * @param y  the y-value to find the z-value for
+   * @return the value at the x-value and y-value
+   */
+  public abstract double interpolate(double x, double y);
+
+  /**
+   * Computes the z-values for a number of points.
+   * <p>
+   * The z-value for the x-value and y-value at each index is written to the result at the same index.
+   * The three arrays must have the same length. Every element of the result is overwritten.
+   *
+   * @param xValues  the x-values to find the z-values for
+   * @param yValues  the y-values to find the z-values for
+   * @param result  the array to write the z-values to
+   * @throws IllegalArgumentException if the array lengths do not match
+   */
+  public abstract void interpolate(double[] xValues, double[] yValues, double[] result);
+
+  /**
+   * Computes the sensitivity of the z-value with respect to the z-values of the nodes.
+   * <p>
+   * The array must have one element for each node, in the order the nodes were bound.
+   * Every element is overwritten.
+   *
+   * @param x  the x-value to find the sensitivity for
+   * @param y  the y-value to find the sensitivity for
+   * @param result  the array to write the sensitivity to
+   */
+  public abstract void parameterSensitivity(double x, double y, double[] result);
+
+}
@@ -0,0 +1,439 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The standard bound surface interpolators.
+ * <p>
+ * These interpolators apply to nodes that form a grid. The nodes are grouped into columns by x-value,
+ * each column having at least two nodes with distinct y-values. The columns do not need to have
+ * the same y-values. There must be at least two columns.
+ * <p>
+ * The z-value is found by interpolating in the y-direction within the two columns either side of
+ * the x-value, then interpolating linearly in the x-direction between the two column values.
+ * Beyond the first and last column, and beyond the first and last node of a column, the extrapolation is flat.
+ * This matches a legacy grid interpolator using linear interpolation with flat extrapolation in the
+ * x-direction, and the equivalent interpolation with flat extrapolation in the y-direction.
+ * <p>
+ * The nodes are sorted into columns when the interpolator is bound, with the coefficients of each column
+ * held in primitive arrays. The parameter sensitivity is written in the order the nodes were bound.
+ */
+public final class BoundSurfaceInterpolators {
+
+  /**
+   * Restricted constructor.
+   */
+  private BoundSurfaceInterpolators() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an interpolator that is linear in both the x-direction and the y-direction.
+   *
+   * @param xValues  the x-values of the nodes
+   * @param yValues  the y-values of the nodes
+   * @param zValues  the z-values of the nodes
+   * @return the bound interpolator
+   * @throws IllegalArgumentException if the nodes do not form a grid
+   */
+  public static BoundSurfaceInterpolator bilinear(double[] xValues, double[] yValues, double[] zValues) {
+    return new Bilinear(xValues, yValues, zValues);
+  }
+
+  /**
+   * Obtains an interpolator that is linear in the x-direction and uses a natural cubic spline in the y-direction.
+   * <p>
+   * The spline of each column is calculated when the interpolator is bound.
+   * A column with two nodes is linear.
+   *
+   * @param xValues  the x-values of the nodes
+   * @param yValues  the y-values of the nodes
+   * @param zValues  the z-values of the nodes
+   * @return the bound interpolator
+   * @throws IllegalArgumentException if the nodes do not form a grid
+   */
+  public static BoundSurfaceInterpolator linearNaturalCubicSpline(
+      double[] xValues,
+      double[] yValues,
+      double[] zValues) {
+
+    return new LinearNaturalCubicSpline(xValues, yValues, zValues);
+  }
+
+  /**
+   * Checks if the nodes form a grid that can be bound.
+   * <p>
+   * This returns true if there are at least two distinct x-values, and each x-value has
+   * at least two nodes with distinct y-values.
+   *
+   * @param xValues  the x-values of the nodes
+   * @param yValues  the y-values of the nodes
+   * @return true if the nodes form a grid
+   */
+  public static boolean isGrid(double[] xValues, double[] yValues) {
+    ArgChecker.notNull(xValues, "xValues");
+    ArgChecker.notNull(yValues, "yValues");
+    if (xValues.length != yValues.length) {
+      return false;
+    }
+    int[] order = sortedOrder(xValues, yValues);
+    int columnCount = 0;
+    int columnSize = 0;
+    for (int p = 0; p < order.length; p++) {
+      if (p == 0 || xValues[order[p]] != xValues[order[p - 1]]) {
+        if (columnCount > 0 && columnSize < 2) {
+          return false;
+        }
+        columnCount++;
+        columnSize = 1;
+      } else if (yValues[order[p]] == yValues[order[p - 1]]) {
+        return false;
+      } else {
+        columnSize++;
+      }
+    }
+    return columnCount >= 2 && columnSize >= 2;
+  }
+
+  // the indices of the nodes, sorted by x-value then y-value
+  private static int[] sortedOrder(double[] xValues, double[] yValues) {
+    Comparator<Integer> comparator = Comparator.<Integer>comparingDouble(i -> xValues[i])
+        .thenComparingDouble(i -> yValues[i]);
+    return IntStream.range(0, xValues.length)
+        .boxed()
+        .sorted(comparator)
+        .mapToInt(i -> i)
+        .toArray();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Base class for grid interpolators, locating the columns either side of an x-value
+   * and the interval within a column containing a y-value.
+   */
+  private abstract static class AbstractGrid implements BoundSurfaceInterpolator {
+
+    /**
+     * The x-value of each column.
+     */
+    final double[] columnXValues;
+    /**
+     * The position of the first node of each column, with an extra element for the end of the last column.
+     */
+    final int[] columnStarts;
+    /**
+     * The y-values of the nodes, sorted by column.
+     */
+    final double[] yValues;
+    /**
+     * The z-values of the nodes, sorted by column.
+     */
+    final double[] zValues;
+    /**
+     * The index of each sorted node in the order the nodes were bound.
+     */
+    final int[] parameterIndices;
+    /**
+     * The index of the last x-interval.
+     */
+    private final int lastInterval;
+    /**
+     * The x-interval of the previous call.
+     * This is not volatile as any value is valid, thus threads may safely see different values.
+     */
+    private int previousInterval;
+
+    AbstractGrid(double[] xValues, double[] yValues, double[] zValues) {
+      ArgChecker.notNull(zValues, "zValues");
+      ArgChecker.isTrue(isGrid(xValues, yValues),
+          "Nodes must form a grid of at least two x-values, each with at least two distinct y-values");
+      ArgChecker.isTrue(xValues.length == zValues.length, "Length of x-values and z-values must match");
+      int size = xValues.length;
+      int[] order = sortedOrder(xValues, yValues);
+      this.yValues = new double[size];
+      this.zValues = new double[size];
+      this.parameterIndices = order;
+      int[] starts = new int[size + 1];
+      double[] columnX = new double[size];
+      int columnCount = 0;
+      for (int p = 0; p < size; p++) {
+        int index = order[p];
+        if (p == 0 || xValues[index] != columnX[columnCount - 1]) {
+          starts[columnCount] = p;
+          columnX[columnCount++] = xValues[index];
+        }
+        this.yValues[p] = yValues[index];
+        this.zValues[p] = zValues[index];
+      }
+      starts[columnCount] = size;
+      this.columnXValues = Arrays.copyOf(columnX, columnCount);
+      this.columnStarts = Arrays.copyOf(starts, columnCount + 1);
+      this.lastInterval = columnCount - 2;
+    }
+
+    //-------------------------------------------------------------------------
+    @Override
+    public double interpolate(double x, double y) {
+      if (x <= columnXValues[0]) {
+        return columnValue(0, y);
+      }
+      if (x >= columnXValues[lastInterval + 1]) {
+        return columnValue(lastInterval + 1, y);
+      }
+      int i = interval(x);
+      double weight = (x - columnXValues[i]) / (columnXValues[i + 1] - columnXValues[i]);
+      return (1d - weight) * columnValue(i, y) + weight * columnValue(i + 1, y);
+    }
+
+    @Override
+    public void interpolate(double[] xValues, double[] yValues, double[] result) {
+      ArgChecker.isTrue(xValues.length == yValues.length, "Length of x-values and y-values must match");
+      ArgChecker.isTrue(xValues.length == result.length, "Length of x-values and result must match");
+      for (int i = 0; i < result.length; i++) {
+        result[i] = interpolate(xValues[i], yValues[i]);
+      }
+    }
+
+    @Override
+    public void parameterSensitivity(double x, double y, double[] result) {
+      Arrays.fill(result, 0d);
+      if (x <= columnXValues[0]) {
+        addColumnSensitivity(0, y, 1d, result);
+      } else if (x >= columnXValues[lastInterval + 1]) {
+        addColumnSensitivity(lastInterval + 1, y, 1d, result);
+      } else {
+        int i = interval(x);
+        double weight = (x - columnXValues[i]) / (columnXValues[i + 1] - columnXValues[i]);
+        addColumnSensitivity(i, y, 1d - weight, result);
+        addColumnSensitivity(i + 1, y, weight, result);
+      }
+    }
+
+    //-------------------------------------------------------------------------
+    // finds the index of the column at the start of the x-interval containing the x-value
+    // the x-value must be strictly between the first and last column
+    private int interval(double x) {
+      int previous = previousInterval;
+      if (x >= columnXValues[previous] && x < columnXValues[previous + 1]) {
+        return previous;
+      }
+      int found = Arrays.binarySearch(columnXValues, x);
+      int index = Math.min(found >= 0 ? found : -found - 2, lastInterval);
+      previousInterval = index;
+      return index;
+    }
+
+    // finds the position of the node at the start of the y-interval containing the y-value
+    // the y-value must be strictly between the first and last node of the column
+    final int columnInterval(int column, double y) {
+      int found = Arrays.binarySearch(yValues, columnStarts[column], columnStarts[column + 1], y);
+      return found >= 0 ? found : -found - 2;
+    }
+
+    // the value of the column at the y-value, flat beyond the first and last node
+    private double columnValue(int column, double y) {
+      int first = columnStarts[column];
+      int last = columnStarts[column + 1] - 1;
+      if (y <= yValues[first]) {
+        return zValues[first];
+      }
+      if (y >= yValues[last]) {
+        return zValues[last];
+      }
+      return interpolateColumn(column, columnInterval(column, y), y);
+    }
+
+    // adds the scaled sensitivity of the column value to the result, flat beyond the first and last node
+    private void addColumnSensitivity(int column, double y, double scale, double[] result) {
+      int first = columnStarts[column];
+      int last = columnStarts[column + 1] - 1;
+      if (y <= yValues[first]) {
+        result[parameterIndices[first]] += scale;
+      } else if (y >= yValues[last]) {
+        result[parameterIndices[last]] += scale;
+      } else {
+        addInterpolatedColumnSensitivity(column, columnInterval(column, y), y, scale, result);
+      }
+    }
+
+    // the value of the column at a y-value within the interval starting at the specified position
+    abstract double interpolateColumn(int column, int position, double y);
+
+    // adds the scaled sensitivity of the column value within the interval starting at the specified position
+    abstract void addInterpolatedColumnSensitivity(int column, int position, double y, double scale, double[] result);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Bilinear interpolation.
+   */
+  private static final class Bilinear extends AbstractGrid {
+
+    /**
+     * The gradient of the interval starting at each node, zero for the last node of a column.
+     */
+    private final double[] gradients;
+
+    Bilinear(double[] xValues, double[] yValues, double[] zValues) {
+      super(xValues, yValues, zValues);
+      this.gradients = new double[this.yValues.length];
+      for (int c = 0; c < columnXValues.length; c++) {
+        for (int p = columnStarts[c]; p < columnStarts[c + 1] - 1; p++) {
+          gradients[p] = (this.zValues[p + 1] - this.zValues[p]) / (this.yValues[p + 1] - this.yValues[p]);
+        }
+      }
+    }
+
+    @Override
+    double interpolateColumn(int column, int p, double y) {
+      return zValues[p] + gradients[p] * (y - yValues[p]);
+    }
+
+    @Override
+    void addInterpolatedColumnSensitivity(int column, int p, double y, double scale, double[] result) {
+      double weight = (y - yValues[p]) / (yValues[p + 1] - yValues[p]);
+      result[parameterIndices[p]] += scale * (1d - weight);
+      result[parameterIndices[p + 1]] += scale * weight;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Linear interpolation in the x-direction, natural cubic spline interpolation in the y-direction.
+   * <p>
+   * The second derivatives at the nodes of each column are found by solving a tridiagonal system.
+   * The sensitivity of the second derivatives to the z-values of the column only depends on the y-values,
+   * and is calculated when the interpolator is bound.
+   */
+  private static final class LinearNaturalCubicSpline extends AbstractGrid {
+
+    /**
+     * The second derivative at each node.
+     */
+    private final double[] secondDerivatives;
+    /**
+     * The sensitivity of the second derivative at each node to the z-value at each node of the same column.
+     * The matrix of each column is held in row-major order, starting at the position in {@code matrixStarts}.
+     */
+    private final double[] secondDerivativeSensitivities;
+    /**
+     * The position of the sensitivity matrix of each column.
+     */
+    private final int[] matrixStarts;
+
+    LinearNaturalCubicSpline(double[] xValues, double[] yValues, double[] zValues) {
+      super(xValues, yValues, zValues);
+      int columnCount = columnXValues.length;
+      this.secondDerivatives = new double[this.yValues.length];
+      this.matrixStarts = new int[columnCount];
+      int matrixSize = 0;
+      for (int c = 0; c < columnCount; c++) {
+        int size = columnStarts[c + 1] - columnStarts[c];
+        matrixStarts[c] = matrixSize;
+        matrixSize += size * size;
+      }
+      this.secondDerivativeSensitivities = new double[matrixSize];
+      for (int c = 0; c < columnCount; c++) {
+        bindColumn(c);
+      }
+    }
+
+    // calculates the second derivatives of a column, and their sensitivity to the z-values
+    private void bindColumn(int column) {
+      int first = columnStarts[column];
+      int size = columnStarts[column + 1] - first;
+      double[] widths = new double[size - 1];
+      for (int i = 0; i < size - 1; i++) {
+        widths[i] = yValues[first + i + 1] - yValues[first + i];
+      }
+      // forward elimination coefficients of the tridiagonal system, rows 1 to size - 2
+      double[] upper = new double[size];
+      double[] pivots = new double[size];
+      for (int r = 1; r < size - 1; r++) {
+        double diagonal = 2d * (widths[r - 1] + widths[r]);
+        pivots[r] = r == 1 ? diagonal : diagonal - widths[r - 1] * upper[r - 1];
+        upper[r] = widths[r] / pivots[r];
+      }
+      // second derivatives
+      double[] rhs = new double[size];
+      for (int r = 1; r < size - 1; r++) {
+        double rightGradient = (zValues[first + r + 1] - zValues[first + r]) / widths[r];
+        double leftGradient = (zValues[first + r] - zValues[first + r - 1]) / widths[r - 1];
+        rhs[r] = 6d * (rightGradient - leftGradient);
+      }
+      solve(widths, upper, pivots, rhs);
+      System.arraycopy(rhs, 0, secondDerivatives, first, size);
+      // sensitivity of the second derivatives, solved for each z-value in turn
+      int matrixStart = matrixStarts[column];
+      double[] vector = new double[size];
+      for (int k = 0; k < size; k++) {
+        Arrays.fill(vector, 0d);
+        if (k >= 2) {
+          vector[k - 1] = 6d / widths[k - 1];
+        }
+        if (k >= 1 && k <= size - 2) {
+          vector[k] = -6d * (1d / widths[k - 1] + 1d / widths[k]);
+        }
+        if (k <= size - 3) {
+          vector[k + 1] = 6d / widths[k];
+        }
+        solve(widths, upper, pivots, vector);
+        for (int r = 0; r < size; r++) {
+          secondDerivativeSensitivities[matrixStart + r * size + k] = vector[r];
+        }
+      }
+    }
+
+    // solves the tridiagonal system in place, the first and last elements being zero
+    private static void solve(double[] widths, double[] upper, double[] pivots, double[] rhs) {
+      int size = rhs.length;
+      for (int r = 1; r < size - 1; r++) {
+        rhs[r] = (r == 1 ? rhs[r] : rhs[r] - widths[r - 1] * rhs[r - 1]) / pivots[r];
+      }
+      for (int r = size - 3; r >= 1; r--) {
+        rhs[r] -= upper[r] * rhs[r + 1];
+      }
+      rhs[0] = 0d;
+      rhs[size - 1] = 0d;
+    }
+
+    @Override
+    double interpolateColumn(int column, int p, double y) {
+      double width = yValues[p + 1] - yValues[p];
+      double a = (yValues[p + 1] - y) / width;
+      double b = 1d - a;
+      return a * zValues[p] + b * zValues[p + 1] +
+          ((a * a * a - a) * secondDerivatives[p] + (b * b * b - b) * secondDerivatives[p + 1]) * width * width / 6d;
+    }
+
+    @Override
+    void addInterpolatedColumnSensitivity(int column, int p, double y, double scale, double[] result) {
+      double width = yValues[p + 1] - yValues[p];
+      double a = (yValues[p + 1] - y) / width;
+      double b = 1d - a;
+      double lower = (a * a * a - a) * width * width / 6d;
+      double upper = (b * b * b - b) * width * width / 6d;
+      int first = columnStarts[column];
+      int size = columnStarts[column + 1] - first;
+      int lowerRow = matrixStarts[column] + (p - first) * size;
+      int upperRow = lowerRow + size;
+      for (int k = 0; k < size; k++) {
+        double sensitivity = lower * secondDerivativeSensitivities[lowerRow + k] +
+            upper * secondDerivativeSensitivities[upperRow + k];
+        result[parameterIndices[first + k]] += scale * sensitivity;
+      }
+      result[parameterIndices[p]] += scale * a;
+      result[parameterIndices[p + 1]] += scale * b;
+    }
+  }
+
+}
@@ -779,6 +779,24 @@ public class ImmutableHolidayCalendarTest {
     assertThrowsIllegalArg(() -> HOLCAL_MON_WED.daysBetween(null));
   }
 
+  public void test_daysBetween_yearEnd() {
+    assertEquals(HOLCAL_YEAR_END.daysBetween(MON_2014_12_29, MON_2015_01_05), 3);
+    assertEquals(HOLCAL_YEAR_END.daysBetween(MON_2014_12_29, THU_2015_01_01), 2);
+    assertEquals(HOLCAL_YEAR_END.daysBetween(THU_2015_01_01, WED_2015_04_01), 63);
+  }
+
+  public void test_daysBetween_SatSun() {
+    assertEquals(HOLCAL_SAT_SUN.daysBetween(FRI_2014_07_11, MON_2014_07_21), 6);
+  }
+
+  public void test_daysBetween_range() {
+    assertEquals(HOLCAL_MON_WED.daysBetween(date(2014, 12, 1), date(2015, 1, 1)), 23);
+    assertEquals(HOLCAL_MON_WED.daysBetween(date(2015, 1, 1), date(2015, 1, 1)), 0);
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.daysBetween(date(2013, 12, 31), date(2014, 1, 2)));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.daysBetween(date(2014, 12, 1), date(2015, 1, 2)));
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.daysBetween(WED_2014_07_16, MON_2014_07_14));
+  }
+
   //-------------------------------------------------------------------------
   public void test_combineWith() {
     Iterable<LocalDate> holidays1 = Arrays.asList(WED_2014_07_16);
@@ -836,6 +854,32 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(test.isHoliday(MON_2014_07_21), false);
   }
 
+  public void test_combineWith_satSun_eager() {
+    Iterable<LocalDate> holidays = Arrays.asList(WED_2014_07_16, THU_2014_07_17);
+    ImmutableHolidayCalendar base = ImmutableHolidayCalendar.of("Test1", holidays, SATURDAY, SUNDAY);
+    HolidayCalendar test = base.combineWith(HolidayCalendars.FRI_SAT);
+    assertEquals(test instanceof ImmutableHolidayCalendar, true);
+    ImmutableHolidayCalendar eager = (ImmutableHolidayCalendar) test;
+    assertEquals(eager.getWeekendDays(), ImmutableSet.of(FRIDAY, SATURDAY, SUNDAY));
+    assertEquals(eager.getHolidays(), ImmutableSortedSet.of(WED_2014_07_16, THU_2014_07_17));
+    assertEquals(eager.getRange(), base.getRange());
+    assertEquals(test.shift(TUE_2014_07_15, 1), MON_2014_07_21);
+
+    HolidayCalendar reversed = HolidayCalendars.FRI_SAT.combineWith(base);
+    assertEquals(reversed instanceof ImmutableHolidayCalendar, true);
+    assertEquals(reversed.getName(), "Fri/Sat+Test1");
+    assertEquals(reversed.shift(TUE_2014_07_15, 1), MON_2014_07_21);
+  }
+
+  public void test_combineWith_weekendOnly_lazy() {
+    HolidayCalendar test = HOLCAL_SAT_SUN.combineWith(HolidayCalendars.FRI_SAT);
+    assertEquals(test instanceof ImmutableHolidayCalendar, false);
+    assertEquals(test.getName(), "TestSatSun+Fri/Sat");
+    assertEquals(test.isHoliday(THU_2014_07_10), false);
+    assertEquals(test.isHoliday(FRI_2014_07_11), true);
+    assertEquals(test.isHoliday(SUN_2014_07_13), true);
+  }
+
   public void test_combineWith_null() {
     Iterable<LocalDate> holidays = Arrays.asList(WED_2014_07_16);
     ImmutableHolidayCalendar base = ImmutableHolidayCalendar.of("Test1", holidays, SATURDAY, SUNDAY);
@@ -866,6 +910,42 @@ public class ImmutableHolidayCalendarTest {
     }
   }
 
+  public void test_broadCheck_daysBetweenAndShift() {
+    LocalDate start = LocalDate.of(2010, 1, 1);
+    LocalDate end = LocalDate.of(2020, 1, 1);
+    Random random = new Random(547698);
+    SortedSet<LocalDate> set = new TreeSet<>();
+    LocalDate date = start;
+    while (date.isBefore(end)) {
+      set.add(date);
+      date = date.plusDays(random.nextInt(10) + 1);
+    }
+    ImmutableHolidayCalendar test = ImmutableHolidayCalendar.of("TestBroad", set, SATURDAY, SUNDAY);
+    for (int i = 0; i < 200; i++) {
+      // check against simple algorithms, keeping well within the range
+      LocalDate base = LocalDate.of(2012, 1, 1).plusDays(random.nextInt(2000));
+      LocalDate other = base.plusDays(random.nextInt(600));
+      int expectedCount = 0;
+      for (LocalDate check = base; check.isBefore(other); check = check.plusDays(1)) {
+        expectedCount += test.isBusinessDay(check) ? 1 : 0;
+      }
+      assertEquals(test.daysBetween(base, other), expectedCount);
+      int amount = random.nextInt(300) + 1;
+      LocalDate expectedNext = base;
+      LocalDate expectedPrevious = base;
+      for (int j = 0; j < amount; j++) {
+        do {
+          expectedNext = expectedNext.plusDays(1);
+        } while (test.isHoliday(expectedNext));
+        do {
+          expectedPrevious = expectedPrevious.minusDays(1);
+        } while (test.isHoliday(expectedPrevious));
+      }
+      assertEquals(test.shift(base, amount), expectedNext);
+      assertEquals(test.shift(base, -amount), expectedPrevious);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_equals() {
     ImmutableHolidayCalendar a1 = ImmutableHolidayCalendar.of("Test1", Arrays.asList(WED_2014_07_16), SATURDAY, SUNDAY);
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.DoubleArrayMath;
+
+/**
+ * Test {@link BoundCurveExtrapolators}.
+ */
+@Test
+public class BoundCurveExtrapolatorsTest {
+
+  private static final double[] X_VALUES = {1, 2, 4};
+  private static final double[] Y_VALUES = {0.9, 0.8, 0.7};
+  private static final int LAST = X_VALUES.length - 1;
+  private static final double EPS = 1e-6;
+  private static final double TOLERANCE = 1e-8;
+
+  public void test_flat() {
+    BoundCurveInterpolator left = BoundCurveExtrapolators.flat(Y_VALUES, 0);
+    BoundCurveInterpolator right = BoundCurveExtrapolators.flat(Y_VALUES, LAST);
+    assertThat(left.interpolate(0.5)).isEqualTo(0.9);
+    assertThat(right.interpolate(5)).isEqualTo(0.7);
+    assertThat(left.firstDerivative(0.5)).isEqualTo(0d);
+    double[] sensitivity = new double[X_VALUES.length];
+    right.parameterSensitivity(5, sensitivity);
+    assertThat(sensitivity).containsExactly(0, 0, 1);
+    right.firstDerivativeParameterSensitivity(5, sensitivity);
+    assertThat(sensitivity).containsExactly(0, 0, 0);
+  }
+
+  public void test_linear() {
+    BoundCurveInterpolator interpolator = BoundCurveInterpolators.linear(X_VALUES, Y_VALUES);
+    BoundCurveInterpolator left = BoundCurveExtrapolators.linear(X_VALUES, Y_VALUES, 0, interpolator);
+    BoundCurveInterpolator right = BoundCurveExtrapolators.linear(X_VALUES, Y_VALUES, LAST, interpolator);
+    assertThat(left.interpolate(0.5)).isEqualTo(0.95, offset(1e-14));
+    assertThat(right.interpolate(6)).isEqualTo(0.6, offset(1e-14));
+    assertThat(left.firstDerivative(0.5)).isEqualTo(-0.1, offset(1e-14));
+    double[] sensitivity = new double[X_VALUES.length];
+    left.parameterSensitivity(0.5, sensitivity);
+    assertThat(DoubleArrayMath.fuzzyEquals(sensitivity, new double[] {1.5, -0.5, 0}, 1e-14)).isTrue();
+    assertSensitivities(Kind.LINEAR);
+  }
+
+  public void test_logLinear() {
+    BoundCurveInterpolator interpolator = BoundCurveInterpolators.logLinear(X_VALUES, Y_VALUES);
+    BoundCurveInterpolator right = BoundCurveExtrapolators.logLinear(X_VALUES, Y_VALUES, LAST, interpolator);
+    // continues the log-linear interpolation of the last interval
+    assertThat(right.interpolate(6)).isEqualTo(0.7 * 0.7 / 0.8, offset(1e-14));
+    assertSensitivities(Kind.LOG_LINEAR);
+  }
+
+  public void test_invalid() {
+    BoundCurveInterpolator interpolator = BoundCurveInterpolators.linear(X_VALUES, Y_VALUES);
+    assertThrowsIllegalArg(() -> BoundCurveExtrapolators.flat(Y_VALUES, 3));
+    assertThrowsIllegalArg(() -> BoundCurveExtrapolators.linear(X_VALUES, Y_VALUES, -1, interpolator));
+    assertThrowsIllegalArg(() -> BoundCurveExtrapolators.logLinear(X_VALUES, Y_VALUES, 0, null));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(BoundCurveExtrapolators.class);
+  }
+
+  //-------------------------------------------------------------------------
+  private static enum Kind {
+    LINEAR, LOG_LINEAR
+  }
+
+  // checks the derivatives and sensitivities on both sides against finite differences
+  private static void assertSensitivities(Kind kind) {
+    double[] sensitivity = new double[X_VALUES.length];
+    double[] derivativeSensitivity = new double[X_VALUES.length];
+    for (double x : new double[] {0.2, 0.9, 4.1, 7}) {
+      BoundCurveInterpolator test = create(kind, Y_VALUES, x);
+      double expectedDerivative = (test.interpolate(x + EPS) - test.interpolate(x - EPS)) / (2 * EPS);
+      assertThat(test.firstDerivative(x)).isEqualTo(expectedDerivative, offset(TOLERANCE));
+      test.parameterSensitivity(x, sensitivity);
+      test.firstDerivativeParameterSensitivity(x, derivativeSensitivity);
+      for (int k = 0; k < X_VALUES.length; k++) {
+        double[] up = Y_VALUES.clone();
+        up[k] += EPS;
+        double[] down = Y_VALUES.clone();
+        down[k] -= EPS;
+        BoundCurveInterpolator testUp = create(kind, up, x);
+        BoundCurveInterpolator testDown = create(kind, down, x);
+        double expected = (testUp.interpolate(x) - testDown.interpolate(x)) / (2 * EPS);
+        double expectedDerivativeSensitivity = (testUp.firstDerivative(x) - testDown.firstDerivative(x)) / (2 * EPS);
+        assertThat(sensitivity[k]).isEqualTo(expected, offset(TOLERANCE));
+        assertThat(derivativeSensitivity[k]).isEqualTo(expectedDerivativeSensitivity, offset(TOLERANCE));
+      }
+    }
+  }
+
+  // creates the extrapolator for the side of the curve containing the x-value
+  private static BoundCurveInterpolator create(Kind kind, double[] yValues, double x) {
+    BoundCurveInterpolator interpolator = BoundCurveInterpolators.naturalCubicSpline(X_VALUES, yValues);
+    int nodeIndex = x < X_VALUES[0] ? 0 : LAST;
+    return kind == Kind.LINEAR ?
+        BoundCurveExtrapolators.linear(X_VALUES, yValues, nodeIndex, interpolator) :
+        BoundCurveExtrapolators.logLinear(X_VALUES, yValues, nodeIndex, interpolator);
+  }
+
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.function.BiFunction;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.DoubleArrayMath;
+
+/**
+ * Test {@link BoundCurveInterpolators}.
+ */
+@Test
+public class BoundCurveInterpolatorsTest {
+
+  private static final double[] X_VALUES = {0.25, 0.5, 1, 2, 3, 5, 7, 10};
+  private static final double[] Y_VALUES = {0.9, 0.85, 0.8, 0.7, 0.66, 0.5, 0.45, 0.3};
+  private static final double EPS = 1e-6;
+  private static final double TOLERANCE = 1e-8;
+
+  @DataProvider(name = "interpolators")
+  Object[][] data_interpolators() {
+    return new Object[][] {
+        {(BiFunction<double[], double[], BoundCurveInterpolator>) BoundCurveInterpolators::linear},
+        {(BiFunction<double[], double[], BoundCurveInterpolator>) BoundCurveInterpolators::logLinear},
+        {(BiFunction<double[], double[], BoundCurveInterpolator>) BoundCurveInterpolators::doubleQuadratic},
+        {(BiFunction<double[], double[], BoundCurveInterpolator>) BoundCurveInterpolators::naturalCubicSpline},
+    };
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_nodes(BiFunction<double[], double[], BoundCurveInterpolator> factory) {
+    BoundCurveInterpolator test = factory.apply(X_VALUES, Y_VALUES);
+    for (int i = 0; i < X_VALUES.length; i++) {
+      assertThat(test.interpolate(X_VALUES[i])).isEqualTo(Y_VALUES[i], offset(1e-14));
+    }
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_firstDerivative(BiFunction<double[], double[], BoundCurveInterpolator> factory) {
+    BoundCurveInterpolator test = factory.apply(X_VALUES, Y_VALUES);
+    for (double x = 0.3; x < 10; x += 0.23) {
+      double expected = (test.interpolate(x + EPS) - test.interpolate(x - EPS)) / (2 * EPS);
+      assertThat(test.firstDerivative(x)).isEqualTo(expected, offset(TOLERANCE));
+    }
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_parameterSensitivity(BiFunction<double[], double[], BoundCurveInterpolator> factory) {
+    BoundCurveInterpolator test = factory.apply(X_VALUES, Y_VALUES);
+    double[] sensitivity = new double[X_VALUES.length];
+    double[] derivativeSensitivity = new double[X_VALUES.length];
+    for (double x = 0.3; x < 10; x += 0.23) {
+      test.parameterSensitivity(x, sensitivity);
+      test.firstDerivativeParameterSensitivity(x, derivativeSensitivity);
+      for (int k = 0; k < X_VALUES.length; k++) {
+        BoundCurveInterpolator up = factory.apply(X_VALUES, bumped(k, EPS));
+        BoundCurveInterpolator down = factory.apply(X_VALUES, bumped(k, -EPS));
+        double expected = (up.interpolate(x) - down.interpolate(x)) / (2 * EPS);
+        double expectedDerivative = (up.firstDerivative(x) - down.firstDerivative(x)) / (2 * EPS);
+        assertThat(sensitivity[k]).isEqualTo(expected, offset(TOLERANCE));
+        assertThat(derivativeSensitivity[k]).isEqualTo(expectedDerivative, offset(TOLERANCE));
+      }
+    }
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_unorderedCalls(BiFunction<double[], double[], BoundCurveInterpolator> factory) {
+    BoundCurveInterpolator test = factory.apply(X_VALUES, Y_VALUES);
+    BoundCurveInterpolator fresh = factory.apply(X_VALUES, Y_VALUES);
+    double expected = fresh.interpolate(1.5);
+    test.interpolate(9d);
+    assertThat(test.interpolate(1.5)).isEqualTo(expected);
+    test.interpolate(0.3);
+    assertThat(test.interpolate(1.5)).isEqualTo(expected);
+    assertThat(test.interpolate(1.5)).isEqualTo(expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_linear() {
+    BoundCurveInterpolator test = BoundCurveInterpolators.linear(X_VALUES, Y_VALUES);
+    assertThat(test.interpolate(1.25)).isEqualTo(0.775, offset(1e-14));
+    assertThat(test.firstDerivative(1.25)).isEqualTo(-0.1, offset(1e-14));
+    double[] sensitivity = new double[X_VALUES.length];
+    test.parameterSensitivity(1.25, sensitivity);
+    double[] expected = {0, 0, 0.75, 0.25, 0, 0, 0, 0};
+    assertThat(DoubleArrayMath.fuzzyEquals(sensitivity, expected, 1e-14)).isTrue();
+  }
+
+  public void test_logLinear() {
+    BoundCurveInterpolator test = BoundCurveInterpolators.logLinear(X_VALUES, Y_VALUES);
+    assertThat(test.interpolate(1.5)).isEqualTo(Math.sqrt(0.8 * 0.7), offset(1e-14));
+  }
+
+  public void test_doubleQuadratic_twoNodes() {
+    BoundCurveInterpolator test = BoundCurveInterpolators.doubleQuadratic(new double[] {1, 2}, new double[] {3, 5});
+    assertThat(test.interpolate(1.5)).isEqualTo(4d, offset(1e-14));
+  }
+
+  public void test_doubleQuadratic_quadratic() {
+    // a quadratic is interpolated exactly
+    double[] yValues = new double[X_VALUES.length];
+    for (int i = 0; i < X_VALUES.length; i++) {
+      yValues[i] = 2 * X_VALUES[i] * X_VALUES[i] - 3 * X_VALUES[i] + 1;
+    }
+    BoundCurveInterpolator test = BoundCurveInterpolators.doubleQuadratic(X_VALUES, yValues);
+    for (double x = 0.3; x < 10; x += 0.23) {
+      assertThat(test.interpolate(x)).isEqualTo(2 * x * x - 3 * x + 1, offset(1e-10));
+      assertThat(test.firstDerivative(x)).isEqualTo(4 * x - 3, offset(1e-10));
+    }
+  }
+
+  public void test_naturalCubicSpline_natural() {
+    BoundCurveInterpolator test = BoundCurveInterpolators.naturalCubicSpline(X_VALUES, Y_VALUES);
+    double last = X_VALUES[X_VALUES.length - 1];
+    // the second derivative is zero at both ends, so the first derivative is locally constant
+    assertThat((test.firstDerivative(X_VALUES[0] + EPS) - test.firstDerivative(X_VALUES[0])) / EPS)
+        .isEqualTo(0d, offset(1e-4));
+    assertThat((test.firstDerivative(last) - test.firstDerivative(last - EPS)) / EPS)
+        .isEqualTo(0d, offset(1e-4));
+    // the first derivative is continuous at the nodes
+    for (int i = 1; i < X_VALUES.length - 1; i++) {
+      assertThat(test.firstDerivative(X_VALUES[i] - 1e-12))
+          .isEqualTo(test.firstDerivative(X_VALUES[i]), offset(1e-9));
+    }
+  }
+
+  public void test_naturalCubicSpline_twoNodes() {
+    BoundCurveInterpolator test = BoundCurveInterpolators.naturalCubicSpline(new double[] {1, 2}, new double[] {3, 5});
+    assertThat(test.interpolate(1.5)).isEqualTo(4d, offset(1e-14));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_combined() {
+    BoundCurveInterpolator interpolator = BoundCurveInterpolators.linear(X_VALUES, Y_VALUES);
+    BoundCurveInterpolator left = BoundCurveExtrapolators.flat(Y_VALUES, 0);
+    int last = X_VALUES.length - 1;
+    BoundCurveInterpolator right = BoundCurveExtrapolators.linear(X_VALUES, Y_VALUES, last, interpolator);
+    BoundCurveInterpolator test = BoundCurveInterpolators.combined(interpolator, left, right, X_VALUES);
+    assertThat(test.interpolate(0.1)).isEqualTo(0.9);
+    assertThat(test.interpolate(1.25)).isEqualTo(interpolator.interpolate(1.25));
+    assertThat(test.interpolate(11)).isEqualTo(0.25, offset(1e-14));
+    assertThat(test.firstDerivative(0.1)).isEqualTo(0d);
+    assertThat(test.firstDerivative(11)).isEqualTo(-0.05, offset(1e-14));
+    double[] sensitivity = new double[X_VALUES.length];
+    test.parameterSensitivity(0.1, sensitivity);
+    assertThat(sensitivity).containsExactly(1, 0, 0, 0, 0, 0, 0, 0);
+    test.firstDerivativeParameterSensitivity(0.1, sensitivity);
+    assertThat(sensitivity).containsExactly(0, 0, 0, 0, 0, 0, 0, 0);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> BoundCurveInterpolators.linear(new double[] {1}, new double[] {1}));
+    assertThrowsIllegalArg(() -> BoundCurveInterpolators.linear(new double[] {1, 2}, new double[] {1}));
+    assertThrowsIllegalArg(() -> BoundCurveInterpolators.linear(null, new double[] {1}));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(BoundCurveInterpolators.class);
+  }
+
+  //-------------------------------------------------------------------------
+  private static double[] bumped(int index, double amount) {
+    double[] bumped = Y_VALUES.clone();
+    bumped[index] += amount;
+    return bumped;
+  }
+
+}
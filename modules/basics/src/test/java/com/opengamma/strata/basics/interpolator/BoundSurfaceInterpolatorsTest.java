@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.interpolator;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.function.DoubleUnaryOperator;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.DoubleArrayMath;
+
+/**
+ * Test {@link BoundSurfaceInterpolators}.
+ */
+@Test
+public class BoundSurfaceInterpolatorsTest {
+
+  // nodes in no particular order, the columns having different y-values
+  private static final double[] X_VALUES = {2, 0, 0, 2, 0, 5, 5, 2, 5, 5};
+  private static final double[] Y_VALUES = {1, 0, 3, 0.5, 1.5, 0, 1, 4, 2, 3.5};
+  private static final double[] Z_VALUES = {6, 5, 7, 5.5, 6.2, 8, 7, 9, 7.5, 8.1};
+  // the column at x = 2, sorted by y-value
+  private static final double[] COLUMN_Y_VALUES = {0.5, 1, 4};
+  private static final double[] COLUMN_Z_VALUES = {5.5, 6, 9};
+  private static final double EPS = 1e-6;
+  private static final double TOLERANCE = 1e-8;
+
+  @FunctionalInterface
+  interface Factory {
+    BoundSurfaceInterpolator apply(double[] xValues, double[] yValues, double[] zValues);
+  }
+
+  @DataProvider(name = "interpolators")
+  Object[][] data_interpolators() {
+    return new Object[][] {
+        {(Factory) BoundSurfaceInterpolators::bilinear},
+        {(Factory) BoundSurfaceInterpolators::linearNaturalCubicSpline},
+    };
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_nodes(Factory factory) {
+    BoundSurfaceInterpolator test = factory.apply(X_VALUES, Y_VALUES, Z_VALUES);
+    for (int i = 0; i < X_VALUES.length; i++) {
+      assertThat(test.interpolate(X_VALUES[i], Y_VALUES[i])).isEqualTo(Z_VALUES[i], offset(1e-14));
+    }
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_flatExtrapolation(Factory factory) {
+    BoundSurfaceInterpolator test = factory.apply(X_VALUES, Y_VALUES, Z_VALUES);
+    assertThat(test.interpolate(-1, -1)).isEqualTo(5d);
+    assertThat(test.interpolate(-1, 10)).isEqualTo(7d);
+    assertThat(test.interpolate(7, -1)).isEqualTo(8d);
+    assertThat(test.interpolate(7, 10)).isEqualTo(8.1d);
+    assertThat(test.interpolate(-1, 1.2)).isEqualTo(test.interpolate(0, 1.2));
+    assertThat(test.interpolate(7, 1.2)).isEqualTo(test.interpolate(5, 1.2));
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_parameterSensitivity(Factory factory) {
+    BoundSurfaceInterpolator test = factory.apply(X_VALUES, Y_VALUES, Z_VALUES);
+    double[] sensitivity = new double[X_VALUES.length];
+    for (double x = -0.5; x < 6; x += 0.37) {
+      for (double y = -0.5; y < 5; y += 0.29) {
+        test.parameterSensitivity(x, y, sensitivity);
+        for (int k = 0; k < X_VALUES.length; k++) {
+          BoundSurfaceInterpolator up = factory.apply(X_VALUES, Y_VALUES, bumped(k, EPS));
+          BoundSurfaceInterpolator down = factory.apply(X_VALUES, Y_VALUES, bumped(k, -EPS));
+          double expected = (up.interpolate(x, y) - down.interpolate(x, y)) / (2 * EPS);
+          assertThat(sensitivity[k]).isEqualTo(expected, offset(TOLERANCE));
+        }
+      }
+    }
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_interpolate_array(Factory factory) {
+    BoundSurfaceInterpolator test = factory.apply(X_VALUES, Y_VALUES, Z_VALUES);
+    double[] xValues = {-1, 1, 3.3, 7, 1};
+    double[] yValues = {2, 0.7, 1.9, -1, 3.2};
+    double[] result = new double[xValues.length];
+    test.interpolate(xValues, yValues, result);
+    for (int i = 0; i < xValues.length; i++) {
+      assertThat(result[i]).isEqualTo(test.interpolate(xValues[i], yValues[i]));
+    }
+    assertThrowsIllegalArg(() -> test.interpolate(xValues, new double[1], result));
+    assertThrowsIllegalArg(() -> test.interpolate(xValues, yValues, new double[1]));
+  }
+
+  @Test(dataProvider = "interpolators")
+  public void test_unorderedCalls(Factory factory) {
+    BoundSurfaceInterpolator test = factory.apply(X_VALUES, Y_VALUES, Z_VALUES);
+    BoundSurfaceInterpolator fresh = factory.apply(X_VALUES, Y_VALUES, Z_VALUES);
+    double expected = fresh.interpolate(3.5, 1.2);
+    test.interpolate(0.5, 1.2);
+    assertThat(test.interpolate(3.5, 1.2)).isEqualTo(expected);
+    test.interpolate(4.9, 1.2);
+    assertThat(test.interpolate(3.5, 1.2)).isEqualTo(expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_bilinear() {
+    BoundSurfaceInterpolator test = BoundSurfaceInterpolators.bilinear(X_VALUES, Y_VALUES, Z_VALUES);
+    // column x = 0 is 5.8 at y = 1, column x = 2 is 6 at y = 1
+    assertThat(test.interpolate(1, 1)).isEqualTo(5.9, offset(1e-14));
+    double[] sensitivity = new double[X_VALUES.length];
+    test.parameterSensitivity(1, 1, sensitivity);
+    double[] expected = {0.5, 0.5 / 3, 0, 0, 0.5 * 2 / 3, 0, 0, 0, 0, 0};
+    assertThat(DoubleArrayMath.fuzzyEquals(sensitivity, expected, 1e-14)).isTrue();
+  }
+
+  public void test_columns() {
+    BoundCurveInterpolator linear = BoundCurveInterpolators.linear(COLUMN_Y_VALUES, COLUMN_Z_VALUES);
+    BoundCurveInterpolator spline = BoundCurveInterpolators.naturalCubicSpline(COLUMN_Y_VALUES, COLUMN_Z_VALUES);
+    assertColumn(BoundSurfaceInterpolators.bilinear(X_VALUES, Y_VALUES, Z_VALUES), linear::interpolate);
+    assertColumn(BoundSurfaceInterpolators.linearNaturalCubicSpline(X_VALUES, Y_VALUES, Z_VALUES), spline::interpolate);
+  }
+
+  private void assertColumn(BoundSurfaceInterpolator test, DoubleUnaryOperator column) {
+    for (double y = 0.5; y < 4; y += 0.13) {
+      assertThat(test.interpolate(2, y)).isEqualTo(column.applyAsDouble(y), offset(1e-14));
+    }
+  }
+
+  public void test_linearNaturalCubicSpline_plane() {
+    // the spline of a linear column is linear, so a plane is reproduced within the nodes
+    double[] zValues = new double[X_VALUES.length];
+    for (int i = 0; i < X_VALUES.length; i++) {
+      zValues[i] = plane(X_VALUES[i], Y_VALUES[i]);
+    }
+    BoundSurfaceInterpolator test = BoundSurfaceInterpolators.linearNaturalCubicSpline(X_VALUES, Y_VALUES, zValues);
+    for (double x = 0; x < 5; x += 0.37) {
+      for (double y = 1; y < 3; y += 0.29) {
+        assertThat(test.interpolate(x, y)).isEqualTo(plane(x, y), offset(1e-12));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_isGrid() {
+    assertThat(BoundSurfaceInterpolators.isGrid(X_VALUES, Y_VALUES)).isTrue();
+    assertThat(BoundSurfaceInterpolators.isGrid(new double[] {0, 0, 1, 1}, new double[] {0, 1, 1, 0})).isTrue();
+    // single column
+    assertThat(BoundSurfaceInterpolators.isGrid(new double[] {0, 0, 0}, new double[] {0, 1, 2})).isFalse();
+    // column with one node
+    assertThat(BoundSurfaceInterpolators.isGrid(new double[] {0, 0, 1}, new double[] {0, 1, 0})).isFalse();
+    // duplicate node
+    assertThat(BoundSurfaceInterpolators.isGrid(new double[] {0, 0, 1, 1}, new double[] {0, 1, 0, 0})).isFalse();
+    // length mismatch
+    assertThat(BoundSurfaceInterpolators.isGrid(new double[] {0, 0, 1, 1}, new double[] {0, 1, 0})).isFalse();
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> BoundSurfaceInterpolators.bilinear(
+        new double[] {0, 0, 1}, new double[] {0, 1, 0}, new double[] {1, 2, 3}));
+    assertThrowsIllegalArg(() -> BoundSurfaceInterpolators.bilinear(X_VALUES, Y_VALUES, new double[] {1}));
+    assertThrowsIllegalArg(() -> BoundSurfaceInterpolators.bilinear(null, Y_VALUES, Z_VALUES));
+    assertThrowsIllegalArg(() -> BoundSurfaceInterpolators.linearNaturalCubicSpline(X_VALUES, Y_VALUES, null));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(BoundSurfaceInterpolators.class);
+  }
+
+  //-------------------------------------------------------------------------
+  private static double plane(double x, double y) {
+    return 1 + 2 * x - 3 * y;
+  }
+
+  private static double[] bumped(int index, double amount) {
+    double[] bumped = Z_VALUES.clone();
+    bumped[index] += amount;
+    return bumped;
+  }
+
+}
@@ -0,0 +1,336 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.market.MarketDataFeed;
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.engine.marketdata.MarketEnvironmentBuilder;
+import com.opengamma.strata.finance.credit.CdsTrade;
+import com.opengamma.strata.finance.credit.RestructuringClause;
+import com.opengamma.strata.finance.credit.SeniorityLevel;
+import com.opengamma.strata.finance.credit.type.CdsConvention;
+import com.opengamma.strata.finance.credit.type.CdsConventions;
+import com.opengamma.strata.finance.credit.type.IsdaYieldCurveConventions;
+import com.opengamma.strata.finance.rate.fra.FraTemplate;
+import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.finance.rate.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.finance.rate.swap.type.FixedIborSwapTemplate;
+import com.opengamma.strata.function.interpolator.CurveExtrapolators;
+import com.opengamma.strata.function.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+import com.opengamma.strata.market.curve.ParRates;
+import com.opengamma.strata.market.curve.config.CurveGroupConfig;
+import com.opengamma.strata.market.curve.config.CurveNode;
+import com.opengamma.strata.market.curve.config.FixedIborSwapCurveNode;
+import com.opengamma.strata.market.curve.config.FraCurveNode;
+import com.opengamma.strata.market.curve.config.InterpolatedCurveConfig;
+import com.opengamma.strata.market.id.IndexRateId;
+import com.opengamma.strata.market.id.ParRatesId;
+import com.opengamma.strata.market.key.QuoteKey;
+import com.opengamma.strata.market.value.ValueType;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Market data, configuration and trades shared by the benchmarks.
+ * <p>
+ * All data is generated in code so the benchmarks have no dependency on external files.
+ */
+final class BenchmarkData {
+
+  /**
+   * The valuation date used by all benchmarks.
+   */
+  static final LocalDate VALUATION_DATE = LocalDate.of(2014, 10, 16);
+  /**
+   * The name of the USD curve group.
+   */
+  static final CurveGroupName GROUP_NAME = CurveGroupName.of("USD");
+  /**
+   * The name of the single USD curve used for discounting and forwards.
+   */
+  static final CurveName CURVE_NAME = CurveName.of("USD-LIBOR3M");
+
+  /** The scheme used for the quote identifiers. */
+  private static final String QUOTE_SCHEME = "Benchmark";
+  /** The periods to the start of the FRAs at the curve nodes. */
+  private static final int[] FRA_MONTHS = {3, 6, 9};
+  /** The FRA rates. */
+  private static final double[] FRA_RATES = {0.0037, 0.0054, 0.0062};
+  /** The tenors of the swaps at the curve nodes. */
+  private static final int[] SWAP_YEARS = {1, 2, 3, 4, 5, 7, 10, 15, 20, 30};
+  /** The swap rates. */
+  private static final double[] SWAP_RATES =
+      {0.0050, 0.0087, 0.0120, 0.0148, 0.0170, 0.0210, 0.0250, 0.0280, 0.0290, 0.0300};
+
+  /** The times of the nodes of the zero rate curve. */
+  private static final double[] ZERO_RATE_TIMES = {0.25, 0.5, 1, 2, 3, 4, 5, 7, 10, 15, 20, 30};
+  /** The zero rates. */
+  private static final double[] ZERO_RATES =
+      {0.0036, 0.0045, 0.0050, 0.0086, 0.0119, 0.0147, 0.0169, 0.0210, 0.0251, 0.0283, 0.0294, 0.0305};
+
+  /** The tenors of the ISDA yield curve nodes. */
+  private static final String[] ISDA_YIELD_TENORS = {
+      "1M", "2M", "3M", "6M", "1Y", "2Y", "3Y", "4Y", "5Y", "6Y",
+      "7Y", "8Y", "9Y", "10Y", "12Y", "15Y", "20Y", "25Y", "30Y"};
+  /** The ISDA yield curve par rates. */
+  private static final double[] ISDA_YIELD_RATES = {
+      0.001535, 0.001954, 0.002281, 0.003217, 0.005444, 0.005905, 0.009555, 0.012775, 0.015395, 0.017445,
+      0.019205, 0.020660, 0.021885, 0.022940, 0.024615, 0.026300, 0.027950, 0.028715, 0.029160};
+  /** The tenors of the ISDA credit curve nodes. */
+  private static final String[] ISDA_CREDIT_TENORS =
+      {"6M", "1Y", "2Y", "3Y", "4Y", "5Y", "7Y", "10Y", "15Y", "20Y", "30Y"};
+  /** The ISDA credit curve par spreads. */
+  private static final double[] ISDA_CREDIT_RATES = {
+      0.0011664, 0.0015065, 0.0027044, 0.0044965, 0.0061096, 0.0083256, 0.0099229, 0.0112823, 0.0114707, 0.0116770,
+      0.0117309};
+
+  /**
+   * The recovery rate of the reference entity of the CDS.
+   */
+  static final double RECOVERY_RATE = 0.4;
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the nodes of the USD curve, FRAs followed by fixed-float swaps.
+   *
+   * @return the curve nodes
+   */
+  static List<CurveNode> curveNodes() {
+    ImmutableList.Builder<CurveNode> builder = ImmutableList.builder();
+    for (int months : FRA_MONTHS) {
+      FraTemplate template = FraTemplate.of(Period.ofMonths(months), USD_LIBOR_3M);
+      builder.add(FraCurveNode.of(template, quoteKey("FRA" + months)));
+    }
+    for (int years : SWAP_YEARS) {
+      FixedIborSwapTemplate template =
+          FixedIborSwapTemplate.of(Period.ZERO, Tenor.ofYears(years), FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M);
+      builder.add(FixedIborSwapCurveNode.of(template, quoteKey("SWAP" + years)));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the configuration of the USD curve group.
+   * <p>
+   * The group contains a single curve used for discounting and for the forward rates of USD LIBOR 3M.
+   *
+   * @return the curve group configuration
+   */
+  static CurveGroupConfig curveGroupConfig() {
+    InterpolatedCurveConfig curveConfig = InterpolatedCurveConfig.builder()
+        .name(CURVE_NAME)
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .dayCount(DayCounts.ACT_ACT_ISDA)
+        .nodes(curveNodes())
+        .interpolator(CurveInterpolators.DOUBLE_QUADRATIC)
+        .leftExtrapolator(CurveExtrapolators.FLAT)
+        .rightExtrapolator(CurveExtrapolators.FLAT)
+        .build();
+
+    return CurveGroupConfig.builder()
+        .name(GROUP_NAME)
+        .addCurve(curveConfig, USD, USD_LIBOR_3M)
+        .build();
+  }
+
+  /**
+   * Returns the market quotes for the nodes of the USD curve, keyed by ID.
+   *
+   * @return the quotes for the curve nodes
+   */
+  static Map<ObservableId, Double> quotes() {
+    ImmutableMap.Builder<ObservableId, Double> builder = ImmutableMap.builder();
+    for (int i = 0; i < FRA_MONTHS.length; i++) {
+      builder.put(quoteKey("FRA" + FRA_MONTHS[i]).toObservableId(MarketDataFeed.NONE), FRA_RATES[i]);
+    }
+    for (int i = 0; i < SWAP_YEARS.length; i++) {
+      builder.put(quoteKey("SWAP" + SWAP_YEARS[i]).toObservableId(MarketDataFeed.NONE), SWAP_RATES[i]);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a market environment containing the market quotes for the USD curve
+   * and an empty time series for USD LIBOR 3M.
+   *
+   * @return the market environment
+   */
+  static MarketEnvironment quotesMarketEnvironment() {
+    MarketEnvironmentBuilder builder = MarketEnvironment.builder(VALUATION_DATE)
+        .addAllValues(quotes())
+        .addTimeSeries(IndexRateId.of(USD_LIBOR_3M), LocalDateDoubleTimeSeries.empty());
+    return builder.build();
+  }
+
+  /**
+   * Returns a market environment containing the par rates of the USD curve,
+   * as required by curve calibration.
+   *
+   * @return the market environment
+   */
+  static MarketEnvironment parRatesMarketEnvironment() {
+    ParRates parRates = ParRates.of(quotes(), DefaultCurveMetadata.of(CURVE_NAME));
+    return MarketEnvironment.builder(VALUATION_DATE)
+        .addValue(ParRatesId.of(GROUP_NAME, CURVE_NAME, MarketDataFeed.NONE), parRates)
+        .build();
+  }
+
+  /**
+   * Returns a portfolio of USD fixed-float swaps.
+   * <p>
+   * The swaps cycle through tenors from one to thirty years with fixed rates close to par.
+   *
+   * @param tradeCount  the number of trades in the portfolio
+   * @return the trades
+   */
+  static List<SwapTrade> swapPortfolio(int tradeCount) {
+    ImmutableList.Builder<SwapTrade> builder = ImmutableList.builder();
+    for (int i = 0; i < tradeCount; i++) {
+      int tenorIndex = i % SWAP_YEARS.length;
+      FixedIborSwapTemplate template = FixedIborSwapTemplate.of(
+          Tenor.ofYears(SWAP_YEARS[tenorIndex]),
+          FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M);
+      BuySell buySell = i % 2 == 0 ? BuySell.BUY : BuySell.SELL;
+      double notional = 1_000_000d * (1 + i % 10);
+      double fixedRate = SWAP_RATES[tenorIndex] + 0.0001 * (i % 7 - 3);
+      builder.add(template.toTrade(VALUATION_DATE, buySell, notional, fixedRate));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a rates provider containing a single USD curve for discounting and the forward rates of USD LIBOR 3M.
+   * <p>
+   * The curve is interpolated directly from the zero rates at its nodes rather than calibrated.
+   *
+   * @return the rates provider
+   */
+  static ImmutableRatesProvider ratesProvider() {
+    Curve curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates(CURVE_NAME, DayCounts.ACT_ACT_ISDA),
+        ZERO_RATE_TIMES,
+        ZERO_RATES,
+        CurveInterpolators.DOUBLE_QUADRATIC);
+    return ImmutableRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .discountCurves(ImmutableMap.of(USD, curve))
+        .indexCurves(ImmutableMap.<Index, Curve>of(USD_LIBOR_3M, curve))
+        .timeSeries(ImmutableMap.<Index, LocalDateDoubleTimeSeries>of(USD_LIBOR_3M, LocalDateDoubleTimeSeries.empty()))
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the par rates of the ISDA USD yield curve.
+   *
+   * @return the par rates of the yield curve
+   */
+  static IsdaYieldCurveParRates isdaYieldCurveParRates() {
+    Period[] periods = periods(ISDA_YIELD_TENORS);
+    LocalDate[] endDates = ImmutableList.copyOf(periods).stream()
+        .map(VALUATION_DATE::plus)
+        .toArray(LocalDate[]::new);
+    IsdaYieldCurveUnderlyingType[] types = ImmutableList.copyOf(periods).stream()
+        .map(period -> period.toTotalMonths() <= 12 ?
+            IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET :
+            IsdaYieldCurveUnderlyingType.ISDA_SWAP)
+        .toArray(IsdaYieldCurveUnderlyingType[]::new);
+    return IsdaYieldCurveParRates.of(
+        CurveName.of(IsdaYieldCurveConventions.ISDA_USD.getName()),
+        periods,
+        endDates,
+        types,
+        ISDA_YIELD_RATES,
+        IsdaYieldCurveConventions.ISDA_USD);
+  }
+
+  /**
+   * Returns the par rates of the credit curve of the reference entity of the CDS.
+   *
+   * @return the par rates of the credit curve
+   */
+  static IsdaCreditCurveParRates isdaCreditCurveParRates() {
+    CdsConvention convention = CdsConventions.NORTH_AMERICAN_USD;
+    Period[] periods = periods(ISDA_CREDIT_TENORS);
+    LocalDate[] endDates = ImmutableList.copyOf(periods).stream()
+        .map(period -> convention.getUnadjustedMaturityDateFromValuationDate(VALUATION_DATE, period))
+        .toArray(LocalDate[]::new);
+    return IsdaCreditCurveParRates.of(
+        CurveName.of("COMP01"),
+        periods,
+        endDates,
+        ISDA_CREDIT_RATES,
+        convention,
+        1d);
+  }
+
+  /**
+   * Returns a five year single name CDS trade.
+   *
+   * @return the CDS trade
+   */
+  static CdsTrade cdsTrade() {
+    return CdsConventions.NORTH_AMERICAN_USD.toSingleNameTrade(
+        LocalDate.of(2014, 9, 22),
+        LocalDate.of(2019, 12, 20),
+        BuySell.BUY,
+        100_000_000d,
+        0.0100,
+        StandardId.of(QUOTE_SCHEME, "COMP01"),
+        SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+        RestructuringClause.NO_RESTRUCTURING_2014,
+        3_694_117.73d,
+        LocalDate.of(2014, 10, 21));
+  }
+
+  //-------------------------------------------------------------------------
+  // the key of the quote for a curve node
+  private static QuoteKey quoteKey(String name) {
+    return QuoteKey.of(StandardId.of(QUOTE_SCHEME, name));
+  }
+
+  // parses an array of tenors into periods
+  private static Period[] periods(String[] tenors) {
+    List<Period> periods = ImmutableList.copyOf(tenors).stream()
+        .map(tenor -> Tenor.parse(tenor).getPeriod())
+        .collect(toImmutableList());
+    return periods.toArray(new Period[periods.size()]);
+  }
+
+}
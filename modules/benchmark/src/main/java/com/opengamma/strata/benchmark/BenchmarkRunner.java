@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Strata benchmarks.
+ * <p>
+ * This accepts the standard JMH command line options and applies defaults suitable for
+ * comparing results across releases. Unless specified on the command line:
+ * <ul>
+ *   <li>the GC profiler is enabled, recording allocation rates alongside the timings
+ *   <li>the results are written as JSON to {@code jmh-result.json}
+ * </ul>
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * The default file the results are written to.
+   */
+  private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkRunner() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args  the JMH command line options
+   * @throws CommandLineOptionException if the command line options are invalid
+   * @throws RunnerException if the benchmarks fail to run
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    if (commandLineOptions.shouldHelp()) {
+      commandLineOptions.showHelp();
+      return;
+    }
+    ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+    if (commandLineOptions.getProfilers().isEmpty()) {
+      builder.addProfiler(GCProfiler.class);
+    }
+    if (!commandLineOptions.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLineOptions.getResult().hasValue()) {
+      builder.result(DEFAULT_RESULT_FILE);
+    }
+    Runner runner = new Runner(builder.build());
+    if (commandLineOptions.shouldList()) {
+      runner.list();
+    } else {
+      runner.run();
+    }
+  }
+
+}
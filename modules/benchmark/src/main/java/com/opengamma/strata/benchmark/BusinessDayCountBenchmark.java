@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendars;
+import com.opengamma.strata.collect.range.LocalDateRange;
+
+/**
+ * Benchmarks business day counting and business day adjustment.
+ * <p>
+ * The Bus/252 day count counts the business days of each accrual period using
+ * {@link HolidayCalendar#daysBetween(LocalDate, LocalDate)}. The bitmask implementation is compared
+ * with the previous implementation, which streamed the period one day at a time.
+ * <p>
+ * The {@link DaysAdjustment} benchmarks use the combination of the London and New York calendars.
+ * The eagerly combined calendar is compared with a lazily combined calendar, which queries
+ * both calendars for each day, as was the case for all combined calendars before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessDayCountBenchmark {
+
+  /**
+   * The number of accrual periods, being semi-annual periods over thirty years.
+   */
+  private static final int PERIOD_COUNT = 60;
+  /**
+   * The number of dates adjusted in each invocation.
+   */
+  private static final int DATE_COUNT = 256;
+
+  /**
+   * The number of business days added by the days adjustment.
+   */
+  @Param({"2", "10"})
+  public int businessDays;
+
+  /**
+   * The calendar.
+   */
+  private HolidayCalendar calendar;
+  /**
+   * The Bus/252 day count using the calendar.
+   */
+  private DayCount dayCount;
+  /**
+   * The accrual period dates.
+   */
+  private LocalDate[] periodDates;
+  /**
+   * The days adjustment using the eagerly combined calendar.
+   */
+  private DaysAdjustment eagerAdjustment;
+  /**
+   * The days adjustment using the lazily combined calendar.
+   */
+  private DaysAdjustment lazyAdjustment;
+  /**
+   * The dates to adjust.
+   */
+  private LocalDate[] dates;
+
+  /**
+   * Creates the calendars and dates.
+   */
+  @Setup
+  public void setUp() {
+    calendar = HolidayCalendars.EUTA;
+    dayCount = DayCount.ofBus252(calendar);
+    periodDates = new LocalDate[PERIOD_COUNT + 1];
+    LocalDate start = LocalDate.of(2016, 1, 4);
+    for (int i = 0; i <= PERIOD_COUNT; i++) {
+      periodDates[i] = start.plusMonths(6 * i);
+    }
+    HolidayCalendar eager = HolidayCalendars.GBLO.combineWith(HolidayCalendars.USNY);
+    HolidayCalendar lazy = new LazyCombined(HolidayCalendars.GBLO, HolidayCalendars.USNY);
+    eagerAdjustment = DaysAdjustment.ofBusinessDays(businessDays, eager);
+    lazyAdjustment = DaysAdjustment.ofBusinessDays(businessDays, lazy);
+    dates = new LocalDate[DATE_COUNT];
+    LocalDate date = LocalDate.of(2005, 1, 1);
+    for (int i = 0; i < DATE_COUNT; i++) {
+      // a step that is coprime to seven visits every day of the week
+      dates[i] = date;
+      date = date.plusDays(37);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the Bus/252 year fraction of each accrual period.
+   *
+   * @return the total year fraction
+   */
+  @Benchmark
+  @OperationsPerInvocation(PERIOD_COUNT)
+  public double bus252YearFraction() {
+    double total = 0;
+    for (int i = 0; i < PERIOD_COUNT; i++) {
+      total += dayCount.yearFraction(periodDates[i], periodDates[i + 1]);
+    }
+    return total;
+  }
+
+  /**
+   * Calculates the Bus/252 year fraction of each accrual period by streaming each day of the period.
+   *
+   * @return the total year fraction
+   */
+  @Benchmark
+  @OperationsPerInvocation(PERIOD_COUNT)
+  public double bus252YearFractionStreamed() {
+    double total = 0;
+    for (int i = 0; i < PERIOD_COUNT; i++) {
+      long days = LocalDateRange.of(periodDates[i], periodDates[i + 1]).stream()
+          .filter(calendar::isBusinessDay)
+          .count();
+      total += days / 252d;
+    }
+    return total;
+  }
+
+  /**
+   * Adjusts each date using the eagerly combined calendar.
+   *
+   * @param blackhole  receives the adjusted dates
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void daysAdjustmentEager(Blackhole blackhole) {
+    for (LocalDate date : dates) {
+      blackhole.consume(eagerAdjustment.adjust(date));
+    }
+  }
+
+  /**
+   * Adjusts each date using the lazily combined calendar.
+   *
+   * @param blackhole  receives the adjusted dates
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void daysAdjustmentLazy(Blackhole blackhole) {
+    for (LocalDate date : dates) {
+      blackhole.consume(lazyAdjustment.adjust(date));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A combined calendar that queries both calendars for each day.
+   */
+  private static final class LazyCombined implements HolidayCalendar {
+
+    private final HolidayCalendar calendar1;
+    private final HolidayCalendar calendar2;
+
+    private LazyCombined(HolidayCalendar calendar1, HolidayCalendar calendar2) {
+      this.calendar1 = calendar1;
+      this.calendar2 = calendar2;
+    }
+
+    @Override
+    public boolean isHoliday(LocalDate date) {
+      return calendar1.isHoliday(date) || calendar2.isHoliday(date);
+    }
+
+    @Override
+    public String getName() {
+      return calendar1.getName() + "+" + calendar2.getName();
+    }
+  }
+
+}
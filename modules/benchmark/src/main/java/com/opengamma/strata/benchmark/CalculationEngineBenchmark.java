@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.id.LinkResolver;
+import com.opengamma.strata.engine.CalculationEngine;
+import com.opengamma.strata.engine.CalculationRules;
+import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.DefaultCalculationEngine;
+import com.opengamma.strata.engine.calculation.DefaultCalculationRunner;
+import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.config.MarketDataRule;
+import com.opengamma.strata.engine.config.MarketDataRules;
+import com.opengamma.strata.engine.config.Measure;
+import com.opengamma.strata.engine.config.ReportingRules;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.function.StandardComponents;
+import com.opengamma.strata.function.marketdata.mapping.MarketDataMappingsBuilder;
+
+/**
+ * Benchmarks a full run of {@link DefaultCalculationEngine#calculate} over a generated portfolio of swaps.
+ * <p>
+ * Each invocation calibrates the USD curve from market quotes and then calculates
+ * the present value, PV01 and par rate of every trade.
+ * The size of the portfolio and the number of threads are configurable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculationEngineBenchmark {
+
+  /**
+   * The columns calculated for each trade.
+   */
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measure.PRESENT_VALUE),
+      Column.of(Measure.PV01),
+      Column.of(Measure.PAR_RATE));
+
+  /**
+   * The number of trades in the portfolio.
+   */
+  @Param({"100", "1000"})
+  public int tradeCount;
+  /**
+   * The number of threads used to perform the calculations, zero for one per processor.
+   */
+  @Param("0")
+  public int threadCount;
+
+  /**
+   * The executor used by the calculation runner.
+   */
+  private ExecutorService executor;
+  /**
+   * The calculation engine.
+   */
+  private CalculationEngine engine;
+  /**
+   * The trades in the portfolio.
+   */
+  private List<SwapTrade> trades;
+  /**
+   * The calculation rules.
+   */
+  private CalculationRules rules;
+  /**
+   * The market data containing the quotes used to calibrate the curve.
+   */
+  private MarketEnvironment marketData;
+
+  /**
+   * Creates the engine, the portfolio and the market data.
+   */
+  @Setup
+  public void setUp() {
+    int threads = threadCount == 0 ? Runtime.getRuntime().availableProcessors() : threadCount;
+    executor = Executors.newFixedThreadPool(threads);
+    engine = new DefaultCalculationEngine(
+        new DefaultCalculationRunner(executor),
+        StandardComponents.marketDataFactory(),
+        LinkResolver.none());
+    trades = BenchmarkData.swapPortfolio(tradeCount);
+    MarketDataRules marketDataRules = MarketDataRules.of(
+        MarketDataRule.anyTarget(
+            MarketDataMappingsBuilder.create()
+                .curveGroup(BenchmarkData.GROUP_NAME)
+                .build()));
+    MarketDataConfig marketDataConfig = MarketDataConfig.builder()
+        .add(BenchmarkData.GROUP_NAME, BenchmarkData.curveGroupConfig())
+        .build();
+    rules = CalculationRules.builder()
+        .pricingRules(StandardComponents.pricingRules())
+        .marketDataRules(marketDataRules)
+        .marketDataConfig(marketDataConfig)
+        .reportingRules(ReportingRules.fixedCurrency(Currency.USD))
+        .build();
+    marketData = BenchmarkData.quotesMarketEnvironment();
+  }
+
+  /**
+   * Shuts down the executor.
+   */
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the results for the portfolio.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calculate() {
+    return engine.calculate(trades, COLUMNS, rules, marketData);
+  }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.calculation.CalculationResult;
+import com.opengamma.strata.engine.calculation.CalculationTask;
+import com.opengamma.strata.engine.calculation.CalculationTasks;
+import com.opengamma.strata.engine.calculation.DefaultCalculationRunner;
+import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.config.CalculationTasksConfig;
+import com.opengamma.strata.engine.config.MarketDataRule;
+import com.opengamma.strata.engine.config.MarketDataRules;
+import com.opengamma.strata.engine.config.Measure;
+import com.opengamma.strata.engine.config.ReportingRules;
+import com.opengamma.strata.engine.marketdata.CalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.function.StandardComponents;
+import com.opengamma.strata.function.marketdata.mapping.MarketDataMappingsBuilder;
+
+/**
+ * Benchmarks the calculation phase of {@link DefaultCalculationRunner} over a generated portfolio of swaps.
+ * <p>
+ * The tasks and the calibrated market data are created once, so only the cost of running the tasks
+ * is measured. The tasks are run on the calling thread to isolate the overhead of each task from the
+ * scheduling of the threads.
+ * <p>
+ * The {@code runner} benchmark reads the market data for each task from the market data slots bound
+ * when the tasks were created. The {@code mappings} benchmark runs the same tasks directly, applying
+ * the market data mappings each time a value is read, and is the baseline for the runner.
+ * The {@code createTasks} benchmark measures the creation of the tasks, including binding the slots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  /**
+   * The columns calculated for each trade.
+   */
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measure.PRESENT_VALUE),
+      Column.of(Measure.PV01),
+      Column.of(Measure.PAR_RATE));
+
+  /**
+   * The number of trades in the portfolio.
+   */
+  @Param({"100", "1000"})
+  public int tradeCount;
+
+  /**
+   * The calculation runner, running the tasks on the calling thread.
+   */
+  private DefaultCalculationRunner runner;
+  /**
+   * The configuration of the tasks.
+   */
+  private CalculationTasksConfig config;
+  /**
+   * The tasks that perform the calculations.
+   */
+  private CalculationTasks tasks;
+  /**
+   * The market data used in the calculations, including the calibrated curves.
+   */
+  private CalculationEnvironment marketData;
+  /**
+   * The market data used when the tasks are run directly.
+   */
+  private ScenarioCalculationEnvironment scenarioMarketData;
+
+  /**
+   * Creates the tasks and builds the market data they require.
+   */
+  @Setup
+  public void setUp() {
+    runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    MarketDataRules marketDataRules = MarketDataRules.of(
+        MarketDataRule.anyTarget(
+            MarketDataMappingsBuilder.create()
+                .curveGroup(BenchmarkData.GROUP_NAME)
+                .build()));
+    MarketDataConfig marketDataConfig = MarketDataConfig.builder()
+        .add(BenchmarkData.GROUP_NAME, BenchmarkData.curveGroupConfig())
+        .build();
+    config = runner.createCalculationConfig(
+        BenchmarkData.swapPortfolio(tradeCount),
+        COLUMNS,
+        StandardComponents.pricingRules(),
+        marketDataRules,
+        ReportingRules.fixedCurrency(Currency.USD));
+    tasks = runner.createCalculationTasks(config);
+    marketData = StandardComponents.marketDataFactory().buildCalculationEnvironment(
+        tasks.getRequirements(),
+        BenchmarkData.quotesMarketEnvironment(),
+        marketDataConfig);
+    scenarioMarketData = ScenarioCalculationEnvironment.of(marketData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs the tasks using the calculation runner, reading the market data by slot.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results runner() {
+    return runner.calculate(tasks, marketData);
+  }
+
+  /**
+   * Runs the tasks directly, applying the market data mappings for each value read.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public List<CalculationResult> mappings() {
+    List<CalculationResult> results = new ArrayList<>(tasks.getCellCount());
+
+    for (CalculationTask task : tasks.getTasks()) {
+      results.addAll(task.executeAll(scenarioMarketData));
+    }
+    return results;
+  }
+
+  /**
+   * Creates the tasks, including requesting the requirements of the functions and binding the slots.
+   *
+   * @return the tasks
+   */
+  @Benchmark
+  public CalculationTasks createTasks() {
+    return runner.createCalculationTasks(config);
+  }
+
+}
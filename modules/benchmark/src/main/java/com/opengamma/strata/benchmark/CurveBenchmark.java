@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.analytics.math.interpolation.Interpolator1DFactory;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.interpolator.CurveInterpolator;
+import com.opengamma.strata.function.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+
+/**
+ * Benchmarks {@link InterpolatedNodalCurve#yValue(double)} and
+ * {@link InterpolatedNodalCurve#yValueParameterSensitivity(double)}.
+ * <p>
+ * Each invocation evaluates the curve at a fixed set of points spread along the curve.
+ * <p>
+ * The standard linear interpolator is bound to the curve nodes, and is compared with
+ * the legacy linear interpolator, which is not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveBenchmark {
+
+  /**
+   * The number of points at which the curve is evaluated in each invocation.
+   */
+  private static final int POINT_COUNT = 256;
+  /**
+   * The x-values of the curve nodes.
+   */
+  private static final double[] X_VALUES = {0.25, 0.5, 1, 2, 3, 4, 5, 7, 10, 15, 20, 30};
+  /**
+   * The y-values of the curve nodes.
+   */
+  private static final double[] Y_VALUES =
+      {0.0037, 0.0054, 0.0050, 0.0087, 0.0120, 0.0148, 0.0170, 0.0210, 0.0250, 0.0280, 0.0290, 0.0300};
+
+  /**
+   * The interpolator used by the curve.
+   */
+  @Param
+  public Interpolator interpolator;
+
+  /**
+   * The curve.
+   */
+  private InterpolatedNodalCurve curve;
+  /**
+   * The points at which the curve is evaluated.
+   */
+  private double[] points;
+  /**
+   * The array the sensitivities are written to.
+   */
+  private double[] sensitivity;
+
+  /**
+   * Creates the curve and the evaluation points.
+   */
+  @Setup
+  public void setUp() {
+    curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Benchmark", DayCounts.ACT_ACT_ISDA),
+        X_VALUES,
+        Y_VALUES,
+        interpolator.curveInterpolator);
+    sensitivity = new double[X_VALUES.length];
+    points = new double[POINT_COUNT];
+    double last = X_VALUES[X_VALUES.length - 1];
+    for (int i = 0; i < POINT_COUNT; i++) {
+      points[i] = last * (i + 0.5) / POINT_COUNT;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the y-value at each point.
+   *
+   * @param blackhole  receives the y-values
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINT_COUNT)
+  public void yValue(Blackhole blackhole) {
+    for (double x : points) {
+      blackhole.consume(curve.yValue(x));
+    }
+  }
+
+  /**
+   * Calculates the sensitivity of the y-value to the curve parameters at each point.
+   *
+   * @param blackhole  receives the sensitivities
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINT_COUNT)
+  public void yValueParameterSensitivity(Blackhole blackhole) {
+    for (double x : points) {
+      blackhole.consume(curve.yValueParameterSensitivity(x));
+    }
+  }
+
+  /**
+   * Calculates the sensitivity of the y-value to the curve parameters at each point,
+   * writing each sensitivity into the same array.
+   *
+   * @param blackhole  receives the sensitivities
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINT_COUNT)
+  public void yValueParameterSensitivityArray(Blackhole blackhole) {
+    for (double x : points) {
+      curve.yValueParameterSensitivity(x, sensitivity);
+      blackhole.consume(sensitivity[0]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The interpolators that are benchmarked.
+   */
+  public static enum Interpolator {
+
+    /** Linear interpolation. */
+    LINEAR(CurveInterpolators.LINEAR),
+    /** Linear interpolation using the legacy interpolator. */
+    LINEAR_LEGACY(Interpolator1DFactory.LINEAR_INSTANCE),
+    /** Double quadratic interpolation. */
+    DOUBLE_QUADRATIC(CurveInterpolators.DOUBLE_QUADRATIC),
+    /** Natural cubic spline interpolation. */
+    NATURAL_CUBIC_SPLINE(CurveInterpolators.NATURAL_CUBIC_SPLINE),
+    /** Log natural cubic interpolation with monotonicity filter. */
+    LOG_NATURAL_CUBIC_MONOTONE(CurveInterpolators.LOG_NATURAL_CUBIC_MONOTONE);
+
+    /** The interpolator. */
+    private final CurveInterpolator curveInterpolator;
+
+    private Interpolator(CurveInterpolator curveInterpolator) {
+      this.curveInterpolator = curveInterpolator;
+    }
+  }
+
+}
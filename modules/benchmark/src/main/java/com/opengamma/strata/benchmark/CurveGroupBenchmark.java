@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.market.MarketDataFeed;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.function.marketdata.curve.CurveGroupMarketDataFunction;
+import com.opengamma.strata.function.marketdata.curve.RootFinderConfig;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.config.CurveGroupConfig;
+
+/**
+ * Benchmarks {@link CurveGroupMarketDataFunction#buildCurveGroup}.
+ * <p>
+ * The curve group contains a single USD curve calibrated to FRAs and fixed-float swaps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveGroupBenchmark {
+
+  /**
+   * The function that calibrates the curve group.
+   */
+  private CurveGroupMarketDataFunction function;
+  /**
+   * The configuration of the curve group.
+   */
+  private CurveGroupConfig groupConfig;
+  /**
+   * The market data containing the par rates of the curve.
+   */
+  private MarketEnvironment marketData;
+
+  /**
+   * Creates the function, configuration and market data.
+   */
+  @Setup
+  public void setUp() {
+    function = new CurveGroupMarketDataFunction(RootFinderConfig.defaults());
+    groupConfig = BenchmarkData.curveGroupConfig();
+    marketData = BenchmarkData.parRatesMarketEnvironment();
+    Result<CurveGroup> result = buildCurveGroup();
+    if (result.isFailure()) {
+      throw new IllegalStateException("Curve group calibration failed: " + result.getFailure().getMessage());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curve group.
+   *
+   * @return the result containing the curve group
+   */
+  @Benchmark
+  public Result<CurveGroup> buildCurveGroup() {
+    return function.buildCurveGroup(groupConfig, marketData, MarketDataFeed.NONE);
+  }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendars;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
+
+/**
+ * Benchmarks {@link ImmutableHolidayCalendar#shift(LocalDate, int)}.
+ * <p>
+ * The calendars contain the London and New York holidays between 2000 and 2050.
+ * Each invocation shifts a fixed set of dates spread across that range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayCalendarBenchmark {
+
+  /**
+   * The number of dates shifted in each invocation.
+   */
+  private static final int DATE_COUNT = 256;
+
+  /**
+   * The number of business days to shift by.
+   */
+  @Param({"1", "-2", "10", "250"})
+  public int amount;
+
+  /**
+   * The London calendar.
+   */
+  private ImmutableHolidayCalendar london;
+  /**
+   * The combination of the London and New York calendars.
+   */
+  private HolidayCalendar londonNewYork;
+  /**
+   * The dates to shift.
+   */
+  private LocalDate[] dates;
+
+  /**
+   * Creates the calendars and the dates to shift.
+   */
+  @Setup
+  public void setUp() {
+    london = copy(HolidayCalendars.GBLO);
+    londonNewYork = london.combineWith(copy(HolidayCalendars.USNY));
+    dates = new LocalDate[DATE_COUNT];
+    LocalDate date = LocalDate.of(2005, 1, 1);
+    for (int i = 0; i < DATE_COUNT; i++) {
+      // a step that is coprime to seven visits every day of the week
+      dates[i] = date;
+      date = date.plusDays(37);
+    }
+  }
+
+  // copies the holidays of a calendar into an immutable calendar
+  private static ImmutableHolidayCalendar copy(HolidayCalendar calendar) {
+    List<LocalDate> holidays = new ArrayList<>();
+    for (LocalDate date = LocalDate.of(2000, 1, 1); date.getYear() <= 2050; date = date.plusDays(1)) {
+      DayOfWeek dayOfWeek = date.getDayOfWeek();
+      if (dayOfWeek != SATURDAY && dayOfWeek != SUNDAY && calendar.isHoliday(date)) {
+        holidays.add(date);
+      }
+    }
+    return ImmutableHolidayCalendar.of(calendar.getName(), holidays, SATURDAY, SUNDAY);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Shifts each date using a single calendar.
+   *
+   * @param blackhole  receives the shifted dates
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void shift(Blackhole blackhole) {
+    for (LocalDate date : dates) {
+      blackhole.consume(london.shift(date, amount));
+    }
+  }
+
+  /**
+   * Shifts each date using a combined calendar.
+   *
+   * @param blackhole  receives the shifted dates
+   */
+  @Benchmark
+  @OperationsPerInvocation(DATE_COUNT)
+  public void shiftCombined(Blackhole blackhole) {
+    for (LocalDate date : dates) {
+      blackhole.consume(londonNewYork.shift(date, amount));
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.finance.credit.ExpandedCds;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Benchmarks {@link IsdaCdsPricer#presentValue}.
+ * <p>
+ * The present value is calculated from par rates, so each invocation includes
+ * the calibration of the ISDA yield and credit curves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsdaCdsPricerBenchmark {
+
+  /**
+   * The pricer.
+   */
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+
+  /**
+   * The CDS.
+   */
+  private ExpandedCds cds;
+  /**
+   * The par rates of the yield curve.
+   */
+  private IsdaYieldCurveParRates yieldCurveParRates;
+  /**
+   * The par rates of the credit curve.
+   */
+  private IsdaCreditCurveParRates creditCurveParRates;
+
+  /**
+   * Creates the CDS and the market data.
+   */
+  @Setup
+  public void setUp() {
+    cds = BenchmarkData.cdsTrade().getProduct().expand();
+    yieldCurveParRates = BenchmarkData.isdaYieldCurveParRates();
+    creditCurveParRates = BenchmarkData.isdaCreditCurveParRates();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public CurrencyAmount presentValue() {
+    return PRICER.presentValue(
+        cds,
+        yieldCurveParRates,
+        creditCurveParRates,
+        BenchmarkData.VALUATION_DATE,
+        BenchmarkData.RECOVERY_RATE,
+        creditCurveParRates.getScalingFactor());
+  }
+
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityCompactor;
+import com.opengamma.strata.market.sensitivity.ZeroRateSensitivity;
+
+/**
+ * Benchmarks the normalization of point sensitivities.
+ * <p>
+ * The point sensitivities are zero rate and Ibor rate sensitivities whose dates are drawn
+ * from a limited number of distinct dates, as happens when gathering the sensitivities
+ * of many swaps with payments on the same dates.
+ * The merging of the {@link PointSensitivityCompactor} is compared with the previous
+ * implementation, which sorted the sensitivities and then removed the duplicates one at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointSensitivityBenchmark {
+
+  /**
+   * The number of point sensitivities.
+   */
+  @Param({"10000", "100000"})
+  public int sensitivityCount;
+  /**
+   * The number of distinct dates.
+   */
+  @Param({"100", "10000"})
+  public int dateCount;
+
+  /**
+   * The point sensitivities.
+   */
+  private List<PointSensitivity> sensitivities;
+
+  /**
+   * Creates the point sensitivities.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    LocalDate start = LocalDate.of(2015, 1, 5);
+    sensitivities = new ArrayList<>(sensitivityCount);
+    for (int i = 0; i < sensitivityCount; i++) {
+      LocalDate date = start.plusDays(random.nextInt(dateCount));
+      double value = random.nextDouble();
+      sensitivities.add(i % 2 == 0 ?
+          ZeroRateSensitivity.of(USD, date, value) :
+          IborRateSensitivity.of(USD_LIBOR_3M, date, value));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Normalizes the point sensitivities using {@link PointSensitivities#normalized()}.
+   *
+   * @return the normalized point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities normalized() {
+    return PointSensitivities.of(sensitivities).normalized();
+  }
+
+  /**
+   * Adds the point sensitivities to a {@link PointSensitivityCompactor} one at a time.
+   *
+   * @return the normalized point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities compactor() {
+    PointSensitivityCompactor compactor = new PointSensitivityCompactor();
+    for (PointSensitivity sensitivity : sensitivities) {
+      compactor.add(sensitivity);
+    }
+    return compactor.build();
+  }
+
+  /**
+   * Normalizes the point sensitivities using the previous sort and remove implementation.
+   *
+   * @return the normalized point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities sortAndRemove() {
+    List<PointSensitivity> mutable = new ArrayList<>(sensitivities);
+    mutable.sort(PointSensitivity::compareKey);
+    PointSensitivity last = mutable.get(0);
+    for (int i = 1; i < mutable.size(); i++) {
+      PointSensitivity current = mutable.get(i);
+      if (current.compareKey(last) == 0) {
+        last = last.withSensitivity(last.getSensitivity() + current.getSensitivity());
+        mutable.set(i - 1, last);
+        mutable.remove(i);
+        i--;
+      } else {
+        last = current;
+      }
+    }
+    return PointSensitivities.of(mutable);
+  }
+
+}
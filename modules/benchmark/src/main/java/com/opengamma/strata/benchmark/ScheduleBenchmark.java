@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendars;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+
+/**
+ * Benchmarks the creation of a schedule from a {@link PeriodicSchedule}.
+ * <p>
+ * The schedule has an initial stub and is adjusted using the combined London and New York calendars.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark {
+
+  /**
+   * The frequency of the schedule.
+   */
+  @Param({"P1M", "P3M", "P12M"})
+  public String frequency;
+  /**
+   * The length of the schedule in years.
+   */
+  @Param({"5", "30"})
+  public int years;
+
+  /**
+   * The schedule definition.
+   */
+  private PeriodicSchedule periodicSchedule;
+
+  /**
+   * Creates the schedule definition.
+   */
+  @Setup
+  public void setUp() {
+    LocalDate startDate = LocalDate.of(2014, 9, 12);
+    periodicSchedule = PeriodicSchedule.builder()
+        .startDate(startDate)
+        .endDate(startDate.plusYears(years).plusDays(20))
+        .frequency(Frequency.parse(frequency))
+        .businessDayAdjustment(
+            BusinessDayAdjustment.of(MODIFIED_FOLLOWING, HolidayCalendars.GBLO.combineWith(HolidayCalendars.USNY)))
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the adjusted schedule.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createSchedule() {
+    return periodicSchedule.createSchedule();
+  }
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
+import com.opengamma.strata.finance.rate.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.finance.rate.swap.type.FixedIborSwapTemplate;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.swap.DiscountingSwapProductPricer;
+
+/**
+ * Benchmarks {@link DiscountingSwapProductPricer}.
+ * <p>
+ * The swap is a USD fixed versus LIBOR 3M swap.
+ * The present value is measured for a single scenario and for many scenarios,
+ * both one scenario at a time and for all scenarios together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwapPricerBenchmark {
+
+  /**
+   * The number of scenarios used by the scenario benchmarks.
+   */
+  private static final int SCENARIO_COUNT = 100;
+  /**
+   * The pricer.
+   */
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  /**
+   * The tenor of the swap in years.
+   */
+  @Param({"2", "10", "30"})
+  public int years;
+
+  /**
+   * The swap.
+   */
+  private ExpandedSwap swap;
+  /**
+   * The rates provider.
+   */
+  private ImmutableRatesProvider provider;
+  /**
+   * The rates providers of the scenarios.
+   */
+  private List<ImmutableRatesProvider> scenarioProviders;
+  /**
+   * The point sensitivity of the present value.
+   */
+  private PointSensitivities pointSensitivities;
+
+  /**
+   * Creates the swap and the market data.
+   */
+  @Setup
+  public void setUp() {
+    FixedIborSwapTemplate template =
+        FixedIborSwapTemplate.of(Tenor.ofYears(years), FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M);
+    swap = template.toTrade(BenchmarkData.VALUATION_DATE, BuySell.BUY, 100_000_000d, 0.02)
+        .getProduct()
+        .expand();
+    provider = BenchmarkData.ratesProvider();
+    scenarioProviders = Collections.nCopies(SCENARIO_COUNT, provider);
+    pointSensitivities = PRICER.presentValueSensitivity(swap, provider).build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(swap, provider);
+  }
+
+  /**
+   * Calculates the point sensitivity of the present value.
+   *
+   * @return the point sensitivity
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(swap, provider).build();
+  }
+
+  /**
+   * Converts the point sensitivity of the present value to the sensitivity to the curve parameters.
+   *
+   * @return the curve parameter sensitivity
+   */
+  @Benchmark
+  public CurveCurrencyParameterSensitivities curveParameterSensitivity() {
+    return provider.curveParameterSensitivity(pointSensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value in many scenarios, one scenario at a time.
+   *
+   * @return the total present value of the scenarios
+   */
+  @Benchmark
+  public double presentValueScenariosSeparately() {
+    double total = 0;
+    for (ImmutableRatesProvider scenarioProvider : scenarioProviders) {
+      total += PRICER.presentValue(swap, USD, scenarioProvider).getAmount();
+    }
+    return total;
+  }
+
+  /**
+   * Calculates the present value in many scenarios, all scenarios together.
+   *
+   * @return the present values of the scenarios
+   */
+  @Benchmark
+  public double[] presentValueScenariosTogether() {
+    return PRICER.presentValue(swap, USD, scenarioProviders);
+  }
+
+}
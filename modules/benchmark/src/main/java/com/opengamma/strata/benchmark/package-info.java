@@ -0,0 +1,14 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks for Strata.
+ * <p>
+ * The benchmarks cover schedules, holiday calendars, business day counts, curves, point sensitivities, pricers,
+ * curve calibration and full runs of the calculation engine.
+ * They are run using {@link com.opengamma.strata.benchmark.BenchmarkRunner}.
+ */
+package com.opengamma.strata.benchmark;
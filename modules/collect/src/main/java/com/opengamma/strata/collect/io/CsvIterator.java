@@ -0,0 +1,361 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * An iterator over the rows of a CSV file that reads the file as it is iterated.
+ * <p>
+ * This parses the same format as {@link CsvFile}, but only holds the current row in memory.
+ * It is intended for large files where the rows are processed or filtered one at a time.
+ * <p>
+ * The rows are returned as {@link CsvRow} views that are reused by the iterator.
+ * The row returned by {@link #next()} is only valid until the following call to {@code next()}.
+ * Calling {@link #hasNext()} does not change the current row.
+ * <p>
+ * The iterator must be closed when it is no longer needed, which closes the underlying reader.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class CsvIterator implements Iterator<CsvRow>, AutoCloseable {
+
+  /** The size of the buffer used to read characters. */
+  private static final int BUFFER_SIZE = 8192;
+
+  /** The reader providing the characters of the file. */
+  private final Reader reader;
+  /** The buffer of characters read from the reader. */
+  private final char[] buffer = new char[BUFFER_SIZE];
+  /** The position of the next character in the buffer. */
+  private int bufferPosition;
+  /** The number of characters in the buffer. */
+  private int bufferLimit;
+  /** The characters of the current line. */
+  private char[] line = new char[256];
+  /** The number of characters in the current line. */
+  private int lineLength;
+  /** The number of lines read. */
+  private int lineNumber;
+  /** Whether the end of the reader has been reached. */
+  private boolean endOfInput;
+
+  /** The header row, empty if there is no header row. */
+  private final ImmutableList<String> headers;
+  /** The header map, transformed for case-insensitive searching. */
+  private final ImmutableMap<String, Integer> searchHeaders;
+  /** The row returned by the last call to next. */
+  private CsvRow currentRow = new CsvRow(this);
+  /** The row that will be returned by the next call to next, valid if {@code hasNextRow} is true. */
+  private CsvRow nextRow = new CsvRow(this);
+  /** Whether the next row has been read. */
+  private boolean hasNextRow;
+
+  //------------------------------------------------------------------------
+  /**
+   * Opens an iterator over the rows of the specified source.
+   *
+   * @param source  the CSV file resource
+   * @param headerRow  whether the source has a header row
+   * @return the iterator
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the header row cannot be parsed
+   */
+  public static CsvIterator of(CharSource source, boolean headerRow) {
+    ArgChecker.notNull(source, "source");
+    return of(Unchecked.wrap(() -> source.openStream()), headerRow);
+  }
+
+  /**
+   * Creates an iterator over the rows read from the specified reader.
+   * <p>
+   * The reader is read as the iterator is advanced and is closed when the iterator is closed.
+   * The reader does not need to be buffered.
+   *
+   * @param reader  the reader providing the CSV file
+   * @param headerRow  whether the source has a header row
+   * @return the iterator
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the header row cannot be parsed
+   */
+  public static CsvIterator of(Reader reader, boolean headerRow) {
+    ArgChecker.notNull(reader, "reader");
+    try {
+      return new CsvIterator(reader, headerRow);
+    } catch (RuntimeException ex) {
+      try {
+        reader.close();
+      } catch (IOException ioex) {
+        ex.addSuppressed(ioex);
+      }
+      throw ex;
+    }
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   *
+   * @param reader  the reader
+   * @param headerRow  whether the source has a header row
+   */
+  private CsvIterator(Reader reader, boolean headerRow) {
+    this.reader = reader;
+    if (headerRow) {
+      if (!hasNext()) {
+        throw new IllegalArgumentException("Could not read header row from empty CSV file");
+      }
+      headers = next().fields();
+    } else {
+      headers = ImmutableList.of();
+    }
+    ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+    for (int i = 0; i < headers.size(); i++) {
+      builder.put(headers.get(i).toLowerCase(Locale.ENGLISH), i);
+    }
+    searchHeaders = builder.build();
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Gets the header row.
+   * <p>
+   * If there is no header row, an empty list is returned.
+   *
+   * @return the header row
+   */
+  public ImmutableList<String> headers() {
+    return headers;
+  }
+
+  /**
+   * Gets the index of the field with the specified header.
+   * <p>
+   * The search is case-insensitive. Looking up the index once and accessing fields by index
+   * avoids looking up the header for every row.
+   *
+   * @param header  the column header
+   * @return the index of the field
+   * @throws IllegalArgumentException if the header is not found
+   */
+  public int headerIndex(String header) {
+    Integer headerIndex = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    if (headerIndex == null) {
+      throw new IllegalArgumentException(Messages.format("Header not found: {}", header));
+    }
+    return headerIndex;
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Checks if there is another row.
+   * <p>
+   * This reads ahead to the next row if necessary, but does not change the current row.
+   *
+   * @return true if there is another row
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the next row cannot be parsed
+   */
+  @Override
+  public boolean hasNext() {
+    while (!hasNextRow && readLine()) {
+      hasNextRow = parseLine(nextRow);
+    }
+    return hasNextRow;
+  }
+
+  /**
+   * Returns the next row.
+   * <p>
+   * The returned row is only valid until the next call to this method.
+   *
+   * @return the next row
+   * @throws NoSuchElementException if there are no more rows
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the next row cannot be parsed
+   */
+  @Override
+  public CsvRow next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more rows in CSV file");
+    }
+    CsvRow row = nextRow;
+    nextRow = currentRow;
+    currentRow = row;
+    hasNextRow = false;
+    return row;
+  }
+
+  /**
+   * Closes the underlying reader.
+   *
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  @Override
+  public void close() {
+    Unchecked.wrap(() -> reader.close());
+  }
+
+  //------------------------------------------------------------------------
+  // reads the next line into the line buffer, returning false at the end of the input
+  private boolean readLine() {
+    if (endOfInput) {
+      return false;
+    }
+    lineLength = 0;
+    while (true) {
+      if (bufferPosition == bufferLimit && !fillBuffer()) {
+        endOfInput = true;
+        if (lineLength == 0) {
+          return false;
+        }
+        lineNumber++;
+        return true;
+      }
+      char ch = buffer[bufferPosition++];
+      if (ch == '\n') {
+        lineNumber++;
+        return true;
+      }
+      if (ch == '\r') {
+        if (bufferPosition < bufferLimit || fillBuffer()) {
+          if (buffer[bufferPosition] == '\n') {
+            bufferPosition++;
+          }
+        }
+        lineNumber++;
+        return true;
+      }
+      if (lineLength == line.length) {
+        line = Arrays.copyOf(line, lineLength * 2);
+      }
+      line[lineLength++] = ch;
+    }
+  }
+
+  // reads more characters into the buffer, returning false at the end of the input
+  private boolean fillBuffer() {
+    try {
+      int count;
+      do {
+        count = reader.read(buffer, 0, buffer.length);
+      } while (count == 0);
+      if (count < 0) {
+        return false;
+      }
+      bufferPosition = 0;
+      bufferLimit = count;
+      return true;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // parses the current line into the row, returning false if the line has no content
+  // the rules match those of CsvFile
+  private boolean parseLine(CsvRow row) {
+    if (lineLength == 0 || line[0] == '#' || line[0] == ';') {
+      return false;
+    }
+    row.reset(lineNumber);
+    int start = 0;
+    while (start <= lineLength) {
+      int nextComma = indexOfComma(start);
+      int fieldStart = skipWhitespace(start, nextComma);
+      int fieldEnd = trimEnd(fieldStart, nextComma);
+      row.startField();
+      if (fieldStart < fieldEnd && line[fieldStart] == '"') {
+        // a quoted field ends at the first comma where the content has an unpaired closing quote
+        while (!endsWithUnpairedQuote(fieldStart + 1, fieldEnd)) {
+          if (nextComma == lineLength) {
+            throw new IllegalArgumentException("Mismatched quotes on line: " + new String(line, 0, lineLength));
+          }
+          nextComma = indexOfComma(nextComma + 1);
+          fieldEnd = trimEnd(fieldStart, nextComma);
+        }
+        appendUnquoted(row, fieldStart + 1, fieldEnd - 1);
+      } else {
+        for (int i = fieldStart; i < fieldEnd; i++) {
+          row.append(line[i]);
+        }
+      }
+      start = nextComma + 1;
+    }
+    return row.hasContent();
+  }
+
+  // finds the next comma, returning the line length if there is none
+  private int indexOfComma(int start) {
+    for (int i = start; i < lineLength; i++) {
+      if (line[i] == ',') {
+        return i;
+      }
+    }
+    return lineLength;
+  }
+
+  // skips whitespace, in the same way as String.trim()
+  private int skipWhitespace(int start, int end) {
+    int pos = start;
+    while (pos < end && line[pos] <= ' ') {
+      pos++;
+    }
+    return pos;
+  }
+
+  // trims whitespace from the end of a range, in the same way as String.trim()
+  private int trimEnd(int start, int end) {
+    int pos = end;
+    while (pos > start && line[pos - 1] <= ' ') {
+      pos--;
+    }
+    return pos;
+  }
+
+  // checks if the range ends with an odd number of quotes, meaning the last quote is not part of a pair
+  private boolean endsWithUnpairedQuote(int start, int end) {
+    int quotes = 0;
+    for (int i = end - 1; i >= start && line[i] == '"'; i--) {
+      quotes++;
+    }
+    return quotes % 2 == 1;
+  }
+
+  // appends the content of a quoted field, replacing each pair of quotes with a single quote
+  private void appendUnquoted(CsvRow row, int start, int end) {
+    for (int i = start; i < end; i++) {
+      row.append(line[i]);
+      if (line[i] == '"' && i + 1 < end && line[i + 1] == '"') {
+        i++;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the CSV iterator.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "CsvIterator" + headers.toString();
+  }
+
+}
@@ -0,0 +1,316 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A view of a single data row of a CSV file, returned by {@link CsvIterator}.
+ * <p>
+ * The row is reused by the iterator, so the content of the row is only valid until
+ * the iterator is next advanced. Fields that are needed after that must be copied,
+ * for example using {@link #field(int)}, which returns a new string.
+ * <p>
+ * The field values follow the same rules as {@link CsvFile}, with quoted fields unquoted and
+ * non-quoted fields trimmed. The parse methods, such as {@link #parseDouble(int)}, read the field
+ * directly from the row without creating an intermediate string in the common cases.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class CsvRow {
+
+  /** Powers of ten that can be represented exactly as a double. */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+      1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+  /** The maximum number of significant digits that can be held exactly in a double. */
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  /** The iterator that created the row, used to look up headers. */
+  private final CsvIterator iterator;
+  /** The characters of the fields, one after another. */
+  private char[] chars = new char[128];
+  /** The index of the first character of each field. */
+  private int[] starts = new int[16];
+  /** The index after the last character of each field. */
+  private int[] ends = new int[16];
+  /** The number of characters used in the character array. */
+  private int length;
+  /** The number of fields. */
+  private int fieldCount;
+  /** The line number of the row in the file, one-based. */
+  private int lineNumber;
+
+  /**
+   * Creates an empty row.
+   *
+   * @param iterator  the iterator that creates the row
+   */
+  CsvRow(CsvIterator iterator) {
+    this.iterator = iterator;
+  }
+
+  //-------------------------------------------------------------------------
+  // clears the row before it is populated from a new line
+  void reset(int lineNumber) {
+    this.lineNumber = lineNumber;
+    this.length = 0;
+    this.fieldCount = 0;
+  }
+
+  // starts a new field
+  void startField() {
+    if (fieldCount == starts.length) {
+      starts = Arrays.copyOf(starts, fieldCount * 2);
+      ends = Arrays.copyOf(ends, fieldCount * 2);
+    }
+    starts[fieldCount] = length;
+    ends[fieldCount] = length;
+    fieldCount++;
+  }
+
+  // appends a character to the current field
+  void append(char ch) {
+    if (length == chars.length) {
+      chars = Arrays.copyOf(chars, length * 2);
+    }
+    chars[length++] = ch;
+    ends[fieldCount - 1] = length;
+  }
+
+  // checks if any field has content other than whitespace
+  boolean hasContent() {
+    for (int i = 0; i < length; i++) {
+      if (chars[i] > ' ') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the line number of this row in the file.
+   * <p>
+   * The first line of the file is line one.
+   *
+   * @return the line number
+   */
+  public int lineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Gets the number of fields in this row.
+   *
+   * @return the number of fields
+   */
+  public int fieldCount() {
+    return fieldCount;
+  }
+
+  /**
+   * Gets a single field value by index.
+   * <p>
+   * This returns a new string that remains valid after the iterator is advanced.
+   *
+   * @param index  the field index
+   * @return the field value
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public String field(int index) {
+    checkIndex(index);
+    return new String(chars, starts[index], ends[index] - starts[index]);
+  }
+
+  /**
+   * Gets a single field value by column header.
+   *
+   * @param header  the column header
+   * @return the field value
+   * @throws IllegalArgumentException if the header is not found
+   */
+  public String field(String header) {
+    return field(iterator.headerIndex(header));
+  }
+
+  /**
+   * Gets all the field values in this row.
+   * <p>
+   * This returns a new list that remains valid after the iterator is advanced.
+   *
+   * @return the field values
+   */
+  public ImmutableList<String> fields() {
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    for (int i = 0; i < fieldCount; i++) {
+      builder.add(field(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Checks if a field is equal to the specified value.
+   * <p>
+   * This does not create a string for the field.
+   *
+   * @param index  the field index
+   * @param value  the value to compare to
+   * @return true if the field is equal to the value
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public boolean fieldEquals(int index, CharSequence value) {
+    checkIndex(index);
+    int start = starts[index];
+    int fieldLength = ends[index] - start;
+    if (fieldLength != value.length()) {
+      return false;
+    }
+    for (int i = 0; i < fieldLength; i++) {
+      if (chars[start + i] != value.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses a field as a double.
+   * <p>
+   * The field is parsed in the same way as {@link Double#parseDouble(String)}.
+   * Decimal values with up to fifteen significant digits are parsed directly from the row.
+   * Other values are parsed using {@code Double.parseDouble}.
+   *
+   * @param index  the field index
+   * @return the value of the field
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws NumberFormatException if the field is not a valid double
+   */
+  public double parseDouble(int index) {
+    checkIndex(index);
+    int pos = starts[index];
+    int end = ends[index];
+    boolean negative = false;
+    if (pos < end && (chars[pos] == '-' || chars[pos] == '+')) {
+      negative = chars[pos] == '-';
+      pos++;
+    }
+    long mantissa = 0;
+    int significantDigits = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean decimalPoint = false;
+    for (; pos < end; pos++) {
+      char ch = chars[pos];
+      if (ch >= '0' && ch <= '9') {
+        digits++;
+        if (mantissa != 0 || ch != '0') {
+          if (++significantDigits > MAX_EXACT_DIGITS) {
+            return Double.parseDouble(field(index));
+          }
+        }
+        mantissa = mantissa * 10 + (ch - '0');
+        if (decimalPoint) {
+          exponent--;
+        }
+      } else if (ch == '.' && !decimalPoint) {
+        decimalPoint = true;
+      } else {
+        break;
+      }
+    }
+    if (digits == 0) {
+      return Double.parseDouble(field(index));
+    }
+    if (pos < end && (chars[pos] == 'e' || chars[pos] == 'E')) {
+      pos++;
+      boolean negativeExponent = false;
+      if (pos < end && (chars[pos] == '-' || chars[pos] == '+')) {
+        negativeExponent = chars[pos] == '-';
+        pos++;
+      }
+      int exponentStart = pos;
+      int explicitExponent = 0;
+      while (pos < end && chars[pos] >= '0' && chars[pos] <= '9' && pos - exponentStart < 4) {
+        explicitExponent = explicitExponent * 10 + (chars[pos] - '0');
+        pos++;
+      }
+      if (pos == exponentStart) {
+        return Double.parseDouble(field(index));
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    if (pos != end || exponent < -22 || exponent > 22) {
+      return Double.parseDouble(field(index));
+    }
+    // both the mantissa and the power of ten are exact, so the result is correctly rounded
+    double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses a field as a date.
+   * <p>
+   * The field is parsed in the same way as {@link LocalDate#parse(CharSequence)}.
+   * Dates in the form {@code yyyy-MM-dd} are parsed directly from the row.
+   *
+   * @param index  the field index
+   * @return the value of the field
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws java.time.DateTimeException if the field is not a valid date
+   */
+  public LocalDate parseDate(int index) {
+    checkIndex(index);
+    int start = starts[index];
+    if (ends[index] - start == 10 && chars[start + 4] == '-' && chars[start + 7] == '-') {
+      int year = digits(start, 4);
+      int month = digits(start + 5, 2);
+      int day = digits(start + 8, 2);
+      if (year >= 0 && month >= 0 && day >= 0) {
+        return LocalDate.of(year, month, day);
+      }
+    }
+    return LocalDate.parse(field(index));
+  }
+
+  // parses a fixed number of digits, returning -1 if any character is not a digit
+  private int digits(int start, int count) {
+    int value = 0;
+    for (int i = start; i < start + count; i++) {
+      char ch = chars[i];
+      if (ch < '0' || ch > '9') {
+        return -1;
+      }
+      value = value * 10 + (ch - '0');
+    }
+    return value;
+  }
+
+  // checks the field index
+  private void checkIndex(int index) {
+    if (index < 0 || index >= fieldCount) {
+      throw new IndexOutOfBoundsException(
+          Messages.format("Field index {} is invalid, row has {} fields on line {}", index, fieldCount, lineNumber));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the row.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "CsvRow" + fields();
+  }
+
+}
@@ -215,6 +215,25 @@ class DenseLocalDateDoubleTimeSeries
     return new DenseLocalDateDoubleTimeSeries(startDate, points, dateCalculation, true);
   }
 
+  /**
+   * Package protected factory method intended to be called by classes
+   * that have created the points array themselves, for example when
+   * copying the points of a memory-mapped time-series. The array is
+   * not cloned, so it must not be modified after calling this method.
+   *
+   * @param startDate  the date corresponding to the first point
+   * @param points  the points, NaN where there is no value
+   * @param dateCalculation  the date calculation method to be used
+   * @return a new time-series
+   */
+  static DenseLocalDateDoubleTimeSeries ofPoints(
+      LocalDate startDate,
+      double[] points,
+      DenseTimeSeriesCalculation dateCalculation) {
+
+    return new DenseLocalDateDoubleTimeSeries(startDate, points, dateCalculation, true);
+  }
+
   // Private constructor, the trusted flag indicates whether the
   // points array should be cloned. If trusted, it will not be cloned.
   private DenseLocalDateDoubleTimeSeries(
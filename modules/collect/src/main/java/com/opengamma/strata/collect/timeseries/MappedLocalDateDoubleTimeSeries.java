@@ -0,0 +1,257 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+import com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation;
+
+/**
+ * An immutable time-series that is a view over points held in a buffer, typically a memory-mapped file.
+ * <p>
+ * The points are laid out in the same way as {@link DenseLocalDateDoubleTimeSeries}, with a start date,
+ * a date calculation and one point for each date, NaN where there is no value.
+ * No copy of the points is made. The points are scanned once when the series is created to find
+ * the number of points and the earliest and latest points, and are otherwise read from the buffer
+ * when they are accessed.
+ * <p>
+ * Methods that return a new time-series, such as {@link #subSeries}, copy the required points
+ * into a {@link DenseLocalDateDoubleTimeSeries}.
+ * <p>
+ * Two mapped series are equal if they have the same start date, date calculation and points.
+ * When serialized, the series is replaced by the equivalent {@link DenseLocalDateDoubleTimeSeries},
+ * so a deserialized series is equal to the same points loaded into a dense series.
+ * <p>
+ * The buffer must not be modified after this series is created.
+ */
+final class MappedLocalDateDoubleTimeSeries implements LocalDateDoubleTimeSeries, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /** The date corresponding to the first point in the buffer. */
+  private final LocalDate startDate;
+  /** The points, NaN where there is no value, accessed using absolute indices only. */
+  private final transient DoubleBuffer points;
+  /** The date calculation defining the date of each point. */
+  private final DenseTimeSeriesCalculation dateCalculation;
+  /** The number of points with a value. */
+  private final int size;
+  /** The index of the earliest point with a value, -1 if there are none. */
+  private final int earliestIndex;
+  /** The index of the latest point with a value, -1 if there are none. */
+  private final int latestIndex;
+
+  /**
+   * Creates an instance.
+   *
+   * @param startDate  the date corresponding to the first point in the buffer
+   * @param points  the points, NaN where there is no value
+   * @param dateCalculation  the date calculation defining the date of each point
+   */
+  MappedLocalDateDoubleTimeSeries(
+      LocalDate startDate,
+      DoubleBuffer points,
+      DenseTimeSeriesCalculation dateCalculation) {
+
+    this.startDate = ArgChecker.notNull(startDate, "startDate");
+    this.points = ArgChecker.notNull(points, "points").asReadOnlyBuffer();
+    this.dateCalculation = ArgChecker.notNull(dateCalculation, "dateCalculation");
+    int count = 0;
+    int earliest = -1;
+    int latest = -1;
+    for (int i = 0; i < this.points.limit(); i++) {
+      if (isValidIndex(i)) {
+        if (earliest < 0) {
+          earliest = i;
+        }
+        latest = i;
+        count++;
+      }
+    }
+    this.size = count;
+    this.earliestIndex = earliest;
+    this.latestIndex = latest;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return get(date).isPresent();
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    if (!date.isBefore(startDate) && dateCalculation.allowsDate(date)) {
+      int position = dateCalculation.calculatePosition(startDate, date);
+      if (position < points.limit()) {
+        double value = points.get(position);
+        if (!Double.isNaN(value)) {
+          return OptionalDouble.of(value);
+        }
+      }
+    }
+    return OptionalDouble.empty();
+  }
+
+  @Override
+  public LocalDate getEarliestDate() {
+    return dateCalculation.calculateDateFromPosition(startDate, validIndex(earliestIndex, "earliest date"));
+  }
+
+  @Override
+  public double getEarliestValue() {
+    return points.get(validIndex(earliestIndex, "earliest value"));
+  }
+
+  @Override
+  public LocalDate getLatestDate() {
+    return dateCalculation.calculateDateFromPosition(startDate, validIndex(latestIndex, "latest date"));
+  }
+
+  @Override
+  public double getLatestValue() {
+    return points.get(validIndex(latestIndex, "latest value"));
+  }
+
+  // checks the series is not empty, returning the index
+  private static int validIndex(int index, String description) {
+    if (index < 0) {
+      throw new NoSuchElementException("Unable to return " + description + ", time-series is empty");
+    }
+    return index;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    return toDense().subSeries(startInclusive, endExclusive);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    return toDense().headSeries(numPoints);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    return toDense().tailSeries(numPoints);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    return toDense().mapValues(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    return toDense().filter(predicate);
+  }
+
+  // copies the points into a dense time-series
+  private DenseLocalDateDoubleTimeSeries toDense() {
+    double[] array = new double[points.limit()];
+    points.duplicate().get(array);
+    return DenseLocalDateDoubleTimeSeries.ofPoints(startDate, array, dateCalculation);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return validIndices()
+        .mapToObj(i -> LocalDateDoublePoint.of(dateCalculation.calculateDateFromPosition(startDate, i), points.get(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return validIndices()
+        .mapToObj(i -> dateCalculation.calculateDateFromPosition(startDate, i));
+  }
+
+  @Override
+  public DoubleStream values() {
+    return validIndices()
+        .mapToDouble(points::get);
+  }
+
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    validIndices().forEach(i ->
+        action.accept(dateCalculation.calculateDateFromPosition(startDate, i), points.get(i)));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    return new LocalDateDoubleTimeSeriesBuilder(stream());
+  }
+
+  private IntStream validIndices() {
+    return IntStream.range(0, points.limit())
+        .filter(this::isValidIndex);
+  }
+
+  private boolean isValidIndex(int i) {
+    return !Double.isNaN(points.get(i));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Replaces this series with the equivalent dense series when serialized.
+   *
+   * @return the dense series
+   */
+  private Object writeReplace() {
+    return toDense();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof MappedLocalDateDoubleTimeSeries) {
+      MappedLocalDateDoubleTimeSeries other = (MappedLocalDateDoubleTimeSeries) obj;
+      // DoubleBuffer.equals treats NaN as equal to NaN, matching the dense form of the points
+      return startDate.equals(other.startDate) &&
+          dateCalculation == other.dateCalculation &&
+          points.equals(other.points);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(startDate, dateCalculation, size, earliestIndex, latestIndex);
+  }
+
+  @Override
+  public String toString() {
+    return "MappedLocalDateDoubleTimeSeries{startDate=" + startDate + ", pointCount=" + points.limit() + "}";
+  }
+
+}
@@ -0,0 +1,392 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation;
+
+/**
+ * A file containing named time-series in a compact binary form that is read using memory-mapping.
+ * <p>
+ * Each time-series is stored in the same form as a dense time-series, as a start date,
+ * a flag indicating whether weekends are included and an array of points, NaN where there is no value.
+ * The file starts with an index containing the name and location of each time-series.
+ * <p>
+ * Opening a file only reads the index. The data following the index is mapped into memory in a few
+ * large regions, each mapped when a time-series in it is first requested, and the returned time-series
+ * is a view over a slice of the mapped region. This keeps the number of memory mappings small
+ * even if the file contains many small time-series.
+ * No copy of the points is made and the operating system only loads the pages of the file that are used,
+ * allowing the time-series to be shared between processes and to be larger than the available heap.
+ * <p>
+ * Files are created using {@link #write(Path, Map)}. All values are stored in little-endian byte order.
+ * <p>
+ * This class is thread-safe. The time-series returned by {@link #get(String)} remain valid after
+ * the file is closed, but time-series that have not been requested before the file is closed
+ * can no longer be read.
+ */
+public final class MappedTimeSeriesFile implements AutoCloseable {
+
+  /** The value at the start of the file identifying the format. */
+  private static final int MAGIC = 0x53545453;
+  /** The version of the file format. */
+  private static final int VERSION = 1;
+  /** The size of the fixed part of the header: magic, version, header length and time-series count. */
+  private static final int FIXED_HEADER_LENGTH = 16;
+  /** The byte order of the values in the file. */
+  private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  /** The maximum length of a region of the file mapped at once, unless a single time-series is longer. */
+  private static final long MAX_REGION_LENGTH = 1L << 30;
+
+  /** The channel used to map the time-series. */
+  private final FileChannel channel;
+  /** The location of each time-series in the file, keyed by name. */
+  private final ImmutableMap<String, Entry> index;
+  /** The offset in the file of each region. */
+  private final long[] regionOffsets;
+  /** The length of each region. */
+  private final long[] regionLengths;
+  /** The regions that have been mapped, null if not yet mapped, guarded by the array. */
+  private final ByteBuffer[] regions;
+  /** The time-series that have been mapped, keyed by name. */
+  private final Map<String, LocalDateDoubleTimeSeries> mapped = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a file for reading.
+   * <p>
+   * The index of the file is read, but the time-series are not read until they are requested.
+   * The file should be closed when it is no longer needed.
+   *
+   * @param path  the path of the file
+   * @return the opened file
+   * @throws UncheckedIOException if the file cannot be read
+   * @throws IllegalArgumentException if the file is not in the expected format
+   */
+  public static MappedTimeSeriesFile open(Path path) {
+    ArgChecker.notNull(path, "path");
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(path, StandardOpenOption.READ);
+      return read(channel, path);
+    } catch (IOException ex) {
+      closeQuietly(channel);
+      throw new UncheckedIOException(ex);
+    } catch (RuntimeException ex) {
+      closeQuietly(channel);
+      throw ex;
+    }
+  }
+
+  // reads the index at the start of the file, dividing the data into regions that are mapped separately
+  private static MappedTimeSeriesFile read(FileChannel channel, Path path) throws IOException {
+    ArgChecker.isTrue(channel.size() >= FIXED_HEADER_LENGTH, "File is not a time-series file: {}", path);
+    ByteBuffer fixed = channel.map(MapMode.READ_ONLY, 0, FIXED_HEADER_LENGTH).order(BYTE_ORDER);
+    ArgChecker.isTrue(fixed.getInt() == MAGIC, "File is not a time-series file: {}", path);
+    int version = fixed.getInt();
+    ArgChecker.isTrue(version == VERSION, "Unsupported time-series file version {}: {}", version, path);
+    int headerLength = fixed.getInt();
+    int count = fixed.getInt();
+    ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, headerLength).order(BYTE_ORDER);
+    header.position(FIXED_HEADER_LENGTH);
+
+    ImmutableMap.Builder<String, Entry> builder = ImmutableMap.builder();
+    List<long[]> regions = new ArrayList<>();
+    long regionOffset = 0;
+    long regionEnd = 0;
+    for (int i = 0; i < count; i++) {
+      byte[] nameBytes = new byte[header.getInt()];
+      header.get(nameBytes);
+      String name = new String(nameBytes, UTF_8);
+      LocalDate startDate = LocalDate.ofEpochDay(header.getLong());
+      DenseTimeSeriesCalculation dateCalculation = DenseTimeSeriesCalculation.values()[header.get()];
+      long dataOffset = header.getLong();
+      int pointCount = header.getInt();
+      long dataEnd = dataOffset + (long) pointCount * Double.BYTES;
+      ArgChecker.isTrue(dataOffset >= regionOffset && dataEnd <= channel.size(), "Invalid time-series file: {}", path);
+      // the time-series are stored in order, so a new region is started when the current region is full
+      if (regions.isEmpty() || dataEnd - regionOffset > MAX_REGION_LENGTH) {
+        if (!regions.isEmpty()) {
+          regions.get(regions.size() - 1)[1] = regionEnd - regionOffset;
+        }
+        regionOffset = dataOffset;
+        regions.add(new long[] {regionOffset, 0});
+      }
+      regionEnd = Math.max(regionEnd, dataEnd);
+      int dataPosition = (int) (dataOffset - regionOffset);
+      builder.put(name, new Entry(startDate, dateCalculation, regions.size() - 1, dataPosition, pointCount));
+    }
+    if (!regions.isEmpty()) {
+      regions.get(regions.size() - 1)[1] = regionEnd - regionOffset;
+    }
+    return new MappedTimeSeriesFile(
+        channel,
+        builder.build(),
+        regions.stream().mapToLong(region -> region[0]).toArray(),
+        regions.stream().mapToLong(region -> region[1]).toArray());
+  }
+
+  // closes the channel, ignoring any exception
+  private static void closeQuietly(FileChannel channel) {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException ex) {
+        // ignore
+      }
+    }
+  }
+
+  // restricted constructor
+  private MappedTimeSeriesFile(
+      FileChannel channel,
+      ImmutableMap<String, Entry> index,
+      long[] regionOffsets,
+      long[] regionLengths) {
+
+    this.channel = channel;
+    this.index = index;
+    this.regionOffsets = regionOffsets;
+    this.regionLengths = regionLengths;
+    this.regions = new ByteBuffer[regionOffsets.length];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the names of the time-series in the file.
+   *
+   * @return the names of the time-series in the file
+   */
+  public Set<String> names() {
+    return index.keySet();
+  }
+
+  /**
+   * Returns the time-series with the specified name.
+   * <p>
+   * The returned time-series is a view over the points in the file.
+   * The same instance is returned each time a time-series is requested.
+   *
+   * @param name  the name of the time-series
+   * @return the time-series, empty if the file does not contain a time-series with the name
+   * @throws UncheckedIOException if the time-series cannot be read
+   */
+  public Optional<LocalDateDoubleTimeSeries> get(String name) {
+    ArgChecker.notNull(name, "name");
+    Entry entry = index.get(name);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    return Optional.of(mapped.computeIfAbsent(name, n -> map(entry)));
+  }
+
+  // creates a view of the points of a time-series, mapping its region into memory if necessary
+  private LocalDateDoubleTimeSeries map(Entry entry) {
+    if (entry.pointCount == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    ByteBuffer buffer = region(entry.region).duplicate();
+    buffer.position(entry.dataPosition);
+    buffer.limit(entry.dataPosition + entry.pointCount * Double.BYTES);
+    return new MappedLocalDateDoubleTimeSeries(
+        entry.startDate, buffer.slice().order(BYTE_ORDER).asDoubleBuffer(), entry.dateCalculation);
+  }
+
+  // returns a region of the file, mapping it into memory the first time it is used
+  private ByteBuffer region(int regionIndex) {
+    synchronized (regions) {
+      ByteBuffer region = regions[regionIndex];
+      if (region == null) {
+        try {
+          region = channel.map(MapMode.READ_ONLY, regionOffsets[regionIndex], regionLengths[regionIndex]);
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+        regions[regionIndex] = region;
+      }
+      return region;
+    }
+  }
+
+  /**
+   * Closes the file.
+   * <p>
+   * Time-series that have already been requested remain valid.
+   *
+   * @throws UncheckedIOException if the file cannot be closed
+   */
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes time-series to a file in the format read by {@link #open(Path)}.
+   * <p>
+   * Each time-series is stored with a point for every date from its earliest to its latest date.
+   * Weekends are only included if the time-series has a value on a weekend.
+   * Any existing file is replaced.
+   *
+   * @param path  the path of the file
+   * @param timeSeries  the time-series, keyed by name
+   * @throws UncheckedIOException if the file cannot be written
+   */
+  public static void write(Path path, Map<String, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNull(path, "path");
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    List<byte[]> names = new ArrayList<>();
+    List<Points> denseSeries = new ArrayList<>();
+    int headerLength = FIXED_HEADER_LENGTH;
+    for (Map.Entry<String, ? extends LocalDateDoubleTimeSeries> mapEntry : timeSeries.entrySet()) {
+      byte[] name = mapEntry.getKey().getBytes(UTF_8);
+      names.add(name);
+      denseSeries.add(Points.of(mapEntry.getValue()));
+      // name length, name, start date, date calculation, data offset, point count
+      headerLength += Integer.BYTES + name.length + Long.BYTES + 1 + Long.BYTES + Integer.BYTES;
+    }
+    ByteBuffer header = ByteBuffer.allocate(headerLength).order(BYTE_ORDER);
+    header.putInt(MAGIC).putInt(VERSION).putInt(headerLength).putInt(names.size());
+    long dataOffset = align(headerLength);
+    for (int i = 0; i < names.size(); i++) {
+      Points series = denseSeries.get(i);
+      header.putInt(names.get(i).length).put(names.get(i));
+      header.putLong(series.startDate.toEpochDay());
+      header.put((byte) series.dateCalculation.ordinal());
+      header.putLong(dataOffset);
+      header.putInt(series.points.length);
+      dataOffset = align(dataOffset + (long) series.points.length * Double.BYTES);
+    }
+    header.flip();
+
+    try (FileChannel channel = FileChannel.open(
+        path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      writeFully(channel, header, 0);
+      long position = align(headerLength);
+      for (Points series : denseSeries) {
+        double[] points = series.points;
+        ByteBuffer data = ByteBuffer.allocate(points.length * Double.BYTES).order(BYTE_ORDER);
+        data.asDoubleBuffer().put(points);
+        writeFully(channel, data, position);
+        position = align(position + data.capacity());
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // writes all the bytes in the buffer at the specified position
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    long current = position;
+    while (buffer.hasRemaining()) {
+      current += channel.write(buffer, current);
+    }
+  }
+
+  // rounds a file offset up to a multiple of eight, the size of a double
+  private static long align(long offset) {
+    return (offset + Double.BYTES - 1) & -Double.BYTES;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MappedTimeSeriesFile" + index.keySet();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The location of a time-series in the file.
+   */
+  private static final class Entry {
+
+    /** The date corresponding to the first point. */
+    private final LocalDate startDate;
+    /** The date calculation defining the date of each point. */
+    private final DenseTimeSeriesCalculation dateCalculation;
+    /** The index of the region containing the points. */
+    private final int region;
+    /** The position of the first point in the region. */
+    private final int dataPosition;
+    /** The number of points. */
+    private final int pointCount;
+
+    private Entry(
+        LocalDate startDate,
+        DenseTimeSeriesCalculation dateCalculation,
+        int region,
+        int dataPosition,
+        int pointCount) {
+
+      this.startDate = startDate;
+      this.dateCalculation = dateCalculation;
+      this.region = region;
+      this.dataPosition = dataPosition;
+      this.pointCount = pointCount;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The points of a time-series in the dense form stored in the file.
+   */
+  private static final class Points {
+
+    /** The date corresponding to the first point. */
+    private final LocalDate startDate;
+    /** The date calculation defining the date of each point. */
+    private final DenseTimeSeriesCalculation dateCalculation;
+    /** The points, NaN where there is no value. */
+    private final double[] points;
+
+    // converts a time-series to the dense form, only including weekends if there is a value on a weekend
+    private static Points of(LocalDateDoubleTimeSeries series) {
+      if (series.isEmpty()) {
+        return new Points(LocalDate.ofEpochDay(0), DenseTimeSeriesCalculation.SKIP_WEEKENDS, new double[0]);
+      }
+      DenseTimeSeriesCalculation dateCalculation =
+          series.dates().allMatch(DenseTimeSeriesCalculation.SKIP_WEEKENDS::allowsDate) ?
+              DenseTimeSeriesCalculation.SKIP_WEEKENDS :
+              DenseTimeSeriesCalculation.INCLUDE_WEEKENDS;
+      LocalDate startDate = series.getEarliestDate();
+      double[] points = new double[dateCalculation.calculatePosition(startDate, series.getLatestDate()) + 1];
+      Arrays.fill(points, Double.NaN);
+      series.forEach((date, value) -> points[dateCalculation.calculatePosition(startDate, date)] = value);
+      return new Points(startDate, dateCalculation, points);
+    }
+
+    private Points(LocalDate startDate, DenseTimeSeriesCalculation dateCalculation, double[] points) {
+      this.startDate = startDate;
+      this.dateCalculation = dateCalculation;
+      this.points = points;
+    }
+  }
+
+}
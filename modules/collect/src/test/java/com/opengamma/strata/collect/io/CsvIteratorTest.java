@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharSource;
+
+/**
+ * Test {@link CsvIterator} and {@link CsvRow}.
+ */
+@Test
+public class CsvIteratorTest {
+
+  private final String CSV1 = "" +
+      "h1,h2\n" +
+      "r11,r12\r\n" +
+      "r21,r22";
+
+  private final String CSV2 = "" +
+      "h1,h2\n" +
+      "#r11,r12\n" +
+      ";r11,r12\n" +
+      "\n" +
+      " , \r" +
+      "r21,r22\n";
+
+  private final String CSV3 = "" +
+      "\"alpha\",\"be, \"\"at\"\", one\"\n" +
+      "r21,\" r22 \"\n";
+
+  private final String CSV4 = "" +
+      "Date,Value,Name\n" +
+      "2015-06-01,1.25,foo\n" +
+      "2015-06-02,-3e-2,bar\n" +
+      "20150603,12345678901234567890,\"baz\"\n";
+
+  //-------------------------------------------------------------------------
+  public void test_empty_no_header() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(""), false)) {
+      assertEquals(csv.headers().size(), 0);
+      assertFalse(csv.hasNext());
+      assertThrows(() -> csv.next(), NoSuchElementException.class);
+    }
+  }
+
+  public void test_empty_with_header() {
+    assertThrowsIllegalArg(() -> CsvIterator.of(CharSource.wrap(""), true));
+  }
+
+  public void test_simple_with_header() {
+    try (CsvIterator csv = CsvIterator.of(new StringReader(CSV1), true)) {
+      assertEquals(csv.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(csv.headerIndex("H2"), 1);
+      assertThrowsIllegalArg(() -> csv.headerIndex("h3"));
+
+      CsvRow row1 = csv.next();
+      assertEquals(row1.lineNumber(), 2);
+      assertEquals(row1.fieldCount(), 2);
+      assertEquals(row1.field(0), "r11");
+      assertEquals(row1.field("h2"), "r12");
+      assertTrue(row1.fieldEquals(1, "r12"));
+      assertFalse(row1.fieldEquals(1, "r1"));
+      assertThrows(() -> row1.field(2), IndexOutOfBoundsException.class);
+
+      // checking for another row does not change the current row
+      assertTrue(csv.hasNext());
+      assertEquals(row1.fields(), ImmutableList.of("r11", "r12"));
+
+      CsvRow row2 = csv.next();
+      assertEquals(row2.lineNumber(), 3);
+      assertEquals(row2.fields(), ImmutableList.of("r21", "r22"));
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_comment_blank() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV2), true)) {
+      assertEquals(csv.headers(), ImmutableList.of("h1", "h2"));
+      CsvRow row = csv.next();
+      assertEquals(row.lineNumber(), 6);
+      assertEquals(row.fields(), ImmutableList.of("r21", "r22"));
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_quoted() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV3), false)) {
+      assertEquals(csv.next().fields(), ImmutableList.of("alpha", "be, \"at\", one"));
+      assertEquals(csv.next().fields(), ImmutableList.of("r21", " r22 "));
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_mismatchedQuotes() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap("a,\"b\nc,d"), false)) {
+      assertThrowsIllegalArg(() -> csv.next());
+    }
+  }
+
+  public void test_sameAsCsvFile() {
+    String csvText = CSV1 + "\n" + CSV2 + CSV3 + CSV4;
+    CsvFile csvFile = CsvFile.of(CharSource.wrap(csvText), true);
+    ImmutableList.Builder<ImmutableList<String>> rows = ImmutableList.builder();
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(csvText), true)) {
+      assertEquals(csv.headers(), csvFile.headers());
+      csv.forEachRemaining(row -> rows.add(row.fields()));
+    }
+    assertEquals(rows.build(), csvFile.rows());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parse() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV4), true)) {
+      int dateIndex = csv.headerIndex("Date");
+      int valueIndex = csv.headerIndex("Value");
+      int nameIndex = csv.headerIndex("Name");
+
+      CsvRow row1 = csv.next();
+      assertEquals(row1.parseDate(dateIndex), LocalDate.of(2015, 6, 1));
+      assertEquals(row1.parseDouble(valueIndex), 1.25d);
+      assertThrows(() -> row1.parseDouble(nameIndex), NumberFormatException.class);
+      assertThrows(() -> row1.parseDate(nameIndex), DateTimeException.class);
+
+      CsvRow row2 = csv.next();
+      assertEquals(row2.parseDate(dateIndex), LocalDate.of(2015, 6, 2));
+      assertEquals(row2.parseDouble(valueIndex), -3e-2d);
+
+      CsvRow row3 = csv.next();
+      assertThrows(() -> row3.parseDate(dateIndex), DateTimeException.class);
+      assertEquals(row3.parseDouble(valueIndex), 12345678901234567890d);
+      assertTrue(row3.fieldEquals(nameIndex, "baz"));
+    }
+  }
+
+  public void test_parseDouble_sameAsDouble() {
+    String[] values = {"0", "-0", "0.1", ".5", "5.", "1e22", "1e23", "123456789012345", "1234567890123456",
+        "0.000000000000000000000001", "-1.7976931348623157E308", "4.9E-324", "NaN", "Infinity", "+2.5", "1d"};
+    for (String value : values) {
+      try (CsvIterator csv = CsvIterator.of(CharSource.wrap(value), false)) {
+        assertEquals(
+            Double.doubleToLongBits(csv.next().parseDouble(0)),
+            Double.doubleToLongBits(Double.parseDouble(value)),
+            value);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation;
+
+/**
+ * Test {@link MappedTimeSeriesFile}.
+ */
+@Test
+public class MappedTimeSeriesFileTest {
+
+  private static final LocalDate FRI_2015_06_05 = LocalDate.of(2015, 6, 5);
+  private static final LocalDate SAT_2015_06_06 = LocalDate.of(2015, 6, 6);
+  private static final LocalDate MON_2015_06_08 = LocalDate.of(2015, 6, 8);
+  private static final LocalDate WED_2015_06_10 = LocalDate.of(2015, 6, 10);
+  private static final LocalDate MON_2015_06_15 = LocalDate.of(2015, 6, 15);
+
+  private static final LocalDateDoubleTimeSeries WEEKDAYS = LocalDateDoubleTimeSeries.builder()
+      .put(FRI_2015_06_05, 1d)
+      .put(MON_2015_06_08, 2d)
+      .put(WED_2015_06_10, 3d)
+      .put(MON_2015_06_15, 4d)
+      .build();
+  private static final LocalDateDoubleTimeSeries WEEKENDS = LocalDateDoubleTimeSeries.builder()
+      .put(FRI_2015_06_05, 5d)
+      .put(SAT_2015_06_06, 6d)
+      .put(MON_2015_06_15, 7d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_writeAndRead() throws IOException {
+    Path path = tempFile();
+    MappedTimeSeriesFile.write(
+        path,
+        ImmutableMap.of("weekdays", WEEKDAYS, "weekends", WEEKENDS, "empty", LocalDateDoubleTimeSeries.empty()));
+
+    try (MappedTimeSeriesFile file = MappedTimeSeriesFile.open(path)) {
+      assertThat(file.names()).containsOnly("weekdays", "weekends", "empty");
+      assertThat(file.get("unknown")).isEqualTo(Optional.empty());
+      assertThat(file.get("empty")).isEqualTo(Optional.of(LocalDateDoubleTimeSeries.empty()));
+
+      LocalDateDoubleTimeSeries weekdays = file.get("weekdays").get();
+      assertThat(weekdays.toBuilder().build()).isEqualTo(WEEKDAYS);
+      assertThat(file.get("weekdays").get()).isSameAs(weekdays);
+
+      LocalDateDoubleTimeSeries weekends = file.get("weekends").get();
+      assertThat(weekends.toBuilder().build()).isEqualTo(WEEKENDS);
+    }
+  }
+
+  public void test_view() throws IOException {
+    Path path = tempFile();
+    MappedTimeSeriesFile.write(path, ImmutableMap.of("weekdays", WEEKDAYS));
+
+    try (MappedTimeSeriesFile file = MappedTimeSeriesFile.open(path)) {
+      LocalDateDoubleTimeSeries test = file.get("weekdays").get();
+      assertThat(test.size()).isEqualTo(4);
+      assertThat(test.isEmpty()).isFalse();
+      assertThat(test.get(MON_2015_06_08)).isEqualTo(OptionalDouble.of(2d));
+      assertThat(test.get(SAT_2015_06_06)).isEqualTo(OptionalDouble.empty());
+      assertThat(test.get(LocalDate.of(2015, 6, 9))).isEqualTo(OptionalDouble.empty());
+      assertThat(test.get(LocalDate.of(2015, 6, 4))).isEqualTo(OptionalDouble.empty());
+      assertThat(test.get(LocalDate.of(2015, 6, 16))).isEqualTo(OptionalDouble.empty());
+      assertThat(test.containsDate(WED_2015_06_10)).isTrue();
+      assertThat(test.getEarliestDate()).isEqualTo(FRI_2015_06_05);
+      assertThat(test.getEarliestValue()).isEqualTo(1d);
+      assertThat(test.getLatestDate()).isEqualTo(MON_2015_06_15);
+      assertThat(test.getLatestValue()).isEqualTo(4d);
+      assertThat(test.dates().toArray())
+          .containsExactly(FRI_2015_06_05, MON_2015_06_08, WED_2015_06_10, MON_2015_06_15);
+      assertThat(test.values().toArray()).containsExactly(1d, 2d, 3d, 4d);
+
+      LocalDateDoubleTimeSeries expectedSubSeries = LocalDateDoubleTimeSeries.builder()
+          .put(MON_2015_06_08, 2d)
+          .put(WED_2015_06_10, 3d)
+          .build();
+      assertThat(test.subSeries(MON_2015_06_08, MON_2015_06_15).toBuilder().build()).isEqualTo(expectedSubSeries);
+      assertThat(test.mapValues(value -> value * 2).getLatestValue()).isEqualTo(8d);
+    }
+  }
+
+  public void test_manySeries() throws IOException {
+    Path path = tempFile();
+    Map<String, LocalDateDoubleTimeSeries> series = new LinkedHashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      series.put("series" + i, LocalDateDoubleTimeSeries.builder()
+          .put(FRI_2015_06_05.plusDays(i), i)
+          .put(MON_2015_06_15.plusDays(i), i + 0.5d)
+          .build());
+    }
+    MappedTimeSeriesFile.write(path, series);
+
+    // the series share a mapped region, each series is a view over its own slice of the region
+    try (MappedTimeSeriesFile file = MappedTimeSeriesFile.open(path)) {
+      for (Map.Entry<String, LocalDateDoubleTimeSeries> entry : series.entrySet()) {
+        LocalDateDoubleTimeSeries test = file.get(entry.getKey()).get();
+        assertThat(test.toBuilder().build()).isEqualTo(entry.getValue());
+        assertThat(test.size()).isEqualTo(2);
+      }
+    }
+  }
+
+  public void test_equalsHashCodeSerialization() throws Exception {
+    Path path = tempFile();
+    MappedTimeSeriesFile.write(path, ImmutableMap.of("weekdays", WEEKDAYS, "weekends", WEEKENDS));
+
+    try (MappedTimeSeriesFile file1 = MappedTimeSeriesFile.open(path);
+        MappedTimeSeriesFile file2 = MappedTimeSeriesFile.open(path)) {
+      LocalDateDoubleTimeSeries test = file1.get("weekdays").get();
+      LocalDateDoubleTimeSeries other = file2.get("weekdays").get();
+      assertThat(test).isNotSameAs(other).isEqualTo(other);
+      assertThat(test.hashCode()).isEqualTo(other.hashCode());
+      assertThat(test).isNotEqualTo(file1.get("weekends").get());
+      assertThat(test).isNotEqualTo("");
+
+      // the series is serialized as the equivalent dense series
+      double nan = Double.NaN;
+      LocalDateDoubleTimeSeries dense = DenseLocalDateDoubleTimeSeries.ofPoints(
+          FRI_2015_06_05, new double[] {1d, 2d, nan, 3d, nan, nan, 4d}, DenseTimeSeriesCalculation.SKIP_WEEKENDS);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(test);
+      }
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+        assertThat(in.readObject()).isEqualTo(dense);
+      }
+    }
+  }
+
+  public void test_open_notTimeSeriesFile() throws IOException {
+    Path path = tempFile();
+    Files.write(path, new byte[20]);
+    assertThrows(
+        () -> MappedTimeSeriesFile.open(path), IllegalArgumentException.class, "File is not a time-series file: .*");
+  }
+
+  //-------------------------------------------------------------------------
+  private static Path tempFile() throws IOException {
+    Path path = Files.createTempFile("timeseries", ".bin");
+    path.toFile().deleteOnExit();
+    return path;
+  }
+
+}
@@ -8,6 +8,8 @@ package com.opengamma.strata.engine;
 import java.util.List;
 
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.engine.calculation.ResultSink;
 import com.opengamma.strata.engine.calculation.Results;
 import com.opengamma.strata.engine.marketdata.MarketEnvironment;
 import com.opengamma.strata.engine.marketdata.scenario.ScenarioDefinition;
@@ -91,4 +93,93 @@ public interface CalculationEngine {
       CalculationRules calculationRules,
       MarketEnvironment marketEnvironment,
       ScenarioDefinition scenarioDefinition);
+
+  /**
+   * Calculates values of measures for a set of targets, passing each row of results to a sink.
+   * <p>
+   * The results are the same as those returned by {@link #calculate(List, List, CalculationRules, MarketEnvironment)}.
+   * Instead of being returned as a grid, each row is passed to the sink as soon as all its results
+   * have been calculated, in row order. The results of a row are not retained after it has been passed
+   * to the sink, so the memory used by the results is bounded.
+   * <p>
+   * The number of rows that have been started but not passed to the sink is limited to {@code maxPendingRows}.
+   * If the limit is reached, no further calculations are started until the sink has received more rows.
+   * <p>
+   * This method blocks until all the rows have been passed to the sink.
+   * <p>
+   * The default implementation calculates the grid of results using
+   * {@link #calculate(List, List, CalculationRules, MarketEnvironment)} and passes each row to the sink.
+   * It does not bound the memory used by the results. Implementations should override this to pass
+   * each row to the sink as soon as it has been calculated.
+   *
+   * @param targets  the targets for which values of the measures will be calculated, often trades
+   * @param columns  the configuration for the columns that will be calculated, including the measure and
+   *   any column-specific overrides
+   * @param calculationRules  the rules defining how the calculations are performed, what market data
+   *   should be used for each calculation and how the results should be reported
+   * @param marketEnvironment  the market data used in the calculations. If the calculations require data that is
+   *   not provided in this set, the engine will attempts to provide the missing data
+   * @param sink  the sink that receives the rows of results
+   * @param maxPendingRows  the maximum number of rows that have been started but not passed to the sink
+   */
+  public default void calculateStreaming(
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      CalculationRules calculationRules,
+      MarketEnvironment marketEnvironment,
+      ResultSink sink,
+      int maxPendingRows) {
+
+    ArgChecker.notNull(sink, "sink");
+    ArgChecker.notNegativeOrZero(maxPendingRows, "maxPendingRows");
+    Results results = calculate(targets, columns, calculationRules, marketEnvironment);
+    int columnCount = results.getColumnCount();
+    for (int row = 0; row < results.getRowCount(); row++) {
+      sink.rowReceived(row, targets.get(row), results.getItems().subList(row * columnCount, (row + 1) * columnCount));
+    }
+    sink.calculationsComplete();
+  }
+
+  /**
+   * Calculates values of measures for a set of targets over multiple scenarios, passing each row of results
+   * to a sink.
+   * <p>
+   * The results are the same as those returned by
+   * {@link #calculate(List, List, CalculationRules, MarketEnvironment, ScenarioDefinition)}.
+   * The rows are passed to the sink as described in
+   * {@link #calculateStreaming(List, List, CalculationRules, MarketEnvironment, ResultSink, int)}.
+   * <p>
+   * The default implementation calculates the grid of results using
+   * {@link #calculate(List, List, CalculationRules, MarketEnvironment, ScenarioDefinition)} and passes
+   * each row to the sink. It does not bound the memory used by the results.
+   *
+   * @param targets  the targets for which values of the measures will be calculated, often trades
+   * @param columns  the configuration for the columns that will be calculated, including the measure and
+   *   any column-specific overrides
+   * @param calculationRules  the rules defining how the calculations are performed, what market data
+   *   should be used for each calculation and how the results should be reported
+   * @param marketEnvironment  the market data used in the calculations. If the calculations require data that is
+   *   not provided in this set, the engine will attempts to provide the missing data
+   * @param scenarioDefinition  defines how the market data for each scenario is derived from the base data
+   * @param sink  the sink that receives the rows of results
+   * @param maxPendingRows  the maximum number of rows that have been started but not passed to the sink
+   */
+  public default void calculateStreaming(
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      CalculationRules calculationRules,
+      MarketEnvironment marketEnvironment,
+      ScenarioDefinition scenarioDefinition,
+      ResultSink sink,
+      int maxPendingRows) {
+
+    ArgChecker.notNull(sink, "sink");
+    ArgChecker.notNegativeOrZero(maxPendingRows, "maxPendingRows");
+    Results results = calculate(targets, columns, calculationRules, marketEnvironment, scenarioDefinition);
+    int columnCount = results.getColumnCount();
+    for (int row = 0; row < results.getRowCount(); row++) {
+      sink.rowReceived(row, targets.get(row), results.getItems().subList(row * columnCount, (row + 1) * columnCount));
+    }
+    sink.calculationsComplete();
+  }
 }
@@ -7,19 +7,30 @@ package com.opengamma.strata.engine;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.id.LinkResolver;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.calculation.AggregatingCalculationListener;
+import com.opengamma.strata.engine.calculation.CalculationResult;
 import com.opengamma.strata.engine.calculation.CalculationRunner;
 import com.opengamma.strata.engine.calculation.CalculationTasks;
+import com.opengamma.strata.engine.calculation.ResultSink;
 import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.calculation.TargetExpander;
 import com.opengamma.strata.engine.config.CalculationTasksConfig;
 import com.opengamma.strata.engine.marketdata.CalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.CalculationRequirements;
+import com.opengamma.strata.engine.marketdata.MarketDataDependencyTree;
 import com.opengamma.strata.engine.marketdata.MarketDataFactory;
 import com.opengamma.strata.engine.marketdata.MarketEnvironment;
 import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
 import com.opengamma.strata.engine.marketdata.scenario.ScenarioDefinition;
 
 /**
@@ -32,6 +43,10 @@ import com.opengamma.strata.engine.marketdata.scenario.ScenarioDefinition;
  * This implementation delegates the main calculation to a {@link CalculationRunner}.
  * Market data is built using a {@link MarketDataFactory}.
  * Any links in the input targets will be resolved using a {@link LinkResolver}.
+ * The products in the targets are then expanded once for the run using a {@link TargetExpander}.
+ * <p>
+ * The engine can also recalculate a set of results incrementally when the market data changes.
+ * See {@link #calculateIncremental} and {@link #recalculate}.
  */
 public final class DefaultCalculationEngine implements CalculationEngine {
 
@@ -58,9 +73,20 @@ public final class DefaultCalculationEngine implements CalculationEngine {
    * to the calculation logic, the link must be resolved.
    */
   private final LinkResolver linkResolver;
+  /**
+   * The target expander, that expands the products in the calculation targets.
+   * <p>
+   * All targets are expanded using this expander after their links have been resolved,
+   * prior to invoking the calculation runner. This allows each product to be expanded once,
+   * rather than once for each measure and scenario.
+   * The expander may cache the expanded products between runs.
+   */
+  private final TargetExpander targetExpander;
 
   /**
    * Creates an instance, specifying the runner, market data factory and link resolver.
+   * <p>
+   * The products in the targets are not expanded in advance of the calculations.
    * 
    * @param calculationRunner  the calculation runner that performs the calculations
    * @param marketDataFactory  the factory that builds any market data not supplied by the caller
@@ -71,9 +97,27 @@ public final class DefaultCalculationEngine implements CalculationEngine {
       MarketDataFactory marketDataFactory,
       LinkResolver linkResolver) {
 
+    this(calculationRunner, marketDataFactory, linkResolver, TargetExpander.none());
+  }
+
+  /**
+   * Creates an instance, specifying the runner, market data factory, link resolver and target expander.
+   * 
+   * @param calculationRunner  the calculation runner that performs the calculations
+   * @param marketDataFactory  the factory that builds any market data not supplied by the caller
+   * @param linkResolver  resolves links in the calculation targets to reference the linked objects
+   * @param targetExpander  expands the products in the calculation targets once for each run
+   */
+  public DefaultCalculationEngine(
+      CalculationRunner calculationRunner,
+      MarketDataFactory marketDataFactory,
+      LinkResolver linkResolver,
+      TargetExpander targetExpander) {
+
     this.calculationRunner = ArgChecker.notNull(calculationRunner, "calculationRunner");
     this.marketDataFactory = ArgChecker.notNull(marketDataFactory, "marketDataFactory");
     this.linkResolver = ArgChecker.notNull(linkResolver, "linkResolver");
+    this.targetExpander = ArgChecker.notNull(targetExpander, "targetExpander");
   }
 
   //-------------------------------------------------------------------------
@@ -85,13 +129,7 @@ public final class DefaultCalculationEngine implements CalculationEngine {
       MarketEnvironment marketEnvironment) {
 
     // create the tasks to be run
-    CalculationTasksConfig config = calculationRunner.createCalculationConfig(
-        resolveTargetLinks(targets),
-        columns,
-        calculationRules.getPricingRules(),
-        calculationRules.getMarketDataRules(),
-        calculationRules.getReportingRules());
-    CalculationTasks tasks = calculationRunner.createCalculationTasks(config);
+    CalculationTasks tasks = createTasks(targets, columns, calculationRules);
 
     // build any missing market data
     CalculationEnvironment calculationEnvironment = marketDataFactory.buildCalculationEnvironment(
@@ -112,13 +150,7 @@ public final class DefaultCalculationEngine implements CalculationEngine {
       ScenarioDefinition scenarioDefinition) {
 
     // create the tasks to be run
-    CalculationTasksConfig config = calculationRunner.createCalculationConfig(
-        resolveTargetLinks(targets),
-        columns,
-        calculationRules.getPricingRules(),
-        calculationRules.getMarketDataRules(),
-        calculationRules.getReportingRules());
-    CalculationTasks tasks = calculationRunner.createCalculationTasks(config);
+    CalculationTasks tasks = createTasks(targets, columns, calculationRules);
 
     // build any required scenarios from the base market data
     ScenarioCalculationEnvironment scenarioMarketData = marketDataFactory.buildScenarioCalculationEnvironment(
@@ -131,6 +163,167 @@ public final class DefaultCalculationEngine implements CalculationEngine {
     return calculationRunner.calculate(tasks, scenarioMarketData);
   }
 
+  @Override
+  public void calculateStreaming(
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      CalculationRules calculationRules,
+      MarketEnvironment marketEnvironment,
+      ResultSink sink,
+      int maxPendingRows) {
+
+    // create the tasks to be run
+    CalculationTasks tasks = createTasks(targets, columns, calculationRules);
+
+    // build any missing market data
+    CalculationEnvironment calculationEnvironment = marketDataFactory.buildCalculationEnvironment(
+        tasks.getRequirements(),
+        marketEnvironment,
+        calculationRules.getMarketDataConfig());
+
+    // perform the calculations, passing the results to the sink
+    calculationRunner.calculateStreaming(tasks, calculationEnvironment, sink, maxPendingRows);
+  }
+
+  @Override
+  public void calculateStreaming(
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      CalculationRules calculationRules,
+      MarketEnvironment suppliedMarketData,
+      ScenarioDefinition scenarioDefinition,
+      ResultSink sink,
+      int maxPendingRows) {
+
+    // create the tasks to be run
+    CalculationTasks tasks = createTasks(targets, columns, calculationRules);
+
+    // build any required scenarios from the base market data
+    ScenarioCalculationEnvironment scenarioMarketData = marketDataFactory.buildScenarioCalculationEnvironment(
+        tasks.getRequirements(),
+        suppliedMarketData,
+        scenarioDefinition,
+        calculationRules.getMarketDataConfig());
+
+    // perform the calculations, passing the results to the sink
+    calculationRunner.calculateStreaming(tasks, scenarioMarketData, sink, maxPendingRows);
+  }
+
+  /**
+   * Creates the tasks that perform the calculations.
+   *
+   * @param targets  the calculation targets
+   * @param columns  the configuration for the columns that will be calculated
+   * @param calculationRules  the rules defining how the calculations are performed
+   * @return the tasks that perform the calculations
+   */
+  private CalculationTasks createTasks(
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      CalculationRules calculationRules) {
+
+    CalculationTasksConfig config = calculationRunner.createCalculationConfig(
+        expandTargets(resolveTargetLinks(targets)),
+        columns,
+        calculationRules.getPricingRules(),
+        calculationRules.getMarketDataRules(),
+        calculationRules.getReportingRules());
+    return calculationRunner.createCalculationTasks(config);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates a set of results, retaining the state needed to recalculate them incrementally.
+   * <p>
+   * The results are the same as those returned by
+   * {@link #calculate(List, List, CalculationRules, MarketEnvironment)}.
+   * The returned object can be passed to {@link #recalculate} when the market data changes.
+   *
+   * @param targets  the targets for which values of the measures will be calculated
+   * @param columns  the configuration for the columns that will be calculated, including the measure and
+   *   any column-specific overrides
+   * @param calculationRules  the rules defining how the calculations are performed
+   * @param marketEnvironment  the market data used in the calculations
+   * @return the results of the calculations, with the state needed to recalculate them
+   */
+  public IncrementalCalculation calculateIncremental(
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      CalculationRules calculationRules,
+      MarketEnvironment marketEnvironment) {
+
+    // create the tasks to be run
+    CalculationTasks tasks = createTasks(targets, columns, calculationRules);
+
+    // build any missing market data
+    CalculationEnvironment calculationEnvironment = marketDataFactory.buildCalculationEnvironment(
+        tasks.getRequirements(),
+        marketEnvironment,
+        calculationRules.getMarketDataConfig());
+
+    // perform the calculations
+    Results results = calculationRunner.calculate(tasks, calculationEnvironment);
+    return IncrementalCalculation.of(tasks, calculationRules, marketEnvironment, calculationEnvironment, results);
+  }
+
+  /**
+   * Recalculates a set of results after the market data has changed.
+   * <p>
+   * The targets, columns and rules are those of the previous calculation.
+   * Only the market data affected by the differences between the previous market data and
+   * {@code marketEnvironment} is built again. For example, if some quotes have changed, the curve groups
+   * built from those quotes are built again, but other curve groups are reused.
+   * <p>
+   * A row of results is recalculated if any calculation in the row uses market data that has changed.
+   * The results in the other rows are taken from the previous calculation.
+   * If the valuation date has changed, all the results are recalculated.
+   * <p>
+   * The tasks, the rows using each item of market data and the dependencies between the items of market data
+   * are retained by the calculation and reused, so they are not found again for each recalculation.
+   *
+   * @param previous  the previous calculation
+   * @param marketEnvironment  the market data used in the calculations
+   * @return the results of the calculations, with the state needed to recalculate them
+   */
+  public IncrementalCalculation recalculate(IncrementalCalculation previous, MarketEnvironment marketEnvironment) {
+    ArgChecker.notNull(previous, "previous");
+    ArgChecker.notNull(marketEnvironment, "marketEnvironment");
+    CalculationTasks tasks = previous.getTasks();
+    CalculationRequirements requirements = tasks.getRequirements();
+    MarketDataConfig config = previous.getCalculationRules().getMarketDataConfig();
+    MarketEnvironment previousSuppliedData = previous.getMarketEnvironment();
+    CalculationEnvironment previousData = previous.getCalculationEnvironment();
+
+    // the dependency tree is reused unless the IDs of the supplied market data have changed
+    Optional<MarketDataDependencyTree> dependencyTree =
+        previous.getDependencyTree().filter(tree -> tree.isValidFor(marketEnvironment));
+    if (!dependencyTree.isPresent()) {
+      dependencyTree = marketDataFactory.buildDependencyTree(requirements, marketEnvironment, config);
+    }
+    // build the market data affected by the changes, reusing the rest
+    CalculationEnvironment calculationEnvironment = dependencyTree.isPresent() ?
+        marketDataFactory.rebuildCalculationEnvironment(
+            dependencyTree.get(), marketEnvironment, config, previousSuppliedData, previousData) :
+        marketDataFactory.rebuildCalculationEnvironment(
+            requirements, marketEnvironment, config, previousSuppliedData, previousData);
+
+    if (!calculationEnvironment.getValuationDate().equals(previousData.getValuationDate())) {
+      Results results = calculationRunner.calculate(tasks, calculationEnvironment);
+      return previous.withMarketData(marketEnvironment, calculationEnvironment, dependencyTree, results);
+    }
+    // find the rows containing a calculation whose market data has changed
+    BitSet changedRows = previous.changedRows(calculationEnvironment);
+    if (changedRows.isEmpty()) {
+      return previous.withMarketData(marketEnvironment, calculationEnvironment, dependencyTree, previous.getResults());
+    }
+    // recalculate every task in the changed rows, as the tasks for a row may calculate multiple columns
+    MergingListener listener = new MergingListener(previous.getResults());
+    calculationRunner.calculateAsync(tasks.selectRows(changedRows), calculationEnvironment, listener);
+    Results results = listener.result();
+    return previous.withMarketData(marketEnvironment, calculationEnvironment, dependencyTree, results);
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Returns calculation targets with any links resolved to reference the linked objects.
    *
@@ -143,4 +336,43 @@ public final class DefaultCalculationEngine implements CalculationEngine {
         .map(linkResolver::resolveLinksIn)
         .collect(toImmutableList());
   }
+
+  /**
+   * Returns calculation targets whose products have been expanded.
+   *
+   * @param targets  the calculation targets, with links resolved
+   * @return the targets whose products have been expanded
+   */
+  private List<CalculationTarget> expandTargets(List<CalculationTarget> targets) {
+    return targets.stream()
+        .map(targetExpander::expand)
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculation listener that replaces results in a previous set of results as the recalculated results arrive.
+   */
+  private static final class MergingListener extends AggregatingCalculationListener<Results> {
+
+    /** The previous results, with the recalculated results put in place as they arrive. */
+    private final List<Result<?>> items;
+    /** The previous results. */
+    private final Results previousResults;
+
+    private MergingListener(Results previousResults) {
+      this.previousResults = previousResults;
+      this.items = new ArrayList<>(previousResults.getItems());
+    }
+
+    @Override
+    public void resultReceived(CalculationResult result) {
+      items.set(result.getRowIndex() * previousResults.getColumnCount() + result.getColumnIndex(), result.getResult());
+    }
+
+    @Override
+    protected Results createAggregateResult() {
+      return previousResults.toBuilder().items(items).build();
+    }
+  }
 }
@@ -0,0 +1,236 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.engine.calculation.CalculationTask;
+import com.opengamma.strata.engine.calculation.CalculationTasks;
+import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.marketdata.CalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.CalculationRequirements;
+import com.opengamma.strata.engine.marketdata.MarketDataDependencyTree;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+
+/**
+ * The results of a set of calculations together with the state needed to recalculate them incrementally.
+ * <p>
+ * This is created by {@link DefaultCalculationEngine#calculateIncremental} and passed to
+ * {@link DefaultCalculationEngine#recalculate} when the market data changes.
+ * It retains the calculation tasks, the rows using each item of market data, the dependencies between
+ * the items of market data, and the market data used in the calculations. When the market data changes,
+ * this allows the engine to build only the market data affected by the changes, and to recalculate only
+ * the results that depend on it, without finding the requirements or the dependencies again.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class IncrementalCalculation {
+
+  /** The tasks that perform the calculations. */
+  private final CalculationTasks tasks;
+  /** The rules defining how the calculations are performed. */
+  private final CalculationRules calculationRules;
+  /** The market data supplied by the user. */
+  private final MarketEnvironment marketEnvironment;
+  /** The market data used in the calculations, including the data built from the supplied data. */
+  private final CalculationEnvironment calculationEnvironment;
+  /** The results of the calculations. */
+  private final Results results;
+  /** The dependencies between the items of market data, empty if not built or not used by the factory. */
+  private final Optional<MarketDataDependencyTree> dependencyTree;
+  /** The rows using each single market data value, keyed by ID. The bit sets must not be modified. */
+  private final ImmutableMap<MarketDataId<?>, BitSet> valueRows;
+  /** The rows using each time series, keyed by ID. The bit sets must not be modified. */
+  private final ImmutableMap<ObservableId, BitSet> timeSeriesRows;
+
+  /**
+   * Creates an instance for a calculation, finding the rows that use each item of market data.
+   *
+   * @param tasks  the tasks that perform the calculations
+   * @param calculationRules  the rules defining how the calculations are performed
+   * @param marketEnvironment  the market data supplied by the user
+   * @param calculationEnvironment  the market data used in the calculations
+   * @param results  the results of the calculations
+   * @return the calculation
+   */
+  static IncrementalCalculation of(
+      CalculationTasks tasks,
+      CalculationRules calculationRules,
+      MarketEnvironment marketEnvironment,
+      CalculationEnvironment calculationEnvironment,
+      Results results) {
+
+    Map<MarketDataId<?>, BitSet> valueRows = new HashMap<>();
+    Map<ObservableId, BitSet> timeSeriesRows = new HashMap<>();
+    List<CalculationTask> taskList = tasks.getTasks();
+    List<CalculationRequirements> taskRequirements = tasks.getTaskRequirements();
+
+    for (int i = 0; i < taskList.size(); i++) {
+      int rowIndex = taskList.get(i).getRowIndex();
+      CalculationRequirements requirements = taskRequirements.get(i);
+      requirements.getObservables().forEach(id -> valueRows.computeIfAbsent(id, k -> new BitSet()).set(rowIndex));
+      requirements.getNonObservables().forEach(id -> valueRows.computeIfAbsent(id, k -> new BitSet()).set(rowIndex));
+      requirements.getTimeSeries().forEach(id -> timeSeriesRows.computeIfAbsent(id, k -> new BitSet()).set(rowIndex));
+    }
+    return new IncrementalCalculation(
+        tasks,
+        calculationRules,
+        marketEnvironment,
+        calculationEnvironment,
+        results,
+        Optional.empty(),
+        ImmutableMap.copyOf(valueRows),
+        ImmutableMap.copyOf(timeSeriesRows));
+  }
+
+  // restricted constructor
+  private IncrementalCalculation(
+      CalculationTasks tasks,
+      CalculationRules calculationRules,
+      MarketEnvironment marketEnvironment,
+      CalculationEnvironment calculationEnvironment,
+      Results results,
+      Optional<MarketDataDependencyTree> dependencyTree,
+      ImmutableMap<MarketDataId<?>, BitSet> valueRows,
+      ImmutableMap<ObservableId, BitSet> timeSeriesRows) {
+
+    this.tasks = tasks;
+    this.calculationRules = calculationRules;
+    this.marketEnvironment = marketEnvironment;
+    this.calculationEnvironment = calculationEnvironment;
+    this.results = results;
+    this.dependencyTree = dependencyTree;
+    this.valueRows = valueRows;
+    this.timeSeriesRows = timeSeriesRows;
+  }
+
+  /**
+   * Returns a copy of this calculation with new market data and results.
+   * <p>
+   * The tasks, rules and the rows using each item of market data are shared with this calculation.
+   *
+   * @param marketEnvironment  the market data supplied by the user
+   * @param calculationEnvironment  the market data used in the calculations
+   * @param dependencyTree  the dependencies between the items of market data, empty if not used by the factory
+   * @param results  the results of the calculations
+   * @return the calculation
+   */
+  IncrementalCalculation withMarketData(
+      MarketEnvironment marketEnvironment,
+      CalculationEnvironment calculationEnvironment,
+      Optional<MarketDataDependencyTree> dependencyTree,
+      Results results) {
+
+    return new IncrementalCalculation(
+        tasks,
+        calculationRules,
+        marketEnvironment,
+        calculationEnvironment,
+        results,
+        dependencyTree,
+        valueRows,
+        timeSeriesRows);
+  }
+
+  /**
+   * Returns the rows containing a calculation whose market data differs from the market data of this calculation.
+   * <p>
+   * An item of market data differs if its value, or the failure to build it, has changed.
+   *
+   * @param currentData  the current market data
+   * @return the indices of the rows containing a calculation whose market data has changed
+   */
+  BitSet changedRows(CalculationEnvironment currentData) {
+    BitSet changedRows = new BitSet();
+    for (Map.Entry<MarketDataId<?>, BitSet> entry : valueRows.entrySet()) {
+      MarketDataId<?> id = entry.getKey();
+      if (!Objects.equals(calculationEnvironment.getValues().get(id), currentData.getValues().get(id)) ||
+          !Objects.equals(
+              calculationEnvironment.getSingleValueFailures().get(id),
+              currentData.getSingleValueFailures().get(id))) {
+        changedRows.or(entry.getValue());
+      }
+    }
+    for (Map.Entry<ObservableId, BitSet> entry : timeSeriesRows.entrySet()) {
+      ObservableId id = entry.getKey();
+      if (!Objects.equals(calculationEnvironment.getTimeSeries().get(id), currentData.getTimeSeries().get(id)) ||
+          !Objects.equals(
+              calculationEnvironment.getTimeSeriesFailures().get(id),
+              currentData.getTimeSeriesFailures().get(id))) {
+        changedRows.or(entry.getValue());
+      }
+    }
+    return changedRows;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the results of the calculations.
+   *
+   * @return the results of the calculations
+   */
+  public Results getResults() {
+    return results;
+  }
+
+  /**
+   * Returns the market data supplied by the user.
+   *
+   * @return the market data supplied by the user
+   */
+  public MarketEnvironment getMarketEnvironment() {
+    return marketEnvironment;
+  }
+
+  /**
+   * Returns the market data used in the calculations.
+   * <p>
+   * This contains the market data supplied by the user plus the market data built from it.
+   *
+   * @return the market data used in the calculations
+   */
+  public CalculationEnvironment getCalculationEnvironment() {
+    return calculationEnvironment;
+  }
+
+  /**
+   * Returns the tasks that perform the calculations.
+   *
+   * @return the tasks that perform the calculations
+   */
+  CalculationTasks getTasks() {
+    return tasks;
+  }
+
+  /**
+   * Returns the dependencies between the items of market data used in the calculations.
+   * <p>
+   * This is empty until the market data has been rebuilt, or if the market data factory does not use a tree.
+   *
+   * @return the dependencies between the items of market data
+   */
+  Optional<MarketDataDependencyTree> getDependencyTree() {
+    return dependencyTree;
+  }
+
+  /**
+   * Returns the rules defining how the calculations are performed.
+   *
+   * @return the rules defining how the calculations are performed
+   */
+  CalculationRules getCalculationRules() {
+    return calculationRules;
+  }
+
+}
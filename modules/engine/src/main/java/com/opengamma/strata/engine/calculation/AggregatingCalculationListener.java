@@ -56,7 +56,8 @@ public abstract class AggregatingCalculationListener<T>
   /**
    * Invoked to create the aggregate result when the individual calculations are complete.
    * <p>
-   * This is guaranteed to be invoked after all results have been passed to {@link #resultReceived}.
+   * This is guaranteed to be invoked after all results have been passed to
+   * {@link #resultReceived} or {@link #resultsReceived}.
    *
    * @return the aggregate result of all the calculations
    */
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.engine.calculation;
 
+import java.util.List;
+
 /**
  * Listener that is notified when calculations are performed by a {@link CalculationRunner}.
  * <p>
@@ -22,10 +24,24 @@ public interface CalculationListener {
    */
   public abstract void resultReceived(CalculationResult result);
 
+  /**
+   * Invoked when a batch of calculations completes.
+   * <p>
+   * The calculation runner can deliver results in batches to reduce the overhead of notifying the listener.
+   * The default implementation passes each result to {@link #resultReceived}. Listeners that can process
+   * a batch of results more efficiently than individual results should override this method.
+   *
+   * @param results  the results of the calculations
+   */
+  public default void resultsReceived(List<CalculationResult> results) {
+    results.forEach(this::resultReceived);
+  }
+
   /**
    * Invoked when all calculations have completed.
    * <p>
-   * This is guaranteed to be called after all results have been passed to {@link #resultReceived}.
+   * This is guaranteed to be called after all results have been passed to
+   * {@link #resultReceived} or {@link #resultsReceived}.
    */
   public abstract void calculationsComplete();
 }
@@ -6,8 +6,10 @@
 package com.opengamma.strata.engine.calculation;
 
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.engine.Column;
 import com.opengamma.strata.engine.config.CalculationTasksConfig;
 import com.opengamma.strata.engine.config.MarketDataRules;
@@ -100,4 +102,80 @@ public interface CalculationRunner {
       CalculationTasks tasks,
       ScenarioCalculationEnvironment marketData,
       CalculationListener listener);
+
+  /**
+   * Performs a set of calculations for a single scenario, passing each row of results to a sink
+   * as soon as all the results in the row have been calculated.
+   * <p>
+   * The rows are passed to the sink in row order and the results are not retained once their row
+   * has been passed to the sink. This allows the results to be written out without holding the
+   * results of all the calculations in memory.
+   * <p>
+   * The number of rows that have been started but not passed to the sink is limited to
+   * {@code maxPendingRows}. If the limit is reached, no further calculations are started until
+   * the sink has received more rows. This bounds the memory used by the results if the sink is
+   * slower than the calculations.
+   * <p>
+   * This method blocks until all the rows have been passed to the sink.
+   * <p>
+   * The default implementation runs the calculations using
+   * {@link #calculateAsync(CalculationTasks, CalculationEnvironment, CalculationListener)} with a listener
+   * that assembles the rows. All the calculations are started at once, so the number of pending rows
+   * is not limited. Implementations should override this to limit the number of pending rows.
+   *
+   * @param tasks  tasks that perform the calculations
+   * @param marketData  market data to be used in the calculations
+   * @param sink  the sink that receives the rows of results
+   * @param maxPendingRows  the maximum number of rows that have been started but not passed to the sink
+   */
+  public default void calculateStreaming(
+      CalculationTasks tasks,
+      CalculationEnvironment marketData,
+      ResultSink sink,
+      int maxPendingRows) {
+
+    ArgChecker.notNull(sink, "sink");
+    ArgChecker.notNegativeOrZero(maxPendingRows, "maxPendingRows");
+    if (tasks.getCellCount() == 0) {
+      sink.calculationsComplete();
+      return;
+    }
+    RowAssemblingListener listener = RowAssemblingListener.of(tasks, sink, new Semaphore(0));
+    calculateAsync(tasks, marketData, listener);
+    listener.awaitCompletion();
+  }
+
+  /**
+   * Performs a set of calculations for multiple scenarios, passing each row of results to a sink
+   * as soon as all the results in the row have been calculated.
+   * <p>
+   * This behaves in the same way as {@link #calculateStreaming(CalculationTasks, CalculationEnvironment,
+   * ResultSink, int)}, except that each result contains the values for all the scenarios.
+   * <p>
+   * The default implementation runs the calculations using
+   * {@link #calculateAsync(CalculationTasks, ScenarioCalculationEnvironment, CalculationListener)} with a listener
+   * that assembles the rows. All the calculations are started at once, so the number of pending rows
+   * is not limited. Implementations should override this to limit the number of pending rows.
+   *
+   * @param tasks  tasks that perform the calculations
+   * @param marketData  the market data used in the calculations
+   * @param sink  the sink that receives the rows of results
+   * @param maxPendingRows  the maximum number of rows that have been started but not passed to the sink
+   */
+  public default void calculateStreaming(
+      CalculationTasks tasks,
+      ScenarioCalculationEnvironment marketData,
+      ResultSink sink,
+      int maxPendingRows) {
+
+    ArgChecker.notNull(sink, "sink");
+    ArgChecker.notNegativeOrZero(maxPendingRows, "maxPendingRows");
+    if (tasks.getCellCount() == 0) {
+      sink.calculationsComplete();
+      return;
+    }
+    RowAssemblingListener listener = RowAssemblingListener.of(tasks, sink, new Semaphore(0));
+    calculateAsync(tasks, marketData, listener);
+    listener.awaitCompletion();
+  }
 }
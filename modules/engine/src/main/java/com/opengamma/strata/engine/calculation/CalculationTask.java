@@ -7,9 +7,14 @@ package com.opengamma.strata.engine.calculation;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyPair;
@@ -18,10 +23,14 @@ import com.opengamma.strata.basics.market.FxRateKey;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.calculation.function.CalculationFunction;
+import com.opengamma.strata.engine.calculation.function.CalculationMultiFunction;
 import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
 import com.opengamma.strata.engine.calculation.function.CurrencyConvertible;
+import com.opengamma.strata.engine.config.Measure;
 import com.opengamma.strata.engine.config.ReportingRules;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.CalculationRequirements;
@@ -36,6 +45,10 @@ import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
  * <p>
  * This presents a uniform interface to the engine so all functions can be treated equally during execution.
  * Without this class the engine would need to keep track of which functions to use for each input.
+ * <p>
+ * A task wrapping a {@link CalculationSingleFunction} calculates the value of one cell in the results grid.
+ * A task wrapping a {@link CalculationMultiFunction} calculates the values of multiple cells in the same
+ * row of the results grid, one for each measure, using a single invocation of the function.
  */
 public class CalculationTask {
 
@@ -45,11 +58,14 @@ public class CalculationTask {
   /** The row index of the value in the results grid. */
   private final int rowIndex;
 
-  /** The column index of the value in the results grid. */
-  private final int columnIndex;
+  /** The column indices of the values in the results grid, in the same order as the measures. */
+  private final List<Integer> columnIndices;
+
+  /** The measures calculated by a multi-function, empty if the function is a single function. */
+  private final List<Measure> measures;
 
   /** The function that performs the calculations. */
-  private final CalculationSingleFunction<CalculationTarget, ?> function;
+  private final CalculationFunction<CalculationTarget> function;
 
   /** The mappings to select market data. */
   private final MarketDataMappings marketDataMappings;
@@ -80,12 +96,87 @@ public class CalculationTask {
       ReportingRules reportingRules) {
 
     this.rowIndex = ArgChecker.notNegative(rowIndex, "rowIndex");
-    this.columnIndex = ArgChecker.notNegative(columnIndex, "columnIndex");
+    this.columnIndices = ImmutableList.of(ArgChecker.notNegative(columnIndex, "columnIndex"));
+    this.measures = ImmutableList.of();
     this.target = ArgChecker.notNull(target, "target");
     this.marketDataMappings = ArgChecker.notNull(marketDataMappings, "marketDataMappings");
     this.reportingRules = ArgChecker.notNull(reportingRules, "reportingRules");
     // TODO check the target types are compatible
-    this.function = (CalculationSingleFunction<CalculationTarget, ?>) ArgChecker.notNull(function, "function");
+    this.function = (CalculationFunction<CalculationTarget>) ArgChecker.notNull(function, "function");
+  }
+
+  /**
+   * Creates a task that calculates the values of multiple measures for a target using one invocation
+   * of a multi-function.
+   * <p>
+   * The values are put into the same row of the results grid. The column index of each value is
+   * taken from the list of column indices, which must be the same size as the list of measures.
+   *
+   * @param target  the target for which the calculation is performed
+   * @param rowIndex  the row index of the values in the results grid
+   * @param columnIndices  the column indices of the values in the results grid, one for each measure
+   * @param measures  the measures calculated by the function
+   * @param function  the function that performs the calculation
+   * @param marketDataMappings  specifies the market data used in the calculation
+   * @param reportingRules  the currency in which monetary values should be returned
+   */
+  @SuppressWarnings("unchecked")
+  public CalculationTask(
+      CalculationTarget target,
+      int rowIndex,
+      List<Integer> columnIndices,
+      List<Measure> measures,
+      CalculationMultiFunction<? extends CalculationTarget> function,
+      MarketDataMappings marketDataMappings,
+      ReportingRules reportingRules) {
+
+    ArgChecker.notEmpty(columnIndices, "columnIndices");
+    ArgChecker.notNull(measures, "measures");
+    ArgChecker.isTrue(
+        columnIndices.size() == measures.size(),
+        "The number of column indices ({}) must equal the number of measures ({})",
+        columnIndices.size(),
+        measures.size());
+    columnIndices.forEach(columnIndex -> ArgChecker.notNegative(columnIndex, "columnIndex"));
+    this.rowIndex = ArgChecker.notNegative(rowIndex, "rowIndex");
+    this.columnIndices = ImmutableList.copyOf(columnIndices);
+    this.measures = ImmutableList.copyOf(measures);
+    this.target = ArgChecker.notNull(target, "target");
+    this.marketDataMappings = ArgChecker.notNull(marketDataMappings, "marketDataMappings");
+    this.reportingRules = ArgChecker.notNull(reportingRules, "reportingRules");
+    this.function = (CalculationFunction<CalculationTarget>) ArgChecker.notNull(function, "function");
+  }
+
+  /**
+   * Returns the row index of the values calculated by this task.
+   *
+   * @return the row index of the values calculated by this task
+   */
+  public int getRowIndex() {
+    return rowIndex;
+  }
+
+  /**
+   * Returns the column indices of the values calculated by this task.
+   * <p>
+   * All values calculated by a task are in the same row of the results grid.
+   *
+   * @return the column indices of the values calculated by this task
+   */
+  public List<Integer> getColumnIndices() {
+    return columnIndices;
+  }
+
+  /**
+   * Returns the requirements of the function, specifying the market data keys it uses.
+   * <p>
+   * The function is asked for its requirements each time this is called, so the caller should
+   * derive everything it needs from a single call.
+   *
+   * @return the requirements of the function
+   */
+  FunctionRequirements functionRequirements() {
+    return function.requirements(target);
   }
 
   /**
@@ -94,7 +185,17 @@ public class CalculationTask {
    * @return requirements specifying the market data the function needs to perform its calculations
    */
   public CalculationRequirements requirements() {
-    FunctionRequirements functionRequirements = function.requirements(target);
+    return requirements(functionRequirements());
+  }
+
+  /**
+   * Returns requirements specifying the market data the function needs to perform its calculations,
+   * derived from requirements previously returned by the function.
+   *
+   * @param functionRequirements  the requirements returned by {@link #functionRequirements()}
+   * @return requirements specifying the market data the function needs to perform its calculations
+   */
+  CalculationRequirements requirements(FunctionRequirements functionRequirements) {
     CalculationRequirementsBuilder requirementsBuilder = CalculationRequirements.builder();
 
     functionRequirements.getTimeSeriesRequirements().stream()
@@ -122,6 +223,46 @@ public class CalculationTask {
     return requirementsBuilder.build();
   }
 
+  /**
+   * Returns the IDs of the market data the function needs to perform its calculations, keyed by the
+   * market data keys the function uses to request the data.
+   * <p>
+   * This contains the single value requirements of the function and the FX rates needed to convert the
+   * output values into the reporting currency. It is used to bind the keys to market data slots before
+   * the calculations are performed, so the mappings don't need to be applied each time a value is requested.
+   *
+   * @param functionRequirements  the requirements returned by {@link #functionRequirements()}
+   * @return the IDs of the market data the function needs, keyed by market data key
+   */
+  Map<MarketDataKey<?>, MarketDataId<?>> marketDataBindings(FunctionRequirements functionRequirements) {
+    Map<MarketDataKey<?>, MarketDataId<?>> bindings = new LinkedHashMap<>();
+
+    for (MarketDataKey<?> key : functionRequirements.getSingleValueRequirements()) {
+      bindings.put(key, marketDataMappings.getIdForKey(key));
+    }
+    Optional<Currency> optionalReportingCurrency =
+        reportingCurrency(reportingRules.reportingCurrency(target), function.defaultReportingCurrency(target));
+
+    if (optionalReportingCurrency.isPresent()) {
+      Currency reportingCurrency = optionalReportingCurrency.get();
+
+      functionRequirements.getOutputCurrencies().stream()
+          .filter(outputCurrency -> !outputCurrency.equals(reportingCurrency))
+          .map(outputCurrency -> FxRateKey.of(CurrencyPair.of(outputCurrency, reportingCurrency)))
+          .forEach(key -> bindings.put(key, marketDataMappings.getIdForKey(key)));
+    }
+    return bindings;
+  }
+
+  /**
+   * Returns the mappings used to select the market data for the calculations.
+   *
+   * @return the mappings used to select the market data for the calculations
+   */
+  MarketDataMappings getMarketDataMappings() {
+    return marketDataMappings;
+  }
+
   /**
    * Returns an optional containing the first currency from the arguments or empty if both arguments are empty.
    */
@@ -137,23 +278,118 @@ public class CalculationTask {
 
   /**
    * Performs calculations for the target using multiple sets of market data.
+   * <p>
+   * This can only be used for tasks calculating a single value. Use {@link #executeAll} for
+   * tasks that calculate multiple values.
    *
    * @param scenarioData  the market data used in the calculation
    * @return results of the calculation, one for every scenario in the market data
+   * @throws IllegalStateException if the task calculates more than one value
    */
   public CalculationResult execute(ScenarioCalculationEnvironment scenarioData) {
-    CalculationMarketData calculationData = new DefaultCalculationMarketData(scenarioData, marketDataMappings);
+    if (columnIndices.size() != 1) {
+      throw new IllegalStateException(
+          Messages.format("Task calculates {} values, executeAll must be used", columnIndices.size()));
+    }
+    return executeAll(scenarioData).get(0);
+  }
+
+  /**
+   * Performs calculations for the target using multiple sets of market data and returns a result for
+   * each of the values calculated by this task.
+   * <p>
+   * The results are in the same order as the {@linkplain #getColumnIndices() column indices}.
+   *
+   * @param scenarioData  the market data used in the calculation
+   * @return results of the calculations, one for each value calculated by this task
+   */
+  public List<CalculationResult> executeAll(ScenarioCalculationEnvironment scenarioData) {
+    return executeAll(new DefaultCalculationMarketData(scenarioData, marketDataMappings));
+  }
+
+  /**
+   * Performs calculations for the target using market data that has already been selected for this task
+   * and returns a result for each of the values calculated by this task.
+   * <p>
+   * The results are in the same order as the {@linkplain #getColumnIndices() column indices}.
+   *
+   * @param calculationData  the market data used in the calculation
+   * @return results of the calculations, one for each value calculated by this task
+   */
+  @SuppressWarnings("unchecked")
+  List<CalculationResult> executeAll(CalculationMarketData calculationData) {
+    if (function instanceof CalculationMultiFunction) {
+      return executeMultiFunction((CalculationMultiFunction<CalculationTarget>) function, calculationData);
+    }
     Result<?> result;
 
     try {
-      Object value = function.execute(target, calculationData);
+      Object value = ((CalculationSingleFunction<CalculationTarget, ?>) function).execute(target, calculationData);
       result = value instanceof Result ?
           (Result<?>) value :
           Result.success(value);
     } catch (RuntimeException e) {
       result = Result.failure(e);
     }
-    return CalculationResult.of(target, rowIndex, columnIndex, convertToReportingCurrency(result, calculationData));
+    int columnIndex = columnIndices.get(0);
+    return ImmutableList.of(
+        CalculationResult.of(target, rowIndex, columnIndex, convertToReportingCurrency(result, calculationData)));
+  }
+
+  /**
+   * Returns a failure result for each of the values calculated by this task.
+   * <p>
+   * This is used when the task could not be run, for example if its market data could not be selected.
+   * The results are in the same order as the {@linkplain #getColumnIndices() column indices}.
+   *
+   * @param exception  the exception that prevented the task from running
+   * @return failure results, one for each value calculated by this task
+   */
+  List<CalculationResult> failureResults(Exception exception) {
+    Result<?> failure = Result.failure(exception);
+    return columnIndices.stream()
+        .map(columnIndex -> CalculationResult.of(target, rowIndex, columnIndex, failure))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Invokes a multi-function once to calculate all the measures and creates a result for each cell.
+   *
+   * @param multiFunction  the function that calculates the measures
+   * @param calculationData  the market data used in the calculation
+   * @return results of the calculations, one for each value calculated by this task
+   */
+  private List<CalculationResult> executeMultiFunction(
+      CalculationMultiFunction<CalculationTarget> multiFunction,
+      CalculationMarketData calculationData) {
+
+    Map<Measure, Result<?>> results;
+
+    try {
+      results = multiFunction.execute(target, ImmutableSet.copyOf(measures), calculationData);
+    } catch (RuntimeException e) {
+      Result<?> failure = Result.failure(e);
+      return columnIndices.stream()
+          .map(columnIndex -> CalculationResult.of(target, rowIndex, columnIndex, failure))
+          .collect(toImmutableList());
+    }
+    ImmutableList.Builder<CalculationResult> builder = ImmutableList.builder();
+
+    for (int i = 0; i < measures.size(); i++) {
+      Measure measure = measures.get(i);
+      Result<?> result = results.get(measure);
+
+      if (result == null) {
+        result = Result.failure(
+            FailureReason.CALCULATION_FAILED,
+            "Function {} did not return a result for measure {}",
+            function.getClass().getName(),
+            measure);
+      }
+      Result<?> convertedResult = convertToReportingCurrency(result, calculationData);
+      builder.add(CalculationResult.of(target, rowIndex, columnIndices.get(i), convertedResult));
+    }
+    return builder.build();
   }
 
   /**
@@ -5,14 +5,18 @@
  */
 package com.opengamma.strata.engine.calculation;
 
-import static java.util.stream.Collectors.toList;
-
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.engine.Column;
 import com.opengamma.strata.engine.marketdata.CalculationRequirements;
+import com.opengamma.strata.engine.marketdata.FunctionRequirements;
 
 /**
  * The functions for performing a set of calculations and the market data required by the calculations.
@@ -21,7 +25,9 @@ public class CalculationTasks {
 
   private final List<CalculationTask> calculationTasks;
   private final List<Column> columns;
+  private final List<CalculationRequirements> taskRequirements;
   private final CalculationRequirements requirements;
+  private final MarketDataSlots marketDataSlots;
 
   /**
    * @param calculationTasks  the tasks that perform the calculations
@@ -30,24 +36,83 @@ public class CalculationTasks {
   public CalculationTasks(List<CalculationTask> calculationTasks, List<Column> columns) {
     this.calculationTasks = ImmutableList.copyOf(calculationTasks);
     this.columns = ImmutableList.copyOf(columns);
-    List<CalculationRequirements> reqs = calculationTasks.stream().map(CalculationTask::requirements).collect(toList());
-    requirements = CalculationRequirements.combine(reqs);
 
-    // Validate the number of tasks and number of columns tally
-    if (calculationTasks.size() != 0) {
+    // the functions are asked for their requirements once, and both the market data requirements
+    // and the binding of keys to slots are derived from them
+    ImmutableList.Builder<CalculationRequirements> requirementsBuilder = ImmutableList.builder();
+    ImmutableList.Builder<Map<MarketDataKey<?>, MarketDataId<?>>> bindingsBuilder = ImmutableList.builder();
+
+    for (CalculationTask task : this.calculationTasks) {
+      FunctionRequirements functionRequirements = task.functionRequirements();
+      requirementsBuilder.add(task.requirements(functionRequirements));
+      bindingsBuilder.add(task.marketDataBindings(functionRequirements));
+    }
+    taskRequirements = requirementsBuilder.build();
+    requirements = CalculationRequirements.combine(taskRequirements);
+    marketDataSlots = MarketDataSlots.of(this.calculationTasks, bindingsBuilder.build());
+
+    // Validate the number of calculated values and number of columns tally
+    validateCellCount(this.calculationTasks, this.columns);
+  }
+
+  // restricted constructor used when selecting a subset of the tasks
+  private CalculationTasks(
+      List<CalculationTask> calculationTasks,
+      List<Column> columns,
+      List<CalculationRequirements> taskRequirements,
+      MarketDataSlots marketDataSlots) {
+
+    this.calculationTasks = calculationTasks;
+    this.columns = columns;
+    this.taskRequirements = taskRequirements;
+    this.requirements = CalculationRequirements.combine(taskRequirements);
+    this.marketDataSlots = marketDataSlots;
+    validateCellCount(calculationTasks, columns);
+  }
+
+  // checks the number of calculated values and number of columns tally
+  private static void validateCellCount(List<CalculationTask> calculationTasks, List<Column> columns) {
+    int cellCount = cellCount(calculationTasks);
+
+    if (cellCount != 0) {
       if (columns.size() == 0) {
         throw new IllegalArgumentException("There must be at least one column");
       }
-      if (calculationTasks.size() % columns.size() != 0) {
+      if (cellCount % columns.size() != 0) {
         throw new IllegalArgumentException(
             Messages.format(
-                "Number of tasks ({}) must be exactly divisible by the number of columns ({})",
-                calculationTasks.size(),
+                "Number of calculated values ({}) must be exactly divisible by the number of columns ({})",
+                cellCount,
                 columns.size()));
       }
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the tasks that calculate the values in a set of rows.
+   * <p>
+   * The requirements of the selected tasks and the binding of their market data keys are taken
+   * from these tasks, so the functions are not asked for their requirements again.
+   *
+   * @param rows  the indices of the rows whose tasks are selected
+   * @return the tasks that calculate the values in the rows
+   */
+  public CalculationTasks selectRows(BitSet rows) {
+    ImmutableList.Builder<CalculationTask> tasksBuilder = ImmutableList.builder();
+    ImmutableList.Builder<CalculationRequirements> requirementsBuilder = ImmutableList.builder();
+    int[] taskIndices = IntStream.range(0, calculationTasks.size())
+        .filter(i -> rows.get(calculationTasks.get(i).getRowIndex()))
+        .toArray();
+
+    for (int taskIndex : taskIndices) {
+      tasksBuilder.add(calculationTasks.get(taskIndex));
+      requirementsBuilder.add(taskRequirements.get(taskIndex));
+    }
+    return new CalculationTasks(
+        tasksBuilder.build(), columns, requirementsBuilder.build(), marketDataSlots.select(taskIndices));
+  }
+
   /**
    * Returns IDs for the market data required for all calculations.
    *
@@ -57,13 +122,35 @@ public class CalculationTasks {
     return requirements;
   }
 
+  /**
+   * Returns IDs for the market data required by each calculation.
+   * <p>
+   * The requirements are in the same order as the tasks.
+   *
+   * @return IDs for the market data required by each calculation
+   */
+  public List<CalculationRequirements> getTaskRequirements() {
+    return taskRequirements;
+  }
+
+  /**
+   * Returns the binding of the market data keys used by the tasks to market data slots.
+   * <p>
+   * The keys are bound when the tasks are created so the market data mappings don't need to be
+   * applied each time a task requests an item of market data.
+   *
+   * @return the binding of the market data keys used by the tasks to market data slots
+   */
+  MarketDataSlots getMarketDataSlots() {
+    return marketDataSlots;
+  }
+
   /**
    * Returns the objects that perform the individual calculations.
    * <p>
    * The results can be visualized as a grid of columns with a row for each target.
-   * There is one calculation for each cell in the grid. The calculations in the list are arranged in row order.
-   * For example, if a grid has 5 columns, the calculations 0-4 in the list are the first row, calculations 5-9 are
-   * the second row and so on.
+   * A task calculates the values of one or more cells in the same row of the grid.
+   * The tasks in the list are arranged in row order.
    *
    * @return the objects that perform the calculations
    */
@@ -71,6 +158,22 @@ public class CalculationTasks {
     return calculationTasks;
   }
 
+  /**
+   * Returns the total number of values calculated by the tasks.
+   * <p>
+   * This is the number of cells in the grid of results.
+   *
+   * @return the total number of values calculated by the tasks
+   */
+  public int getCellCount() {
+    return cellCount(calculationTasks);
+  }
+
+  // the number of cells calculated by the tasks
+  private static int cellCount(List<CalculationTask> tasks) {
+    return tasks.stream().mapToInt(task -> task.getColumnIndices().size()).sum();
+  }
+
   /**
    * Returns the measures calculated by these calculations.
    * <p>
@@ -9,12 +9,18 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -23,6 +29,9 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.calculation.function.CalculationFunction;
+import com.opengamma.strata.engine.calculation.function.CalculationMultiFunction;
+import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.config.CalculationTaskConfig;
 import com.opengamma.strata.engine.config.CalculationTasksConfig;
@@ -42,17 +51,62 @@ import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
  */
 public class DefaultCalculationRunner implements CalculationRunner {
 
-  /** Executes the tasks that perform the individual calculations. */
+  /**
+   * The chunk size indicating the size of the chunks should be chosen automatically based on the number
+   * of tasks and the parallelism of the fork-join pool.
+   */
+  public static final int AUTOMATIC_CHUNK_SIZE = 0;
+  /** The chunk size indicating each task is submitted individually to the executor. */
+  private static final int UNCHUNKED = -1;
+  /** The number of chunks created for each thread in the pool when the chunk size is chosen automatically. */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  /**
+   * Executes the tasks that perform the individual calculations.
+   * This is a {@code ForkJoinPool} if the tasks are run in chunks.
+   */
   private final ExecutorService executor;
 
+  /**
+   * The maximum number of tasks in a chunk, {@link #AUTOMATIC_CHUNK_SIZE} if it is chosen automatically
+   * or {@link #UNCHUNKED} if each task is submitted individually to the executor.
+   */
+  private final int chunkSize;
+
   /** Factory for consumers that wrap listeners to control threading and notify them when calculations are complete. */
-  private final ConsumerFactory consumerFactory = ListenerWrapper::new;
+  private final ConsumerFactory consumerFactory =
+      (listener, totalResultsCount) -> new ListenerWrapper(listener, totalResultsCount)::acceptAll;
 
   /**
+   * Creates a runner that submits each calculation task individually to the executor.
+   * <p>
+   * The results of each task are delivered to the listener as they are calculated.
+   *
    * @param executor  executes the tasks that perform the calculations
    */
   public DefaultCalculationRunner(ExecutorService executor) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.chunkSize = UNCHUNKED;
+  }
+
+  /**
+   * Creates a runner that splits the calculation tasks into chunks which are run on a fork-join pool.
+   * <p>
+   * The task list is split recursively until the chunks are no larger than the chunk size. Idle threads
+   * in the pool steal chunks from busy threads so the work is balanced even if the cost of the
+   * calculations varies. The results of each chunk are delivered to the listener as a single batch.
+   * <p>
+   * If the chunk size is {@link #AUTOMATIC_CHUNK_SIZE} it is chosen so there are several chunks
+   * for each thread in the pool.
+   * This is suitable for large numbers of cheap calculations where the cost of scheduling each task
+   * individually and delivering each result to the listener is significant.
+   *
+   * @param pool  the pool that runs the chunks of calculation tasks
+   * @param chunkSize  the maximum number of tasks in a chunk, or {@link #AUTOMATIC_CHUNK_SIZE}
+   */
+  public DefaultCalculationRunner(ForkJoinPool pool, int chunkSize) {
+    this.executor = ArgChecker.notNull(pool, "pool");
+    this.chunkSize = ArgChecker.notNegative(chunkSize, "chunkSize");
   }
 
   @Override
@@ -73,8 +127,8 @@ public class DefaultCalculationRunner implements CalculationRunner {
 
     for (int i = 0; i < targets.size(); i++) {
       for (int j = 0; j < columns.size(); j++) {
-        // TODO For each target, build a map of function group to set of measures.
-        // Then request function config from the group for all measures at once
+        // The configuration is created for each cell. Cells for the same target whose values are calculated
+        // by the same multi-function are grouped into a single task in createCalculationTasks
         configBuilder.add(createTaskConfig(i, j, targets.get(i), effectiveColumns.get(j)));
       }
     }
@@ -88,7 +142,26 @@ public class DefaultCalculationRunner implements CalculationRunner {
 
   @Override
   public CalculationTasks createCalculationTasks(CalculationTasksConfig config) {
-    List<CalculationTask> tasks = config.getTaskConfigurations().stream().map(this::createTask).collect(toImmutableList());
+    // The cells in a row whose values are calculated by the same multi-function with the same arguments,
+    // market data and reporting rules are grouped so the function is only invoked once for all the measures.
+    // Every other cell has its own group. The map preserves the order of the cells so the tasks are in row order
+    Map<Object, List<CalculationTaskConfig>> groups = new LinkedHashMap<>();
+
+    for (CalculationTaskConfig taskConfig : config.getTaskConfigurations()) {
+      Object groupKey = taskConfig.getFunctionConfig().isMultiFunction() ?
+          ImmutableList.of(
+              taskConfig.getRowIndex(),
+              taskConfig.getFunctionConfig(),
+              taskConfig.getFunctionArguments(),
+              taskConfig.getMarketDataMappings(),
+              taskConfig.getReportingRules()) :
+          taskConfig;
+      groups.computeIfAbsent(groupKey, key -> new ArrayList<>()).add(taskConfig);
+    }
+    List<CalculationTask> tasks = groups.values().stream()
+        .flatMap(taskConfigs -> createTasks(taskConfigs, config.getColumns()).stream())
+        .collect(toImmutableList());
+
     return new CalculationTasks(tasks, config.getColumns());
   }
 
@@ -123,13 +196,144 @@ public class DefaultCalculationRunner implements CalculationRunner {
   @Override
   public void calculateAsync(CalculationTasks tasks, ScenarioCalculationEnvironment marketData, CalculationListener listener) {
     List<CalculationTask> taskList = tasks.getTasks();
-    Consumer<CalculationResult> consumer = consumerFactory.create(listener, taskList.size());
-    taskList.stream().forEach(task -> runTask(task, marketData, consumer));
+    Consumer<List<CalculationResult>> consumer = consumerFactory.create(listener, tasks.getCellCount());
+    SlotMarketData slotMarketData = tasks.getMarketDataSlots().bind(marketData);
+
+    if (chunkSize == UNCHUNKED) {
+      for (int i = 0; i < taskList.size(); i++) {
+        runTask(taskList.get(i), i, slotMarketData, consumer);
+      }
+    } else {
+      // The executor is always a ForkJoinPool when the tasks are run in chunks
+      ForkJoinPool pool = (ForkJoinPool) executor;
+      int maxChunkSize = (chunkSize == AUTOMATIC_CHUNK_SIZE) ?
+          automaticChunkSize(taskList.size(), pool.getParallelism()) :
+          chunkSize;
+      pool.execute(new ChunkAction(taskList, 0, taskList.size(), maxChunkSize, slotMarketData, consumer));
+    }
   }
 
-  private void runTask(CalculationTask task, ScenarioCalculationEnvironment marketData, Consumer<CalculationResult> consumer) {
-    // Submits a task to the executor to be run. The result of the task is passed to consumer.accept()
-    CompletableFuture.supplyAsync(() -> task.execute(marketData), executor).thenAccept(consumer::accept);
+  @Override
+  public void calculateStreaming(
+      CalculationTasks tasks,
+      CalculationEnvironment marketData,
+      ResultSink sink,
+      int maxPendingRows) {
+
+    // The listener is decorated to unwrap ScenarioResults containing a single result
+    calculateStreaming(
+        tasks, ScenarioCalculationEnvironment.of(marketData), sink, maxPendingRows, UnwrappingListener::new);
+  }
+
+  @Override
+  public void calculateStreaming(
+      CalculationTasks tasks,
+      ScenarioCalculationEnvironment marketData,
+      ResultSink sink,
+      int maxPendingRows) {
+
+    calculateStreaming(tasks, marketData, sink, maxPendingRows, listener -> listener);
+  }
+
+  // runs the tasks in blocks of whole rows, waiting for permits for the rows in each block before it is started
+  private void calculateStreaming(
+      CalculationTasks tasks,
+      ScenarioCalculationEnvironment marketData,
+      ResultSink sink,
+      int maxPendingRows,
+      Function<CalculationListener, CalculationListener> listenerDecorator) {
+
+    ArgChecker.notNull(sink, "sink");
+    ArgChecker.notNegativeOrZero(maxPendingRows, "maxPendingRows");
+    List<CalculationTask> taskList = tasks.getTasks();
+    if (tasks.getCellCount() == 0) {
+      sink.calculationsComplete();
+      return;
+    }
+    Semaphore permits = new Semaphore(maxPendingRows);
+    RowAssemblingListener listener = RowAssemblingListener.of(tasks, sink, permits);
+    Consumer<List<CalculationResult>> consumer =
+        consumerFactory.create(listenerDecorator.apply(listener), tasks.getCellCount());
+    SlotMarketData slotMarketData = tasks.getMarketDataSlots().bind(marketData);
+
+    // When the tasks are run in chunks a block contains enough rows to fill a chunk,
+    // otherwise each block contains a single row
+    ForkJoinPool pool = (chunkSize == UNCHUNKED) ? null : (ForkJoinPool) executor;
+    int maxChunkSize = UNCHUNKED;
+    if (pool != null) {
+      maxChunkSize = (chunkSize == AUTOMATIC_CHUNK_SIZE) ?
+          automaticChunkSize(taskList.size(), pool.getParallelism()) :
+          chunkSize;
+    }
+    int startIndex = 0;
+    while (startIndex < taskList.size()) {
+      int endIndex = startIndex;
+      int rowCount = 0;
+      do {
+        // The tasks are in row order, so a row is a contiguous range of tasks
+        int rowIndex = taskList.get(endIndex).getRowIndex();
+        while (endIndex < taskList.size() && taskList.get(endIndex).getRowIndex() == rowIndex) {
+          endIndex++;
+        }
+        rowCount++;
+      } while (endIndex < taskList.size() && rowCount < maxPendingRows && endIndex - startIndex < maxChunkSize);
+
+      // Blocks until enough earlier rows have been passed to the sink
+      permits.acquireUninterruptibly(rowCount);
+
+      if (pool == null) {
+        for (int i = startIndex; i < endIndex; i++) {
+          runTask(taskList.get(i), i, slotMarketData, consumer);
+        }
+      } else {
+        pool.execute(new ChunkAction(taskList, startIndex, endIndex, maxChunkSize, slotMarketData, consumer));
+      }
+      startIndex = endIndex;
+    }
+    listener.awaitCompletion();
+  }
+
+  private void runTask(
+      CalculationTask task,
+      int taskIndex,
+      SlotMarketData marketData,
+      Consumer<List<CalculationResult>> consumer) {
+
+    // Submits a task to the executor to be run. The results of the task are passed to consumer.accept()
+    // Each task can run on a different thread so it has its own view of the market data.
+    // If the task can't be run its cells receive failures, so the listener always receives a result for every cell
+    CompletableFuture.supplyAsync(() -> task.executeAll(marketData.taskMarketData().forTask(taskIndex)), executor)
+        .exceptionally(ex -> failureResults(task, ex))
+        .thenAccept(consumer);
+  }
+
+  /**
+   * Returns a failure result for each cell of a task that could not be run.
+   *
+   * @param task  the task that could not be run
+   * @param throwable  the exception thrown when running the task, possibly wrapped in a {@code CompletionException}
+   * @return failure results, one for each value calculated by the task
+   */
+  private static List<CalculationResult> failureResults(CalculationTask task, Throwable throwable) {
+    Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ?
+        throwable.getCause() :
+        throwable;
+    Exception exception = (cause instanceof Exception) ? (Exception) cause : new RuntimeException(cause);
+    return task.failureResults(exception);
+  }
+
+  /**
+   * Returns the chunk size that splits the tasks into a few chunks for each thread in the pool.
+   * <p>
+   * Creating more chunks than threads allows idle threads to steal work if some chunks take longer than others.
+   *
+   * @param taskCount  the number of tasks
+   * @param parallelism  the number of threads in the pool
+   * @return the maximum number of tasks in a chunk
+   */
+  static int automaticChunkSize(int taskCount, int parallelism) {
+    int chunkCount = parallelism * CHUNKS_PER_THREAD;
+    return Math.max(1, (taskCount + chunkCount - 1) / chunkCount);
   }
 
   /**
@@ -191,6 +395,11 @@ public class DefaultCalculationRunner implements CalculationRunner {
       results.add(result);
     }
 
+    @Override
+    public void resultsReceived(List<CalculationResult> results) {
+      this.results.addAll(results);
+    }
+
     @Override
     protected Results createAggregateResult() {
       results.sort(COMPARATOR);
@@ -289,19 +498,54 @@ public class DefaultCalculationRunner implements CalculationRunner {
   }
 
   /**
-   * Creates a task for performing a single calculation.
+   * Creates the tasks for performing the calculations for a group of cells.
+   * <p>
+   * If the function is a single function the group contains one cell and there is one task performing
+   * a single calculation.
+   * If the function is a multi-function the group contains all the cells in a row that are calculated by
+   * the function and there is one task calculating all their measures in one invocation of the function.
+   * <p>
+   * If the multi-function can't be created the configuration provides a single function in its place
+   * which returns a failure. In that case there is a task using that function for each cell in the group
+   * so every cell receives a result.
    *
-   * @param config  configuration for the task
-   * @return a task for performing a single calculation
+   * @param configs  configuration for the cells calculated by the tasks
+   * @param columns  the columns that define what values are calculated
+   * @return the tasks for performing the calculations
    */
-  private CalculationTask createTask(CalculationTaskConfig config) {
-    return new CalculationTask(
-        config.getTarget(),
-        config.getRowIndex(),
-        config.getColumnIndex(),
-        config.createFunction(),
-        config.getMarketDataMappings(),
-        config.getReportingRules());
+  private List<CalculationTask> createTasks(List<CalculationTaskConfig> configs, List<Column> columns) {
+    // All the configuration in the group is the same apart from the column index
+    CalculationTaskConfig config = configs.get(0);
+    CalculationFunction<?> function = config.createFunction();
+
+    if (!(function instanceof CalculationMultiFunction)) {
+      CalculationSingleFunction<?, ?> singleFunction = (CalculationSingleFunction<?, ?>) function;
+      return configs.stream()
+          .map(cellConfig -> new CalculationTask(
+              cellConfig.getTarget(),
+              cellConfig.getRowIndex(),
+              cellConfig.getColumnIndex(),
+              singleFunction,
+              cellConfig.getMarketDataMappings(),
+              cellConfig.getReportingRules()))
+          .collect(toImmutableList());
+    }
+    List<Integer> columnIndices = configs.stream()
+        .map(CalculationTaskConfig::getColumnIndex)
+        .collect(toImmutableList());
+    List<Measure> measures = configs.stream()
+        .map(cellConfig -> columns.get(cellConfig.getColumnIndex()).getMeasure(cellConfig.getTarget()))
+        .collect(toImmutableList());
+
+    return ImmutableList.of(
+        new CalculationTask(
+            config.getTarget(),
+            config.getRowIndex(),
+            columnIndices,
+            measures,
+            (CalculationMultiFunction<?>) function,
+            config.getMarketDataMappings(),
+            config.getReportingRules()));
   }
 
   /**
@@ -322,7 +566,79 @@ public class DefaultCalculationRunner implements CalculationRunner {
      * @param totalResultsCount  the total number of results expected
      * @return a consumer to deliver messages to the listener
      */
-    public abstract Consumer<CalculationResult> create(CalculationListener listener, int totalResultsCount);
+    public abstract Consumer<List<CalculationResult>> create(CalculationListener listener, int totalResultsCount);
+  }
+
+  /**
+   * Fork-join action that runs a range of calculation tasks.
+   * <p>
+   * If the range contains more tasks than the maximum chunk size it is split in two and the halves are
+   * forked so they can be stolen by idle threads in the pool. Otherwise the tasks are run by the current
+   * thread and their results are passed to the consumer in a single batch.
+   */
+  private static final class ChunkAction extends RecursiveAction {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /** All the calculation tasks. */
+    private final transient List<CalculationTask> tasks;
+
+    /** The index of the first task run by this action, inclusive. */
+    private final int startIndex;
+
+    /** The index of the last task run by this action, exclusive. */
+    private final int endIndex;
+
+    /** The maximum number of tasks run by a single chunk. */
+    private final int maxChunkSize;
+
+    /** The market data used in the calculations. */
+    private final transient SlotMarketData marketData;
+
+    /** The consumer that receives the results of each chunk. */
+    private final transient Consumer<List<CalculationResult>> consumer;
+
+    private ChunkAction(
+        List<CalculationTask> tasks,
+        int startIndex,
+        int endIndex,
+        int maxChunkSize,
+        SlotMarketData marketData,
+        Consumer<List<CalculationResult>> consumer) {
+
+      this.tasks = tasks;
+      this.startIndex = startIndex;
+      this.endIndex = endIndex;
+      this.maxChunkSize = maxChunkSize;
+      this.marketData = marketData;
+      this.consumer = consumer;
+    }
+
+    @Override
+    protected void compute() {
+      if (endIndex - startIndex > maxChunkSize) {
+        int midIndex = (startIndex + endIndex) >>> 1;
+        invokeAll(
+            new ChunkAction(tasks, startIndex, midIndex, maxChunkSize, marketData, consumer),
+            new ChunkAction(tasks, midIndex, endIndex, maxChunkSize, marketData, consumer));
+      } else {
+        List<CalculationResult> results = new ArrayList<>();
+        // The tasks in a chunk run on one thread so they share a view of the market data
+        SlotMarketData.TaskMarketData taskMarketData = marketData.taskMarketData();
+
+        for (int i = startIndex; i < endIndex; i++) {
+          CalculationTask task = tasks.get(i);
+          try {
+            results.addAll(task.executeAll(taskMarketData.forTask(i)));
+          } catch (RuntimeException | Error ex) {
+            // The other tasks in the chunk still run, and the cells of this task receive failures
+            results.addAll(failureResults(task, ex));
+          }
+        }
+        consumer.accept(results);
+      }
+    }
   }
 
   /**
@@ -339,15 +655,31 @@ public class DefaultCalculationRunner implements CalculationRunner {
 
     @Override
     public void resultReceived(CalculationResult calculationResult) {
-      Result<?> result = calculationResult.getResult();
-      Result<?> unwrappedResult = unwrapScenarioResult(result);
-      CalculationResult unwrappedCalculationResult = calculationResult.toBuilder().result(unwrappedResult).build();
-      delegate.resultReceived(unwrappedCalculationResult);
+      delegate.resultReceived(unwrap(calculationResult));
+    }
+
+    @Override
+    public void resultsReceived(List<CalculationResult> calculationResults) {
+      List<CalculationResult> unwrappedResults = calculationResults.stream()
+          .map(UnwrappingListener::unwrap)
+          .collect(toImmutableList());
+      delegate.resultsReceived(unwrappedResults);
     }
 
     @Override
     public void calculationsComplete() {
       delegate.calculationsComplete();
     }
+
+    // a result that can't be unwrapped is replaced by a failure so every cell still receives a result
+    private static CalculationResult unwrap(CalculationResult calculationResult) {
+      Result<?> unwrappedResult;
+      try {
+        unwrappedResult = unwrapScenarioResult(calculationResult.getResult());
+      } catch (RuntimeException ex) {
+        unwrappedResult = Result.failure(ex);
+      }
+      return calculationResult.toBuilder().result(unwrappedResult).build();
+    }
   }
 }
@@ -5,7 +5,8 @@
  */
 package com.opengamma.strata.engine.calculation;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -14,6 +15,7 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.ArgChecker;
 
 /**
@@ -28,8 +30,8 @@ final class ListenerWrapper implements Consumer<CalculationResult> {
   /** The wrapped listener. */
   private final CalculationListener listener;
 
-  /** Queue of actions to perform on the delegate. */
-  private final Queue<CalculationResult> queue = new LinkedList<>();
+  /** Queue of batches of results waiting to be delivered to the delegate. */
+  private final Queue<List<CalculationResult>> queue = new ArrayDeque<>();
 
   /** Protects the queue and the executing flag. */
   private final Lock lock = new ReentrantLock();
@@ -49,7 +51,7 @@ final class ListenerWrapper implements Consumer<CalculationResult> {
 
   /**
    * Flags whether the calculations are complete.
-   * This is set when the number of results received equals {@link #expectedResultCount}.
+   * This is set when the number of results received reaches {@link #expectedResultCount}.
    * This causes a call to {@link CalculationListener#calculationsComplete()}.
    */
   private boolean complete;
@@ -81,40 +83,57 @@ final class ListenerWrapper implements Consumer<CalculationResult> {
    */
   @Override
   public void accept(CalculationResult result) {
+    acceptAll(ImmutableList.of(result));
+  }
+
+  /**
+   * Accepts a batch of calculation results and delivers them to the listener in a single call to
+   * {@link CalculationListener#resultsReceived(List) resultsReceived}.
+   * <p>
+   * This method can be invoked concurrently by multiple threads in the same way as {@link #accept}.
+   *
+   * @param results the results of a batch of calculations
+   */
+  void acceptAll(List<CalculationResult> results) {
+    if (results.isEmpty()) {
+      return;
+    }
     // This is mutated while protected by the lock and accessed while not protected.
     // This is safe because the executing flag ensures the thread that accesses the
     // variable while unlocked is the same thread that set its value while guarded by the lock.
-    CalculationResult nextResult;
+    List<CalculationResult> nextResults;
 
     lock.lock();
     try {
       if (executing) {
-        // Another thread is already invoking the listener. Add the result to
+        // Another thread is already invoking the listener. Add the results to
         // the queue and return. The other thread will ensure the queued results
         // are delivered.
-        queue.add(result);
+        queue.add(results);
         return;
       } else {
         // There is no thread invoking the listener. Set the executing flag to
         // ensure no other thread passes this point and invoke the listener.
         executing = true;
-        nextResult = result;
+        nextResults = results;
       }
     } finally {
       lock.unlock();
     }
-    // Loop until the nextResult and all the results from the queue have been delivered
+    // Loop until the nextResults and all the results from the queue have been delivered
     for (;;) {
       try {
         // Invoke the listener while not protected by the lock. This allows other threads
         // to queue results while this thread is delivering them to the listener.
-        listener.resultReceived(nextResult);
+        listener.resultsReceived(nextResults);
       } catch (RuntimeException e) {
-        log.warn("Exception invoking listener.resultReceived", e);
+        log.warn("Exception invoking listener.resultsReceived", e);
       }
       lock.lock();
       try {
-        if (++resultCount == expectedResultCount) {
+        resultCount += nextResults.size();
+
+        if (resultCount >= expectedResultCount) {
           // The expected number of results have been received. Set the complete
           // flag to trigger a call to listener.calculationsComplete after unlocking
           complete = true;
@@ -125,10 +144,10 @@ final class ListenerWrapper implements Consumer<CalculationResult> {
           executing = false;
           break;
         } else {
-          // There are results on the queue. This means another thread called accept(),
+          // There are results on the queue. This means another thread called acceptAll(),
           // added a result to the queue and returned while this thread was invoking the listener.
           // This thread must deliver the results from the queue.
-          nextResult = queue.remove();
+          nextResults = queue.remove();
         }
       } finally {
         lock.unlock();
@@ -0,0 +1,239 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.basics.market.MarketDataKey;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.engine.marketdata.DefaultCalculationMarketData;
+import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
+
+/**
+ * The binding of the market data keys used by a set of calculation tasks to dense integer slots.
+ * <p>
+ * Each distinct market data ID required by the tasks is assigned a slot. The keys used by each task
+ * are bound to the slots of the IDs they are mapped to when the tasks are created, and stored in arrays
+ * indexed by the position of the task in the list of tasks. Before the tasks are run the market data
+ * for each slot is looked up once, creating a {@link SlotMarketData} backed by an array. Market data
+ * requested by a task using a bound key is then read from the array by slot, without applying the
+ * mappings or looking up the ID in the market data.
+ */
+final class MarketDataSlots {
+
+  /** The IDs of the market data, indexed by slot. */
+  private final ImmutableList<MarketDataId<?>> ids;
+
+  /** The market data keys used by each task, indexed by task. */
+  private final MarketDataKey<?>[][] taskKeys;
+
+  /** The slots of the market data keys used by each task, indexed by task and then in the same order as the keys. */
+  private final int[][] taskSlots;
+
+  /** The distinct market data mappings used by the tasks. */
+  private final ImmutableList<MarketDataMappings> mappings;
+
+  /** The index of the mappings used by each task in the list of distinct mappings, indexed by task. */
+  private final int[] taskMappings;
+
+  /**
+   * Binds the market data keys used by the tasks to slots.
+   *
+   * @param tasks  the calculation tasks
+   * @return the binding of the market data keys used by the tasks to slots
+   */
+  static MarketDataSlots of(List<CalculationTask> tasks) {
+    ImmutableList.Builder<Map<MarketDataKey<?>, MarketDataId<?>>> bindings = ImmutableList.builder();
+    tasks.forEach(task -> bindings.add(task.marketDataBindings(task.functionRequirements())));
+    return of(tasks, bindings.build());
+  }
+
+  /**
+   * Binds the market data keys used by the tasks to slots.
+   * <p>
+   * The bindings of the keys to market data IDs are in the same order as the tasks.
+   *
+   * @param tasks  the calculation tasks
+   * @param bindings  the IDs of the market data required by each task, keyed by market data key
+   * @return the binding of the market data keys used by the tasks to slots
+   */
+  static MarketDataSlots of(List<CalculationTask> tasks, List<Map<MarketDataKey<?>, MarketDataId<?>>> bindings) {
+    ArgChecker.isTrue(
+        tasks.size() == bindings.size(),
+        "The number of tasks ({}) must equal the number of bindings ({})",
+        tasks.size(),
+        bindings.size());
+    Map<MarketDataId<?>, Integer> slots = new HashMap<>();
+    ImmutableList.Builder<MarketDataId<?>> ids = ImmutableList.builder();
+    Map<MarketDataMappings, Integer> mappingsIndices = new HashMap<>();
+    ImmutableList.Builder<MarketDataMappings> mappings = ImmutableList.builder();
+    MarketDataKey<?>[][] taskKeys = new MarketDataKey<?>[tasks.size()][];
+    int[][] taskSlots = new int[tasks.size()][];
+    int[] taskMappings = new int[tasks.size()];
+
+    for (int taskIndex = 0; taskIndex < tasks.size(); taskIndex++) {
+      Map<MarketDataKey<?>, MarketDataId<?>> taskBindings = bindings.get(taskIndex);
+      MarketDataKey<?>[] keys = new MarketDataKey<?>[taskBindings.size()];
+      int[] keySlots = new int[taskBindings.size()];
+      int keyIndex = 0;
+
+      for (Map.Entry<MarketDataKey<?>, MarketDataId<?>> entry : taskBindings.entrySet()) {
+        Integer slot = slots.get(entry.getValue());
+
+        if (slot == null) {
+          slot = slots.size();
+          slots.put(entry.getValue(), slot);
+          ids.add(entry.getValue());
+        }
+        keys[keyIndex] = entry.getKey();
+        keySlots[keyIndex] = slot;
+        keyIndex++;
+      }
+      taskKeys[taskIndex] = keys;
+      taskSlots[taskIndex] = keySlots;
+
+      MarketDataMappings taskMarketDataMappings = tasks.get(taskIndex).getMarketDataMappings();
+      Integer mappingsIndex = mappingsIndices.get(taskMarketDataMappings);
+
+      if (mappingsIndex == null) {
+        mappingsIndex = mappingsIndices.size();
+        mappingsIndices.put(taskMarketDataMappings, mappingsIndex);
+        mappings.add(taskMarketDataMappings);
+      }
+      taskMappings[taskIndex] = mappingsIndex;
+    }
+    return new MarketDataSlots(ids.build(), taskKeys, taskSlots, mappings.build(), taskMappings);
+  }
+
+  // restricted constructor
+  private MarketDataSlots(
+      ImmutableList<MarketDataId<?>> ids,
+      MarketDataKey<?>[][] taskKeys,
+      int[][] taskSlots,
+      ImmutableList<MarketDataMappings> mappings,
+      int[] taskMappings) {
+
+    this.ids = ids;
+    this.taskKeys = taskKeys;
+    this.taskSlots = taskSlots;
+    this.mappings = mappings;
+    this.taskMappings = taskMappings;
+  }
+
+  /**
+   * Returns the binding of the keys used by a subset of the tasks.
+   * <p>
+   * The slots are shared with this binding, so the keys are not bound again.
+   * The market data for every slot is still looked up when the subset is bound to market data.
+   *
+   * @param taskIndices  the indices of the tasks in the subset, in the order of the subset
+   * @return the binding of the keys used by the subset of the tasks
+   */
+  MarketDataSlots select(int[] taskIndices) {
+    MarketDataKey<?>[][] selectedKeys = new MarketDataKey<?>[taskIndices.length][];
+    int[][] selectedSlots = new int[taskIndices.length][];
+    int[] selectedMappings = new int[taskIndices.length];
+
+    for (int i = 0; i < taskIndices.length; i++) {
+      selectedKeys[i] = taskKeys[taskIndices[i]];
+      selectedSlots[i] = taskSlots[taskIndices[i]];
+      selectedMappings[i] = taskMappings[taskIndices[i]];
+    }
+    return new MarketDataSlots(ids, selectedKeys, selectedSlots, mappings, selectedMappings);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of slots.
+   *
+   * @return the number of slots
+   */
+  int size() {
+    return ids.size();
+  }
+
+  /**
+   * Returns the market data keys used by a task.
+   * <p>
+   * The array must not be modified.
+   *
+   * @param taskIndex  the index of the task in the list of tasks
+   * @return the market data keys used by the task
+   */
+  MarketDataKey<?>[] keys(int taskIndex) {
+    return taskKeys[taskIndex];
+  }
+
+  /**
+   * Returns the slots of the market data keys used by a task, in the same order as the keys.
+   * <p>
+   * The array must not be modified.
+   *
+   * @param taskIndex  the index of the task in the list of tasks
+   * @return the slots of the market data keys used by the task
+   */
+  int[] slots(int taskIndex) {
+    return taskSlots[taskIndex];
+  }
+
+  /**
+   * Returns the index of the market data mappings used by a task.
+   * <p>
+   * Each distinct set of mappings used by the tasks has an index.
+   *
+   * @param taskIndex  the index of the task in the list of tasks
+   * @return the index of the market data mappings used by the task
+   */
+  int mappingsIndex(int taskIndex) {
+    return taskMappings[taskIndex];
+  }
+
+  /**
+   * Looks up the market data for each slot, returning market data that can be read by slot.
+   * <p>
+   * If the market data for a slot is not available the slot is left empty and an exception
+   * is thrown when the slot is read, in the same way as if the data was requested by ID.
+   *
+   * @param marketData  the market data used in the calculations
+   * @return market data for the calculations that can be read by slot
+   */
+  SlotMarketData bind(ScenarioCalculationEnvironment marketData) {
+    List<?>[] values = new List<?>[ids.size()];
+
+    for (int i = 0; i < values.length; i++) {
+      try {
+        values[i] = marketData.getValues(ids.get(i));
+      } catch (RuntimeException ex) {
+        // leave the slot empty, the exception is thrown again if the slot is read
+        values[i] = null;
+      }
+    }
+    // market data that isn't bound to a slot is looked up using the mappings of the task
+    CalculationMarketData[] mappedMarketData = new CalculationMarketData[mappings.size()];
+
+    for (int i = 0; i < mappedMarketData.length; i++) {
+      mappedMarketData[i] = new DefaultCalculationMarketData(marketData, mappings.get(i));
+    }
+    return new SlotMarketData(this, marketData, values, mappedMarketData);
+  }
+
+  /**
+   * Returns the ID of the market data in a slot.
+   *
+   * @param slot  the slot
+   * @return the ID of the market data in the slot
+   */
+  MarketDataId<?> id(int slot) {
+    return ids.get(slot);
+  }
+
+}
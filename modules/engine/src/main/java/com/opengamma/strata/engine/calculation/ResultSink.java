@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * A sink that receives the results of a set of calculations one row at a time.
+ * <p>
+ * A row is passed to the sink when all of its results have been calculated.
+ * The rows are passed to the sink in row order. This allows the sink to write the results
+ * incrementally, for example to a CSV file, without the results of all the calculations
+ * being held in memory at the same time.
+ * <p>
+ * The sink is only invoked by a single thread at any time. Therefore implementations are
+ * not necessarily required to be thread safe. It is not guaranteed to be the same thread
+ * invoking the sink each time.
+ * <p>
+ * The sink can block, for example while writing to a slow output. The calculation runner
+ * limits the number of rows waiting to be passed to the sink, so a slow sink slows down the
+ * calculations rather than causing the results to accumulate in memory.
+ */
+public interface ResultSink {
+
+  /**
+   * Invoked when all the results in a row have been calculated.
+   * <p>
+   * The results are in column order. The sink must not retain the list if the results are
+   * to be released once they have been written.
+   *
+   * @param rowIndex  the index of the row in the grid of results
+   * @param target  the calculation target of the row
+   * @param results  the results in the row, one for each column
+   */
+  public abstract void rowReceived(int rowIndex, CalculationTarget target, List<Result<?>> results);
+
+  /**
+   * Invoked when all the rows have been passed to the sink.
+   */
+  public abstract void calculationsComplete();
+
+}
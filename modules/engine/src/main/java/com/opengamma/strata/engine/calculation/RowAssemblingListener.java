@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Calculation listener that assembles the results of individual calculations into rows and passes
+ * each row to a {@link ResultSink} when it is complete.
+ * <p>
+ * The rows are passed to the sink in row order. A row that is complete before an earlier row
+ * is held until the earlier row has been passed to the sink. The results of a row are released
+ * as soon as the row has been passed to the sink.
+ * <p>
+ * A permit is released to the semaphore after each row is passed to the sink, even if the sink throws
+ * an exception. This allows the runner to limit the number of rows that are pending.
+ * <p>
+ * If the sink throws an exception no further rows are passed to it. The exception is thrown
+ * by {@link #awaitCompletion()} once the calculations are complete.
+ */
+final class RowAssemblingListener implements CalculationListener {
+
+  /** The sink that receives the rows of results. */
+  private final ResultSink sink;
+  /** The number of columns in each row. */
+  private final int columnCount;
+  /** The indices of the rows in the order they are passed to the sink. */
+  private final int[] rowIndices;
+  /** The semaphore to which a permit is released when a row has been passed to the sink. */
+  private final Semaphore permits;
+  /** The rows whose results have started to arrive but which haven't been passed to the sink, keyed by row index. */
+  private final Map<Integer, PendingRow> pendingRows = new HashMap<>();
+  /** Completed when the sink has been notified that the calculations are complete. */
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+  /** The position in {@link #rowIndices} of the next row to pass to the sink. */
+  private int nextRow;
+  /** The exception thrown by the sink, null if it hasn't thrown an exception. */
+  private RuntimeException sinkException;
+
+  /**
+   * Creates an instance.
+   *
+   * @param sink  the sink that receives the rows of results
+   * @param columnCount  the number of columns in each row
+   * @param rowIndices  the indices of the rows, in ascending order
+   * @param permits  the semaphore to which a permit is released when a row has been passed to the sink
+   */
+  RowAssemblingListener(ResultSink sink, int columnCount, int[] rowIndices, Semaphore permits) {
+    this.sink = ArgChecker.notNull(sink, "sink");
+    this.columnCount = columnCount;
+    this.rowIndices = ArgChecker.notNull(rowIndices, "rowIndices");
+    this.permits = ArgChecker.notNull(permits, "permits");
+  }
+
+  /**
+   * Creates an instance that passes the rows calculated by a set of tasks to a sink.
+   *
+   * @param tasks  the tasks that perform the calculations
+   * @param sink  the sink that receives the rows of results
+   * @param permits  the semaphore to which a permit is released when a row has been passed to the sink
+   * @return the listener
+   */
+  static RowAssemblingListener of(CalculationTasks tasks, ResultSink sink, Semaphore permits) {
+    int[] rowIndices = tasks.getTasks().stream().mapToInt(CalculationTask::getRowIndex).distinct().toArray();
+    return new RowAssemblingListener(sink, tasks.getColumns().size(), rowIndices, permits);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void resultReceived(CalculationResult result) {
+    try {
+      addResult(result);
+    } finally {
+      passCompleteRows();
+    }
+  }
+
+  @Override
+  public void resultsReceived(List<CalculationResult> results) {
+    try {
+      results.forEach(this::addResult);
+    } finally {
+      // rows completed before a failure are still passed on, so their permits are released
+      passCompleteRows();
+    }
+  }
+
+  @Override
+  public void calculationsComplete() {
+    try {
+      if (sinkException == null) {
+        sink.calculationsComplete();
+      }
+    } catch (RuntimeException ex) {
+      sinkException = ex;
+    } finally {
+      completion.complete(null);
+    }
+  }
+
+  /**
+   * Blocks until all the rows have been passed to the sink and the sink has been notified that
+   * the calculations are complete.
+   *
+   * @throws RuntimeException if the sink threw an exception
+   */
+  void awaitCompletion() {
+    completion.join();
+    if (sinkException != null) {
+      throw sinkException;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // adds a result to its pending row
+  private void addResult(CalculationResult result) {
+    PendingRow row = pendingRows.computeIfAbsent(result.getRowIndex(), i -> new PendingRow(result.getTarget()));
+    row.add(result.getColumnIndex(), result.getResult());
+  }
+
+  // passes complete rows to the sink in row order, stopping at the first row that is incomplete
+  private void passCompleteRows() {
+    while (nextRow < rowIndices.length) {
+      int rowIndex = rowIndices[nextRow];
+      PendingRow row = pendingRows.get(rowIndex);
+      if (row == null || !row.isComplete()) {
+        return;
+      }
+      pendingRows.remove(rowIndex);
+      nextRow++;
+      try {
+        if (sinkException == null) {
+          sink.rowReceived(rowIndex, row.target, Arrays.asList(row.results));
+        }
+      } catch (RuntimeException ex) {
+        sinkException = ex;
+      } finally {
+        permits.release();
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A row whose results are arriving.
+   */
+  private final class PendingRow {
+
+    private final CalculationTarget target;
+    private final Result<?>[] results = new Result<?>[columnCount];
+    private int resultCount;
+
+    private PendingRow(CalculationTarget target) {
+      this.target = target;
+    }
+
+    private void add(int columnIndex, Result<?> result) {
+      results[columnIndex] = result;
+      resultCount++;
+    }
+
+    private boolean isComplete() {
+      return resultCount == columnCount;
+    }
+  }
+
+}
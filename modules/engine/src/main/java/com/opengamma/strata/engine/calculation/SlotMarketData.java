@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.opengamma.strata.basics.market.MarketDataKey;
+import com.opengamma.strata.basics.market.ObservableKey;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
+
+/**
+ * Market data for a set of calculations, held in an array indexed by the slots of a {@link MarketDataSlots}.
+ * <p>
+ * This is created once for each run of the calculations and shared between the tasks.
+ * The market data for a task is read through a {@link TaskMarketData} view which is pointed
+ * at each task in turn, so no object is created for each task.
+ */
+final class SlotMarketData {
+
+  /** The binding of the market data keys used by the tasks to slots. */
+  private final MarketDataSlots slots;
+
+  /** The market data used in the calculations. */
+  private final ScenarioCalculationEnvironment marketData;
+
+  /** The market data values for each scenario, indexed by slot, null if the values are not available. */
+  private final List<?>[] values;
+
+  /** The market data for keys that are not bound to slots, indexed by the mappings index of the tasks. */
+  private final CalculationMarketData[] mappedMarketData;
+
+  /**
+   * Creates an instance.
+   *
+   * @param slots  the binding of the market data keys used by the tasks to slots
+   * @param marketData  the market data used in the calculations
+   * @param values  the market data values for each scenario, indexed by slot
+   * @param mappedMarketData  the market data for keys that are not bound to slots, indexed by mappings index
+   */
+  SlotMarketData(
+      MarketDataSlots slots,
+      ScenarioCalculationEnvironment marketData,
+      List<?>[] values,
+      CalculationMarketData[] mappedMarketData) {
+
+    this.slots = slots;
+    this.marketData = marketData;
+    this.values = values;
+    this.mappedMarketData = mappedMarketData;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a view of the market data that can be pointed at each task in turn.
+   * <p>
+   * A view is intended to be reused by a single thread for all the tasks it runs.
+   * It must not be shared between threads.
+   *
+   * @return a view of the market data
+   */
+  TaskMarketData taskMarketData() {
+    return new TaskMarketData();
+  }
+
+  /**
+   * Returns the market data values in a slot, one for each scenario.
+   *
+   * @param slot  the slot
+   * @param <T>  type of the market data
+   * @return the market data values in the slot
+   * @throws IllegalArgumentException if there are no values for the slot
+   */
+  @SuppressWarnings("unchecked")
+  <T> List<T> getValues(int slot) {
+    List<?> slotValues = values[slot];
+
+    if (slotValues == null) {
+      // throws the same exception as the original lookup
+      return (List<T>) marketData.getValues(slots.id(slot));
+    }
+    return (List<T>) slotValues;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A view of the market data for one task at a time.
+   * <p>
+   * Values requested using the keys bound to slots for the task are read from the slots.
+   * The keys of a task are few, so they are compared in turn rather than hashed.
+   * Other market data is looked up using the mappings of the task.
+   * <p>
+   * The view is pointed at a task by {@link #forTask(int)} before the task is executed.
+   * The functions must not retain the market data after the task has been executed.
+   */
+  final class TaskMarketData implements CalculationMarketData {
+
+    /** The market data keys used by the current task. */
+    private MarketDataKey<?>[] keys;
+
+    /** The slots of the market data keys used by the current task, in the same order as the keys. */
+    private int[] keySlots;
+
+    /** The market data used for keys that are not bound to slots for the current task. */
+    private CalculationMarketData delegate;
+
+    // restricted constructor
+    private TaskMarketData() {
+    }
+
+    /**
+     * Points this view at a task and returns it.
+     *
+     * @param taskIndex  the index of the task in the list of tasks
+     * @return this view, providing the market data for the task
+     */
+    TaskMarketData forTask(int taskIndex) {
+      keys = slots.keys(taskIndex);
+      keySlots = slots.slots(taskIndex);
+      delegate = mappedMarketData[slots.mappingsIndex(taskIndex)];
+      return this;
+    }
+
+    @Override
+    public List<LocalDate> getValuationDates() {
+      return marketData.getValuationDates();
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return marketData.getScenarioCount();
+    }
+
+    @Override
+    public <T> List<T> getValues(MarketDataKey<T> key) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i].equals(key)) {
+          return SlotMarketData.this.getValues(keySlots[i]);
+        }
+      }
+      return delegate.getValues(key);
+    }
+
+    @Override
+    public LocalDateDoubleTimeSeries getTimeSeries(ObservableKey key) {
+      return delegate.getTimeSeries(key);
+    }
+
+    @Override
+    public <T, K extends MarketDataKey<T>> T getGlobalValue(K key) {
+      return delegate.getGlobalValue(key);
+    }
+  }
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import com.opengamma.strata.basics.CalculationTarget;
+
+/**
+ * Expands the products in calculation targets before the calculations are performed.
+ * <p>
+ * Many calculation targets contain a product that must be expanded before it can be priced,
+ * for example by generating the schedule of a swap and applying holiday calendars.
+ * The engine invokes the expander once for each target in a run, after any links have been resolved.
+ * <p>
+ * The expander returns the target that will be passed to the calculation functions.
+ * This is an equal target whose product retains its expanded form, so the functions for every
+ * measure and scenario share one expansion of the product. The expanded form is only retained
+ * by the targets of the run. Implementations may cache the expanded targets or products between runs,
+ * so repeated runs over the same targets avoid expanding the products again.
+ * Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface TargetExpander {
+
+  /**
+   * Obtains a target expander that returns each target unchanged.
+   * <p>
+   * The products are expanded by the calculation functions as required.
+   *
+   * @return the target expander
+   */
+  public static TargetExpander none() {
+    return target -> target;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Expands the product in the target, returning the target to be used for calculations.
+   * <p>
+   * The returned target must be equal to the input target.
+   * If the target contains no product that can be expanded, or the product cannot be expanded,
+   * the input target is returned. This allows the failure to be reported by the calculation functions.
+   *
+   * @param target  the calculation target
+   * @return the target whose product has been expanded
+   */
+  public abstract CalculationTarget expand(CalculationTarget target);
+
+}
@@ -6,6 +6,7 @@
 package com.opengamma.strata.engine.calculation.function;
 
 import java.util.Map;
+import java.util.Set;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.collect.result.Result;
@@ -26,13 +27,20 @@ import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 public interface CalculationMultiFunction<T extends CalculationTarget>
     extends CalculationFunction<T> {
 
-  // TODO Parameter of a set of measures in case the engine only requires a subset of what the function provides?
   /**
    * Calculates values of multiple measures for the target using multiple sets of market data.
+   * <p>
+   * The engine groups the measures calculated by this function for a target and invokes it once
+   * for all of them. This allows the function to share work between the measures, for example
+   * expanding a product or creating pricing inputs from the market data.
+   * <p>
+   * The returned map should contain a result for every measure in {@code measures}. If a value cannot be
+   * calculated for a measure the map should contain a failure result for the measure.
    *
    * @param target  the target of the calculation
+   * @param measures  the measures that should be calculated
    * @param marketData  the market data used in the calculation
    * @return the calculated values, keyed by their measure
    */
-  public abstract Map<Measure, Result<?>> execute(T target, CalculationMarketData marketData);
+  public abstract Map<Measure, Result<?>> execute(T target, Set<Measure> measures, CalculationMarketData marketData);
 }
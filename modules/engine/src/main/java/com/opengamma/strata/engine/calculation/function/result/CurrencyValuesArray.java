@@ -5,8 +5,6 @@
  */
 package com.opengamma.strata.engine.calculation.function.result;
 
-import static com.opengamma.strata.collect.Guavate.zipPairs;
-
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -74,10 +72,10 @@ public final class CurrencyValuesArray
     }
     List<FxRate> rates = marketData.getValues(FxRateKey.of(currency, reportingCurrency));
     checkNumberOfRates(rates);
-    double[] convertedValues = zipPairs(Arrays.stream(values).boxed(), rates.stream())
-        .map(tp -> tp.getSecond().convert(tp.getFirst(), currency, reportingCurrency))
-        .mapToDouble(d -> d)
-        .toArray();
+    double[] convertedValues = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      convertedValues[i] = rates.get(i).convert(values[i], currency, reportingCurrency);
+    }
 
     return new CurrencyValuesArray(reportingCurrency, convertedValues);
   }
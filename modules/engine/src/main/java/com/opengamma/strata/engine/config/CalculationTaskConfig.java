@@ -24,7 +24,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.CalculationTarget;
-import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.calculation.function.CalculationFunction;
 import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
 
 /**
@@ -100,7 +100,7 @@ public final class CalculationTaskConfig implements ImmutableBean, Serializable
    *
    * @return the function instance that performs the calculation
    */
-  public CalculationSingleFunction<?, ?> createFunction() {
+  public CalculationFunction<?> createFunction() {
     return functionConfig.createFunction(functionArguments);
   }
 
@@ -33,7 +33,8 @@ import com.google.common.collect.Sets;
 import com.google.common.primitives.Primitives;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.collect.Messages;
-import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.calculation.function.CalculationFunction;
+import com.opengamma.strata.engine.calculation.function.CalculationMultiFunction;
 
 /**
  * Configuration of a function that performs a calculation.
@@ -60,7 +61,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
 // TODO FunctionMetadata instead of function type - includes type and set of calculated measures
   /** The type of the function. */
   @PropertyDefinition(validate = "notNull", get = "private")
-  private final Class<? extends CalculationSingleFunction<T, ?>> functionType;
+  private final Class<? extends CalculationFunction<T>> functionType;
 
   /** Constructor arguments used for building function instances, keyed by parameter name. */
   @PropertyDefinition(validate = "notNull", get = "private")
@@ -78,7 +79,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
    * @return configuration for a function that doesn't contain any constructor arguments
    */
   public static <T extends CalculationTarget> FunctionConfig<T> of(
-      Class<? extends CalculationSingleFunction<T, ?>> functionType) {
+      Class<? extends CalculationFunction<T>> functionType) {
 
     return new FunctionConfig<>(functionType, ImmutableMap.of());
   }
@@ -91,7 +92,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
    * @return a mutable builder for building {@code FunctionConfig}
    */
   public static <T extends CalculationTarget> FunctionConfigBuilder<T> builder(
-      Class<? extends CalculationSingleFunction<T, ?>> functionType) {
+      Class<? extends CalculationFunction<T>> functionType) {
 
     return new FunctionConfigBuilder<>(functionType);
   }
@@ -123,16 +124,16 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
    *   or if any of the supplied arguments have the same name as the arguments in the configuration
    */
   @SuppressWarnings("unchecked")
-  public CalculationSingleFunction<T, ?> createFunction(Map<String, Object> arguments) {
+  public CalculationFunction<T> createFunction(Map<String, Object> arguments) {
     Map<String, Object> mergedArguments = mergedArguments(arguments);
     Constructor<?> constructor = constructor(functionType);
     Object[] argumentArray = constructorArguments(constructor, mergedArguments);
 
     try {
-      return (CalculationSingleFunction<T, ?>) constructor.newInstance(argumentArray);
+      return (CalculationFunction<T>) constructor.newInstance(argumentArray);
     } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
       log.warn("Failed to create engine function", e);
-      return (CalculationSingleFunction<T, ?>) new MissingConfigCalculationFunction();
+      return (CalculationFunction<T>) new MissingConfigCalculationFunction();
     }
   }
 
@@ -145,10 +146,22 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
    * @throws IllegalArgumentException if the function requires constructor arguments that have not been provided
    */
   @SuppressWarnings("unchecked")
-  public CalculationSingleFunction<T, ?> createFunction() {
+  public CalculationFunction<T> createFunction() {
     return createFunction(ImmutableMap.of());
   }
 
+  /**
+   * Returns true if the function calculates values for multiple measures at the same time.
+   * <p>
+   * If this returns true the function implements {@link CalculationMultiFunction} and the engine can
+   * calculate all the measures it provides for a target in a single invocation.
+   *
+   * @return true if the function calculates values for multiple measures at the same time
+   */
+  public boolean isMultiFunction() {
+    return CalculationMultiFunction.class.isAssignableFrom(functionType);
+  }
+
   private Map<String, Object> mergedArguments(Map<String, Object> arguments) {
     Set<String> intersection = Sets.intersection(this.arguments.keySet(), arguments.keySet());
 
@@ -287,7 +300,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
    * @param arguments  the value of the property, not null
    */
   FunctionConfig(
-      Class<? extends CalculationSingleFunction<T, ?>> functionType,
+      Class<? extends CalculationFunction<T>> functionType,
       Map<String, Object> arguments) {
     JodaBeanUtils.notNull(functionType, "functionType");
     JodaBeanUtils.notNull(arguments, "arguments");
@@ -316,7 +329,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
    * Gets the type of the function.
    * @return the value of the property, not null
    */
-  private Class<? extends CalculationSingleFunction<T, ?>> getFunctionType() {
+  private Class<? extends CalculationFunction<T>> getFunctionType() {
     return functionType;
   }
 
@@ -377,7 +390,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
      * The meta-property for the {@code functionType} property.
      */
     @SuppressWarnings({"unchecked", "rawtypes" })
-    private final MetaProperty<Class<? extends CalculationSingleFunction<T, ?>>> functionType = DirectMetaProperty.ofImmutable(
+    private final MetaProperty<Class<? extends CalculationFunction<T>>> functionType = DirectMetaProperty.ofImmutable(
         this, "functionType", FunctionConfig.class, (Class) Class.class);
     /**
      * The meta-property for the {@code arguments} property.
@@ -431,7 +444,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
      * The meta-property for the {@code functionType} property.
      * @return the meta-property, not null
      */
-    public MetaProperty<Class<? extends CalculationSingleFunction<T, ?>>> functionType() {
+    public MetaProperty<Class<? extends CalculationFunction<T>>> functionType() {
       return functionType;
     }
 
@@ -473,7 +486,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
    */
   private static final class Builder<T extends CalculationTarget> extends DirectFieldsBeanBuilder<FunctionConfig<T>> {
 
-    private Class<? extends CalculationSingleFunction<T, ?>> functionType;
+    private Class<? extends CalculationFunction<T>> functionType;
     private Map<String, Object> arguments = ImmutableMap.of();
 
     /**
@@ -500,7 +513,7 @@ public final class FunctionConfig<T extends CalculationTarget> implements Immuta
     public Builder<T> set(String propertyName, Object newValue) {
       switch (propertyName.hashCode()) {
         case -211170510:  // functionType
-          this.functionType = (Class<? extends CalculationSingleFunction<T, ?>>) newValue;
+          this.functionType = (Class<? extends CalculationFunction<T>>) newValue;
           break;
         case -2035517098:  // arguments
           this.arguments = (Map<String, Object>) newValue;
@@ -42,6 +42,10 @@ public final class Measure
    * Measure representing the Bucketed Gamma PV01 of the calculation target.
    */
   public static final Measure BUCKETED_GAMMA_PV01 = Measure.of("BucketedGammaPV01");
+  /**
+   * Measure representing the cross-gamma of the calculation target, across the parameters of all the curves.
+   */
+  public static final Measure CROSS_GAMMA = Measure.of("CrossGamma");
   /**
    * Measure representing a break-down of the present value calculation on the target.
    */
@@ -10,7 +10,7 @@ import java.util.Map;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.calculation.function.CalculationFunction;
 import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.Measure;
 
@@ -77,7 +77,7 @@ public final class DefaultFunctionGroupBuilder<T extends CalculationTarget> {
    */
   public DefaultFunctionGroupBuilder<T> addFunction(
       Measure measure,
-      Class<? extends CalculationSingleFunction<T, ?>> functionType) {
+      Class<? extends CalculationFunction<T>> functionType) {
 
     ArgChecker.notNull(measure, "measure");
     ArgChecker.notNull(functionType, "functionType");
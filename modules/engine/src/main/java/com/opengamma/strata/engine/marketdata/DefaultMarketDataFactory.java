@@ -8,14 +8,21 @@ package com.opengamma.strata.engine.marketdata;
 import static com.opengamma.strata.collect.Guavate.entriesToImmutableMap;
 import static com.opengamma.strata.collect.Guavate.not;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
@@ -23,6 +30,8 @@ import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.basics.market.Perturbation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureException;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -56,6 +65,18 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
   /** For looking up IDs that are suitable for a particular market data feed. */
   private final FeedIdMapping feedIdMapping;
 
+  /**
+   * Executes the market data functions that build the values in each level of the dependency tree.
+   * Values in the same level of the tree are independent of each other and can be built concurrently.
+   */
+  private final Executor executor;
+
+  /**
+   * Whether the values of market data in each scenario are created when they are first used.
+   * If this is false the values for all scenarios are created when the market data is built.
+   */
+  private final boolean lazyPerturbations;
+
   /**
    * Creates a new factory.
    *
@@ -81,13 +102,77 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param feedIdMapping  for looking up IDs that are suitable for a particular market data feed
    * @param functions  functions that create the market data
    */
-  @SuppressWarnings("unchecked")
   public DefaultMarketDataFactory(
       TimeSeriesProvider timeSeriesProvider,
       ObservableMarketDataFunction observablesBuilder,
       FeedIdMapping feedIdMapping,
       List<MarketDataFunction<?, ?>> functions) {
 
+    this(timeSeriesProvider, observablesBuilder, feedIdMapping, functions, Runnable::run);
+  }
+
+  /**
+   * Creates a new factory that builds independent items of market data in parallel.
+   * <p>
+   * All the items of market data in a level of the dependency tree are submitted to the executor at the same
+   * time and the calling thread waits until they have all been built. The built values are added to the
+   * market data in the same order as they would be when building them sequentially, so the results
+   * are not affected by the order in which the executor runs the tasks.
+   * <p>
+   * The market data functions must be safe to invoke concurrently from multiple threads.
+   *
+   * @param timeSeriesProvider  provides time series of observable market data values
+   * @param observablesBuilder  builder to create observable market data
+   * @param feedIdMapping  for looking up IDs that are suitable for a particular market data feed
+   * @param functions  functions that create the market data
+   * @param executor  executes the market data functions, for example an {@code ExecutorService} or a {@code ForkJoinPool}
+   */
+  public DefaultMarketDataFactory(
+      TimeSeriesProvider timeSeriesProvider,
+      ObservableMarketDataFunction observablesBuilder,
+      FeedIdMapping feedIdMapping,
+      List<MarketDataFunction<?, ?>> functions,
+      Executor executor) {
+
+    this(timeSeriesProvider, observablesBuilder, feedIdMapping, functions, executor, false);
+  }
+
+  /**
+   * Creates a new factory that builds independent items of market data in parallel, optionally
+   * applying scenario perturbations lazily.
+   * <p>
+   * If {@code lazyPerturbations} is true, the values of non-observable market data in each scenario are
+   * not created when the scenario market data is built. Instead the base value and the perturbations
+   * are retained, and the value for a scenario is created when a calculation first requests it.
+   * Market data built from perturbed data is created on demand in the same way. The created values are
+   * softly referenced, so they can be released when memory is low and recreated if requested again.
+   * This allows calculations over a large number of scenarios whose market data would not fit in memory.
+   * <p>
+   * In lazy mode a perturbation that fails is not reported as a market data failure. Instead the exception
+   * is thrown when the value is requested, causing the calculations that use the value to fail.
+   * Observable values, such as quotes, are always perturbed when the market data is built because they
+   * are stored compactly.
+   *
+   * @param timeSeriesProvider  provides time series of observable market data values
+   * @param observablesBuilder  builder to create observable market data
+   * @param feedIdMapping  for looking up IDs that are suitable for a particular market data feed
+   * @param functions  functions that create the market data
+   * @param executor  executes the market data functions, for example an {@code ExecutorService} or a {@code ForkJoinPool}
+   * @param lazyPerturbations  whether the values of non-observable market data in each scenario are created
+   *   when they are first used instead of when the market data is built
+   */
+  @SuppressWarnings("unchecked")
+  public DefaultMarketDataFactory(
+      TimeSeriesProvider timeSeriesProvider,
+      ObservableMarketDataFunction observablesBuilder,
+      FeedIdMapping feedIdMapping,
+      List<MarketDataFunction<?, ?>> functions,
+      Executor executor,
+      boolean lazyPerturbations) {
+
+    this.executor = ArgChecker.notNull(executor, "executor");
+    this.lazyPerturbations = lazyPerturbations;
+
     // Wrap these 3 to handle market data where there is missing data for the calculation
     this.feedIdMapping = new MissingDataAwareFeedIdMapping(feedIdMapping);
     this.observablesBuilder = new MissingDataAwareObservableFunction(observablesBuilder);
@@ -157,12 +242,122 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       MarketEnvironment suppliedData,
       MarketDataConfig marketDataConfig) {
 
-    CalculationEnvironment builtData = CalculationEnvironment.of(suppliedData);
-
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return buildCalculationEnvironment(root, CalculationEnvironment.of(suppliedData), marketDataConfig);
+  }
+
+  @Override
+  public CalculationEnvironment rebuildCalculationEnvironment(
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig,
+      MarketEnvironment previousSuppliedData,
+      CalculationEnvironment previousData) {
+
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return rebuildCalculationEnvironment(root, suppliedData, marketDataConfig, previousSuppliedData, previousData);
+  }
+
+  @Override
+  public CalculationEnvironment rebuildCalculationEnvironment(
+      MarketDataDependencyTree dependencyTree,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig,
+      MarketEnvironment previousSuppliedData,
+      CalculationEnvironment previousData) {
+
+    ArgChecker.isTrue(
+        dependencyTree.isValidFor(suppliedData),
+        "The dependency tree must have been built from data with the same IDs as the supplied data");
+    return rebuildCalculationEnvironment(
+        dependencyTree.getRoot(), suppliedData, marketDataConfig, previousSuppliedData, previousData);
+  }
+
+  @Override
+  public Optional<MarketDataDependencyTree> buildDependencyTree(
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig) {
+
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return Optional.of(new MarketDataDependencyTree(requirements, root, suppliedData));
+  }
+
+  /**
+   * Rebuilds the market data in a dependency tree after the supplied market data has changed.
+   * <p>
+   * Previously built values that are not affected by the changes are reused.
+   *
+   * @param root  the root of the tree of market data dependencies
+   * @param suppliedData  market data supplied by the user
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param previousSuppliedData  the market data supplied by the user when the previous market data was built
+   * @param previousData  the previous market data
+   * @return the market data in the tree plus details of any data that could not be built
+   */
+  private CalculationEnvironment rebuildCalculationEnvironment(
+      MarketDataNode root,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig,
+      MarketEnvironment previousSuppliedData,
+      CalculationEnvironment previousData) {
+
+    ArgChecker.notNull(previousSuppliedData, "previousSuppliedData");
+    ArgChecker.notNull(previousData, "previousData");
+
+    // Market data built for a different valuation date can't be reused
+    if (!suppliedData.getValuationDate().equals(previousData.getValuationDate())) {
+      return buildCalculationEnvironment(root, CalculationEnvironment.of(suppliedData), marketDataConfig);
+    }
+    Set<MarketDataId<?>> changedValueIds = changedIds(previousSuppliedData.getValues(), suppliedData.getValues());
+    Set<ObservableId> changedTimeSeriesIds =
+        changedIds(previousSuppliedData.getTimeSeries(), suppliedData.getTimeSeries());
+
+    // Data that is not supplied by the user is requested from the market data provider or the time series
+    // provider every time the market data is built. It is treated as changed as the provider might return
+    // different data
+    Set<MarketDataId<?>> unaffectedIds = root.unaffectedValueIds(node -> {
+      MarketDataId<?> id = node.getId();
+      switch (node.getDataType()) {
+        case TIME_SERIES:
+          return changedTimeSeriesIds.contains(id) || !suppliedData.containsTimeSeries((ObservableId) id);
+        default:
+          return changedValueIds.contains(id) || (id instanceof ObservableId && !suppliedData.containsValue(id));
+      }
+    });
+    // The previously built values that are not affected by the changes are reused.
+    // Any value that failed to build previously is built again
+    Map<MarketDataId<?>, Object> previousValues = previousData.getValues();
+    Map<MarketDataId<?>, Object> reusedValues = unaffectedIds.stream()
+        .filter(not(suppliedData::containsValue))
+        .filter(previousValues::containsKey)
+        .collect(toImmutableMap(id -> id, previousValues::get));
+
+    CalculationEnvironment initialData = CalculationEnvironment.of(suppliedData).toBuilder()
+        .addAllValues(reusedValues)
+        .build();
+    return buildCalculationEnvironment(root, initialData, marketDataConfig);
+  }
+
+  /**
+   * Builds the market data in a dependency tree, starting from the market data that is already available.
+   * <p>
+   * Market data in the tree that is available in {@code initialData} is not built again.
+   *
+   * @param root  the root of the tree of market data dependencies
+   * @param initialData  the market data that is already available, including the data supplied by the user
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @return the market data in the tree plus details of any data that could not be built
+   */
+  private CalculationEnvironment buildCalculationEnvironment(
+      MarketDataNode root,
+      CalculationEnvironment initialData,
+      MarketDataConfig marketDataConfig) {
+
+    CalculationEnvironment builtData = initialData;
 
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
@@ -214,9 +409,18 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       CalculationEnvironment tmpData = builtData;
 
       // Filter out IDs for the data that is already present in builtData and build the rest
-      leafRequirements.getNonObservables().stream()
+      List<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
           .filter(not(tmpData::containsValue))
-          .forEach(id -> dataBuilder.addResultUnsafe(id, buildNonObservableData(id, tmpData, marketDataConfig)));
+          .collect(toImmutableList());
+
+      // The leaves are independent of each other so they can be built at the same time.
+      // The results are added to the builder in the order of the IDs so the built data doesn't depend on the executor
+      List<Result<?>> nonObservableResults =
+          buildAll(nonObservableIds, id -> buildNonObservableData(id, tmpData, marketDataConfig));
+
+      for (int i = 0; i < nonObservableIds.size(); i++) {
+        dataBuilder.addResultUnsafe(nonObservableIds.get(i), nonObservableResults.get(i));
+      }
 
       // --------------------------------------------------------------------------------------------
 
@@ -229,6 +433,27 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
     return builtData;
   }
 
+  /**
+   * Returns the IDs of the data that differs between two maps of market data.
+   * <p>
+   * This includes the IDs of data that is only found in one of the maps.
+   *
+   * @param previous  the previous market data
+   * @param current  the current market data
+   * @return the IDs of the data that differs between the maps
+   */
+  private static <K> Set<K> changedIds(Map<K, ?> previous, Map<K, ?> current) {
+    Set<K> changedIds = new HashSet<>();
+    previous.keySet().stream()
+        .filter(not(current::containsKey))
+        .forEach(changedIds::add);
+    current.entrySet().stream()
+        .filter(entry -> !Objects.equals(entry.getValue(), previous.get(entry.getKey())))
+        .map(Map.Entry::getKey)
+        .forEach(changedIds::add);
+    return changedIds;
+  }
+
   @Override
   public ScenarioCalculationEnvironment buildScenarioCalculationEnvironment(
       CalculationRequirements requirements,
@@ -311,10 +536,18 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       // Non-observable data -----------------------------------------------------------------------
 
       // Filter out IDs for the data that is already available and build the rest
-      leafRequirements.getNonObservables().stream()
+      List<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
           .filter(not(marketData::containsValues))
           .filter(not(suppliedData::containsValue))
-          .forEach(id -> addNonObservableValues(id, marketDataConfig, nodeMap, marketData, scenarioDefinition, dataBuilder));
+          .collect(toImmutableList());
+
+      // The leaves are independent of each other so they can be built at the same time.
+      // The results are added to the builder in the order of the IDs so the built data doesn't depend on the executor
+      List<Consumer<ScenarioCalculationEnvironmentBuilder>> nonObservableResults = buildAll(
+          nonObservableIds,
+          id -> buildNonObservableValues(id, marketDataConfig, nodeMap, marketData, scenarioDefinition));
+
+      nonObservableResults.forEach(result -> result.accept(dataBuilder));
 
       // Copy supplied data to the scenario data after applying perturbations
       leafRequirements.getNonObservables().stream()
@@ -333,7 +566,10 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
   }
 
   /**
-   * Builds a non-observable market data value and adds it to the data builder.
+   * Builds a non-observable market data value and returns an action that adds it to the data builder.
+   * <p>
+   * This method can be invoked concurrently for different IDs. The builder isn't thread safe so
+   * the returned action must be invoked by the thread building the market data.
    * <p>
    * If any of the dependencies of the item are in the scenario data then multiple values are built for the item,
    * one for each scenario. After the values are built the perturbation mappings from the scenario definition
@@ -349,15 +585,14 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param nodeMap  map of market data ID to the node in the dependency graph for the market data value
    * @param marketData  the set of market data containing any dependencies required to build the value
    * @param scenarioDefinition  definition of a scenario used to perturb the built value
-   * @param dataBuilder  the built values are put into this builder
+   * @return an action that puts the built values into a builder
    */
-  private void addNonObservableValues(
+  private Consumer<ScenarioCalculationEnvironmentBuilder> buildNonObservableValues(
       MarketDataId<?> id,
       MarketDataConfig marketDataConfig,
       Map<MarketDataId<?>, MarketDataNode> nodeMap,
       ScenarioCalculationEnvironment marketData,
-      ScenarioDefinition scenarioDefinition,
-      ScenarioCalculationEnvironmentBuilder dataBuilder) {
+      ScenarioDefinition scenarioDefinition) {
 
     // Gets a copy of the current node including the child nodes representing the dependencies of the node's value
     MarketDataNode node = nodeMap.get(id);
@@ -373,11 +608,40 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       Map<MarketDataId<?>, Result<List<?>>> results =
           buildNonObservableScenarioData(id, marketData, marketDataConfig, scenarioDefinition);
 
-      results.entrySet().stream().forEach(e -> dataBuilder.addResultUnsafe(e.getKey(), e.getValue()));
+      return dataBuilder -> results.entrySet().stream()
+          .forEach(e -> addScenarioResult(e.getKey(), e.getValue(), dataBuilder));
     } else {
       // Build single base value for the ID using the base data as input.
       Result<?> result = buildNonObservableData(id, marketData.getSharedData(), marketDataConfig);
-      applyScenariosToBaseResult(id, result, scenarioDefinition, dataBuilder);
+      return dataBuilder -> applyScenariosToBaseResult(id, result, scenarioDefinition, dataBuilder);
+    }
+  }
+
+  /**
+   * Applies a function to each of a list of market data IDs using the executor and waits for the results.
+   * <p>
+   * The results are returned in the same order as the IDs. If the function throws an exception for
+   * any of the IDs it is rethrown by this method.
+   *
+   * @param ids  the IDs of the market data to build
+   * @param buildFunction  function invoked for each ID, possibly concurrently
+   * @return the results of the function, in the same order as the IDs
+   */
+  private <R> List<R> buildAll(List<MarketDataId<?>> ids, Function<MarketDataId<?>, R> buildFunction) {
+    List<CompletableFuture<R>> futures = ids.stream()
+        .map(id -> CompletableFuture.supplyAsync(() -> buildFunction.apply(id), executor))
+        .collect(toImmutableList());
+
+    try {
+      return futures.stream()
+          .map(CompletableFuture::join)
+          .collect(toImmutableList());
+    } catch (CompletionException e) {
+      // Rethrow the original exception so the behaviour matches building the values sequentially
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
     }
   }
 
@@ -535,6 +799,12 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       MarketDataConfig marketDataConfig,
       ScenarioDefinition scenarioDefinition) {
 
+    if (lazyPerturbations) {
+      List<?> values = LazyScenarioValues.of(
+          scenarioDefinition.getScenarioCount(),
+          index -> buildScenarioValue(id, marketData, marketDataConfig, scenarioDefinition, index));
+      return ImmutableMap.of(id, Result.success(values));
+    }
     ImmutableMap.Builder<MarketDataId<?>, Result<List<?>>> resultMap = ImmutableMap.builder();
 
     List<Result<?>> results = IntStream.range(0, scenarioDefinition.getScenarioCount()).boxed()
@@ -559,6 +829,36 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
     return resultMap.build();
   }
 
+  /**
+   * Builds the value of an item of market data for a single scenario and applies any perturbation to it.
+   * <p>
+   * This is used to create the values lazily when {@link #lazyPerturbations} is true.
+   *
+   * @param id  ID of the market data value
+   * @param marketData  market data containing any dependencies of the value being built
+   * @param marketDataConfig  configuration specifying how market data should be built
+   * @param scenarioDefinition  definition of the scenarios
+   * @param scenarioIndex  the index of the scenario
+   * @return the value for the scenario
+   * @throws FailureException if the value cannot be built or the perturbation fails
+   */
+  private Object buildScenarioValue(
+      MarketDataId<?> id,
+      ScenarioCalculationEnvironment marketData,
+      MarketDataConfig marketDataConfig,
+      ScenarioDefinition scenarioDefinition,
+      int scenarioIndex) {
+
+    MarketDataLookup lookup = new ScenarioMarketDataLookup(marketData, scenarioIndex);
+    Result<Object> result = buildNonObservableData(id, lookup, marketDataConfig)
+        .flatMap(value -> perturbValue(id, value, scenarioDefinition, scenarioIndex));
+
+    if (result.isFailure()) {
+      throw new FailureException(result.getFailure());
+    }
+    return result.getValue();
+  }
+
   /**
    * Applies a perturbation from a single scenario to an item of market data if there is one that applies.
    * <p>
@@ -643,11 +943,62 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       // This is safe because the filter matched the value and the filter and perturbation types are compatible
       @SuppressWarnings("unchecked")
       PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
-      List<Object> perturbedValues = mapping.applyPerturbations(marketDataValue);
-      builder.addValuesUnsafe(id, perturbedValues);
+
+      if (lazyPerturbations) {
+        builder.addValuesUnsafe(id, LazyScenarioValues.perturbed(marketDataValue, mapping.getPerturbations()));
+      } else {
+        List<Object> perturbedValues = mapping.applyPerturbations(marketDataValue);
+        builder.addValuesUnsafe(id, compactScenarioValues(id, perturbedValues));
+      }
     }
   }
 
+  /**
+   * Puts the result of building the values of an item of market data for all scenarios into a builder.
+   * <p>
+   * If the result is a success the values are compacted by {@link #compactScenarioValues} before they
+   * are put into the builder.
+   *
+   * @param id  ID of the market data value
+   * @param result  a result containing the market data values, one for each scenario
+   * @param builder  the values or failure details are added to this builder
+   */
+  private void addScenarioResult(
+      MarketDataId<?> id,
+      Result<List<?>> result,
+      ScenarioCalculationEnvironmentBuilder builder) {
+
+    if (result.isSuccess()) {
+      builder.addValuesUnsafe(id, compactScenarioValues(id, result.getValue()));
+    } else {
+      builder.addResultUnsafe(id, result);
+    }
+  }
+
+  /**
+   * Returns a compact representation of the values of an item of market data, one for each scenario.
+   * <p>
+   * The type of the values is checked to ensure it is compatible with the ID. The values are then passed to
+   * the market data function for the ID which can return a representation that shares the data common to
+   * all the scenarios, for example the nodes of a curve.
+   * <p>
+   * Values that are created lazily are returned unchanged, as compacting them would create them all.
+   *
+   * @param id  ID of the market data value
+   * @param values  the market data values, one for each scenario, in an immutable list
+   * @return an immutable list containing the values, possibly a view over a compact representation of them
+   */
+  @SuppressWarnings("unchecked")
+  private List<?> compactScenarioValues(MarketDataId<?> id, List<?> values) {
+    if (values instanceof LazyScenarioValues) {
+      return values;
+    }
+    values.forEach(id.getMarketDataType()::cast);
+    // This cast removes a spurious warning
+    MarketDataFunction marketDataFunction = functions.get((Class<? extends MarketDataId<?>>) id.getClass());
+    return marketDataFunction != null ? marketDataFunction.compactScenarioValues(values) : values;
+  }
+
   /**
    * Returns a failure for the ID indicating there is no builder available to handle it.
    *
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.marketdata;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * An immutable list of double values, one for each scenario, backed by an array of primitive doubles.
+ * <p>
+ * This is used to store observable market data such as quotes in {@link ScenarioCalculationEnvironment}.
+ * A list of boxed values requires an object for each scenario, whereas this stores the values for
+ * all scenarios in a single array. The boxed value is created when it is requested from the list.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class DoubleScenarioValues extends AbstractList<Double> implements RandomAccess, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /** The values, one for each scenario. */
+  private final double[] values;
+
+  /**
+   * Returns a list containing the values.
+   *
+   * @param values  the values, one for each scenario
+   * @return a list containing the values
+   */
+  public static DoubleScenarioValues of(double... values) {
+    ArgChecker.notNull(values, "values");
+    return new DoubleScenarioValues(values.clone());
+  }
+
+  // restricted constructor
+  private DoubleScenarioValues(double[] values) {
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the value for a scenario as a primitive double.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return the value for the scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public double getValue(int scenarioIndex) {
+    return values[scenarioIndex];
+  }
+
+  @Override
+  public Double get(int index) {
+    return values[index];
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+}
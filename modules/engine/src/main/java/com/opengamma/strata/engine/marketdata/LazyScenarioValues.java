@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.marketdata;
+
+import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.market.Perturbation;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * An immutable list of market data values, one for each scenario, where each value is created
+ * when it is first requested.
+ * <p>
+ * A value is held by a soft reference once it has been created. The garbage collector can release the
+ * value when memory is low, in which case it is created again the next time it is requested.
+ * This allows the values for a large number of scenarios to be used without all of them being held
+ * in memory at the same time.
+ * <p>
+ * The function that creates the values must return an equal value each time it is invoked for a scenario.
+ * If it throws an exception, the exception is thrown by {@link #get(int)}.
+ * <p>
+ * The list is serialized as an immutable list containing all the values.
+ * <p>
+ * This class is thread-safe. A value might be created more than once if it is requested concurrently
+ * from multiple threads.
+ *
+ * @param <T>  the type of the market data values
+ */
+final class LazyScenarioValues<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /** The function that creates the value for a scenario, given the scenario index. */
+  private final transient IntFunction<T> valueFunction;
+  /** Soft references to the values that have been created, null for values that have not been created. */
+  private final transient AtomicReferenceArray<SoftReference<T>> values;
+
+  /**
+   * Returns a list whose values are created by applying perturbations to a base value.
+   * <p>
+   * The value for scenario {@code i} is created by applying perturbation {@code i} to the base value.
+   *
+   * @param baseValue  the base market data value
+   * @param perturbations  the perturbations, one for each scenario
+   * @param <T>  the type of the market data values
+   * @return a list whose values are created by applying the perturbations to the base value
+   */
+  static <T> LazyScenarioValues<T> perturbed(T baseValue, List<? extends Perturbation<T>> perturbations) {
+    ArgChecker.notNull(baseValue, "baseValue");
+    List<Perturbation<T>> perturbationList = ImmutableList.copyOf(perturbations);
+    return new LazyScenarioValues<>(perturbationList.size(), i -> perturbationList.get(i).applyTo(baseValue));
+  }
+
+  /**
+   * Returns a list whose values are created by a function.
+   *
+   * @param scenarioCount  the number of scenarios
+   * @param valueFunction  the function that creates the value for a scenario, given the scenario index
+   * @param <T>  the type of the market data values
+   * @return a list whose values are created by the function
+   */
+  static <T> LazyScenarioValues<T> of(int scenarioCount, IntFunction<T> valueFunction) {
+    ArgChecker.notNegative(scenarioCount, "scenarioCount");
+    return new LazyScenarioValues<>(scenarioCount, ArgChecker.notNull(valueFunction, "valueFunction"));
+  }
+
+  // restricted constructor
+  private LazyScenarioValues(int scenarioCount, IntFunction<T> valueFunction) {
+    this.valueFunction = valueFunction;
+    this.values = new AtomicReferenceArray<>(scenarioCount);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the value for a scenario, creating it if it hasn't been created or has been released.
+   *
+   * @param index  the index of the scenario
+   * @return the value for the scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public T get(int index) {
+    SoftReference<T> reference = values.get(index);
+    T value = reference != null ? reference.get() : null;
+
+    if (value == null) {
+      value = valueFunction.apply(index);
+      values.set(index, new SoftReference<>(value));
+    }
+    return value;
+  }
+
+  @Override
+  public int size() {
+    return values.length();
+  }
+
+  // serializes the values rather than the function that creates them
+  private Object writeReplace() {
+    return ImmutableList.copyOf(this);
+  }
+
+}
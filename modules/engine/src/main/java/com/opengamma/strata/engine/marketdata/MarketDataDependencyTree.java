@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.marketdata;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The dependencies between the items of market data required by a set of calculations.
+ * <p>
+ * This is created by {@link MarketDataFactory#buildDependencyTree} and can be passed to
+ * {@link MarketDataFactory#rebuildCalculationEnvironment} each time the market data is rebuilt,
+ * so the dependencies are only found once.
+ * <p>
+ * Market data supplied by the user is not built, so the dependencies of the supplied data are not in the tree.
+ * The tree can therefore only be used with supplied data containing the same IDs as the data it was built from.
+ * The values of the supplied data can differ.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MarketDataDependencyTree {
+
+  /** The market data required by the calculations. */
+  private final CalculationRequirements requirements;
+  /** The root of the tree, whose children represent the market data directly used in the calculations. */
+  private final MarketDataNode root;
+  /** The IDs of the single values supplied by the user when the tree was built. */
+  private final ImmutableSet<MarketDataId<?>> suppliedValueIds;
+  /** The IDs of the time series supplied by the user when the tree was built. */
+  private final ImmutableSet<ObservableId> suppliedTimeSeriesIds;
+
+  /**
+   * Creates an instance.
+   *
+   * @param requirements  the market data required by the calculations
+   * @param root  the root of the tree
+   * @param suppliedData  the market data supplied by the user when the tree was built
+   */
+  MarketDataDependencyTree(CalculationRequirements requirements, MarketDataNode root, MarketEnvironment suppliedData) {
+    this.requirements = ArgChecker.notNull(requirements, "requirements");
+    this.root = ArgChecker.notNull(root, "root");
+    this.suppliedValueIds = suppliedData.getValues().keySet();
+    this.suppliedTimeSeriesIds = suppliedData.getTimeSeries().keySet();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the market data required by the calculations.
+   *
+   * @return the market data required by the calculations
+   */
+  public CalculationRequirements getRequirements() {
+    return requirements;
+  }
+
+  /**
+   * Checks if this tree can be used to build market data from the supplied data.
+   * <p>
+   * This is true if the supplied data contains the same IDs as the data used to build the tree.
+   *
+   * @param suppliedData  the market data supplied by the user
+   * @return true if this tree can be used to build market data from the supplied data
+   */
+  public boolean isValidFor(MarketEnvironment suppliedData) {
+    return suppliedValueIds.equals(suppliedData.getValues().keySet()) &&
+        suppliedTimeSeriesIds.equals(suppliedData.getTimeSeries().keySet());
+  }
+
+  /**
+   * Returns the root of the tree.
+   *
+   * @return the root of the tree
+   */
+  MarketDataNode getRoot() {
+    return root;
+  }
+
+}
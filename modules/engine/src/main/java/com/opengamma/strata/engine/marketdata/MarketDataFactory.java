@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.engine.marketdata;
 
+import java.util.Optional;
+
 import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
 import com.opengamma.strata.engine.marketdata.scenario.ScenarioDefinition;
 
@@ -67,6 +69,87 @@ public interface MarketDataFactory {
       MarketEnvironment suppliedData,
       MarketDataConfig marketDataConfig);
 
+  /**
+   * Rebuilds the market data required for performing calculations over a portfolio
+   * after the supplied market data has changed.
+   * <p>
+   * The previous market data must have been built by this factory for the same requirements and configuration,
+   * using {@code previousSuppliedData}. Market data that is not affected by the changes to the supplied data
+   * is taken from the previous market data instead of being built again. For example, if a quote has changed,
+   * only the curve groups built from the quote, and any market data depending on those curve groups,
+   * are built again.
+   * <p>
+   * The default implementation builds all the market data using {@link #buildCalculationEnvironment}.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param suppliedData  market data supplied by the user
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param previousSuppliedData  the market data supplied by the user when the previous market data was built
+   * @param previousData  the previous market data
+   * @return the market data required by the calculations plus details of any data that could not be built
+   */
+  public default CalculationEnvironment rebuildCalculationEnvironment(
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig,
+      MarketEnvironment previousSuppliedData,
+      CalculationEnvironment previousData) {
+
+    return buildCalculationEnvironment(requirements, suppliedData, marketDataConfig);
+  }
+
+  /**
+   * Rebuilds the market data required for performing calculations over a portfolio
+   * after the supplied market data has changed, using a previously built dependency tree.
+   * <p>
+   * This is the same as {@link #rebuildCalculationEnvironment(CalculationRequirements, MarketEnvironment,
+   * MarketDataConfig, MarketEnvironment, CalculationEnvironment)} except that the dependencies between
+   * the items of market data are taken from the tree instead of being found again.
+   * The tree must have been created by this factory using the same configuration, and must be valid
+   * for the supplied data, see {@link MarketDataDependencyTree#isValidFor}.
+   * <p>
+   * The default implementation delegates using the requirements of the tree.
+   *
+   * @param dependencyTree  the dependencies between the items of market data required for the calculations
+   * @param suppliedData  market data supplied by the user
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param previousSuppliedData  the market data supplied by the user when the previous market data was built
+   * @param previousData  the previous market data
+   * @return the market data required by the calculations plus details of any data that could not be built
+   */
+  public default CalculationEnvironment rebuildCalculationEnvironment(
+      MarketDataDependencyTree dependencyTree,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig,
+      MarketEnvironment previousSuppliedData,
+      CalculationEnvironment previousData) {
+
+    return rebuildCalculationEnvironment(
+        dependencyTree.getRequirements(), suppliedData, marketDataConfig, previousSuppliedData, previousData);
+  }
+
+  /**
+   * Finds the dependencies between the items of market data required for performing calculations over a portfolio.
+   * <p>
+   * The tree can be passed to {@link #rebuildCalculationEnvironment(MarketDataDependencyTree, MarketEnvironment,
+   * MarketDataConfig, MarketEnvironment, CalculationEnvironment)} each time the supplied data changes,
+   * as long as it is valid for the supplied data.
+   * <p>
+   * The default implementation returns empty, indicating that the factory does not use a dependency tree.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param suppliedData  market data supplied by the user
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @return the dependencies between the items of market data, empty if the factory does not use a dependency tree
+   */
+  public default Optional<MarketDataDependencyTree> buildDependencyTree(
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig) {
+
+    return Optional.empty();
+  }
+
   /**
    * Builds the market data required for performing calculations over a portfolio for a set of scenarios.
    * <p>
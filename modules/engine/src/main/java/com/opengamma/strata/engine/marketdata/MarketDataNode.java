@@ -5,11 +5,15 @@
  */
 package com.opengamma.strata.engine.marketdata;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -194,6 +198,47 @@ class MarketDataNode {
     dependencies.stream().forEach(child -> child.nodeMap(builder));
   }
 
+  /**
+   * Returns the IDs of the single values in the tree below this node that are not affected by changed market data.
+   * <p>
+   * A value is affected if the market data it represents has changed, or if any of the market data
+   * it depends on is affected. For example, if a quote has changed, the curve group built from the quote
+   * is affected, as is any market data built from the curve group.
+   * <p>
+   * A value that is not affected would be the same if it were built again.
+   *
+   * @param changed  returns true if the market data represented by a node has changed
+   * @return the IDs of the single values that are not affected by the changes
+   */
+  Set<MarketDataId<?>> unaffectedValueIds(Predicate<MarketDataNode> changed) {
+    // Use a hash map to record each value once. A value can appear in the tree more than once if
+    // multiple items of market data depend on it, but its dependencies are always the same
+    Map<MarketDataId<?>, Boolean> affected = new HashMap<>();
+    dependencies.stream().forEach(child -> child.isAffected(changed, affected));
+    return affected.entrySet().stream()
+        .filter(entry -> !entry.getValue())
+        .map(Map.Entry::getKey)
+        .collect(toImmutableSet());
+  }
+
+  // returns true if this node is affected by the changes, recording the result for single values
+  private boolean isAffected(Predicate<MarketDataNode> changed, Map<MarketDataId<?>, Boolean> affected) {
+    if (dataType == DataType.TIME_SERIES) {
+      return changed.test(this);
+    }
+    Boolean known = affected.get(id);
+    if (known != null) {
+      return known;
+    }
+    boolean result = changed.test(this);
+    for (MarketDataNode child : dependencies) {
+      // All children are visited so that every value in the tree is recorded
+      result |= child.isAffected(changed, affected);
+    }
+    affected.put(id, result);
+    return result;
+  }
+
   /**
    * Returns the ID of the market data value represented by this node.
    *
@@ -203,6 +248,15 @@ class MarketDataNode {
     return id;
   }
 
+  /**
+   * Returns the type of market data represented by this node, either a single value or a time series of values.
+   *
+   * @return the type of market data represented by this node
+   */
+  DataType getDataType() {
+    return dataType;
+  }
+
   /**
    * Returns nodes representing the market data required to build this node's value.
    *
@@ -28,9 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ListMultimap;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.basics.market.ObservableId;
@@ -70,9 +68,14 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
   private final ImmutableList<LocalDate> valuationDates;
 
   // TODO Should there be separate maps for observable and non-observable data?
-  /** Individual items of market data, keyed by ID, one for each scenario. */
-  @PropertyDefinition(validate = "notNull", get = "private", builderType = "ListMultimap<? extends MarketDataId<?>, ?>")
-  private final ImmutableListMultimap<MarketDataId<?>, ?> values;
+  /**
+   * Individual items of market data, keyed by ID, one for each scenario.
+   * <p>
+   * Each list contains one value for each scenario. The lists may be compact representations
+   * of the values, for example a list of quotes backed by a single array of doubles.
+   */
+  @PropertyDefinition(validate = "notNull", get = "private", builderType = "Map<? extends MarketDataId<?>, List<?>>")
+  private final ImmutableMap<MarketDataId<?>, List<?>> values;
 
   /** Market dat values that are potentially applicable across all scenarios, keyed by ID. */
   @PropertyDefinition(validate = "notNull", get = "private", builderType = "Map<? extends MarketDataId<?>, Object>")
@@ -105,7 +108,7 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
         marketData,
         1,
         ImmutableList.of(marketData.getValuationDate()),
-        ImmutableListMultimap.of(),
+        ImmutableMap.of(),
         ImmutableMap.of(),
         ImmutableMap.of());
   }
@@ -115,7 +118,7 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
     ArgChecker.isTrue(
         valuationDates.size() == scenarioCount,
         "The number of valuation dates must equal the number of scenarios");
-    // TODO Check the sizes of all the values in the multimaps
+    // TODO Check the sizes of all the lists of values
   }
 
 
@@ -123,6 +126,9 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
    * Returns a list of market data values, one from each scenario.
    * <p>
    * The date of the market data is the same as the valuation date of the scenario.
+   * <p>
+   * The returned list may be a view over a compact representation of the values. In that case
+   * the value for a scenario is created each time it is requested from the list.
    *
    * @param id  ID of the market data
    * @param <T>  type of the market data
@@ -141,7 +147,7 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
     }
     List<?> values = this.values.get(id);
 
-    if (!values.isEmpty()) {
+    if (values != null) {
       return (List<T>) values;
     }
     return Collections.nCopies(scenarioCount, sharedData.getValue(id));
@@ -268,7 +274,7 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
       CalculationEnvironment sharedData,
       int scenarioCount,
       List<LocalDate> valuationDates,
-      ListMultimap<? extends MarketDataId<?>, ?> values,
+      Map<? extends MarketDataId<?>, List<?>> values,
       Map<? extends MarketDataId<?>, Object> globalValues,
       Map<? extends MarketDataId<?>, Failure> singleValueFailures) {
     JodaBeanUtils.notNull(sharedData, "sharedData");
@@ -280,7 +286,7 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
     this.sharedData = sharedData;
     this.scenarioCount = scenarioCount;
     this.valuationDates = ImmutableList.copyOf(valuationDates);
-    this.values = ImmutableListMultimap.copyOf(values);
+    this.values = ImmutableMap.copyOf(values);
     this.globalValues = ImmutableMap.copyOf(globalValues);
     this.singleValueFailures = ImmutableMap.copyOf(singleValueFailures);
     validate();
@@ -331,9 +337,12 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
   //-----------------------------------------------------------------------
   /**
    * Gets individual items of market data, keyed by ID, one for each scenario.
+   * <p>
+   * Each list contains one value for each scenario. The lists may be compact representations
+   * of the values, for example a list of quotes backed by a single array of doubles.
    * @return the value of the property, not null
    */
-  private ImmutableListMultimap<MarketDataId<?>, ?> getValues() {
+  private ImmutableMap<MarketDataId<?>, List<?>> getValues() {
     return values;
   }
 
@@ -429,8 +438,8 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
      * The meta-property for the {@code values} property.
      */
     @SuppressWarnings({"unchecked", "rawtypes" })
-    private final MetaProperty<ImmutableListMultimap<MarketDataId<?>, ?>> values = DirectMetaProperty.ofImmutable(
-        this, "values", ScenarioCalculationEnvironment.class, (Class) ImmutableListMultimap.class);
+    private final MetaProperty<ImmutableMap<MarketDataId<?>, List<?>>> values = DirectMetaProperty.ofImmutable(
+        this, "values", ScenarioCalculationEnvironment.class, (Class) ImmutableMap.class);
     /**
      * The meta-property for the {@code globalValues} property.
      */
@@ -524,7 +533,7 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
      * The meta-property for the {@code values} property.
      * @return the meta-property, not null
      */
-    public MetaProperty<ImmutableListMultimap<MarketDataId<?>, ?>> values() {
+    public MetaProperty<ImmutableMap<MarketDataId<?>, List<?>>> values() {
       return values;
     }
 
@@ -584,7 +593,7 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
     private CalculationEnvironment sharedData;
     private int scenarioCount;
     private List<LocalDate> valuationDates = ImmutableList.of();
-    private ListMultimap<? extends MarketDataId<?>, ?> values = ImmutableListMultimap.of();
+    private Map<? extends MarketDataId<?>, List<?>> values = ImmutableMap.of();
     private Map<? extends MarketDataId<?>, Object> globalValues = ImmutableMap.of();
     private Map<? extends MarketDataId<?>, Failure> singleValueFailures = ImmutableMap.of();
 
@@ -629,7 +638,7 @@ public final class ScenarioCalculationEnvironment implements ImmutableBean, Seri
           this.valuationDates = (List<LocalDate>) newValue;
           break;
         case -823812830:  // values
-          this.values = (ListMultimap<? extends MarketDataId<?>, ?>) newValue;
+          this.values = (Map<? extends MarketDataId<?>, List<?>>) newValue;
           break;
         case -591591771:  // globalValues
           this.globalValues = (Map<? extends MarketDataId<?>, Object>) newValue;
@@ -13,8 +13,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ListMultimap;
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.collect.ArgChecker;
@@ -40,8 +39,9 @@ public final class ScenarioCalculationEnvironmentBuilder {
   /**
    * The market data values for the scenarios, keyed by the ID of the market data.
    * The number of values for each key is the same as the number of scenarios.
+   * The lists are immutable and may be compact representations of the values.
    */
-  private final ListMultimap<MarketDataId<?>, Object> values = ArrayListMultimap.create();
+  private final Map<MarketDataId<?>, List<?>> values = new HashMap<>();
 
   /** The global market data values that are applicable to all scenarios. */
   private final Map<MarketDataId<?>, Object> globalValues = new HashMap<>();
@@ -77,7 +77,7 @@ public final class ScenarioCalculationEnvironmentBuilder {
       CalculationEnvironment sharedData,
       int scenarioCount,
       List<LocalDate> valuationDates,
-      ListMultimap<MarketDataId<?>, ?> values,
+      Map<? extends MarketDataId<?>, List<?>> values,
       Map<? extends MarketDataId<?>, Object> globalValues,
       Map<MarketDataId<?>, Failure> singleValueFailures) {
 
@@ -150,7 +150,7 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(id, "id");
     ArgChecker.notNull(values, "values");
     checkLength(values.length, "values");
-    this.values.putAll(id, Arrays.asList(values));
+    this.values.put(id, compact(Arrays.asList(values)));
     singleValueFailures.remove(id);
     return this;
   }
@@ -168,7 +168,7 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(id, "id");
     ArgChecker.notNull(values, "values");
     checkLength(values.size(), "values");
-    this.values.putAll(id, values);
+    this.values.put(id, compact(values));
     singleValueFailures.remove(id);
     return this;
   }
@@ -177,21 +177,20 @@ public final class ScenarioCalculationEnvironmentBuilder {
    * Adds market data values for all scenarios.
    * The number of values must be the same as the number of scenarios.
    * <p>
-   * The type of the values is checked to ensure it is compatible with the ID.
+   * The list is stored without copying it. It must be immutable and its values must be instances
+   * of the type of the ID. This allows a compact representation of the values to be stored
+   * without creating the values for every scenario.
    *
    * @param id the ID of the market data values
    * @param values the market data values, one for each scenario
-   * @param <T> the type of the market data values
    * @return this builder
    */
-  <T, V> ScenarioCalculationEnvironmentBuilder addValuesUnsafe(MarketDataId<T> id, List<V> values) {
+  ScenarioCalculationEnvironmentBuilder addValuesUnsafe(MarketDataId<?> id, List<?> values) {
     ArgChecker.notNull(id, "id");
     ArgChecker.notNull(values, "values");
     checkLength(values.size(), "values");
-    for (V value : values) {
-      this.values.put(id, id.getMarketDataType().cast(value));
-      singleValueFailures.remove(id);
-    }
+    this.values.put(id, values);
+    singleValueFailures.remove(id);
     return this;
   }
 
@@ -208,11 +207,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(result, "result");
 
     if (result.isSuccess()) {
-      values.putAll(id, result.getValue());
+      values.put(id, compact(result.getValue()));
       singleValueFailures.remove(id);
     } else {
       singleValueFailures.put(id, result.getFailure());
-      values.removeAll(id);
+      values.remove(id);
     }
     return this;
   }
@@ -229,11 +228,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(result, "result");
 
     if (result.isSuccess()) {
-      values.putAll(id, result.getValue());
+      values.put(id, compact(result.getValue()));
       singleValueFailures.remove(id);
     } else {
       singleValueFailures.put(id, result.getFailure());
-      values.removeAll(id);
+      values.remove(id);
     }
     return this;
   }
@@ -320,11 +319,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(result, "result");
 
     if (result.isSuccess()) {
-      values.put(id, result.getValue());
+      values.put(id, ImmutableList.of(result.getValue()));
       singleValueFailures.remove(id);
     } else {
       singleValueFailures.put(id, result.getFailure());
-      values.removeAll(id);
+      values.remove(id);
     }
     return this;
   }
@@ -341,11 +340,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(result, "result");
 
     if (result.isSuccess()) {
-      values.put(id, result.getValue());
+      values.put(id, ImmutableList.of(result.getValue()));
       singleValueFailures.remove(id);
     } else {
       singleValueFailures.put(id, result.getFailure());
-      values.removeAll(id);
+      values.remove(id);
     }
     return this;
   }
@@ -379,6 +378,21 @@ public final class ScenarioCalculationEnvironmentBuilder {
         singleValueFailures);
   }
 
+  /**
+   * Returns an immutable copy of a list of market data values, one for each scenario.
+   * <p>
+   * If all the values are doubles they are stored in a single array of primitive doubles.
+   *
+   * @param values  the market data values, one for each scenario
+   * @return an immutable copy of the values
+   */
+  private static List<?> compact(List<?> values) {
+    if (!values.isEmpty() && values.stream().allMatch(Double.class::isInstance)) {
+      return DoubleScenarioValues.of(values.stream().mapToDouble(Double.class::cast).toArray());
+    }
+    return ImmutableList.copyOf(values);
+  }
+
   private void checkLength(int length, String itemName) {
     if (length != scenarioCount) {
       throw new IllegalArgumentException(
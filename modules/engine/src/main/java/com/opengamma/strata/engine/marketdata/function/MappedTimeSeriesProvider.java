@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.marketdata.function;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesFile;
+
+/**
+ * A time-series provider that reads time-series from memory-mapped binary files.
+ * <p>
+ * The files are created using {@link #write(Path, Map)} and contain time-series keyed by observable ID.
+ * The time-series returned by this provider are views over the points in the files, so the points
+ * are not copied onto the heap and the files can be shared between processes.
+ * See {@link MappedTimeSeriesFile} for details of the file format.
+ * <p>
+ * If more than one file contains a time-series for an ID, the time-series from the first file is used.
+ * <p>
+ * The provider should be closed when it is no longer needed.
+ */
+public final class MappedTimeSeriesProvider implements TimeSeriesProvider, AutoCloseable {
+
+  /** The files containing the time-series. */
+  private final List<MappedTimeSeriesFile> files;
+
+  /**
+   * Returns a provider that reads time-series from the specified files.
+   *
+   * @param paths  the paths of the files, in order of precedence
+   * @return a provider that reads time-series from the files
+   * @throws java.io.UncheckedIOException if a file cannot be read
+   */
+  public static MappedTimeSeriesProvider of(Path... paths) {
+    return of(ImmutableList.copyOf(paths));
+  }
+
+  /**
+   * Returns a provider that reads time-series from the specified files.
+   *
+   * @param paths  the paths of the files, in order of precedence
+   * @return a provider that reads time-series from the files
+   * @throws java.io.UncheckedIOException if a file cannot be read
+   */
+  public static MappedTimeSeriesProvider of(List<Path> paths) {
+    ArgChecker.notNull(paths, "paths");
+    List<MappedTimeSeriesFile> files = paths.stream()
+        .map(MappedTimeSeriesFile::open)
+        .collect(Guavate.toImmutableList());
+    return new MappedTimeSeriesProvider(files);
+  }
+
+  // restricted constructor
+  private MappedTimeSeriesProvider(List<MappedTimeSeriesFile> files) {
+    this.files = files;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes time-series to a file that can be read by this provider.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param path  the path of the file
+   * @param timeSeries  the time-series, keyed by the ID of the market data in the time-series
+   * @throws java.io.UncheckedIOException if the file cannot be written
+   */
+  public static void write(Path path, Map<? extends ObservableId, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    Map<String, LocalDateDoubleTimeSeries> keyed = timeSeries.entrySet().stream()
+        .collect(Guavate.toImmutableMap(e -> key(e.getKey()), e -> e.getValue()));
+    MappedTimeSeriesFile.write(path, keyed);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Result<LocalDateDoubleTimeSeries> timeSeries(ObservableId id) {
+    String key = key(id);
+
+    for (MappedTimeSeriesFile file : files) {
+      Optional<LocalDateDoubleTimeSeries> timeSeries = file.get(key);
+
+      if (timeSeries.isPresent()) {
+        return Result.success(timeSeries.get());
+      }
+    }
+    return Result.failure(FailureReason.MISSING_DATA, "No time-series found for ID {}", id);
+  }
+
+  /**
+   * Closes the files used by this provider.
+   */
+  @Override
+  public void close() {
+    files.forEach(MappedTimeSeriesFile::close);
+  }
+
+  // the name of the time-series for an ID in the file
+  private static String key(ObservableId id) {
+    return id.getStandardId() + "/" + id.getFieldName() + "/" + id.getMarketDataFeed();
+  }
+
+}
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.engine.marketdata.function;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.engine.marketdata.MarketDataLookup;
@@ -42,6 +44,25 @@ public interface MarketDataFunction<T, I extends MarketDataId<? extends T>> {
    */
   public abstract Result<T> build(I id, MarketDataLookup marketData, MarketDataConfig marketDataConfig);
 
+  /**
+   * Returns a compact representation of the values of an item of market data in a set of scenarios.
+   * <p>
+   * When market data is perturbed in a scenario the value for each scenario is stored separately.
+   * With a large number of scenarios this can use a lot of memory if the values contain data that
+   * is the same in every scenario. A function can override this method to return a list that stores
+   * the common data once, creating the value for a scenario when it is requested from the list.
+   * <p>
+   * The returned list must be immutable and must contain values equal to the input values, in the same order.
+   * <p>
+   * The default implementation returns the values unchanged.
+   *
+   * @param values  the market data values, one for each scenario, in an immutable list
+   * @return an immutable list containing the values
+   */
+  public default List<T> compactScenarioValues(List<T> values) {
+    return values;
+  }
+
   /**
    * Returns the type of market data ID this function can handle.
    *
@@ -0,0 +1,413 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine;
+
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.market.MarketDataFeed;
+import com.opengamma.strata.collect.id.LinkResolver;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.calculation.DefaultCalculationRunner;
+import com.opengamma.strata.engine.calculation.ResultSink;
+import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.config.MarketDataRule;
+import com.opengamma.strata.engine.config.MarketDataRules;
+import com.opengamma.strata.engine.config.Measure;
+import com.opengamma.strata.engine.config.pricing.DefaultFunctionGroup;
+import com.opengamma.strata.engine.config.pricing.DefaultPricingRules;
+import com.opengamma.strata.engine.config.pricing.PricingRule;
+import com.opengamma.strata.engine.marketdata.CalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.engine.marketdata.CalculationRequirements;
+import com.opengamma.strata.engine.marketdata.DefaultMarketDataFactory;
+import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.engine.marketdata.MarketDataDependencyTree;
+import com.opengamma.strata.engine.marketdata.MarketDataFactory;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.engine.marketdata.MarketEnvironmentResult;
+import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.TestObservableId;
+import com.opengamma.strata.engine.marketdata.TestObservableKey;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.engine.marketdata.function.ObservableMarketDataFunction;
+import com.opengamma.strata.engine.marketdata.function.TimeSeriesProvider;
+import com.opengamma.strata.engine.marketdata.mapping.DefaultMarketDataMappings;
+import com.opengamma.strata.engine.marketdata.mapping.FeedIdMapping;
+import com.opengamma.strata.engine.marketdata.scenario.ScenarioDefinition;
+
+/**
+ * Test {@link DefaultCalculationEngine}.
+ */
+@Test
+public class DefaultCalculationEngineTest {
+
+  private static final LocalDate VALUATION_DATE = date(2011, 3, 8);
+  private static final Measure QUOTE = Measure.of("Quote");
+  private static final Measure NAME = Measure.of("Name");
+  private static final Measure FAILING = Measure.of("Failing");
+  private static final List<Column> COLUMNS = ImmutableList.of(Column.of(QUOTE), Column.of(NAME));
+
+  //-------------------------------------------------------------------------
+  /**
+   * Test that only the rows using the changed market data are recalculated, and the recalculated
+   * results are merged into the correct cells.
+   */
+  public void recalculate_onlyDependentRows() {
+    List<TestTarget> targets = targets("A", "B", "A", "C");
+    DefaultCalculationEngine engine = engine(marketDataFactory());
+
+    IncrementalCalculation calculation =
+        engine.calculateIncremental(targets, COLUMNS, rules(), marketData(VALUATION_DATE, 1d, 2d, 3d));
+    assertResults(calculation.getResults(), targets, 1d, 2d, 1d, 3d);
+    assertCalculationCounts(targets, 1, 1, 1, 1);
+
+    IncrementalCalculation recalculated1 = engine.recalculate(calculation, marketData(VALUATION_DATE, 1d, 20d, 3d));
+    assertResults(recalculated1.getResults(), targets, 1d, 20d, 1d, 3d);
+    assertCalculationCounts(targets, 1, 2, 1, 1);
+
+    IncrementalCalculation recalculated2 = engine.recalculate(recalculated1, marketData(VALUATION_DATE, 10d, 20d, 3d));
+    assertResults(recalculated2.getResults(), targets, 10d, 20d, 10d, 3d);
+    assertCalculationCounts(targets, 2, 2, 2, 1);
+  }
+
+  /**
+   * Test that no results are recalculated if the market data hasn't changed.
+   */
+  public void recalculate_noChanges() {
+    List<TestTarget> targets = targets("A", "B", "C");
+    DefaultCalculationEngine engine = engine(marketDataFactory());
+    MarketEnvironment marketData = marketData(VALUATION_DATE, 1d, 2d, 3d);
+
+    IncrementalCalculation calculation = engine.calculateIncremental(targets, COLUMNS, rules(), marketData);
+    IncrementalCalculation recalculated = engine.recalculate(calculation, marketData);
+    assertThat(recalculated.getResults()).isSameAs(calculation.getResults());
+    assertCalculationCounts(targets, 1, 1, 1);
+  }
+
+  /**
+   * Test that every result is recalculated if the valuation date has changed.
+   */
+  public void recalculate_valuationDateChanged() {
+    List<TestTarget> targets = targets("A", "B", "C");
+    DefaultCalculationEngine engine = engine(marketDataFactory());
+
+    IncrementalCalculation calculation =
+        engine.calculateIncremental(targets, COLUMNS, rules(), marketData(VALUATION_DATE, 1d, 2d, 3d));
+    IncrementalCalculation recalculated =
+        engine.recalculate(calculation, marketData(VALUATION_DATE.plusDays(1), 1d, 2d, 3d));
+    assertResults(recalculated.getResults(), targets, 1d, 2d, 3d);
+    assertCalculationCounts(targets, 2, 2, 2);
+    assertThat(recalculated.getCalculationEnvironment().getValuationDate()).isEqualTo(VALUATION_DATE.plusDays(1));
+  }
+
+  /**
+   * Test that the market data dependency tree is found once and reused until the IDs of the supplied data change.
+   */
+  public void recalculate_dependencyTreeReused() {
+    List<TestTarget> targets = targets("A", "B", "C");
+    CountingMarketDataFactory marketDataFactory = new CountingMarketDataFactory(marketDataFactory());
+    DefaultCalculationEngine engine = engine(marketDataFactory);
+
+    IncrementalCalculation calculation =
+        engine.calculateIncremental(targets, COLUMNS, rules(), marketData(VALUATION_DATE, 1d, 2d, 3d));
+    IncrementalCalculation recalculated1 = engine.recalculate(calculation, marketData(VALUATION_DATE, 1d, 20d, 3d));
+    IncrementalCalculation recalculated2 = engine.recalculate(recalculated1, marketData(VALUATION_DATE, 1d, 2d, 30d));
+    assertThat(marketDataFactory.treeCount.get()).isEqualTo(1);
+    assertResults(recalculated2.getResults(), targets, 1d, 2d, 30d);
+
+    // supplying an extra value changes the IDs of the supplied data, so the tree is found again
+    MarketEnvironment extraData = marketData(VALUATION_DATE, 1d, 2d, 30d).toBuilder()
+        .addValue(TestObservableId.of("D"), 4d)
+        .build();
+    IncrementalCalculation recalculated3 = engine.recalculate(recalculated2, extraData);
+    assertThat(marketDataFactory.treeCount.get()).isEqualTo(2);
+    assertResults(recalculated3.getResults(), targets, 1d, 2d, 30d);
+    assertCalculationCounts(targets, 1, 3, 2);
+  }
+
+  /**
+   * Test that every cell is passed to the sink and the sink is notified that the calculations are complete
+   * when a function throws before producing a result.
+   */
+  public void calculateStreaming_functionFailure() {
+    List<TestTarget> targets = targets("A", "B", "C");
+    List<Column> columns = ImmutableList.of(Column.of(QUOTE), Column.of(FAILING));
+    DefaultCalculationEngine engine = engine(marketDataFactory());
+    // an engine that only implements calculate, so uses the default streaming method
+    CalculationEngine defaultEngine = new CalculationEngine() {
+
+      @Override
+      public Results calculate(
+          List<? extends CalculationTarget> targets,
+          List<Column> columns,
+          CalculationRules calculationRules,
+          MarketEnvironment marketEnvironment) {
+
+        return engine.calculate(targets, columns, calculationRules, marketEnvironment);
+      }
+
+      @Override
+      public Results calculate(
+          List<? extends CalculationTarget> targets,
+          List<Column> columns,
+          CalculationRules calculationRules,
+          MarketEnvironment marketEnvironment,
+          ScenarioDefinition scenarioDefinition) {
+
+        return engine.calculate(targets, columns, calculationRules, marketEnvironment, scenarioDefinition);
+      }
+    };
+    for (CalculationEngine testEngine : ImmutableList.of(engine, defaultEngine)) {
+      RowSink sink = new RowSink();
+      testEngine.calculateStreaming(targets, columns, rules(), marketData(VALUATION_DATE, 1d, 2d, 3d), sink, 1);
+      assertThat(sink.complete).isTrue();
+      assertThat(sink.rowIndices).containsExactly(0, 1, 2);
+      assertThat(sink.targets).containsExactlyElementsOf(targets);
+
+      for (int row = 0; row < 3; row++) {
+        assertThat(sink.rows.get(row)).hasSize(2);
+        assertThat(sink.rows.get(row).get(0)).hasValue(row + 1d);
+        assertThat(sink.rows.get(row).get(1)).isFailure().hasFailureMessageMatching(".*Function failed.*");
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // creates an engine that runs the calculations on the calling thread
+  private static DefaultCalculationEngine engine(MarketDataFactory marketDataFactory) {
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    return new DefaultCalculationEngine(runner, marketDataFactory, LinkResolver.none());
+  }
+
+  private static MarketDataFactory marketDataFactory() {
+    return new DefaultMarketDataFactory(
+        TimeSeriesProvider.none(),
+        ObservableMarketDataFunction.none(),
+        FeedIdMapping.identity());
+  }
+
+  private static CalculationRules rules() {
+    DefaultFunctionGroup<TestTarget> functionGroup =
+        DefaultFunctionGroup.builder(TestTarget.class)
+            .name("DefaultGroup")
+            .addFunction(QUOTE, QuoteFunction.class)
+            .addFunction(NAME, NameFunction.class)
+            .addFunction(FAILING, FailingFunction.class)
+            .build();
+
+    PricingRule<TestTarget> pricingRule =
+        PricingRule.builder(TestTarget.class)
+            .functionGroup(functionGroup)
+            .addMeasures(QUOTE, NAME, FAILING)
+            .build();
+
+    DefaultMarketDataMappings mappings = DefaultMarketDataMappings.builder()
+        .marketDataFeed(MarketDataFeed.NONE)
+        .build();
+
+    return CalculationRules.builder()
+        .pricingRules(DefaultPricingRules.of(pricingRule))
+        .marketDataRules(MarketDataRules.of(MarketDataRule.of(mappings, TestTarget.class)))
+        .build();
+  }
+
+  // creates targets using the quotes with the specified names
+  private static List<TestTarget> targets(String... quoteNames) {
+    ImmutableList.Builder<TestTarget> builder = ImmutableList.builder();
+    for (String quoteName : quoteNames) {
+      builder.add(new TestTarget(quoteName));
+    }
+    return builder.build();
+  }
+
+  // creates market data containing the values of quotes A, B and C
+  private static MarketEnvironment marketData(LocalDate valuationDate, double a, double b, double c) {
+    return MarketEnvironment.builder(valuationDate)
+        .addValue(TestObservableId.of("A"), a)
+        .addValue(TestObservableId.of("B"), b)
+        .addValue(TestObservableId.of("C"), c)
+        .build();
+  }
+
+  private static void assertResults(Results results, List<TestTarget> targets, double... quotes) {
+    assertThat(results.getRowCount()).isEqualTo(targets.size());
+    assertThat(results.getColumnCount()).isEqualTo(2);
+
+    for (int row = 0; row < targets.size(); row++) {
+      assertThat(results.get(row, 0)).hasValue(quotes[row]);
+      assertThat(results.get(row, 1)).hasValue(targets.get(row).quoteName);
+    }
+  }
+
+  private static void assertCalculationCounts(List<TestTarget> targets, int... counts) {
+    for (int row = 0; row < targets.size(); row++) {
+      assertThat(targets.get(row).calculationCount.get()).as("row " + row).isEqualTo(counts[row]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class TestTarget implements CalculationTarget {
+
+    private final String quoteName;
+    private final AtomicInteger calculationCount = new AtomicInteger();
+
+    private TestTarget(String quoteName) {
+      this.quoteName = quoteName;
+    }
+  }
+
+  /**
+   * Returns the value of the quote used by the target, counting the calculations for each target.
+   */
+  public static final class QuoteFunction implements CalculationSingleFunction<TestTarget, Double> {
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.builder()
+          .singleValueRequirements(TestObservableKey.of(target.quoteName))
+          .build();
+    }
+
+    @Override
+    public Double execute(TestTarget target, CalculationMarketData marketData) {
+      target.calculationCount.incrementAndGet();
+      return marketData.getValues(TestObservableKey.of(target.quoteName)).get(0);
+    }
+  }
+
+  /**
+   * Returns the name of the quote used by the target.
+   */
+  public static final class NameFunction implements CalculationSingleFunction<TestTarget, String> {
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public String execute(TestTarget target, CalculationMarketData marketData) {
+      return target.quoteName;
+    }
+  }
+
+  /**
+   * Fails without producing a result.
+   */
+  public static final class FailingFunction implements CalculationSingleFunction<TestTarget, String> {
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public String execute(TestTarget target, CalculationMarketData marketData) {
+      // an error is not caught by the task, so the task fails without returning results
+      throw new AssertionError("Function failed");
+    }
+  }
+
+  private static final class RowSink implements ResultSink {
+
+    private final List<Integer> rowIndices = new ArrayList<>();
+    private final List<CalculationTarget> targets = new ArrayList<>();
+    private final List<List<Result<?>>> rows = new ArrayList<>();
+    private boolean complete;
+
+    @Override
+    public void rowReceived(int rowIndex, CalculationTarget target, List<Result<?>> results) {
+      rowIndices.add(rowIndex);
+      targets.add(target);
+      rows.add(ImmutableList.copyOf(results));
+    }
+
+    @Override
+    public void calculationsComplete() {
+      complete = true;
+    }
+  }
+
+  /**
+   * Market data factory that counts the dependency trees it builds.
+   */
+  private static final class CountingMarketDataFactory implements MarketDataFactory {
+
+    private final MarketDataFactory delegate;
+    private final AtomicInteger treeCount = new AtomicInteger();
+
+    private CountingMarketDataFactory(MarketDataFactory delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public MarketEnvironmentResult buildMarketEnvironment(
+        MarketDataRequirements requirements,
+        MarketEnvironment suppliedData,
+        MarketDataConfig marketDataConfig,
+        boolean includeIntermediateValues) {
+
+      return delegate.buildMarketEnvironment(requirements, suppliedData, marketDataConfig, includeIntermediateValues);
+    }
+
+    @Override
+    public CalculationEnvironment buildCalculationEnvironment(
+        CalculationRequirements requirements,
+        MarketEnvironment suppliedData,
+        MarketDataConfig marketDataConfig) {
+
+      return delegate.buildCalculationEnvironment(requirements, suppliedData, marketDataConfig);
+    }
+
+    @Override
+    public CalculationEnvironment rebuildCalculationEnvironment(
+        MarketDataDependencyTree dependencyTree,
+        MarketEnvironment suppliedData,
+        MarketDataConfig marketDataConfig,
+        MarketEnvironment previousSuppliedData,
+        CalculationEnvironment previousData) {
+
+      return delegate.rebuildCalculationEnvironment(
+          dependencyTree, suppliedData, marketDataConfig, previousSuppliedData, previousData);
+    }
+
+    @Override
+    public Optional<MarketDataDependencyTree> buildDependencyTree(
+        CalculationRequirements requirements,
+        MarketEnvironment suppliedData,
+        MarketDataConfig marketDataConfig) {
+
+      treeCount.incrementAndGet();
+      return delegate.buildDependencyTree(requirements, suppliedData, marketDataConfig);
+    }
+
+    @Override
+    public ScenarioCalculationEnvironment buildScenarioCalculationEnvironment(
+        CalculationRequirements requirements,
+        MarketEnvironment suppliedData,
+        ScenarioDefinition scenarioDefinition,
+        MarketDataConfig marketDataConfig) {
+
+      return delegate.buildScenarioCalculationEnvironment(
+          requirements, suppliedData, scenarioDefinition, marketDataConfig);
+    }
+  }
+}
@@ -6,12 +6,19 @@
 package com.opengamma.strata.engine.calculation;
 
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -25,6 +32,7 @@ import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.calculation.function.CalculationMultiFunction;
 import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
 import com.opengamma.strata.engine.calculation.function.result.DefaultScenarioResult;
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
@@ -38,6 +46,7 @@ import com.opengamma.strata.engine.config.ReportingRules;
 import com.opengamma.strata.engine.config.pricing.DefaultFunctionGroup;
 import com.opengamma.strata.engine.config.pricing.DefaultPricingRules;
 import com.opengamma.strata.engine.config.pricing.PricingRule;
+import com.opengamma.strata.engine.config.pricing.PricingRules;
 import com.opengamma.strata.engine.marketdata.CalculationEnvironment;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.CalculationRequirements;
@@ -206,6 +215,373 @@ public class DefaultCalculationRunnerTest {
     assertThat(result2).hasValue(scenarioResult);
   }
 
+  /**
+   * Test that the measures calculated by a multi-function are calculated by one task for each target
+   * and the results are put into the correct cells.
+   */
+  public void multiFunctionGroupedByTarget() {
+    Measure measure1 = Measure.of("foo");
+    Measure measure2 = Measure.of("bar");
+    Measure measure3 = Measure.of("baz");
+
+    DefaultFunctionGroup<TestTarget> functionGroup =
+        DefaultFunctionGroup.builder(TestTarget.class)
+            .name("DefaultGroup")
+            .addFunction(measure1, TestMultiFunction.class)
+            .addFunction(measure2, TestFunction.class)
+            .addFunction(measure3, TestMultiFunction.class)
+            .build();
+
+    PricingRule<TestTarget> pricingRule =
+        PricingRule.builder(TestTarget.class)
+            .functionGroup(functionGroup)
+            .addMeasures(measure1, measure2, measure3)
+            .build();
+
+    DefaultPricingRules pricingRules = DefaultPricingRules.of(pricingRule);
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    List<TestTarget> targets = ImmutableList.of(new TestTarget(), new TestTarget());
+    List<Column> columns = ImmutableList.of(Column.of(measure1), Column.of(measure2), Column.of(measure3));
+
+    CalculationTasksConfig calculationConfig = runner.createCalculationConfig(
+        targets,
+        columns,
+        pricingRules,
+        MarketDataRules.empty(),
+        ReportingRules.empty());
+    CalculationTasks tasks = runner.createCalculationTasks(calculationConfig);
+
+    // One task for the multi-function and one for the single function for each target
+    assertThat(tasks.getTasks()).hasSize(4);
+    assertThat(tasks.getTasks().get(0).getColumnIndices()).containsExactly(0, 2);
+    assertThat(tasks.getTasks().get(1).getColumnIndices()).containsExactly(1);
+    assertThat(tasks.getCellCount()).isEqualTo(6);
+
+    Results results = runner.calculate(tasks, CalculationEnvironment.empty(date(2011, 3, 8)));
+    assertThat(results.getRowCount()).isEqualTo(2);
+    assertThat(results.getColumnCount()).isEqualTo(3);
+
+    for (int row = 0; row < 2; row++) {
+      assertThat(results.get(row, 0)).hasValue("foo");
+      assertThat(results.get(row, 1)).hasValue("bar");
+      assertThat(results.get(row, 2)).hasValue("baz");
+    }
+  }
+
+  /**
+   * Test that every cell in a multi-function group receives a failure result if the multi-function
+   * can't be created.
+   */
+  public void multiFunctionCreationFailure() {
+    Measure measure1 = Measure.of("foo");
+    Measure measure2 = Measure.of("bar");
+    Measure measure3 = Measure.of("baz");
+
+    DefaultFunctionGroup<TestTarget> functionGroup =
+        DefaultFunctionGroup.builder(TestTarget.class)
+            .name("DefaultGroup")
+            .addFunction(measure1, FailingMultiFunction.class)
+            .addFunction(measure2, TestFunction.class)
+            .addFunction(measure3, FailingMultiFunction.class)
+            .build();
+
+    PricingRule<TestTarget> pricingRule =
+        PricingRule.builder(TestTarget.class)
+            .functionGroup(functionGroup)
+            .addMeasures(measure1, measure2, measure3)
+            .build();
+
+    DefaultPricingRules pricingRules = DefaultPricingRules.of(pricingRule);
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    List<TestTarget> targets = ImmutableList.of(new TestTarget(), new TestTarget());
+    List<Column> columns = ImmutableList.of(Column.of(measure1), Column.of(measure2), Column.of(measure3));
+
+    CalculationTasksConfig calculationConfig = runner.createCalculationConfig(
+        targets,
+        columns,
+        pricingRules,
+        MarketDataRules.empty(),
+        ReportingRules.empty());
+    CalculationTasks tasks = runner.createCalculationTasks(calculationConfig);
+
+    // One task for each cell of the failed multi-function and one for the single function for each target
+    assertThat(tasks.getTasks()).hasSize(6);
+    assertThat(tasks.getCellCount()).isEqualTo(6);
+
+    Results results = runner.calculate(tasks, CalculationEnvironment.empty(date(2011, 3, 8)));
+    assertThat(results.getRowCount()).isEqualTo(2);
+    assertThat(results.getColumnCount()).isEqualTo(3);
+
+    for (int row = 0; row < 2; row++) {
+      assertThat(results.get(row, 0)).hasFailureMessageMatching("No pricing rule configured");
+      assertThat(results.get(row, 1)).hasValue("bar");
+      assertThat(results.get(row, 2)).hasFailureMessageMatching("No pricing rule configured");
+    }
+  }
+
+  /**
+   * Test that the results are calculated correctly when the tasks are run in chunks on a fork-join pool
+   * and the results of each chunk are delivered to the listener in a single batch.
+   */
+  public void chunkedCalculation() {
+    Measure measure1 = Measure.of("foo");
+    Measure measure2 = Measure.of("bar");
+
+    DefaultFunctionGroup<TestTarget> functionGroup =
+        DefaultFunctionGroup.builder(TestTarget.class)
+            .name("DefaultGroup")
+            .addFunction(measure1, TestMultiFunction.class)
+            .addFunction(measure2, TestFunction.class)
+            .build();
+
+    PricingRule<TestTarget> pricingRule =
+        PricingRule.builder(TestTarget.class)
+            .functionGroup(functionGroup)
+            .addMeasures(measure1, measure2)
+            .build();
+
+    DefaultPricingRules pricingRules = DefaultPricingRules.of(pricingRule);
+    List<TestTarget> targets = IntStream.range(0, 10).mapToObj(i -> new TestTarget()).collect(toImmutableList());
+    List<Column> columns = ImmutableList.of(Column.of(measure1), Column.of(measure2));
+    ForkJoinPool pool = new ForkJoinPool(2);
+
+    try {
+      DefaultCalculationRunner runner = new DefaultCalculationRunner(pool, 3);
+      CalculationTasksConfig calculationConfig = runner.createCalculationConfig(
+          targets,
+          columns,
+          pricingRules,
+          MarketDataRules.empty(),
+          ReportingRules.empty());
+      CalculationTasks tasks = runner.createCalculationTasks(calculationConfig);
+      assertThat(tasks.getTasks()).hasSize(20);
+
+      BatchListener listener = new BatchListener();
+      runner.calculateAsync(tasks, CalculationEnvironment.empty(date(2011, 3, 8)), listener);
+      List<List<CalculationResult>> batches = listener.result();
+      // 20 tasks are split into 8 chunks of 2 or 3 tasks
+      assertThat(batches).hasSize(8);
+      assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(20);
+
+      Results results = runner.calculate(tasks, CalculationEnvironment.empty(date(2011, 3, 8)));
+      assertThat(results.getRowCount()).isEqualTo(10);
+      assertThat(results.getColumnCount()).isEqualTo(2);
+
+      for (int row = 0; row < 10; row++) {
+        assertThat(results.get(row, 0)).hasValue("foo");
+        assertThat(results.get(row, 1)).hasValue("bar");
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Test that the rows of results are passed to a sink in row order when the results are streamed.
+   */
+  public void streamingCalculation() {
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    CalculationTasks tasks = streamingTasks(runner);
+    RowSink sink = new RowSink();
+
+    runner.calculateStreaming(tasks, CalculationEnvironment.empty(date(2011, 3, 8)), sink, 1);
+    assertThat(sink.complete).isTrue();
+    assertThat(sink.rowIndices).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    for (List<Result<?>> row : sink.rows) {
+      assertThat(row).hasSize(2);
+      assertThat(row.get(0)).hasValue("foo");
+      assertThat(row.get(1)).hasValue("bar");
+    }
+  }
+
+  /**
+   * Test that the rows of results are passed to a sink in row order when the tasks are run in chunks
+   * on a fork-join pool and the number of pending rows is limited.
+   */
+  public void chunkedStreamingCalculation() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+
+    try {
+      DefaultCalculationRunner runner = new DefaultCalculationRunner(pool, 3);
+      CalculationTasks tasks = streamingTasks(runner);
+      RowSink sink = new RowSink();
+
+      runner.calculateStreaming(tasks, CalculationEnvironment.empty(date(2011, 3, 8)), sink, 2);
+      assertThat(sink.complete).isTrue();
+      assertThat(sink.rowIndices).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+      for (List<Result<?>> row : sink.rows) {
+        assertThat(row.get(0)).hasValue("foo");
+        assertThat(row.get(1)).hasValue("bar");
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Test that an exception thrown by the sink is thrown when the calculations are complete.
+   */
+  public void streamingCalculationSinkFailure() {
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    CalculationTasks tasks = streamingTasks(runner);
+    ResultSink sink = new ResultSink() {
+
+      @Override
+      public void rowReceived(int rowIndex, CalculationTarget target, List<Result<?>> results) {
+        throw new IllegalStateException("Sink failed");
+      }
+
+      @Override
+      public void calculationsComplete() {
+        // Do nothing
+      }
+    };
+    assertThrows(
+        () -> runner.calculateStreaming(tasks, CalculationEnvironment.empty(date(2011, 3, 8)), sink, 1),
+        IllegalStateException.class,
+        "Sink failed");
+  }
+
+  /**
+   * Test that the cells of a task that fails without returning results receive failures,
+   * so the rows are passed to the sink and the calculations complete.
+   */
+  public void streamingCalculationTaskFailure() {
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    CalculationTasks tasks = streamingTasks(runner, ErrorFunction.class);
+    RowSink sink = new RowSink();
+
+    runner.calculateStreaming(tasks, CalculationEnvironment.empty(date(2011, 3, 8)), sink, 1);
+    assertThat(sink.complete).isTrue();
+    assertThat(sink.rowIndices).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    for (List<Result<?>> row : sink.rows) {
+      assertThat(row.get(0)).hasValue("foo");
+      assertThat(row.get(1)).isFailure().hasFailureMessageMatching(".*Function failed.*");
+    }
+  }
+
+  /**
+   * Test that the cells of a task that fails without returning results receive failures when the tasks
+   * are run in chunks, and the other tasks in the chunk are run.
+   */
+  public void chunkedStreamingCalculationTaskFailure() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+
+    try {
+      DefaultCalculationRunner runner = new DefaultCalculationRunner(pool, 3);
+      CalculationTasks tasks = streamingTasks(runner, ErrorFunction.class);
+      RowSink sink = new RowSink();
+
+      runner.calculateStreaming(tasks, CalculationEnvironment.empty(date(2011, 3, 8)), sink, 2);
+      assertThat(sink.complete).isTrue();
+      assertThat(sink.rowIndices).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+      for (List<Result<?>> row : sink.rows) {
+        assertThat(row.get(0)).hasValue("foo");
+        assertThat(row.get(1)).isFailure().hasFailureMessageMatching(".*Function failed.*");
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Test that the default streaming method of a runner passes every cell to the sink and completes
+   * when a task fails without returning results.
+   */
+  public void defaultStreamingCalculationTaskFailure() {
+    DefaultCalculationRunner delegate = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    CalculationRunner runner = new DelegatingRunner(delegate);
+    CalculationTasks tasks = streamingTasks(delegate, ErrorFunction.class);
+    LocalDate valuationDate = date(2011, 3, 8);
+
+    RowSink sink = new RowSink();
+    runner.calculateStreaming(tasks, CalculationEnvironment.empty(valuationDate), sink, 1);
+    assertThat(sink.complete).isTrue();
+    assertThat(sink.rowIndices).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    for (List<Result<?>> row : sink.rows) {
+      assertThat(row.get(0)).hasValue("foo");
+      assertThat(row.get(1)).isFailure().hasFailureMessageMatching(".*Function failed.*");
+    }
+    RowSink scenarioSink = new RowSink();
+    ScenarioCalculationEnvironment scenarioMarketData =
+        ScenarioCalculationEnvironment.builder(2, valuationDate).build();
+    runner.calculateStreaming(tasks, scenarioMarketData, scenarioSink, 1);
+    assertThat(scenarioSink.complete).isTrue();
+    assertThat(scenarioSink.rowIndices).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    for (List<Result<?>> row : scenarioSink.rows) {
+      assertThat(row.get(1)).isFailure().hasFailureMessageMatching(".*Function failed.*");
+    }
+  }
+
+  /**
+   * Test that a result that can't be unwrapped is passed to the sink as a failure when the results are streamed.
+  public void streamingCalculationUnwrapFailure() {
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    CalculationTasks tasks = streamingTasks(runner, TwoScenarioFunction.class);
+    RowSink sink = new RowSink();
+
+    runner.calculateStreaming(tasks, CalculationEnvironment.empty(date(2011, 3, 8)), sink, 1);
+    assertThat(sink.complete).isTrue();
+    assertThat(sink.rowIndices).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    for (List<Result<?>> row : sink.rows) {
+      assertThat(row.get(0)).hasValue("foo");
+      assertThat(row.get(1)).isFailure().hasFailureMessageMatching("Expected one result but found 2.*");
+    }
+  }
+
+  // tasks for 10 targets, calculating one column with a multi-function and one with a single function
+  private static CalculationTasks streamingTasks(DefaultCalculationRunner runner) {
+    return streamingTasks(runner, TestFunction.class);
+  }
+
+  // tasks for 10 targets, calculating one column with a multi-function and one with the specified single function
+  private static CalculationTasks streamingTasks(
+      DefaultCalculationRunner runner,
+      Class<? extends CalculationSingleFunction<TestTarget, ?>> singleFunction) {
+
+    Measure measure1 = Measure.of("foo");
+    Measure measure2 = Measure.of("bar");
+
+    DefaultFunctionGroup<TestTarget> functionGroup =
+        DefaultFunctionGroup.builder(TestTarget.class)
+            .name("DefaultGroup")
+            .addFunction(measure1, TestMultiFunction.class)
+            .addFunction(measure2, singleFunction)
+            .build();
+
+    PricingRule<TestTarget> pricingRule =
+        PricingRule.builder(TestTarget.class)
+            .functionGroup(functionGroup)
+            .addMeasures(measure1, measure2)
+            .build();
+
+    DefaultPricingRules pricingRules = DefaultPricingRules.of(pricingRule);
+    List<TestTarget> targets = IntStream.range(0, 10).mapToObj(i -> new TestTarget()).collect(toImmutableList());
+    List<Column> columns = ImmutableList.of(Column.of(measure1), Column.of(measure2));
+
+    CalculationTasksConfig calculationConfig = runner.createCalculationConfig(
+        targets,
+        columns,
+        pricingRules,
+        MarketDataRules.empty(),
+        ReportingRules.empty());
+    return runner.createCalculationTasks(calculationConfig);
+  }
+
+  public void automaticChunkSize() {
+    assertThat(DefaultCalculationRunner.automaticChunkSize(1, 4)).isEqualTo(1);
+    assertThat(DefaultCalculationRunner.automaticChunkSize(16, 4)).isEqualTo(1);
+    assertThat(DefaultCalculationRunner.automaticChunkSize(17, 4)).isEqualTo(2);
+    assertThat(DefaultCalculationRunner.automaticChunkSize(1000, 8)).isEqualTo(32);
+  }
+
   //--------------------------------------------------------------------------------------------------------------------
 
   private static class TestTarget implements CalculationTarget { }
@@ -229,6 +605,64 @@ public class DefaultCalculationRunnerTest {
     }
   }
 
+  public static final class TestMultiFunction implements CalculationMultiFunction<TestTarget> {
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> execute(TestTarget target, Set<Measure> measures, CalculationMarketData marketData) {
+      return measures.stream().collect(toImmutableMap(measure -> measure, measure -> Result.success(measure.toString())));
+    }
+  }
+
+  public static final class ErrorFunction implements CalculationSingleFunction<TestTarget, Object> {
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Object execute(TestTarget target, CalculationMarketData marketData) {
+      // an error is not caught by the task, so the task fails without returning results
+      throw new AssertionError("Function failed");
+    }
+  }
+
+  public static final class TwoScenarioFunction
+      implements CalculationSingleFunction<TestTarget, ScenarioResult<String>> {
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public ScenarioResult<String> execute(TestTarget target, CalculationMarketData marketData) {
+      return DefaultScenarioResult.of("foo", "bar");
+    }
+  }
+
+  public static final class FailingMultiFunction implements CalculationMultiFunction<TestTarget> {
+
+    public FailingMultiFunction() {
+      throw new IllegalStateException("Function can't be created");
+    }
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> execute(TestTarget target, Set<Measure> measures, CalculationMarketData marketData) {
+      throw new UnsupportedOperationException("execute not implemented");
+    }
+  }
+
   private static final class ScenarioResultFunction
       implements CalculationSingleFunction<TestTarget, ScenarioResult<String>> {
 
@@ -263,4 +697,98 @@ public class DefaultCalculationRunnerTest {
       // Do nothing
     }
   }
+
+  private static final class BatchListener extends AggregatingCalculationListener<List<List<CalculationResult>>> {
+
+    private final List<List<CalculationResult>> batches = new ArrayList<>();
+
+    @Override
+    public void resultReceived(CalculationResult result) {
+      batches.add(ImmutableList.of(result));
+    }
+
+    @Override
+    public void resultsReceived(List<CalculationResult> results) {
+      batches.add(results);
+    }
+
+    @Override
+    protected List<List<CalculationResult>> createAggregateResult() {
+      return batches;
+    }
+  }
+
+  /**
+   * Runner that only implements the abstract methods, so uses the default streaming methods.
+   */
+  private static final class DelegatingRunner implements CalculationRunner {
+
+    private final CalculationRunner delegate;
+
+    private DelegatingRunner(CalculationRunner delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public CalculationTasksConfig createCalculationConfig(
+        List<? extends CalculationTarget> targets,
+        List<Column> columns,
+        PricingRules pricingRules,
+        MarketDataRules marketDataRules,
+        ReportingRules reportingRules) {
+
+      return delegate.createCalculationConfig(targets, columns, pricingRules, marketDataRules, reportingRules);
+    }
+
+    @Override
+    public CalculationTasks createCalculationTasks(CalculationTasksConfig config) {
+      return delegate.createCalculationTasks(config);
+    }
+
+    @Override
+    public Results calculate(CalculationTasks tasks, CalculationEnvironment marketData) {
+      return delegate.calculate(tasks, marketData);
+    }
+
+    @Override
+    public Results calculate(CalculationTasks tasks, ScenarioCalculationEnvironment marketData) {
+      return delegate.calculate(tasks, marketData);
+    }
+
+    @Override
+    public void calculateAsync(
+        CalculationTasks tasks,
+        CalculationEnvironment marketData,
+        CalculationListener listener) {
+
+      delegate.calculateAsync(tasks, marketData, listener);
+    }
+
+    @Override
+    public void calculateAsync(
+        CalculationTasks tasks,
+        ScenarioCalculationEnvironment marketData,
+        CalculationListener listener) {
+
+      delegate.calculateAsync(tasks, marketData, listener);
+    }
+  }
+
+  private static final class RowSink implements ResultSink {
+
+    private final List<Integer> rowIndices = new ArrayList<>();
+    private final List<List<Result<?>>> rows = new ArrayList<>();
+    private boolean complete;
+
+    @Override
+    public void rowReceived(int rowIndex, CalculationTarget target, List<Result<?>> results) {
+      rowIndices.add(rowIndex);
+      rows.add(results);
+    }
+
+    @Override
+    public void calculationsComplete() {
+      complete = true;
+    }
+  }
 }
@@ -6,8 +6,11 @@
 package com.opengamma.strata.engine.calculation;
 
 import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
@@ -18,6 +21,7 @@ import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
@@ -49,6 +53,47 @@ public class ListenerWrapperTest {
     }
   }
 
+  // Tests that batches of results are delivered to the listener in a single call and the listener is notified
+  // when the calculations are complete.
+  public void batches() {
+    CalculationTarget target = new CalculationTarget() { };
+    CalculationResult result1 = CalculationResult.of(target, 0, 0, Result.failure(FailureReason.ERROR, "foo"));
+    CalculationResult result2 = CalculationResult.of(target, 0, 1, Result.failure(FailureReason.ERROR, "bar"));
+    CalculationResult result3 = CalculationResult.of(target, 1, 0, Result.failure(FailureReason.ERROR, "baz"));
+    BatchListener listener = new BatchListener();
+    ListenerWrapper wrapper = new ListenerWrapper(listener, 3);
+
+    wrapper.acceptAll(ImmutableList.of(result1, result2));
+    assertThat(listener.batches).containsExactly(ImmutableList.of(result1, result2));
+    assertThat(listener.complete).isFalse();
+
+    wrapper.accept(result3);
+    assertThat(listener.batches).containsExactly(ImmutableList.of(result1, result2), ImmutableList.of(result3));
+    assertThat(listener.complete).isTrue();
+  }
+
+  private static final class BatchListener implements CalculationListener {
+
+    private final List<List<CalculationResult>> batches = new ArrayList<>();
+
+    private boolean complete;
+
+    @Override
+    public void resultReceived(CalculationResult result) {
+      throw new UnsupportedOperationException("Results should be delivered in batches");
+    }
+
+    @Override
+    public void resultsReceived(List<CalculationResult> results) {
+      batches.add(results);
+    }
+
+    @Override
+    public void calculationsComplete() {
+      complete = true;
+    }
+  }
+
   public static final class Listener implements CalculationListener {
 
     /**
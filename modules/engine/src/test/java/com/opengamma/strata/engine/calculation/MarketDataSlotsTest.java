@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.market.MarketDataFeed;
+import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.config.Measure;
+import com.opengamma.strata.engine.config.ReportingRules;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.TestId;
+import com.opengamma.strata.engine.marketdata.TestKey;
+import com.opengamma.strata.engine.marketdata.TestMapping;
+import com.opengamma.strata.engine.marketdata.mapping.DefaultMarketDataMappings;
+import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
+
+/**
+ * Test {@link MarketDataSlots} and {@link SlotMarketData}.
+ */
+@Test
+public class MarketDataSlotsTest {
+
+  private static final MarketDataMappings MAPPINGS = DefaultMarketDataMappings.builder()
+      .marketDataFeed(MarketDataFeed.NONE)
+      .mappings(ImmutableMap.of(TestKey.class, new TestMapping("foo")))
+      .build();
+
+  private static final CalculationTask TASK1 = task(0, "1", "2");
+  private static final CalculationTask TASK2 = task(1, "2", "3");
+
+  private static final ScenarioCalculationEnvironment MARKET_DATA =
+      ScenarioCalculationEnvironment.builder(2, date(2011, 3, 8))
+          .addValues(TestId.of("1"), "a1", "b1")
+          .addValues(TestId.of("2"), "a2", "b2")
+          .build();
+
+  public void bindKeysToSlots() {
+    MarketDataSlots slots = MarketDataSlots.of(ImmutableList.of(TASK1, TASK2, task(2, "4")));
+    assertThat(slots.size()).isEqualTo(4);
+    assertThat(slots.keys(0)).containsExactly(TestKey.of("1"), TestKey.of("2"));
+    assertThat(slots.slots(0)).containsExactly(0, 1);
+    assertThat(slots.keys(1)).containsExactly(TestKey.of("2"), TestKey.of("3"));
+    assertThat(slots.slots(1)).containsExactly(1, 2);
+    assertThat(slots.id(2)).isEqualTo(TestId.of("3"));
+    assertThat(slots.slots(2)).containsExactly(3);
+    // all the tasks use the same mappings
+    assertThat(slots.mappingsIndex(0)).isEqualTo(0);
+    assertThat(slots.mappingsIndex(2)).isEqualTo(0);
+  }
+
+  public void bindingsMustMatchTasks() {
+    assertThrows(
+        () -> MarketDataSlots.of(ImmutableList.of(TASK1, TASK2), ImmutableList.of(ImmutableMap.of())),
+        IllegalArgumentException.class);
+  }
+
+  public void readBySlot() {
+    SlotMarketData slotMarketData = MarketDataSlots.of(ImmutableList.of(TASK1, TASK2)).bind(MARKET_DATA);
+    assertThat(slotMarketData.<String>getValues(1)).containsExactly("a2", "b2");
+
+    CalculationMarketData task2Data = slotMarketData.taskMarketData().forTask(1);
+    assertThat(task2Data.getScenarioCount()).isEqualTo(2);
+    assertThat(task2Data.getValues(TestKey.of("2"))).containsExactly("a2", "b2");
+    // a key that isn't bound to a slot for the task is looked up using the mappings
+    assertThat(task2Data.getValues(TestKey.of("1"))).containsExactly("a1", "b1");
+    // the exception for missing data is thrown when the data is requested
+    assertThrows(() -> task2Data.getValues(TestKey.of("3")), IllegalArgumentException.class);
+  }
+
+  public void reuseViewForTasks() {
+    SlotMarketData slotMarketData = MarketDataSlots.of(ImmutableList.of(TASK1, TASK2)).bind(MARKET_DATA);
+    SlotMarketData.TaskMarketData view = slotMarketData.taskMarketData();
+    assertThat(view.forTask(1)).isSameAs(view);
+    assertThat(view.forTask(0).getValues(TestKey.of("1"))).containsExactly("a1", "b1");
+    assertThat(view.forTask(1).getValues(TestKey.of("2"))).containsExactly("a2", "b2");
+  }
+
+  public void functionRequirementsRequestedOnce() {
+    CountingFunction function = new CountingFunction();
+    CalculationTask task = new CalculationTask(
+        new TestTarget(), 0, 0, function, MAPPINGS, ReportingRules.empty());
+    new CalculationTasks(ImmutableList.of(task), ImmutableList.of(Column.of(Measure.PRESENT_VALUE)));
+    assertThat(function.requirementsCount).isEqualTo(1);
+  }
+
+  public void calculate() {
+    Column column = Column.of(Measure.PRESENT_VALUE);
+    CalculationTasks tasks = new CalculationTasks(ImmutableList.of(TASK1, TASK2), ImmutableList.of(column));
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    Results results = runner.calculate(tasks, MARKET_DATA);
+    assertThat(results.get(0, 0)).hasValue(ImmutableList.of("a1", "b1", "a2", "b2"));
+    assertThat(results.get(1, 0)).isFailure();
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTask task(int rowIndex, String... keys) {
+    return new CalculationTask(
+        new TestTarget(), rowIndex, 0, new KeysFunction(keys), MAPPINGS, ReportingRules.empty());
+  }
+
+  private static final class TestTarget implements CalculationTarget { }
+
+  /**
+   * Function that counts the number of times its requirements are requested.
+   */
+  private static final class CountingFunction implements CalculationSingleFunction<TestTarget, String> {
+
+    private int requirementsCount;
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      requirementsCount++;
+      return FunctionRequirements.builder().singleValueRequirements(TestKey.of("1")).build();
+    }
+
+    @Override
+    public String execute(TestTarget target, CalculationMarketData marketData) {
+      return "";
+    }
+  }
+
+  /**
+   * Function that requires the values for test keys and returns all the values.
+   */
+  private static final class KeysFunction implements CalculationSingleFunction<TestTarget, List<String>> {
+
+    private final List<String> keys;
+
+    private KeysFunction(String... keys) {
+      this.keys = Arrays.asList(keys);
+    }
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.builder()
+          .singleValueRequirements(keys.stream().map(TestKey::of).collect(toImmutableSet()))
+          .build();
+    }
+
+    @Override
+    public List<String> execute(TestTarget target, CalculationMarketData marketData) {
+      ImmutableList.Builder<String> builder = ImmutableList.builder();
+      keys.forEach(key -> builder.addAll(marketData.getValues(TestKey.of(key))));
+      return builder.build();
+    }
+  }
+
+}
@@ -15,6 +15,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -382,6 +384,70 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests building market data that depends on other market data using an executor to build the values
+   * in each level of the dependency tree in parallel.
+   */
+  public void buildDataFromOtherDataInParallel() {
+    TestMarketDataFunctionB builderB = new TestMarketDataFunctionB();
+    TestMarketDataFunctionC builderC = new TestMarketDataFunctionC();
+
+    CalculationRequirements requirements =
+        CalculationRequirements.builder()
+            .addValues(new TestIdB("1"), new TestIdB("2"))
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 =
+        LocalDateDoubleTimeSeries.builder()
+            .put(date(2011, 3, 8), 1)
+            .put(date(2011, 3, 9), 2)
+            .put(date(2011, 3, 10), 3)
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries2 =
+        LocalDateDoubleTimeSeries.builder()
+            .put(date(2011, 3, 8), 10)
+            .put(date(2011, 3, 9), 20)
+            .put(date(2011, 3, 10), 30)
+            .build();
+
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap =
+        ImmutableMap.of(
+            new TestIdA("1"), timeSeries1,
+            new TestIdA("2"), timeSeries2);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      DefaultMarketDataFactory marketDataFactory =
+          new DefaultMarketDataFactory(
+              new TestTimeSeriesProvider(timeSeriesMap),
+              new TestObservableMarketDataFunction(),
+              FeedIdMapping.identity(),
+              ImmutableList.of(builderB, builderC),
+              executor);
+
+      CalculationEnvironment marketData = marketDataFactory.buildCalculationEnvironment(
+          requirements,
+          MarketEnvironment.empty(date(2011, 3, 8)),
+          MARKET_DATA_CONFIG);
+
+      assertThat(marketData.getSingleValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+
+      TestMarketDataB marketDataB1 = marketData.getValue(new TestIdB("1"));
+      TestMarketDataB marketDataB2 = marketData.getValue(new TestIdB("2"));
+
+      TestMarketDataB expectedB1 = new TestMarketDataB(1, new TestMarketDataC(timeSeries1));
+      TestMarketDataB expectedB2 = new TestMarketDataB(2, new TestMarketDataC(timeSeries2));
+
+      assertThat(marketDataB1).isEqualTo(expectedB1);
+      assertThat(marketDataB2).isEqualTo(expectedB2);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   /**
    * Tests building market data that depends on other market data that is supplied by the user.
    *
@@ -450,6 +516,93 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests rebuilding market data after some of the supplied data has changed.
+   * Only the data depending on the changed data should be built again, the rest should be reused.
+   */
+  public void rebuildDataAffectedByChangedSuppliedData() {
+    TestMarketDataFunctionB builderB = new TestMarketDataFunctionB();
+    TestMarketDataFunctionC builderC = new TestMarketDataFunctionC();
+
+    CalculationRequirements requirements =
+        CalculationRequirements.builder()
+            .addValues(new TestIdB("1"), new TestIdB("2"))
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 =
+        LocalDateDoubleTimeSeries.builder()
+            .put(date(2011, 3, 8), 1)
+            .put(date(2011, 3, 9), 2)
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries2 =
+        LocalDateDoubleTimeSeries.builder()
+            .put(date(2011, 3, 8), 10)
+            .put(date(2011, 3, 9), 20)
+            .build();
+
+    TestIdA idA1 = new TestIdA("1");
+    TestIdA idA2 = new TestIdA("2");
+
+    MarketEnvironment suppliedData = MarketEnvironment.builder(date(2011, 3, 8))
+        .addTimeSeries(idA1, timeSeries1)
+        .addTimeSeries(idA2, timeSeries2)
+        .addValue(idA1, 1d)
+        .addValue(idA2, 2d)
+        .build();
+
+    DefaultMarketDataFactory marketDataFactory = new DefaultMarketDataFactory(
+        TimeSeriesProvider.none(),
+        ObservableMarketDataFunction.none(),
+        FeedIdMapping.identity(),
+        builderB,
+        builderC);
+
+    CalculationEnvironment marketData = marketDataFactory.buildCalculationEnvironment(
+        requirements,
+        suppliedData,
+        MARKET_DATA_CONFIG);
+
+    MarketEnvironment changedData = suppliedData.toBuilder()
+        .addValue(idA1, 5d)
+        .build();
+
+    CalculationEnvironment rebuiltData = marketDataFactory.rebuildCalculationEnvironment(
+        requirements,
+        changedData,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        marketData);
+
+    assertThat(rebuiltData.getSingleValueFailures()).isEmpty();
+    assertThat(rebuiltData.getTimeSeriesFailures()).isEmpty();
+
+    TestMarketDataB expectedB1 = new TestMarketDataB(5, new TestMarketDataC(timeSeries1));
+    TestMarketDataB expectedB2 = new TestMarketDataB(2, new TestMarketDataC(timeSeries2));
+    assertThat(rebuiltData.getValue(new TestIdB("1"))).isEqualTo(expectedB1);
+    assertThat(rebuiltData.getValue(new TestIdB("2"))).isEqualTo(expectedB2);
+
+    // the data not depending on the changed value is reused
+    assertThat(rebuiltData.getValue(new TestIdB("2"))).isSameAs(marketData.getValue(new TestIdB("2")));
+    assertThat(rebuiltData.getValue(new TestIdC("1"))).isSameAs(marketData.getValue(new TestIdC("1")));
+    assertThat(rebuiltData.getValue(new TestIdC("2"))).isSameAs(marketData.getValue(new TestIdC("2")));
+
+    // all the data is built again if the valuation date changes
+    MarketEnvironment movedData = suppliedData.toBuilder()
+        .valuationDate(date(2011, 3, 9))
+        .build();
+
+    CalculationEnvironment movedMarketData = marketDataFactory.rebuildCalculationEnvironment(
+        requirements,
+        movedData,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        marketData);
+
+    assertThat(movedMarketData.getValue(new TestIdB("2"))).isEqualTo(expectedB2);
+    assertThat(movedMarketData.getValue(new TestIdB("2"))).isNotSameAs(marketData.getValue(new TestIdB("2")));
+  }
+
   /**
    * Tests failures when there is no builder for an ID type.
    */
@@ -1042,6 +1195,124 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValues(id2)).isEqualTo(ImmutableList.of("2.0", "2.0", "2.0"));
   }
 
+  /**
+   * Tests building and perturbing non-observable scenario values using an executor to build the values in parallel.
+   */
+  public void perturbNonObservableValuesInParallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      DefaultMarketDataFactory factory =
+          new DefaultMarketDataFactory(
+              new TestTimeSeriesProvider(ImmutableMap.of()),
+              new TestObservableMarketDataFunction(),
+              new TestFeedIdMapping(),
+              ImmutableList.of(new NonObservableMarketDataFunction()),
+              executor);
+      MarketEnvironment suppliedData = MarketEnvironment.empty(date(2011, 3, 8));
+
+      NonObservableId id1 = new NonObservableId("a");
+      NonObservableId id2 = new NonObservableId("b");
+      CalculationRequirements requirements = CalculationRequirements.builder().addValues(id1, id2).build();
+
+      PerturbationMapping<String> mapping =
+          PerturbationMapping.of(
+              String.class,
+              new ExactIdFilter<>(id1),
+              new StringAppender("foo"),
+              new StringAppender("bar"),
+              new StringAppender("baz"));
+      ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(ImmutableList.of(mapping));
+      ScenarioCalculationEnvironment marketData = factory.buildScenarioCalculationEnvironment(
+          requirements,
+          suppliedData,
+          scenarioDefinition,
+          MARKET_DATA_CONFIG);
+
+      assertThat(marketData.getValues(id1)).isEqualTo(ImmutableList.of("1.0foo", "1.0bar", "1.0baz"));
+      assertThat(marketData.getValues(id2)).isEqualTo(ImmutableList.of("2.0", "2.0", "2.0"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that perturbations are applied to non-observable market data when the values are requested
+   * if the factory is in lazy mode.
+   */
+  public void perturbNonObservableValuesLazily() {
+    DefaultMarketDataFactory factory =
+        new DefaultMarketDataFactory(
+            new TestTimeSeriesProvider(ImmutableMap.of()),
+            new TestObservableMarketDataFunction(),
+            new TestFeedIdMapping(),
+            ImmutableList.of(new NonObservableMarketDataFunction()),
+            Runnable::run,
+            true);
+    MarketEnvironment suppliedData = MarketEnvironment.empty(date(2011, 3, 8));
+
+    NonObservableId id1 = new NonObservableId("a");
+    NonObservableId id2 = new NonObservableId("b");
+    CalculationRequirements requirements = CalculationRequirements.builder().addValues(id1, id2).build();
+
+    PerturbationMapping<String> mapping =
+        PerturbationMapping.of(
+            String.class,
+            new ExactIdFilter<>(id1),
+            new StringAppender("foo"),
+            new StringAppender("bar"),
+            new StringAppender("baz"));
+    ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(ImmutableList.of(mapping));
+    ScenarioCalculationEnvironment marketData = factory.buildScenarioCalculationEnvironment(
+        requirements,
+        suppliedData,
+        scenarioDefinition,
+        MARKET_DATA_CONFIG);
+
+    assertThat(marketData.getValues(id1)).isInstanceOf(LazyScenarioValues.class);
+    assertThat(marketData.getValues(id1)).isEqualTo(ImmutableList.of("1.0foo", "1.0bar", "1.0baz"));
+    assertThat(marketData.getValues(id2)).isEqualTo(ImmutableList.of("2.0", "2.0", "2.0"));
+  }
+
+  /**
+   * Tests that non-observable data built from perturbed data is built when the values are requested
+   * if the factory is in lazy mode.
+   */
+  public void nonObservableDataBuiltLazilyFromPerturbedObservableData() {
+    DefaultMarketDataFactory factory =
+        new DefaultMarketDataFactory(
+            new TestTimeSeriesProvider(ImmutableMap.of()),
+            new TestObservableMarketDataFunction(),
+            new TestFeedIdMapping(),
+            ImmutableList.of(new NonObservableMarketDataFunction()),
+            Runnable::run,
+            true);
+    MarketEnvironment suppliedData = MarketEnvironment.empty(date(2011, 3, 8));
+
+    MarketDataId<?> id1 = new NonObservableId("a");
+    MarketDataId<?> id2 = new NonObservableId("b");
+    TestObservableId quoteId = TestObservableId.of(StandardId.of("reqs", "b"));
+    CalculationRequirements requirements = CalculationRequirements.builder().addValues(id1, id2).build();
+
+    PerturbationMapping<Double> mapping =
+        PerturbationMapping.of(
+            Double.class,
+            new ExactIdFilter<>(quoteId),
+            new RelativeDoubleShift(0.1),
+            new RelativeDoubleShift(0.2),
+            new RelativeDoubleShift(0.3));
+    ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(ImmutableList.of(mapping));
+    ScenarioCalculationEnvironment marketData = factory.buildScenarioCalculationEnvironment(
+        requirements,
+        suppliedData,
+        scenarioDefinition,
+        MARKET_DATA_CONFIG);
+
+    assertThat(marketData.getValues(id1)).isEqualTo(ImmutableList.of("1.0", "1.0", "1.0"));
+    assertThat(marketData.getValues(id2)).isInstanceOf(LazyScenarioValues.class);
+    assertThat(marketData.getValues(id2)).isEqualTo(ImmutableList.of("2.2", "2.4", "2.6"));
+  }
+
   /**
    * Tests that non-observable data is only perturbed once, even if there are two applicable perturbation mappings.
    */
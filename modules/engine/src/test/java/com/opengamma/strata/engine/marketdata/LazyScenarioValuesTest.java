@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.market.Perturbation;
+
+/**
+ * Test {@link LazyScenarioValues}.
+ */
+@Test
+public class LazyScenarioValuesTest {
+
+  public void valuesCreatedWhenRequested() {
+    AtomicInteger count = new AtomicInteger();
+    LazyScenarioValues<String> values = LazyScenarioValues.of(3, i -> {
+      count.incrementAndGet();
+      return "value" + i;
+    });
+    assertThat(count.get()).isEqualTo(0);
+    assertThat(values.get(1)).isEqualTo("value1");
+    assertThat(count.get()).isEqualTo(1);
+    assertThat(values).containsExactly("value0", "value1", "value2");
+    assertThat(values).hasSize(3);
+  }
+
+  public void perturbed() {
+    Perturbation<String> foo = value -> value + "foo";
+    Perturbation<String> bar = value -> value + "bar";
+    LazyScenarioValues<String> values = LazyScenarioValues.perturbed("base", ImmutableList.of(foo, bar));
+    assertThat(values).containsExactly("basefoo", "basebar");
+  }
+
+  public void exceptionThrownWhenValueRequested() {
+    LazyScenarioValues<String> values = LazyScenarioValues.of(2, i -> {
+      throw new IllegalStateException("Failed " + i);
+    });
+    assertThrows(() -> values.get(1), IllegalStateException.class, "Failed 1");
+    assertThrows(() -> values.get(2), IndexOutOfBoundsException.class);
+  }
+
+  public void serialization() {
+    LazyScenarioValues<String> values = LazyScenarioValues.of(2, i -> "value" + i);
+    assertSerialization(values);
+  }
+
+}
@@ -7,6 +7,9 @@ package com.opengamma.strata.engine.marketdata;
 
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -35,4 +38,28 @@ public class ScenarioCalculationEnvironmentTest {
     String msgRegex = "No market data mapping found for.*";
     assertThrows(() -> marketData.getValues(id), IllegalArgumentException.class, msgRegex);
   }
+
+  /**
+   * Tests that the values of quotes are stored in an array of doubles and replaced when added again.
+   */
+  public void quotesStoredAsDoubles() {
+    TestObservableId id = TestObservableId.of("1");
+    ScenarioCalculationEnvironment marketData = ScenarioCalculationEnvironment.builder(3, date(2011, 3, 8))
+        .addValues(id, 1d, 2d, 3d)
+        .addValues(id, 4d, 5d, 6d)
+        .build();
+    List<Double> values = marketData.getValues(id);
+    assertThat(values).isInstanceOf(DoubleScenarioValues.class);
+    assertThat(values).containsExactly(4d, 5d, 6d);
+    assertThat(((DoubleScenarioValues) values).getValue(1)).isEqualTo(5d);
+  }
+
+  public void valuesOtherThanDoublesStoredInList() {
+    TestId id = TestId.of("1");
+    ScenarioCalculationEnvironment marketData = ScenarioCalculationEnvironment.builder(2, date(2011, 3, 8))
+        .addValues(id, "a", "b")
+        .build();
+    assertThat(marketData.getValues(id)).containsExactly("a", "b");
+    assertThat(marketData.containsScenarioValues(id)).isTrue();
+  }
 }
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.marketdata.function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.market.MarketDataFeed;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.engine.marketdata.TestObservableId;
+
+/**
+ * Test {@link MappedTimeSeriesProvider}.
+ */
+@Test
+public class MappedTimeSeriesProviderTest {
+
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID2_FEED = TestObservableId.of("2", MarketDataFeed.of("Feed"));
+
+  private static final LocalDateDoubleTimeSeries SERIES1 = LocalDateDoubleTimeSeries.builder()
+      .put(LocalDate.of(2015, 6, 1), 1d)
+      .put(LocalDate.of(2015, 6, 2), 2d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SERIES2 = LocalDateDoubleTimeSeries.builder()
+      .put(LocalDate.of(2015, 6, 1), 3d)
+      .put(LocalDate.of(2015, 6, 3), 4d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SERIES3 = LocalDateDoubleTimeSeries.builder()
+      .put(LocalDate.of(2015, 6, 1), 5d)
+      .build();
+
+  public void timeSeries() throws IOException {
+    Path path1 = tempFile();
+    Path path2 = tempFile();
+    MappedTimeSeriesProvider.write(path1, ImmutableMap.of(ID1, SERIES1));
+    MappedTimeSeriesProvider.write(path2, ImmutableMap.of(ID1, SERIES3, ID2, SERIES2));
+
+    try (MappedTimeSeriesProvider provider = MappedTimeSeriesProvider.of(path1, path2)) {
+      Result<LocalDateDoubleTimeSeries> result1 = provider.timeSeries(ID1);
+      assertThat(result1.isSuccess()).isTrue();
+      assertThat(result1.getValue().toBuilder().build()).isEqualTo(SERIES1);
+
+      Result<LocalDateDoubleTimeSeries> result2 = provider.timeSeries(ID2);
+      assertThat(result2.isSuccess()).isTrue();
+      assertThat(result2.getValue().toBuilder().build()).isEqualTo(SERIES2);
+
+      Result<LocalDateDoubleTimeSeries> missing = provider.timeSeries(ID2_FEED);
+      assertThat(missing.isFailure()).isTrue();
+      assertThat(missing.getFailure().getReason()).isEqualTo(FailureReason.MISSING_DATA);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static Path tempFile() throws IOException {
+    Path path = Files.createTempFile("timeseries", ".bin");
+    path.toFile().deleteOnExit();
+    return path;
+  }
+
+}
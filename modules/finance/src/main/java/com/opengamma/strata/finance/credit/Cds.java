@@ -103,6 +103,12 @@ public final class Cds
    */
   @PropertyDefinition(validate = "notNull")
   private final boolean payAccruedOnDefault;
+  /**
+   * The expanded form, null unless this instance was created by {@link #withExpandedForm()}.
+   * <p>
+   * This is not a property, so is not included in equals, hashCode or serialization.
+   */
+  private transient ExpandedCds expanded;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -110,12 +116,20 @@ public final class Cds
    * <p>
    * Expanding a CDS causes the dates to be adjusted according to the relevant
    * holiday calendar. Other one-off calculations may also be performed.
+   * <p>
+   * If this CDS was created by {@link #withExpandedForm()}, the retained expanded form is returned.
    * 
    * @return the equivalent expanded CDS
    * @throws RuntimeException if unable to expand due to an invalid definition
    */
   @Override
   public ExpandedCds expand() {
+    ExpandedCds result = expanded;
+    return result != null ? result : createExpanded();
+  }
+
+  // creates the expanded form
+  private ExpandedCds createExpanded() {
     Period paymentInterval = getFeeLeg().getPeriodicPayments().getPaymentFrequency().getPeriod();
     StubConvention stubConvention = getFeeLeg().getPeriodicPayments().getStubConvention();
     DayCount accrualDayCount = getFeeLeg().getPeriodicPayments().getDayCount();
@@ -144,6 +158,24 @@ public final class Cds
         .build();
   }
 
+  /**
+   * Returns a copy of this CDS that retains its expanded form.
+   * <p>
+   * The copy is equal to this CDS, and {@link #expand()} on the copy returns the expanded form
+   * created by this method rather than expanding again.
+   *
+   * @return a copy of this CDS retaining its expanded form
+   * @throws RuntimeException if unable to expand due to an invalid definition
+   */
+  public Cds withExpandedForm() {
+    if (expanded != null) {
+      return this;
+    }
+    Cds copy = toBuilder().build();
+    copy.expanded = createExpanded();
+    return copy;
+  }
+
   // TODO add validation that notional currency matches the fee currency
 
   //------------------------- AUTOGENERATED START -------------------------
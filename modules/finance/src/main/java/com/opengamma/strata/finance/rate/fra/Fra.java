@@ -193,6 +193,12 @@ public final class Fra
    */
   @PropertyDefinition(validate = "notNull")
   private final FraDiscountingMethod discounting;
+  /**
+   * The expanded form, null unless this instance was created by {@link #withExpandedForm()}.
+   * <p>
+   * This is not a property, so is not included in equals, hashCode or serialization.
+   */
+  private transient ExpandedFra expanded;  // not a property
 
   //-------------------------------------------------------------------------
   @ImmutablePreBuild
@@ -231,12 +237,20 @@ public final class Fra
    * <p>
    * Expanding a FRA causes the dates to be adjusted according to the relevant
    * holiday calendar. Other one-off calculations may also be performed.
+   * <p>
+   * If this FRA was created by {@link #withExpandedForm()}, the retained expanded form is returned.
    * 
    * @return the equivalent expanded FRA
    * @throws RuntimeException if unable to expand due to an invalid definition
    */
   @Override
   public ExpandedFra expand() {
+    ExpandedFra result = expanded;
+    return result != null ? result : createExpanded();
+  }
+
+  // creates the expanded form
+  private ExpandedFra createExpanded() {
     LocalDate start = getBusinessDayAdjustment().orElse(BusinessDayAdjustment.NONE).adjust(startDate);
     LocalDate end = getBusinessDayAdjustment().orElse(BusinessDayAdjustment.NONE).adjust(endDate);
     return ExpandedFra.builder()
@@ -252,6 +266,24 @@ public final class Fra
         .build();
   }
 
+  /**
+   * Returns a copy of this FRA that retains its expanded form.
+   * <p>
+   * The copy is equal to this FRA, and {@link #expand()} on the copy returns the expanded form
+   * created by this method rather than expanding again.
+   *
+   * @return a copy of this FRA retaining its expanded form
+   * @throws RuntimeException if unable to expand due to an invalid definition
+   */
+  public Fra withExpandedForm() {
+    if (expanded != null) {
+      return this;
+    }
+    Fra copy = toBuilder().build();
+    copy.expanded = createExpanded();
+    return copy;
+  }
+
   // creates an Ibor or IborInterpolated observation
   private RateObservation createRateObservation() {
     LocalDate fixingDate = fixingDateOffset.adjust(startDate);
@@ -61,6 +61,12 @@ public final class Swap
    */
   @PropertyDefinition(validate = "notEmpty")
   private final ImmutableList<SwapLeg> legs;
+  /**
+   * The expanded form, null unless this instance was created by {@link #withExpandedForm()}.
+   * <p>
+   * This is not a property, so is not included in equals, hashCode or serialization.
+   */
+  private transient ExpandedSwap expanded;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -210,12 +216,20 @@ public final class Swap
    * <p>
    * Expanding a swap causes the dates to be adjusted according to the relevant
    * holiday calendar. Other one-off calculations may also be performed.
+   * <p>
+   * If this swap was created by {@link #withExpandedForm()}, the retained expanded form is returned.
    * 
    * @return the expended swap
    * @throws RuntimeException if unable to expand due to an invalid swap schedule or definition
    */
   @Override
   public ExpandedSwap expand() {
+    ExpandedSwap result = expanded;
+    return result != null ? result : createExpanded();
+  }
+
+  // creates the expanded form
+  private ExpandedSwap createExpanded() {
     return ExpandedSwap.builder()
         .legs(legs.stream()
             .map(SwapLeg::expand)
@@ -223,6 +237,26 @@ public final class Swap
         .build();
   }
 
+  /**
+   * Returns a copy of this swap that retains its expanded form.
+   * <p>
+   * The swap is expanded once by this method. Calling {@link #expand()} on the copy returns the
+   * retained expanded form, so the calculations for a trade can share one expansion without any lookup.
+   * The expanded form is only retained as long as the copy is referenced.
+   * The copy is equal to this swap.
+   *
+   * @return a copy of this swap retaining its expanded form
+   * @throws RuntimeException if unable to expand due to an invalid swap schedule or definition
+   */
+  public Swap withExpandedForm() {
+    if (expanded != null) {
+      return this;
+    }
+    Swap copy = toBuilder().build();
+    copy.expanded = createExpanded();
+    return copy;
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -27,6 +27,7 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.finance.rate.fra.FraDiscountingMethod.AFMA;
 import static com.opengamma.strata.finance.rate.fra.FraDiscountingMethod.ISDA;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.util.Optional;
 
@@ -228,6 +229,22 @@ public class FraTest {
     assertEquals(test.getDiscounting(), ISDA);
   }
 
+  public void test_withExpandedForm() {
+    Fra base = Fra.builder()
+        .buySell(BUY)
+        .notional(NOTIONAL_1M)
+        .startDate(date(2015, 6, 15))
+        .endDate(date(2015, 9, 15))
+        .fixedRate(0.25d)
+        .index(GBP_LIBOR_3M)
+        .build();
+    Fra test = base.withExpandedForm();
+    assertEquals(test, base);
+    assertSame(test.expand(), test.expand());
+    assertEquals(test.expand(), base.expand());
+    assertSame(test.withExpandedForm(), test);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     Fra test = Fra.builder()
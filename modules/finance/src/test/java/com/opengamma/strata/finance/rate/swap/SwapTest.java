@@ -22,6 +22,8 @@ import static com.opengamma.strata.finance.rate.swap.SwapLegType.IBOR;
 import static com.opengamma.strata.finance.rate.swap.SwapLegType.OTHER;
 import static com.opengamma.strata.finance.rate.swap.SwapLegType.OVERNIGHT;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import java.util.List;
 import java.util.Optional;
@@ -136,6 +138,17 @@ public class SwapTest {
     assertEquals(test.expand(), ExpandedSwap.of(MOCK_EXPANDED_GBP1, MOCK_EXPANDED_USD1));
   }
 
+  public void test_withExpandedForm() {
+    Swap base = Swap.of(MOCK_GBP1, MOCK_USD1);
+    Swap test = base.withExpandedForm();
+    assertEquals(test, base);
+    assertNotSame(test, base);
+    assertSame(test.expand(), test.expand());
+    assertEquals(test.expand(), base.expand());
+    assertNotSame(base.expand(), base.expand());
+    assertSame(test.withExpandedForm(), test);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     Swap test = Swap.of(MOCK_GBP1, MOCK_USD1);
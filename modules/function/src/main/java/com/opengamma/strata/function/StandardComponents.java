@@ -28,6 +28,8 @@ import com.opengamma.strata.finance.future.GenericFutureTrade;
 import com.opengamma.strata.finance.rate.deposit.TermDepositTrade;
 import com.opengamma.strata.finance.rate.fra.FraTrade;
 import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.function.marketdata.credit.IsdaCreditCurveMarketDataFunction;
+import com.opengamma.strata.function.marketdata.credit.IsdaYieldCurveMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.CurveGroupMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.DiscountCurveMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.DiscountFactorsMarketDataFunction;
@@ -112,6 +114,7 @@ public class StandardComponents {
    *  <li>Curve groups from par rates
    *  <li>Curves from curve groups
    *  <li>Discount factors and index rates from curves
+   *  <li>ISDA yield and credit curves from par rates
    * </ul>
    *
    * @return the standard market data functions
@@ -124,7 +127,9 @@ public class StandardComponents {
         new IborIndexRatesMarketDataFunction(),
         new OvernightIndexRatesMarketDataFunction(),
         new CurveGroupMarketDataFunction(RootFinderConfig.defaults()), // RootFinderConfig will be removed #343
-        new ParRatesMarketDataFunction());
+        new ParRatesMarketDataFunction(),
+        new IsdaYieldCurveMarketDataFunction(),
+        new IsdaCreditCurveMarketDataFunction());
   }
 
   /**
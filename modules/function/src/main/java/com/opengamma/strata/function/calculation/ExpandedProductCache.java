@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation;
+
+import java.util.function.UnaryOperator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.engine.calculation.TargetExpander;
+import com.opengamma.strata.finance.credit.Cds;
+import com.opengamma.strata.finance.credit.CdsTrade;
+import com.opengamma.strata.finance.rate.fra.Fra;
+import com.opengamma.strata.finance.rate.fra.FraTrade;
+import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
+import com.opengamma.strata.finance.rate.swap.Swap;
+import com.opengamma.strata.finance.rate.swap.SwapTrade;
+
+/**
+ * A target expander backed by a bounded cache of expanded products.
+ * <p>
+ * The products of swap, FRA and CDS trades are expanded once for each run of the calculation engine.
+ * The expander returns a trade equal to the input trade whose product retains its expanded form,
+ * created by {@code withExpandedForm()}. The calculation functions call {@code expand()} on the product
+ * as normal, and receive the retained expanded form without expanding the product again or looking it up.
+ * <p>
+ * The products that retain their expanded form are cached, keyed by the original product.
+ * When a later run contains an equal product, such as when the same book is loaded again, the cached
+ * product is used and expansion is avoided.
+ * <p>
+ * The use of this class is optional. It is passed to the calculation engine as its target expander.
+ * If the engine does not expand its targets, the functions expand the products as required.
+ * <p>
+ * The cache is bounded either by the number of products, or by their total weight,
+ * where the weight of a product is the number of payment periods in its expanded form.
+ * The least recently used products are evicted first.
+ * <p>
+ * The expanded form depends on the holiday calendars. If the holiday calendar data changes,
+ * then the cache must be {@linkplain #invalidateAll() invalidated}.
+ * <p>
+ * This class is thread-safe and is intended to be shared between runs of the calculation engine.
+ */
+public final class ExpandedProductCache implements TargetExpander {
+
+  /**
+   * The products retaining their expanded form, keyed by product.
+   */
+  private final Cache<Object, Object> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a cache that holds up to the specified number of products.
+   *
+   * @param maximumSize  the maximum number of products to cache
+   * @return the cache
+   */
+  public static ExpandedProductCache ofMaximumSize(long maximumSize) {
+    ArgChecker.notNegative(maximumSize, "maximumSize");
+    return new ExpandedProductCache(CacheBuilder.newBuilder().maximumSize(maximumSize).build());
+  }
+
+  /**
+   * Obtains a cache that holds products up to the specified total weight.
+   * <p>
+   * The weight of a product is the number of payment periods in its expanded form,
+   * with a minimum of one. This approximates the memory used by the expanded form.
+   *
+   * @param maximumWeight  the maximum total weight of the products to cache
+   * @return the cache
+   */
+  public static ExpandedProductCache ofMaximumWeight(long maximumWeight) {
+    ArgChecker.notNegative(maximumWeight, "maximumWeight");
+    return new ExpandedProductCache(CacheBuilder.newBuilder()
+        .maximumWeight(maximumWeight)
+        .weigher((Object key, Object value) -> weight(value))
+        .build());
+  }
+
+  // restricted constructor
+  private ExpandedProductCache(Cache<Object, Object> cache) {
+    this.cache = cache;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the approximate number of products in the cache.
+   *
+   * @return the number of cached products
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Removes all products from the cache.
+   * <p>
+   * This must be called if the holiday calendar data changes.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a target equal to the input target whose product retains its expanded form.
+   * <p>
+   * If the target contains no product that can be expanded, or the product cannot be expanded,
+   * the target is returned unchanged so the failure is reported by the calculation functions.
+   *
+   * @param target  the calculation target
+   * @return the target whose product retains its expanded form
+   */
+  @Override
+  public CalculationTarget expand(CalculationTarget target) {
+    ArgChecker.notNull(target, "target");
+    try {
+      if (target instanceof SwapTrade) {
+        SwapTrade trade = (SwapTrade) target;
+        Swap product = expanded(trade.getProduct(), Swap::withExpandedForm);
+        return product == trade.getProduct() ? trade : trade.toBuilder().product(product).build();
+      } else if (target instanceof FraTrade) {
+        FraTrade trade = (FraTrade) target;
+        Fra product = expanded(trade.getProduct(), Fra::withExpandedForm);
+        return product == trade.getProduct() ? trade : trade.toBuilder().product(product).build();
+      } else if (target instanceof CdsTrade) {
+        CdsTrade trade = (CdsTrade) target;
+        Cds product = expanded(trade.getProduct(), Cds::withExpandedForm);
+        return product == trade.getProduct() ? trade : trade.toBuilder().product(product).build();
+      }
+    } catch (RuntimeException ex) {
+      // the failure is reported when the functions expand the product
+    }
+    return target;
+  }
+
+  // returns the cached product retaining its expanded form, creating and caching it if necessary
+  @SuppressWarnings("unchecked")
+  private <T> T expanded(T product, UnaryOperator<T> withExpandedForm) {
+    Object cached = cache.getIfPresent(product);
+    if (cached != null) {
+      return (T) cached;
+    }
+    T expanded = withExpandedForm.apply(product);
+    Object existing = cache.asMap().putIfAbsent(product, expanded);
+    return existing != null ? (T) existing : expanded;
+  }
+
+  // the weight of a cached product, being the number of payment periods in its expanded form
+  private static int weight(Object product) {
+    if (product instanceof Swap) {
+      ExpandedSwap expanded = ((Swap) product).expand();
+      int periods = expanded.getLegs().stream()
+          .mapToInt(leg -> leg.getPaymentPeriods().size())
+          .sum();
+      return Math.max(periods, 1);
+    }
+    return 1;
+  }
+
+}
@@ -30,10 +30,13 @@ import com.opengamma.strata.finance.credit.SingleNameReferenceInformation;
 import com.opengamma.strata.function.calculation.AbstractCalculationFunction;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.key.IsdaCreditCurveKey;
 import com.opengamma.strata.market.key.IsdaIndexCreditCurveParRatesKey;
 import com.opengamma.strata.market.key.IsdaIndexRecoveryRateKey;
 import com.opengamma.strata.market.key.IsdaSingleNameCreditCurveParRatesKey;
 import com.opengamma.strata.market.key.IsdaSingleNameRecoveryRateKey;
+import com.opengamma.strata.market.key.IsdaYieldCurveKey;
 import com.opengamma.strata.market.key.IsdaYieldCurveParRatesKey;
 import com.opengamma.strata.market.value.CdsRecoveryRate;
 import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
@@ -91,7 +94,8 @@ public abstract class AbstractCdsFunction<T>
 
     Set<MarketDataKey<?>> rateCurveKeys = ImmutableSet.of(
         IsdaYieldCurveParRatesKey.of(notionalCurrency),
-        IsdaYieldCurveParRatesKey.of(feeCurrency));
+        IsdaYieldCurveParRatesKey.of(feeCurrency),
+        IsdaYieldCurveKey.of(notionalCurrency));
 
     ReferenceInformation referenceInformation = cds.getReferenceInformation();
     ReferenceInformationType cdsType = referenceInformation.getType();
@@ -103,11 +107,15 @@ public abstract class AbstractCdsFunction<T>
     switch (cdsType) {
       case SINGLE_NAME:
         SingleNameReferenceInformation singleNameReferenceInformation = (SingleNameReferenceInformation) referenceInformation;
-        spreadCurveKey = ImmutableSet.of(IsdaSingleNameCreditCurveParRatesKey.of(singleNameReferenceInformation));
+        spreadCurveKey = ImmutableSet.of(
+            IsdaSingleNameCreditCurveParRatesKey.of(singleNameReferenceInformation),
+            IsdaCreditCurveKey.of(singleNameReferenceInformation, notionalCurrency));
         break;
       case INDEX:
         IndexReferenceInformation indexReferenceInformation = (IndexReferenceInformation) referenceInformation;
-        spreadCurveKey = ImmutableSet.of(IsdaIndexCreditCurveParRatesKey.of(indexReferenceInformation));
+        spreadCurveKey = ImmutableSet.of(
+            IsdaIndexCreditCurveParRatesKey.of(indexReferenceInformation),
+            IsdaCreditCurveKey.of(indexReferenceInformation, notionalCurrency));
         break;
       default:
         throw new IllegalStateException("unknown reference information type: " + cdsType);
@@ -133,9 +141,9 @@ public abstract class AbstractCdsFunction<T>
   // execute for a single product
   protected T execute(CdsTrade trade, DefaultSingleCalculationMarketData provider) {
 
-    IsdaYieldCurveParRatesKey yieldCurveParRatesKey = IsdaYieldCurveParRatesKey.of(
-        trade.getProduct().getFeeLeg().getPeriodicPayments().getNotional().getCurrency());
-    IsdaYieldCurveParRates yieldCurveParRates = provider.getValue(yieldCurveParRatesKey);
+    Currency notionalCurrency = trade.getProduct().getFeeLeg().getPeriodicPayments().getNotional().getCurrency();
+    IsdaYieldCurveParRates yieldCurveParRates = provider.getValue(IsdaYieldCurveParRatesKey.of(notionalCurrency));
+    NodalCurve yieldCurve = provider.getValue(IsdaYieldCurveKey.of(notionalCurrency));
 
     ReferenceInformation referenceInformation = trade.getProduct().getReferenceInformation();
     ReferenceInformationType cdsType = referenceInformation.getType();
@@ -164,12 +172,16 @@ public abstract class AbstractCdsFunction<T>
       default:
         throw new IllegalStateException("unknown reference information type: " + cdsType);
     }
+    // the calibrated curves are shared between trades and measures, only bumped curves are calibrated here
+    NodalCurve creditCurve = provider.getValue(IsdaCreditCurveKey.of(referenceInformation, notionalCurrency));
     double recoveryRate = cdsRecoveryRate.getRecoveryRate();
     double scalingFactor = creditCurveParRates.getScalingFactor();
     return execute(
         trade.getProduct().expand(),
         yieldCurveParRates,
+        yieldCurve,
         creditCurveParRates,
+        creditCurve,
         provider.getValuationDate(),
         recoveryRate,
         scalingFactor);
@@ -179,7 +191,9 @@ public abstract class AbstractCdsFunction<T>
   protected abstract T execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor);
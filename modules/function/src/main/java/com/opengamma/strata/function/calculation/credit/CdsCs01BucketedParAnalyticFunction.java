@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.credit;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.finance.credit.ExpandedCds;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+
+/**
+ * Calculates vector CS01 of a {@code CdsTrade} for each of a set of scenarios.
+ * <p>
+ * This calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node.
+ * The sensitivities are calculated analytically rather than by finite difference.
+ */
+public class CdsCs01BucketedParAnalyticFunction
+    extends AbstractCdsFunction<CurveCurrencyParameterSensitivities> {
+
+  @Override
+  protected CurveCurrencyParameterSensitivities execute(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    return pricer().cs01BucketedParAnalytic(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+}
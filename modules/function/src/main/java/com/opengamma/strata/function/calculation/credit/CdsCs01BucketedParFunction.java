@@ -10,6 +10,7 @@ import java.time.LocalDate;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 
 /**
@@ -24,13 +25,16 @@ public class CdsCs01BucketedParFunction
   protected CurveCurrencyParameterSensitivities execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor) {
 
     return pricer().cs01BucketedPar(
-        product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate, scalingFactor);
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
   }
 
 }
@@ -11,6 +11,7 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
 
 /**
  * Calculates scalar CS01 of a {@code CdsTrade} for each of a set of scenarios.
@@ -24,13 +25,16 @@ public class CdsCs01ParallelHazardFunction
   protected CurrencyAmount execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor) {
 
     return pricer().cs01ParallelHazard(
-        product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate, scalingFactor);
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
   }
 
 }
@@ -37,6 +37,25 @@ public final class CdsFunctionGroups {
           .addFunction(Measure.CS01_BUCKETED_HAZARD, CdsCs01BucketedHazardFunction.class)
           .build();
 
+  /**
+   * The group with pricers based on discounting methods, calculating bucketed sensitivities analytically.
+   */
+  private static final FunctionGroup<CdsTrade> ANALYTIC_GROUP =
+      DefaultFunctionGroup.builder(CdsTrade.class).name("CdsAnalytic")
+          .addFunction(Measure.PRESENT_VALUE, CdsPvFunction.class)
+          .addFunction(Measure.PAR_RATE, CdsParRateFunction.class)
+          .addFunction(Measure.RECOVERY01, CdsRecovery01Function.class)
+          .addFunction(Measure.JUMP_TO_DEFAULT, CdsJumpToDefaultFunction.class)
+          .addFunction(Measure.IR01_PARALLEL_PAR, CdsIr01ParallelParFunction.class)
+          .addFunction(Measure.IR01_PARALLEL_ZERO, CdsIr01ParallelZeroFunction.class)
+          .addFunction(Measure.IR01_BUCKETED_PAR, CdsIr01BucketedParFunction.class)
+          .addFunction(Measure.IR01_BUCKETED_ZERO, CdsIr01BucketedZeroAnalyticFunction.class)
+          .addFunction(Measure.CS01_PARALLEL_PAR, CdsCs01ParallelParFunction.class)
+          .addFunction(Measure.CS01_PARALLEL_HAZARD, CdsCs01ParallelHazardFunction.class)
+          .addFunction(Measure.CS01_BUCKETED_PAR, CdsCs01BucketedParAnalyticFunction.class)
+          .addFunction(Measure.CS01_BUCKETED_HAZARD, CdsCs01BucketedHazardAnalyticFunction.class)
+          .build();
+
   /**
    * Restricted constructor.
    */
@@ -63,4 +82,24 @@ public final class CdsFunctionGroups {
     return DISCOUNTING_GROUP;
   }
 
+  /**
+   * Obtains the function group providing all built-in measures on CDS trades,
+   * using the standard discounting calculation method with analytic bucketed sensitivities.
+   * <p>
+   * The measures are the same as those of {@link #discounting()}.
+   * The bucketed sensitivities below are calculated from analytic curve sensitivities
+   * in a single pass, instead of repricing the trade once for each bumped curve node:
+   * <ul>
+   *   <li>{@linkplain Measure#IR01_BUCKETED_ZERO Vector curve node IR01, based on zero rates}
+   *   <li>{@linkplain Measure#CS01_BUCKETED_PAR Vector curve node CS01, based on credit par rates}
+   *   <li>{@linkplain Measure#CS01_BUCKETED_HAZARD Vector curve node CS01, based on hazard rates}
+   * </ul>
+   * The bucketed IR01 based on par interest rates is calculated by finite difference in both groups.
+   * 
+   * @return the function group
+   */
+  public static FunctionGroup<CdsTrade> analytic() {
+    return ANALYTIC_GROUP;
+  }
+
 }
@@ -10,6 +10,7 @@ import java.time.LocalDate;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
 
 /**
  * Calculates the par rate of a {@code CdsTrade} for each of a set of scenarios.
@@ -21,12 +22,14 @@ public class CdsParRateFunction
   protected Double execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor) {
 
-    return pricer().parRate(product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate);
+    return pricer().parRate(product, yieldCurve, creditCurve, valuationDate, recoveryRate);
   }
 
 }
@@ -11,11 +11,18 @@ import java.util.Set;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxMatrix;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.RateIndex;
+import com.opengamma.strata.basics.market.FxRateKey;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.engine.marketdata.SingleCalculationMarketData;
 import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.key.DiscountCurveKey;
 import com.opengamma.strata.market.key.IndexRateKey;
+import com.opengamma.strata.market.key.RateIndexCurveKey;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
@@ -61,4 +68,47 @@ public final class MarketDataUtils {
         .build();
   }
 
+  /**
+   * Creates a rates provider from a set of market data containing a discounting curve for each currency,
+   * and forward curves and fixing series for a given set of indices.
+   * <p>
+   * The FX rates between the currencies are taken from the market data.
+   * The curves of the rates provider can be replaced, for example when bumping the curves to compute
+   * finite difference sensitivities.
+   * 
+   * @param marketData  the market data
+   * @param currencies  the currencies of the discounting curves, not empty
+   * @param indices  the indices
+   * @return the rates provider
+   */
+  public static ImmutableRatesProvider toRatesProvider(
+      SingleCalculationMarketData marketData,
+      Set<Currency> currencies,
+      Set<? extends Index> indices) {
+
+    ArgChecker.notEmpty(currencies, "currencies");
+    Currency baseCurrency = Iterables.getFirst(currencies, null);
+    FxMatrix.Builder fxMatrix = FxMatrix.builder();
+    currencies.stream()
+        .filter(currency -> !currency.equals(baseCurrency))
+        .forEach(currency -> fxMatrix.addRate(
+            baseCurrency,
+            currency,
+            marketData.getValue(FxRateKey.of(baseCurrency, currency)).fxRate(baseCurrency, currency)));
+
+    return ImmutableRatesProvider.builder()
+        .valuationDate(marketData.getValuationDate())
+        .fxMatrix(fxMatrix.build())
+        .discountCurves(currencies.stream()
+            .collect(toImmutableMap(Function.identity(), k -> marketData.getValue(DiscountCurveKey.of(k)))))
+        .indexCurves(indices.stream()
+            .filter(RateIndex.class::isInstance)
+            .collect(toImmutableMap(
+                Function.identity(),
+                k -> marketData.getValue(RateIndexCurveKey.of((RateIndex) k)))))
+        .timeSeries(indices.stream()
+            .collect(toImmutableMap(Function.identity(), k -> marketData.getTimeSeries(IndexRateKey.of(k)))))
+        .build();
+  }
+
 }
@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.function.calculation.rate.deposit;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
@@ -79,9 +81,25 @@ public abstract class AbstractTermDepositFunction<T>
   @Override
   public ScenarioResult<T> execute(TermDepositTrade trade, CalculationMarketData marketData) {
     ExpandedTermDeposit product = trade.getProduct().expand();
-    return IntStream.range(0, marketData.getScenarioCount())
+    List<RatesProvider> providers = IntStream.range(0, marketData.getScenarioCount())
         .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
         .map(MarketDataRatesProvider::new)
+        .collect(toImmutableList());
+    return execute(product, providers);
+  }
+
+  /**
+   * Calculates the result for each scenario.
+   * <p>
+   * By default the result is calculated separately for each scenario.
+   * Subclasses can override this to calculate the results for all scenarios together.
+   *
+   * @param product  the expanded term deposit
+   * @param providers  the rates providers, one for each scenario
+   * @return the result for each scenario
+   */
+  protected ScenarioResult<T> execute(ExpandedTermDeposit product, List<RatesProvider> providers) {
+    return providers.stream()
         .map(provider -> execute(product, provider))
         .collect(toScenarioResult(isConvertCurrencies()));
   }
@@ -5,10 +5,12 @@
  */
 package com.opengamma.strata.function.calculation.rate.fra;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
@@ -106,9 +108,25 @@ public abstract class AbstractFraFunction<T>
   @Override
   public ScenarioResult<T> execute(FraTrade trade, CalculationMarketData marketData) {
     ExpandedFra product = trade.getProduct().expand();
-    return IntStream.range(0, marketData.getScenarioCount())
+    List<RatesProvider> providers = IntStream.range(0, marketData.getScenarioCount())
         .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
         .map(MarketDataRatesProvider::new)
+        .collect(toImmutableList());
+    return execute(product, providers);
+  }
+
+  /**
+   * Calculates the result for each scenario.
+   * <p>
+   * By default the result is calculated separately for each scenario.
+   * Subclasses can override this to calculate the results for all scenarios together.
+   *
+   * @param product  the expanded FRA
+   * @param providers  the rates providers, one for each scenario
+   * @return the result for each scenario
+   */
+  protected ScenarioResult<T> execute(ExpandedFra product, List<RatesProvider> providers) {
+    return providers.stream()
         .map(provider -> execute(product, provider))
         .collect(toScenarioResult(isConvertCurrencies()));
   }
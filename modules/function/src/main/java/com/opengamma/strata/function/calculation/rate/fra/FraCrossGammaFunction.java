@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.rate.fra;
+
+import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.analytics.math.differentiation.FiniteDifferenceType;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
+import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.finance.rate.fra.ExpandedFra;
+import com.opengamma.strata.finance.rate.fra.Fra;
+import com.opengamma.strata.finance.rate.fra.FraTrade;
+import com.opengamma.strata.function.calculation.rate.MarketDataUtils;
+import com.opengamma.strata.market.sensitivity.CrossGammaParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
+
+/**
+ * Calculates the cross-gamma, the second-order present value sensitivity to the parameters of all
+ * the curves, of a {@link FraTrade} for each of a set of scenarios.
+ * <p>
+ * The FRA is expanded once and shared by the calculations of all the scenarios.
+ * The delta for each bumped curve parameter is computed by algorithmic differentiation,
+ * and the bumped deltas are evaluated in parallel as fork-join tasks if the calculation is running
+ * in a fork-join pool, typically that of the calculation runner, or in the calling thread otherwise.
+ * The curves must be nodal curves.
+ */
+public class FraCrossGammaFunction
+    extends AbstractFraFunction<CrossGammaParameterSensitivity> {
+
+  /**
+   * The calculator, evaluating the bumped deltas in the fork-join pool of the calculation, if there is one.
+   */
+  private static final CurveGammaCalculator CALCULATOR =
+      new CurveGammaCalculator(FiniteDifferenceType.FORWARD, ONE_BASIS_POINT);
+
+  @Override
+  public ScenarioResult<CrossGammaParameterSensitivity> execute(FraTrade trade, CalculationMarketData marketData) {
+    Fra fra = trade.getProduct();
+    ExpandedFra expandedFra = fra.expand();
+    Currency currency = fra.getCurrency();
+    Set<IborIndex> indices = new HashSet<>();
+    indices.add(fra.getIndex());
+    fra.getIndexInterpolated().ifPresent(indices::add);
+    return IntStream.range(0, marketData.getScenarioCount())
+        .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
+        .map(md -> MarketDataUtils.toRatesProvider(md, ImmutableSet.of(currency), indices))
+        .map(provider -> CALCULATOR.calculateCrossGamma(provider, currency, p -> sensitivity(expandedFra, p)))
+        .map(gamma -> gamma.multipliedBy(ONE_BASIS_POINT * ONE_BASIS_POINT))
+        .collect(toScenarioResult(isConvertCurrencies()));
+  }
+
+  @Override
+  protected CrossGammaParameterSensitivity execute(ExpandedFra product, RatesProvider provider) {
+    throw new UnsupportedOperationException("execute(FraTrade) overridden instead");
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates the curve parameter sensitivity for a bumped rates provider
+  private CurveCurrencyParameterSensitivities sensitivity(ExpandedFra expandedFra, RatesProvider provider) {
+    PointSensitivities pointSensitivities = pricer().presentValueSensitivity(expandedFra, provider);
+    return provider.curveParameterSensitivity(pointSensitivities);
+  }
+
+}
@@ -30,6 +30,7 @@ public final class FraFunctionGroups {
           .addFunction(Measure.PV01, FraPv01Function.class)
           .addFunction(Measure.BUCKETED_PV01, FraBucketedPv01Function.class)
           .addFunction(Measure.BUCKETED_GAMMA_PV01, FraBucketedGammaPv01Function.class)
+          .addFunction(Measure.CROSS_GAMMA, FraCrossGammaFunction.class)
           .build();
 
   /**
@@ -52,6 +53,7 @@ public final class FraFunctionGroups {
    *   <li>{@linkplain Measure#PV01 PV01}
    *   <li>{@linkplain Measure#BUCKETED_PV01 Bucketed PV01}
    *   <li>{@linkplain Measure#BUCKETED_GAMMA_PV01 Bucketed Gamma PV01}
+   *   <li>{@linkplain Measure#CROSS_GAMMA Cross gamma}
    * </ul>
    * 
    * @return the function group
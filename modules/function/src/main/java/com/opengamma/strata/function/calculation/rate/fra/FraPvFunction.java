@@ -5,12 +5,20 @@
  */
 package com.opengamma.strata.function.calculation.rate.fra;
 
+import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
+
+import java.util.Arrays;
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.finance.rate.fra.ExpandedFra;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
 /**
  * Calculates the present value of a {@code FraTrade} for each of a set of scenarios.
+ * <p>
+ * The present values of all the scenarios are calculated together by the pricer.
  */
 public class FraPvFunction
     extends AbstractFraFunction<CurrencyAmount> {
@@ -20,4 +28,12 @@ public class FraPvFunction
     return pricer().presentValue(product, provider);
   }
 
+  @Override
+  protected ScenarioResult<CurrencyAmount> execute(ExpandedFra product, List<RatesProvider> providers) {
+    double[] presentValues = pricer().presentValue(product, providers);
+    return Arrays.stream(presentValues)
+        .mapToObj(presentValue -> CurrencyAmount.of(product.getCurrency(), presentValue))
+        .collect(toScenarioResult(isConvertCurrencies()));
+  }
+
 }
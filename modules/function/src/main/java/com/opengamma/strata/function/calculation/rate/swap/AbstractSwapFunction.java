@@ -5,9 +5,11 @@
  */
 package com.opengamma.strata.function.calculation.rate.swap;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
@@ -100,11 +102,37 @@ public abstract class AbstractSwapFunction<T>
   @Override
   public ScenarioResult<T> execute(SwapTrade trade, CalculationMarketData marketData) {
     ExpandedSwap product = trade.getProduct().expand();
+    return execute(product, ratesProviders(marketData));
+  }
+
+  /**
+   * Calculates the result for each scenario using rates providers that have already been created.
+   * <p>
+   * This allows the expanded swap and the rates providers to be shared between the calculations
+   * of multiple measures. By default the result is calculated separately for each scenario.
+   * Subclasses can override this to calculate the results for all scenarios together.
+   *
+   * @param product  the expanded swap
+   * @param providers  the rates providers, one for each scenario
+   * @return the result for each scenario
+   */
+  protected ScenarioResult<T> execute(ExpandedSwap product, List<RatesProvider> providers) {
+    return providers.stream()
+        .map(provider -> execute(product, provider))
+        .collect(toScenarioResult(isConvertCurrencies()));
+  }
+
+  /**
+   * Creates a rates provider for each scenario in the market data.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the rates providers, one for each scenario
+   */
+  static List<RatesProvider> ratesProviders(CalculationMarketData marketData) {
     return IntStream.range(0, marketData.getScenarioCount())
         .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
         .map(MarketDataRatesProvider::new)
-        .map(provider -> execute(product, provider))
-        .collect(toScenarioResult(isConvertCurrencies()));
+        .collect(toImmutableList());
   }
 
   /**
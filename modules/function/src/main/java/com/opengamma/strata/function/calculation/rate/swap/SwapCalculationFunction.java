@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.rate.swap;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.calculation.function.CalculationMultiFunction;
+import com.opengamma.strata.engine.config.Measure;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
+import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Calculates multiple measures for a {@code SwapTrade} for each of a set of scenarios.
+ * <p>
+ * The swap is expanded once and one rates provider is created for each scenario.
+ * These are shared by the calculations of all the requested measures.
+ * <p>
+ * The supported built-in measures are:
+ * <ul>
+ *   <li>{@linkplain Measure#PRESENT_VALUE Present value}
+ *   <li>{@linkplain Measure#EXPLAIN_PRESENT_VALUE Explain present value}
+ *   <li>{@linkplain Measure#LEG_PRESENT_VALUE Leg present value}
+ *   <li>{@linkplain Measure#PV01 PV01}
+ *   <li>{@linkplain Measure#BUCKETED_PV01 Bucketed PV01}
+ *   <li>{@linkplain Measure#PAR_RATE Par rate}
+ *   <li>{@linkplain Measure#ACCRUED_INTEREST Accrued interest}
+ * </ul>
+ * <p>
+ * The present values of all the scenarios are calculated together by the pricer of the present value function.
+ * <p>
+ * The default reporting currency is determined from the first leg.
+ */
+public class SwapCalculationFunction
+    implements CalculationMultiFunction<SwapTrade> {
+
+  /**
+   * The functions used to calculate each measure, keyed by the measure.
+   * Only their single scenario calculation is used.
+   */
+  private static final ImmutableMap<Measure, AbstractSwapFunction<?>> FUNCTIONS =
+      ImmutableMap.<Measure, AbstractSwapFunction<?>>builder()
+          .put(Measure.PRESENT_VALUE, new SwapPvFunction())
+          .put(Measure.EXPLAIN_PRESENT_VALUE, new SwapExplainPvFunction())
+          .put(Measure.LEG_PRESENT_VALUE, new SwapLegPvFunction())
+          .put(Measure.PV01, new SwapPv01Function())
+          .put(Measure.BUCKETED_PV01, new SwapBucketedPv01Function())
+          .put(Measure.PAR_RATE, new SwapParRateFunction())
+          .put(Measure.ACCRUED_INTEREST, new SwapAccruedInterestFunction())
+          .build();
+
+  /**
+   * Returns the measures that can be calculated by this function.
+   *
+   * @return the measures that can be calculated by this function
+   */
+  public static ImmutableSet<Measure> supportedMeasures() {
+    return FUNCTIONS.keySet();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public FunctionRequirements requirements(SwapTrade trade) {
+    // the market data requirements are the same for all the measures
+    return FUNCTIONS.get(Measure.PRESENT_VALUE).requirements(trade);
+  }
+
+  @Override
+  public Map<Measure, Result<?>> execute(SwapTrade trade, Set<Measure> measures, CalculationMarketData marketData) {
+    ExpandedSwap product = trade.getProduct().expand();
+    List<RatesProvider> providers = AbstractSwapFunction.ratesProviders(marketData);
+    return measures.stream()
+        .collect(toImmutableMap(measure -> measure, measure -> calculate(measure, product, providers)));
+  }
+
+  /**
+   * Returns the currency of the first leg.
+   *
+   * @param target  the swap that is the target of the calculation
+   * @return the currency of the first leg
+   */
+  @Override
+  public Optional<Currency> defaultReportingCurrency(SwapTrade target) {
+    return Optional.of(target.getProduct().getLegs().get(0).getCurrency());
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates a single measure for all scenarios
+  private Result<?> calculate(Measure measure, ExpandedSwap product, List<RatesProvider> providers) {
+    AbstractSwapFunction<?> function = FUNCTIONS.get(measure);
+
+    if (function == null) {
+      return Result.failure(
+          FailureReason.INVALID_INPUT,
+          "Measure {} is not supported by {}",
+          measure,
+          getClass().getSimpleName());
+    }
+    return Result.of(() -> function.execute(product, providers));
+  }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.rate.swap;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
+
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.opengamma.analytics.math.differentiation.FiniteDifferenceType;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
+import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
+import com.opengamma.strata.finance.rate.swap.Swap;
+import com.opengamma.strata.finance.rate.swap.SwapLeg;
+import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.function.calculation.rate.MarketDataUtils;
+import com.opengamma.strata.market.sensitivity.CrossGammaParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
+
+/**
+ * Calculates the cross-gamma, the second-order present value sensitivity to the parameters of all
+ * the curves, of a {@link SwapTrade} for each of a set of scenarios.
+ * <p>
+ * The swap is expanded once and shared by the calculations of all the scenarios.
+ * The delta for each bumped curve parameter is computed by algorithmic differentiation,
+ * and the bumped deltas are evaluated in parallel as fork-join tasks if the calculation is running
+ * in a fork-join pool, typically that of the calculation runner, or in the calling thread otherwise.
+ * The curves must be nodal curves.
+ */
+public class SwapCrossGammaFunction
+    extends AbstractSwapFunction<CrossGammaParameterSensitivity> {
+
+  /**
+   * The calculator, evaluating the bumped deltas in the fork-join pool of the calculation, if there is one.
+   */
+  private static final CurveGammaCalculator CALCULATOR =
+      new CurveGammaCalculator(FiniteDifferenceType.FORWARD, ONE_BASIS_POINT);
+
+  @Override
+  public ScenarioResult<CrossGammaParameterSensitivity> execute(SwapTrade trade, CalculationMarketData marketData) {
+    Swap swap = trade.getProduct();
+    ExpandedSwap expandedSwap = swap.expand();
+    Set<Currency> currencies = swap.getLegs().stream().map(SwapLeg::getCurrency).collect(toImmutableSet());
+    Set<Index> indices = swap.allIndices();
+    Currency currency = swap.getLegs().get(0).getCurrency();
+    return IntStream.range(0, marketData.getScenarioCount())
+        .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
+        .map(md -> MarketDataUtils.toRatesProvider(md, currencies, indices))
+        .map(provider -> CALCULATOR.calculateCrossGamma(provider, currency, p -> sensitivity(expandedSwap, p)))
+        .map(gamma -> gamma.multipliedBy(ONE_BASIS_POINT * ONE_BASIS_POINT))
+        .collect(toScenarioResult(isConvertCurrencies()));
+  }
+
+  @Override
+  protected CrossGammaParameterSensitivity execute(ExpandedSwap product, RatesProvider provider) {
+    throw new UnsupportedOperationException("execute(SwapTrade) overridden instead");
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates the curve parameter sensitivity for a bumped rates provider
+  private CurveCurrencyParameterSensitivities sensitivity(ExpandedSwap expandedSwap, RatesProvider provider) {
+    PointSensitivities pointSensitivities = pricer().presentValueSensitivity(expandedSwap, provider).build();
+    return provider.curveParameterSensitivity(pointSensitivities);
+  }
+
+}
@@ -24,14 +24,15 @@ public final class SwapFunctionGroups {
   private static final FunctionGroup<SwapTrade> DISCOUNTING_GROUP =
       DefaultFunctionGroup.builder(SwapTrade.class).name("SwapDiscounting")
           .addFunction(Measure.LEG_INITIAL_NOTIONAL, SwapLegNotionalFunction.class)
-          .addFunction(Measure.PRESENT_VALUE, SwapPvFunction.class)
-          .addFunction(Measure.EXPLAIN_PRESENT_VALUE, SwapExplainPvFunction.class)
-          .addFunction(Measure.LEG_PRESENT_VALUE, SwapLegPvFunction.class)
-          .addFunction(Measure.PV01, SwapPv01Function.class)
-          .addFunction(Measure.BUCKETED_PV01, SwapBucketedPv01Function.class)
+          .addFunction(Measure.PRESENT_VALUE, SwapCalculationFunction.class)
+          .addFunction(Measure.EXPLAIN_PRESENT_VALUE, SwapCalculationFunction.class)
+          .addFunction(Measure.LEG_PRESENT_VALUE, SwapCalculationFunction.class)
+          .addFunction(Measure.PV01, SwapCalculationFunction.class)
+          .addFunction(Measure.BUCKETED_PV01, SwapCalculationFunction.class)
           .addFunction(Measure.BUCKETED_GAMMA_PV01, SwapBucketedGammaPv01Function.class)
-          .addFunction(Measure.PAR_RATE, SwapParRateFunction.class)
-          .addFunction(Measure.ACCRUED_INTEREST, SwapAccruedInterestFunction.class)
+          .addFunction(Measure.CROSS_GAMMA, SwapCrossGammaFunction.class)
+          .addFunction(Measure.PAR_RATE, SwapCalculationFunction.class)
+          .addFunction(Measure.ACCRUED_INTEREST, SwapCalculationFunction.class)
           .build();
 
   /**
@@ -45,6 +46,9 @@ public final class SwapFunctionGroups {
    * Obtains the function group providing all built-in measures on Swap trades,
    * using the standard discounting calculation method.
    * <p>
+   * The measures calculated by {@link SwapCalculationFunction} are calculated together,
+   * sharing the expanded swap and the market data for each scenario.
+   * <p>
    * The supported built-in measures are:
    * <ul>
    *   <li>{@linkplain Measure#LEG_INITIAL_NOTIONAL Leg initial notional}
@@ -52,6 +56,7 @@ public final class SwapFunctionGroups {
    *   <li>{@linkplain Measure#LEG_PRESENT_VALUE Leg present value}
    *   <li>{@linkplain Measure#PV01 PV01}
    *   <li>{@linkplain Measure#BUCKETED_GAMMA_PV01 Gamma PV01}
+   *   <li>{@linkplain Measure#CROSS_GAMMA Cross gamma}
    *   <li>{@linkplain Measure#PAR_RATE Par rate}
    *   <li>{@linkplain Measure#ACCRUED_INTEREST Accrued interest}
    * </ul>
@@ -5,16 +5,30 @@
  */
 package com.opengamma.strata.function.calculation.rate.swap;
 
+import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
+
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
 /**
  * Calculates the present value of a {@code SwapTrade} for each of a set of scenarios.
+ * <p>
+ * The present values of all the scenarios are calculated together, each payment period
+ * being priced for all the scenarios at once.
  */
 public class SwapPvFunction
     extends AbstractSwapFunction<MultiCurrencyAmount> {
 
+  @Override
+  protected ScenarioResult<MultiCurrencyAmount> execute(ExpandedSwap product, List<RatesProvider> providers) {
+    return pricer().presentValue(product, providers).stream()
+        .collect(toScenarioResult(isConvertCurrencies()));
+  }
+
   @Override
   protected MultiCurrencyAmount execute(ExpandedSwap product, RatesProvider provider) {
     return pricer().presentValue(product, provider);
@@ -32,6 +32,10 @@ public final class CurveInterpolators {
   public static final CurveInterpolator DOUBLE_QUADRATIC =
       CurveInterpolator.of(StandardCurveInterpolators.DOUBLE_QUADRATIC.getName());
 
+  /** Natural cubic spline interpolator. */
+  public static final CurveInterpolator NATURAL_CUBIC_SPLINE =
+      CurveInterpolator.of(StandardCurveInterpolators.NATURAL_CUBIC_SPLINE.getName());
+
   /** Log natural cubic interpolation with monotonicity filter. */
   public static final CurveInterpolator LOG_NATURAL_CUBIC_MONOTONE =
       CurveInterpolator.of(StandardCurveInterpolators.LOG_NATURAL_CUBIC_MONOTONE.getName());
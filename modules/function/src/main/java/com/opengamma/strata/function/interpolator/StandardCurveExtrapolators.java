@@ -13,6 +13,9 @@ import com.opengamma.analytics.math.interpolation.LogLinearExtrapolator1D;
 import com.opengamma.analytics.math.interpolation.ProductPolynomialExtrapolator1D;
 import com.opengamma.analytics.math.interpolation.QuadraticPolynomialLeftExtrapolator;
 import com.opengamma.analytics.math.interpolation.ReciprocalExtrapolator1D;
+import com.opengamma.strata.basics.interpolator.BindableCurveExtrapolator;
+import com.opengamma.strata.basics.interpolator.BoundCurveExtrapolators;
+import com.opengamma.strata.basics.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.basics.interpolator.CurveExtrapolator;
 
 /**
@@ -24,14 +27,17 @@ import com.opengamma.strata.basics.interpolator.CurveExtrapolator;
  * <p>
  * The extrapolators are all implementations of {@link Extrapolator1D} for compatibility with legacy code.
  * This should be regarded as an implementation detail and is likely to change soon.
+ * <p>
+ * The linear, log linear and flat extrapolators also implement {@link BindableCurveExtrapolator},
+ * allowing curves to extrapolate without the legacy code.
  */
 final class StandardCurveExtrapolators {
 
   /** Linear extrapolator. */
-  public static final CurveExtrapolator LINEAR = new LinearExtrapolator1D();
+  public static final CurveExtrapolator LINEAR = new Linear();
 
   /** Log linear extrapolator. */
-  public static final CurveExtrapolator LOG_LINEAR = new LogLinearExtrapolator1D();
+  public static final CurveExtrapolator LOG_LINEAR = new LogLinear();
 
   /** Quadratic left extrapolator. */
   public static final CurveExtrapolator QUADRATIC_LEFT = new QuadraticPolynomialLeftExtrapolator();
@@ -43,7 +49,7 @@ final class StandardCurveExtrapolators {
   public static final CurveExtrapolator RECIPROCAL = new ReciprocalExtrapolator1D();
 
   /** Flat extrapolator. */
-  public static final CurveExtrapolator FLAT = new FlatExtrapolator1D();
+  public static final CurveExtrapolator FLAT = new Flat();
 
   /** Extrapolator that does no extrapolation and delegates to the interpolator. */
   public static final CurveExtrapolator INTERPOLATOR = new InterpolatorExtrapolator();
@@ -52,4 +58,56 @@ final class StandardCurveExtrapolators {
   private StandardCurveExtrapolators() {
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Linear extrapolator that can be bound to curve nodes.
+   */
+  private static final class Linear extends LinearExtrapolator1D implements BindableCurveExtrapolator {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public BoundCurveInterpolator bindLeft(double[] xValues, double[] yValues, BoundCurveInterpolator interpolator) {
+      return BoundCurveExtrapolators.linear(xValues, yValues, 0, interpolator);
+    }
+
+    @Override
+    public BoundCurveInterpolator bindRight(double[] xValues, double[] yValues, BoundCurveInterpolator interpolator) {
+      return BoundCurveExtrapolators.linear(xValues, yValues, xValues.length - 1, interpolator);
+    }
+  }
+
+  /**
+   * Log linear extrapolator that can be bound to curve nodes.
+   */
+  private static final class LogLinear extends LogLinearExtrapolator1D implements BindableCurveExtrapolator {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public BoundCurveInterpolator bindLeft(double[] xValues, double[] yValues, BoundCurveInterpolator interpolator) {
+      return BoundCurveExtrapolators.logLinear(xValues, yValues, 0, interpolator);
+    }
+
+    @Override
+    public BoundCurveInterpolator bindRight(double[] xValues, double[] yValues, BoundCurveInterpolator interpolator) {
+      return BoundCurveExtrapolators.logLinear(xValues, yValues, xValues.length - 1, interpolator);
+    }
+  }
+
+  /**
+   * Flat extrapolator that can be bound to curve nodes.
+   */
+  private static final class Flat extends FlatExtrapolator1D implements BindableCurveExtrapolator {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public BoundCurveInterpolator bindLeft(double[] xValues, double[] yValues, BoundCurveInterpolator interpolator) {
+      return BoundCurveExtrapolators.flat(yValues, 0);
+    }
+
+    @Override
+    public BoundCurveInterpolator bindRight(double[] xValues, double[] yValues, BoundCurveInterpolator interpolator) {
+      return BoundCurveExtrapolators.flat(yValues, yValues.length - 1);
+    }
+  }
+
 }
@@ -11,7 +11,11 @@ import com.opengamma.analytics.math.interpolation.Interpolator1D;
 import com.opengamma.analytics.math.interpolation.LinearInterpolator1D;
 import com.opengamma.analytics.math.interpolation.LogLinearInterpolator1D;
 import com.opengamma.analytics.math.interpolation.LogNaturalCubicMonotonicityPreservingInterpolator1D;
+import com.opengamma.analytics.math.interpolation.NaturalCubicSplineInterpolator1D;
 import com.opengamma.analytics.math.interpolation.TimeSquareInterpolator1D;
+import com.opengamma.strata.basics.interpolator.BindableCurveInterpolator;
+import com.opengamma.strata.basics.interpolator.BoundCurveInterpolator;
+import com.opengamma.strata.basics.interpolator.BoundCurveInterpolators;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 
 /**
@@ -23,6 +27,9 @@ import com.opengamma.strata.basics.interpolator.CurveInterpolator;
  * <p>
  * Currently they are all implementations of {@link Interpolator1D} for compatibility with legacy code.
  * This should be regarded as an implementation detail and is likely to change soon.
+ * <p>
+ * The linear, log linear, double quadratic and natural cubic spline interpolators also implement
+ * {@link BindableCurveInterpolator}, allowing curves to interpolate without the legacy code.
  */
 final class StandardCurveInterpolators {
 
@@ -31,16 +38,19 @@ final class StandardCurveInterpolators {
   }
 
   /** Linear interpolator. */
-  public static final CurveInterpolator LINEAR = new LinearInterpolator1D();
+  public static final CurveInterpolator LINEAR = new Linear();
 
   /** Exponential interpolator. */
   public static final CurveInterpolator EXPONENTIAL = new ExponentialInterpolator1D();
 
   /** Log linear interpolator. */
-  public static final CurveInterpolator LOG_LINEAR = new LogLinearInterpolator1D();
+  public static final CurveInterpolator LOG_LINEAR = new LogLinear();
 
   /** Double quadratic interpolator. */
-  public static final CurveInterpolator DOUBLE_QUADRATIC = new DoubleQuadraticInterpolator1D();
+  public static final CurveInterpolator DOUBLE_QUADRATIC = new DoubleQuadratic();
+
+  /** Natural cubic spline interpolator. */
+  public static final CurveInterpolator NATURAL_CUBIC_SPLINE = new NaturalCubicSpline();
 
   /** Log natural cubic interpolation with monotonicity filter. */
   public static final CurveInterpolator LOG_NATURAL_CUBIC_MONOTONE = new LogNaturalCubicMonotonicityPreservingInterpolator1D();
@@ -48,4 +58,55 @@ final class StandardCurveInterpolators {
   /** Time square interpolator. */
   public static final CurveInterpolator TIME_SQUARE = new TimeSquareInterpolator1D();
 
+  //-------------------------------------------------------------------------
+  /**
+   * Linear interpolator that can be bound to curve nodes.
+   */
+  private static final class Linear extends LinearInterpolator1D implements BindableCurveInterpolator {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public BoundCurveInterpolator bind(double[] xValues, double[] yValues) {
+      return BoundCurveInterpolators.linear(xValues, yValues);
+    }
+  }
+
+  /**
+   * Log linear interpolator that can be bound to curve nodes.
+   */
+  private static final class LogLinear extends LogLinearInterpolator1D implements BindableCurveInterpolator {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public BoundCurveInterpolator bind(double[] xValues, double[] yValues) {
+      return BoundCurveInterpolators.logLinear(xValues, yValues);
+    }
+  }
+
+  /**
+   * Double quadratic interpolator that can be bound to curve nodes.
+   */
+  private static final class DoubleQuadratic
+      extends DoubleQuadraticInterpolator1D implements BindableCurveInterpolator {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public BoundCurveInterpolator bind(double[] xValues, double[] yValues) {
+      return BoundCurveInterpolators.doubleQuadratic(xValues, yValues);
+    }
+  }
+
+  /**
+   * Natural cubic spline interpolator that can be bound to curve nodes.
+   */
+  private static final class NaturalCubicSpline
+      extends NaturalCubicSplineInterpolator1D implements BindableCurveInterpolator {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public BoundCurveInterpolator bind(double[] xValues, double[] yValues) {
+      return BoundCurveInterpolators.naturalCubicSpline(xValues, yValues);
+    }
+  }
+
 }
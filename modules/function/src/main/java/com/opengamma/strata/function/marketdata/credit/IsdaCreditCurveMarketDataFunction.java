@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataLookup;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.engine.marketdata.function.MarketDataFunction;
+import com.opengamma.strata.finance.credit.IndexReferenceInformation;
+import com.opengamma.strata.finance.credit.ReferenceInformation;
+import com.opengamma.strata.finance.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaCreditCurveId;
+import com.opengamma.strata.market.id.IsdaIndexCreditCurveParRatesId;
+import com.opengamma.strata.market.id.IsdaIndexRecoveryRateId;
+import com.opengamma.strata.market.id.IsdaSingleNameCreditCurveParRatesId;
+import com.opengamma.strata.market.id.IsdaSingleNameRecoveryRateId;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.value.CdsRecoveryRate;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Market data function that calibrates the credit curve used by the ISDA credit model.
+ * <p>
+ * The curve is calibrated from the {@link IsdaCreditCurveParRates} and {@link CdsRecoveryRate}
+ * of the single name or index in the {@link IsdaCreditCurveId}, using the ISDA yield curve
+ * of the currency in the ID. The yield curve is identified by an {@link IsdaYieldCurveId}
+ * so it is calibrated once and shared by all the credit curves in the same currency.
+ */
+public class IsdaCreditCurveMarketDataFunction
+    implements MarketDataFunction<NodalCurve, IsdaCreditCurveId> {
+
+  @Override
+  public MarketDataRequirements requirements(IsdaCreditCurveId id, MarketDataConfig config) {
+    return MarketDataRequirements.builder()
+        .addValues(
+            parRatesId(id.getReferenceInformation()),
+            recoveryRateId(id.getReferenceInformation()),
+            IsdaYieldCurveId.of(id.getCurrency()))
+        .build();
+  }
+
+  @Override
+  public Result<NodalCurve> build(IsdaCreditCurveId id, MarketDataLookup marketData, MarketDataConfig config) {
+    MarketDataId<IsdaCreditCurveParRates> parRatesId = parRatesId(id.getReferenceInformation());
+    MarketDataId<CdsRecoveryRate> recoveryRateId = recoveryRateId(id.getReferenceInformation());
+    IsdaYieldCurveId yieldCurveId = IsdaYieldCurveId.of(id.getCurrency());
+
+    if (!marketData.containsValue(parRatesId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA credit curve par rates found: Reference information: {}",
+          id.getReferenceInformation());
+    }
+    if (!marketData.containsValue(recoveryRateId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA recovery rate found: Reference information: {}",
+          id.getReferenceInformation());
+    }
+    if (!marketData.containsValue(yieldCurveId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA yield curve found: Currency: {}",
+          id.getCurrency());
+    }
+    IsdaCreditCurveParRates parRates = marketData.getValue(parRatesId);
+    double recoveryRate = marketData.getValue(recoveryRateId).getRecoveryRate();
+    NodalCurve yieldCurve = marketData.getValue(yieldCurveId);
+    return Result.of(() -> IsdaCdsPricer.DEFAULT.calibrateCreditCurve(
+        marketData.getValuationDate(), parRates, yieldCurve, recoveryRate));
+  }
+
+  @Override
+  public Class<IsdaCreditCurveId> getMarketDataIdType() {
+    return IsdaCreditCurveId.class;
+  }
+
+  //-------------------------------------------------------------------------
+  // returns the ID of the par rates used to calibrate the curve
+  private static MarketDataId<IsdaCreditCurveParRates> parRatesId(ReferenceInformation referenceInformation) {
+    switch (referenceInformation.getType()) {
+      case SINGLE_NAME:
+        return IsdaSingleNameCreditCurveParRatesId.of((SingleNameReferenceInformation) referenceInformation);
+      case INDEX:
+        return IsdaIndexCreditCurveParRatesId.of((IndexReferenceInformation) referenceInformation);
+      default:
+        throw new IllegalStateException("unknown reference information type: " + referenceInformation.getType());
+    }
+  }
+
+  // returns the ID of the recovery rate used to calibrate the curve
+  private static MarketDataId<CdsRecoveryRate> recoveryRateId(ReferenceInformation referenceInformation) {
+    switch (referenceInformation.getType()) {
+      case SINGLE_NAME:
+        return IsdaSingleNameRecoveryRateId.of((SingleNameReferenceInformation) referenceInformation);
+      case INDEX:
+        return IsdaIndexRecoveryRateId.of((IndexReferenceInformation) referenceInformation);
+      default:
+        throw new IllegalStateException("unknown reference information type: " + referenceInformation.getType());
+    }
+  }
+
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataLookup;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.engine.marketdata.function.MarketDataFunction;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.id.IsdaYieldCurveParRatesId;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Market data function that calibrates the yield curve used by the ISDA credit model.
+ * <p>
+ * The curve is calibrated from the {@link IsdaYieldCurveParRates} of the currency in the {@link IsdaYieldCurveId}.
+ * The par rates must be available in the {@code MarketDataLookup} passed to the {@link #build} method.
+ */
+public class IsdaYieldCurveMarketDataFunction
+    implements MarketDataFunction<NodalCurve, IsdaYieldCurveId> {
+
+  @Override
+  public MarketDataRequirements requirements(IsdaYieldCurveId id, MarketDataConfig config) {
+    return MarketDataRequirements.builder()
+        .addValues(IsdaYieldCurveParRatesId.of(id.getCurrency()))
+        .build();
+  }
+
+  @Override
+  public Result<NodalCurve> build(IsdaYieldCurveId id, MarketDataLookup marketData, MarketDataConfig config) {
+    IsdaYieldCurveParRatesId parRatesId = IsdaYieldCurveParRatesId.of(id.getCurrency());
+    if (!marketData.containsValue(parRatesId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA yield curve par rates found: Currency: {}",
+          id.getCurrency());
+    }
+    IsdaYieldCurveParRates parRates = marketData.getValue(parRatesId);
+    return Result.of(() -> IsdaCdsPricer.DEFAULT.calibrateYieldCurve(marketData.getValuationDate(), parRates));
+  }
+
+  @Override
+  public Class<IsdaYieldCurveId> getMarketDataIdType() {
+    return IsdaYieldCurveId.class;
+  }
+
+}
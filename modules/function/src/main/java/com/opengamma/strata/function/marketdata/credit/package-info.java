@@ -0,0 +1,10 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Market data functions used for calibrating the curves of the ISDA credit model.
+ */
+package com.opengamma.strata.function.marketdata.credit;
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.curve;
+
+import java.time.Duration;
+
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * Statistics describing the curve group calibrations performed by a {@link CurveGroupMarketDataFunction}.
+ * <p>
+ * This is a snapshot of the statistics at the time it was created. It is intended for monitoring,
+ * for example to check how often calibrations are warm-started from a previous calibration
+ * and how long the calibrations take.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CurveCalibrationStatistics {
+
+  /** The number of calibrations. */
+  private final long calibrationCount;
+  /** The number of calibrations that started from the curves of a previous calibration. */
+  private final long warmStartCount;
+  /** The total time taken by the calibrations. */
+  private final Duration totalTime;
+  /** The time taken by the slowest calibration. */
+  private final Duration maximumTime;
+
+  /**
+   * Creates an instance.
+   *
+   * @param calibrationCount  the number of calibrations
+   * @param warmStartCount  the number of calibrations that started from the curves of a previous calibration
+   * @param totalTime  the total time taken by the calibrations
+   * @param maximumTime  the time taken by the slowest calibration
+   */
+  CurveCalibrationStatistics(long calibrationCount, long warmStartCount, Duration totalTime, Duration maximumTime) {
+    this.calibrationCount = calibrationCount;
+    this.warmStartCount = warmStartCount;
+    this.totalTime = totalTime;
+    this.maximumTime = maximumTime;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of calibrations.
+   *
+   * @return the number of calibrations
+   */
+  public long getCalibrationCount() {
+    return calibrationCount;
+  }
+
+  /**
+   * Returns the number of calibrations that started from the curves of a previous calibration.
+   *
+   * @return the number of calibrations that started from the curves of a previous calibration
+   */
+  public long getWarmStartCount() {
+    return warmStartCount;
+  }
+
+  /**
+   * Returns the total time taken by the calibrations.
+   *
+   * @return the total time taken by the calibrations
+   */
+  public Duration getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * Returns the time taken by the slowest calibration.
+   *
+   * @return the time taken by the slowest calibration, zero if there have been no calibrations
+   */
+  public Duration getMaximumTime() {
+    return maximumTime;
+  }
+
+  /**
+   * Returns the average time taken by a calibration.
+   *
+   * @return the average time taken by a calibration, zero if there have been no calibrations
+   */
+  public Duration getAverageTime() {
+    return calibrationCount == 0 ? Duration.ZERO : totalTime.dividedBy(calibrationCount);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "CurveCalibrationStatistics[calibrationCount={}, warmStartCount={}, totalTime={}, maximumTime={}]",
+        calibrationCount,
+        warmStartCount,
+        totalTime,
+        maximumTime);
+  }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.curve;
+
+import java.util.Optional;
+
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.id.CurveGroupId;
+
+/**
+ * A cache of previously calibrated curve groups.
+ * <p>
+ * When a curve group is calibrated, the curves from the previous calibration of the same group are used
+ * as the starting point for the root finder. When the market data has changed only slightly since the
+ * previous calibration, for example between intraday recalculations or between the scenarios of a run,
+ * this reduces the number of iterations needed to calibrate the curves.
+ * <p>
+ * The cache only affects the starting point of the calibration, not the calibrated curves, which
+ * are determined by the market data and the tolerance of the root finder.
+ * <p>
+ * Implementations must be thread-safe because curve groups can be calibrated concurrently.
+ */
+public interface CurveGroupCache {
+
+  /**
+   * Returns a cache that never contains any curve groups.
+   * <p>
+   * Every calibration using this cache starts from the default initial guess.
+   *
+   * @return a cache that never contains any curve groups
+   */
+  public static CurveGroupCache none() {
+    return EmptyCurveGroupCache.INSTANCE;
+  }
+
+  /**
+   * Returns a cache that holds the most recently calibrated curve group for each ID in memory.
+   *
+   * @return a cache that holds the most recently calibrated curve group for each ID in memory
+   */
+  public static CurveGroupCache inMemory() {
+    return new InMemoryCurveGroupCache();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the most recently calibrated curve group with the specified ID if available.
+   *
+   * @param id  the ID of the curve group
+   * @return the most recently calibrated curve group with the ID, empty if there is none
+   */
+  public abstract Optional<CurveGroup> get(CurveGroupId id);
+
+  /**
+   * Adds a calibrated curve group to the cache, replacing any curve group with the same ID.
+   *
+   * @param id  the ID of the curve group
+   * @param curveGroup  the calibrated curve group
+   */
+  public abstract void put(CurveGroupId id, CurveGroup curveGroup);
+
+}
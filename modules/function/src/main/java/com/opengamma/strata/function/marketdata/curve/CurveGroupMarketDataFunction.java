@@ -8,6 +8,7 @@ package com.opengamma.strata.function.marketdata.curve;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -16,6 +17,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
@@ -41,6 +45,7 @@ import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.market.MarketDataFeed;
 import com.opengamma.strata.basics.market.ObservableKey;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -53,6 +58,7 @@ import com.opengamma.strata.market.curve.CurveGroup;
 import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.ParRates;
 import com.opengamma.strata.market.curve.config.CurveGroupConfig;
 import com.opengamma.strata.market.curve.config.CurveGroupEntry;
@@ -64,12 +70,35 @@ import com.opengamma.strata.pricer.impl.Legacy;
 
 /**
  * Market data function that builds a {@link CurveGroup}.
+ * <p>
+ * If a {@link CurveGroupCache} is provided, each calibration starts from the curves of the previous
+ * calibration of the same curve group, if available, instead of a flat initial guess. The previous curves
+ * are only used if their nodes match the nodes of the curves being calibrated. Statistics describing the
+ * calibrations are available from {@link #getCalibrationStatistics()}.
  */
 public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGroup, CurveGroupId> {
 
+  /** The initial guess for each curve parameter when there is no previous calibration. */
+  private static final double DEFAULT_PARAMETER_GUESS = 0.02;
+
   /** The analytics object that performs the curve calibration. */
   private final MulticurveDiscountBuildingRepository curveBuilder;
 
+  /** The previously calibrated curve groups, used as the starting point for calibration. */
+  private final CurveGroupCache curveGroupCache;
+
+  /** The number of calibrations. */
+  private final LongAdder calibrationCount = new LongAdder();
+
+  /** The number of calibrations that started from the curves of a previous calibration. */
+  private final LongAdder warmStartCount = new LongAdder();
+
+  /** The total time taken by the calibrations in nanoseconds. */
+  private final LongAdder totalCalibrationNanos = new LongAdder();
+
+  /** The time taken by the slowest calibration in nanoseconds. */
+  private final AtomicLong maximumCalibrationNanos = new AtomicLong();
+
   // TODO Where should the root finder config come from?
   //   Should it be possible to override it for each call? Put it in MarketDataConfig?
   //   Is it a system-wide setting?
@@ -79,10 +108,22 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
    * @param rootFinderConfig  configuration for the root finder used when calibrating curves
    */
   public CurveGroupMarketDataFunction(RootFinderConfig rootFinderConfig) {
+    this(rootFinderConfig, CurveGroupCache.none());
+  }
+
+  /**
+   * Creates a new function for building curve groups that delegates to {@code curveBuilder} to perform calibration,
+   * starting each calibration from the previously calibrated curves in a cache.
+   *
+   * @param rootFinderConfig  configuration for the root finder used when calibrating curves
+   * @param curveGroupCache  the previously calibrated curve groups, used as the starting point for calibration
+   */
+  public CurveGroupMarketDataFunction(RootFinderConfig rootFinderConfig, CurveGroupCache curveGroupCache) {
     this.curveBuilder = new MulticurveDiscountBuildingRepository(
         rootFinderConfig.getAbsoluteTolerance(),
         rootFinderConfig.getRelativeTolerance(),
         rootFinderConfig.getMaximumSteps());
+    this.curveGroupCache = ArgChecker.notNull(curveGroupCache, "curveGroupCache");
   }
 
   @Override
@@ -137,6 +178,19 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
     return CurveGroupId.class;
   }
 
+  /**
+   * Returns statistics describing the calibrations performed by this function.
+   *
+   * @return statistics describing the calibrations performed by this function
+   */
+  public CurveCalibrationStatistics getCalibrationStatistics() {
+    return new CurveCalibrationStatistics(
+        calibrationCount.sum(),
+        warmStartCount.sum(),
+        Duration.ofNanos(totalCalibrationNanos.sum()),
+        Duration.ofNanos(maximumCalibrationNanos.get()));
+  }
+
   /**
    * Builds a curve group given the configuration for the group and a set of market data.
    *
@@ -157,6 +211,9 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
     Map<String, CurveMetadata> curveMetadata = new HashMap<>();
     CurveGroupName groupName = groupConfig.getName();
     LocalDate valuationDate = marketData.getValuationDate();
+    CurveGroupId groupId = CurveGroupId.of(groupName, feed);
+    Optional<CurveGroup> previousGroup = curveGroupCache.get(groupId);
+    boolean warmStart = false;
 
     for (CurveGroupEntry curveEntry : groupConfig.getEntries()) {
       // We can only handle InterpolatedCurveConfig for now
@@ -188,13 +245,17 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
       iborIndices.stream().forEach(idx -> iborIndicesByCurveName.put(curveName.toString(), Legacy.iborIndex(idx)));
       overnightIndices.stream().forEach(idx -> onIndicesByCurveName.put(curveName.toString(), Legacy.overnightIndex(idx)));
       discountingCurrency.ifPresent(currency -> discountingCurrenciesByCurveName.put(curveName.toString(), currency));
-      singleCurveBundles.add(createSingleCurveBundle(curveConfig, derivatives));
+      Optional<double[]> previousParameters =
+          previousGroup.flatMap(group -> previousParameters(group, curveName, derivatives.size()));
+      warmStart |= previousParameters.isPresent();
+      singleCurveBundles.add(createSingleCurveBundle(curveConfig, derivatives, previousParameters));
     }
     @SuppressWarnings("rawtypes")
     SingleCurveBundle[] singleBundleArray = singleCurveBundles.toArray(new SingleCurveBundle[singleCurveBundles.size()]);
     @SuppressWarnings("unchecked")
     List<MultiCurveBundle<GeneratorYDCurve>> curveBundles = ImmutableList.of(new MultiCurveBundle<>(singleBundleArray));
 
+    long startNanos = System.nanoTime();
     Pair<MulticurveProviderDiscount, CurveBuildingBlockBundle> calibratedCurves =
         curveBuilder.makeCurvesFromDerivatives(
             curveBundles,
@@ -204,6 +265,7 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
             onIndicesByCurveName,
             ParSpreadMarketQuoteDiscountingCalculator.getInstance(),
             ParSpreadMarketQuoteCurveSensitivityDiscountingCalculator.getInstance());
+    recordCalibration(System.nanoTime() - startNanos, warmStart);
 
     MulticurveProviderDiscount multicurve = calibratedCurves.getFirst();
     Map<Currency, YieldAndDiscountCurve> legacyDiscountCurves = multicurve.getDiscountingCurves();
@@ -225,9 +287,55 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
         .build();
 
     CurveGroup curveGroup = CurveGroup.of(groupConfig.getName(), discountCurves, forwardCurves);
+    curveGroupCache.put(groupId, curveGroup);
     return Result.success(curveGroup);
   }
 
+  /**
+   * Records the statistics for a calibration.
+   *
+   * @param calibrationNanos  the time taken by the calibration in nanoseconds
+   * @param warmStart  true if the calibration started from the curves of a previous calibration
+   */
+  private void recordCalibration(long calibrationNanos, boolean warmStart) {
+    calibrationCount.increment();
+    if (warmStart) {
+      warmStartCount.increment();
+    }
+    totalCalibrationNanos.add(calibrationNanos);
+    maximumCalibrationNanos.accumulateAndGet(calibrationNanos, Math::max);
+  }
+
+  /**
+   * Returns the parameters of a curve from a previous calibration of a curve group.
+   * <p>
+   * The parameters are only returned if the previous curve is an interpolated curve with the expected
+   * number of nodes. The parameters of an interpolated curve are its y-values, which are the values
+   * the root finder solves for.
+   *
+   * @param previousGroup  a previously calibrated curve group
+   * @param curveName  the name of the curve
+   * @param parameterCount  the number of parameters of the curve being calibrated
+   * @return the parameters of the curve from the previous calibration, empty if they can't be used
+   */
+  private static Optional<double[]> previousParameters(
+      CurveGroup previousGroup,
+      CurveName curveName,
+      int parameterCount) {
+
+    Stream<Curve> previousCurves = Stream.concat(
+        previousGroup.getDiscountCurves().values().stream(),
+        previousGroup.getForwardCurves().values().stream());
+
+    return previousCurves
+        .filter(curve -> curve.getName().equals(curveName))
+        .filter(InterpolatedNodalCurve.class::isInstance)
+        .map(InterpolatedNodalCurve.class::cast)
+        .filter(curve -> curve.getParameterCount() == parameterCount)
+        .map(InterpolatedNodalCurve::getYValues)
+        .findFirst();
+  }
+
   /**
    * Creates a new-style curve from a legacy curve and a set of curve metadata.
    */
@@ -271,12 +379,15 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
 
   private SingleCurveBundle<GeneratorYDCurve> createSingleCurveBundle(
       InterpolatedCurveConfig curveConfig,
-      List<InstrumentDerivative> derivatives) {
+      List<InstrumentDerivative> derivatives,
+      Optional<double[]> previousParameters) {
 
-    double[] parameterGuessForCurves = new double[derivatives.size()];
-    Arrays.fill(parameterGuessForCurves, 0.02);
     GeneratorYDCurve curveGenerator = createCurveGenerator(curveConfig);
-    double[] startingPoint = curveGenerator.initialGuess(parameterGuessForCurves);
+    double[] startingPoint = previousParameters.orElseGet(() -> {
+      double[] parameterGuessForCurves = new double[derivatives.size()];
+      Arrays.fill(parameterGuessForCurves, DEFAULT_PARAMETER_GUESS);
+      return curveGenerator.initialGuess(parameterGuessForCurves);
+    });
     InstrumentDerivative[] derivativeArray = derivatives.toArray(new InstrumentDerivative[derivatives.size()]);
     return new SingleCurveBundle<>(curveConfig.getName().toString(), derivativeArray, startingPoint, curveGenerator);
   }
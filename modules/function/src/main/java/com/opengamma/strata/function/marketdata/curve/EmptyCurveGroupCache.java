@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.curve;
+
+import java.util.Optional;
+
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.id.CurveGroupId;
+
+/**
+ * Implementation of a curve group cache which never contains any curve groups.
+ */
+final class EmptyCurveGroupCache implements CurveGroupCache {
+
+  /** The single, shared instance of this class. */
+  static final EmptyCurveGroupCache INSTANCE = new EmptyCurveGroupCache();
+
+  // restricted constructor
+  private EmptyCurveGroupCache() {
+  }
+
+  @Override
+  public Optional<CurveGroup> get(CurveGroupId id) {
+    return Optional.empty();
+  }
+
+  @Override
+  public void put(CurveGroupId id, CurveGroup curveGroup) {
+    // do nothing
+  }
+
+}
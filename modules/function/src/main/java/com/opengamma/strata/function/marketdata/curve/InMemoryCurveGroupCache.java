@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.curve;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.id.CurveGroupId;
+
+/**
+ * Implementation of a curve group cache which holds the most recently calibrated curve group
+ * for each ID in memory.
+ */
+final class InMemoryCurveGroupCache implements CurveGroupCache {
+
+  /** The most recently calibrated curve groups, keyed by ID. */
+  private final ConcurrentMap<CurveGroupId, CurveGroup> curveGroups = new ConcurrentHashMap<>();
+
+  @Override
+  public Optional<CurveGroup> get(CurveGroupId id) {
+    return Optional.ofNullable(curveGroups.get(id));
+  }
+
+  @Override
+  public void put(CurveGroupId id, CurveGroup curveGroup) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.notNull(curveGroup, "curveGroup");
+    curveGroups.put(id, curveGroup);
+  }
+
+}
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.function.marketdata.curve;
 
+import java.util.List;
 import java.util.Optional;
 
 import com.opengamma.strata.collect.result.FailureReason;
@@ -15,6 +16,7 @@ import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
 import com.opengamma.strata.engine.marketdata.function.MarketDataFunction;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.CurveScenarioValues;
 import com.opengamma.strata.market.id.CurveGroupId;
 import com.opengamma.strata.market.id.RateIndexCurveId;
 
@@ -56,6 +58,11 @@ public final class RateIndexCurveMarketDataFunction implements MarketDataFunctio
     }
   }
 
+  @Override
+  public List<Curve> compactScenarioValues(List<Curve> values) {
+    return CurveScenarioValues.compact(values);
+  }
+
   @Override
   public Class<RateIndexCurveId> getMarketDataIdType() {
     return RateIndexCurveId.class;
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.finance.rate.fra.FraTrade;
+import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
+import com.opengamma.strata.finance.rate.swap.Swap;
+import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.pricer.rate.fra.FraDummyData;
+import com.opengamma.strata.pricer.rate.swap.SwapDummyData;
+
+/**
+ * Test {@link ExpandedProductCache}.
+ */
+@Test
+public class ExpandedProductCacheTest {
+
+  public void test_expand_swap() {
+    ExpandedProductCache test = ExpandedProductCache.ofMaximumSize(10);
+    SwapTrade trade1 = swapTrade();
+    SwapTrade trade2 = swapTrade();
+    assertNotSame(trade1.getProduct(), trade2.getProduct());
+
+    SwapTrade expanded1 = (SwapTrade) test.expand(trade1);
+    assertEquals(expanded1, trade1);
+    assertEquals(test.size(), 1);
+    // the product of the expanded trade retains its expanded form
+    ExpandedSwap expandedSwap = expanded1.getProduct().expand();
+    assertEquals(expandedSwap, trade1.getProduct().expand());
+    assertSame(expanded1.getProduct().expand(), expandedSwap);
+    // the input product does not retain its expanded form
+    assertNotSame(trade1.getProduct().expand(), trade1.getProduct().expand());
+
+    // an equal product shares the cached product
+    SwapTrade expanded2 = (SwapTrade) test.expand(trade2);
+    assertEquals(test.size(), 1);
+    assertSame(expanded2.getProduct(), expanded1.getProduct());
+    // a trade whose product is already cached is returned unchanged
+    assertSame(test.expand(expanded1), expanded1);
+  }
+
+  public void test_expand_fra() {
+    ExpandedProductCache test = ExpandedProductCache.ofMaximumSize(10);
+    FraTrade trade = FraTrade.builder().product(FraDummyData.FRA).build();
+    FraTrade expanded = (FraTrade) test.expand(trade);
+    assertEquals(expanded, trade);
+    assertSame(expanded.getProduct().expand(), expanded.getProduct().expand());
+    assertEquals(expanded.getProduct().expand(), trade.getProduct().expand());
+  }
+
+  public void test_expand_notExpandable() {
+    ExpandedProductCache test = ExpandedProductCache.ofMaximumSize(10);
+    CalculationTarget target = new CalculationTarget() {};
+    assertSame(test.expand(target), target);
+    assertEquals(test.size(), 0);
+    assertThrowsIllegalArg(() -> test.expand((CalculationTarget) null));
+  }
+
+  public void test_ofMaximumSize_zero() {
+    ExpandedProductCache test = ExpandedProductCache.ofMaximumSize(0);
+    SwapTrade trade1 = swapTrade();
+    SwapTrade expanded1 = (SwapTrade) test.expand(trade1);
+    assertEquals(test.size(), 0);
+    // nothing is cached, but the product is still expanded once for the run
+    assertSame(expanded1.getProduct().expand(), expanded1.getProduct().expand());
+    assertNotSame(((SwapTrade) test.expand(trade1)).getProduct(), expanded1.getProduct());
+  }
+
+  public void test_ofMaximumWeight() {
+    ExpandedProductCache test = ExpandedProductCache.ofMaximumWeight(1000);
+    SwapTrade expanded1 = (SwapTrade) test.expand(swapTrade());
+    SwapTrade expanded2 = (SwapTrade) test.expand(swapTrade());
+    assertSame(expanded2.getProduct(), expanded1.getProduct());
+
+    ExpandedProductCache zero = ExpandedProductCache.ofMaximumWeight(0);
+    zero.expand(swapTrade());
+    assertEquals(zero.size(), 0);
+  }
+
+  public void test_invalidateAll() {
+    ExpandedProductCache test = ExpandedProductCache.ofMaximumSize(10);
+    SwapTrade trade1 = swapTrade();
+    SwapTrade expanded1 = (SwapTrade) test.expand(trade1);
+    test.invalidateAll();
+    assertEquals(test.size(), 0);
+    assertNotSame(((SwapTrade) test.expand(trade1)).getProduct(), expanded1.getProduct());
+  }
+
+  public void test_negative() {
+    assertThrowsIllegalArg(() -> ExpandedProductCache.ofMaximumSize(-1));
+    assertThrowsIllegalArg(() -> ExpandedProductCache.ofMaximumWeight(-1));
+  }
+
+  // creates a trade whose product is a new instance
+  private static SwapTrade swapTrade() {
+    return SwapTrade.builder()
+        .product(Swap.of(SwapDummyData.SWAP.getLegs()))
+        .build();
+  }
+
+}
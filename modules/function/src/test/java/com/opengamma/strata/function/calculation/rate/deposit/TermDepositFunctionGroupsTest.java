@@ -76,7 +76,8 @@ public class TermDepositFunctionGroupsTest {
 
     FunctionConfig<TermDepositTrade> config =
         TermDepositFunctionGroups.discounting().functionConfig(TD_TRADE, Measure.PRESENT_VALUE).get();
-    CalculationSingleFunction<TermDepositTrade, ?> function = config.createFunction();
+    CalculationSingleFunction<TermDepositTrade, ?> function =
+        (CalculationSingleFunction<TermDepositTrade, ?>) config.createFunction();
     FunctionRequirements reqs = function.requirements(TD_TRADE);
     assertThat(reqs.getOutputCurrencies()).containsOnly(ccy);
     assertThat(reqs.getSingleValueRequirements()).isEqualTo(ImmutableSet.of(DiscountFactorsKey.of(ccy)));
@@ -94,7 +95,8 @@ public class TermDepositFunctionGroupsTest {
 
     FunctionConfig<TermDepositTrade> config =
         TermDepositFunctionGroups.discounting().functionConfig(TD_TRADE, Measure.PAR_RATE).get();
-    CalculationSingleFunction<TermDepositTrade, ?> function = config.createFunction();
+    CalculationSingleFunction<TermDepositTrade, ?> function =
+        (CalculationSingleFunction<TermDepositTrade, ?>) config.createFunction();
     FunctionRequirements reqs = function.requirements(TD_TRADE);
     assertThat(reqs.getOutputCurrencies()).containsOnly(ccy);
     assertThat(reqs.getSingleValueRequirements()).isEqualTo(ImmutableSet.of(DiscountFactorsKey.of(ccy)));
@@ -63,7 +63,7 @@ public class FraFunctionGroupsTest {
     LocalDate valDate = FRA_TRADE.getProduct().getEndDate().plusDays(7);
 
     FunctionConfig<FraTrade> config = FraFunctionGroups.discounting().functionConfig(FRA_TRADE, Measure.PRESENT_VALUE).get();
-    CalculationSingleFunction<FraTrade, ?> function = config.createFunction();
+    CalculationSingleFunction<FraTrade, ?> function = (CalculationSingleFunction<FraTrade, ?>) config.createFunction();
     FunctionRequirements reqs = function.requirements(FRA_TRADE);
     assertThat(reqs.getOutputCurrencies()).containsOnly(ccy);
     assertThat(reqs.getSingleValueRequirements()).isEqualTo(
@@ -12,6 +12,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertNotNull;
 
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
 
 import org.testng.annotations.Test;
 
@@ -22,7 +24,8 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.collect.CollectProjectAssertions;
-import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.calculation.function.CalculationMultiFunction;
 import com.opengamma.strata.engine.calculation.function.result.FxConvertibleList;
 import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.Measure;
@@ -69,7 +72,8 @@ public class SwapFunctionGroupsTest {
     LocalDate valDate = SWAP_TRADE.getProduct().getEndDate().plusDays(7);
 
     FunctionConfig<SwapTrade> config = SwapFunctionGroups.discounting().functionConfig(SWAP_TRADE, Measure.PRESENT_VALUE).get();
-    CalculationSingleFunction<SwapTrade, ?> function = config.createFunction();
+    assertThat(config.isMultiFunction()).isTrue();
+    CalculationMultiFunction<SwapTrade> function = (CalculationMultiFunction<SwapTrade>) config.createFunction();
     FunctionRequirements reqs = function.requirements(SWAP_TRADE);
     assertThat(reqs.getOutputCurrencies()).containsOnly(ccy);
     assertThat(reqs.getSingleValueRequirements()).isEqualTo(
@@ -79,8 +83,28 @@ public class SwapFunctionGroupsTest {
     DiscountFactors df = SimpleDiscountFactors.of(
         ccy, valDate, ConstantNodalCurve.of(Curves.discountFactors("Test", ACT_360), 0.99));
     MarketDataMap md = new MarketDataMap(valDate, ImmutableMap.of(DiscountFactorsKey.of(ccy), df), ImmutableMap.of());
-    assertThat(function.execute(SWAP_TRADE, md)).isEqualTo(
-        FxConvertibleList.of(ImmutableList.of(MultiCurrencyAmount.of(ccy, 0d))));
+    Map<Measure, Result<?>> results = function.execute(SWAP_TRADE, ImmutableSet.of(Measure.PRESENT_VALUE), md);
+    assertThat(results.get(Measure.PRESENT_VALUE)).isEqualTo(
+        Result.success(FxConvertibleList.of(ImmutableList.of(MultiCurrencyAmount.of(ccy, 0d)))));
+  }
+
+  public void test_multipleMeasures() {
+    Currency ccy = SWAP_TRADE.getProduct().getLegs().get(0).getCurrency();
+    LocalDate valDate = SWAP_TRADE.getProduct().getEndDate().plusDays(7);
+    DiscountFactors df = SimpleDiscountFactors.of(
+        ccy, valDate, ConstantNodalCurve.of(Curves.discountFactors("Test", ACT_360), 0.99));
+    MarketDataMap md = new MarketDataMap(valDate, ImmutableMap.of(DiscountFactorsKey.of(ccy), df), ImmutableMap.of());
+
+    SwapCalculationFunction function = new SwapCalculationFunction();
+    Set<Measure> measures = ImmutableSet.of(Measure.PRESENT_VALUE, Measure.PV01, Measure.BUCKETED_GAMMA_PV01);
+    Map<Measure, Result<?>> results = function.execute(SWAP_TRADE, measures, md);
+    assertThat(results.keySet()).isEqualTo(measures);
+    assertThat(results.get(Measure.PRESENT_VALUE)).isEqualTo(
+        Result.success(new SwapPvFunction().execute(SWAP_TRADE, md)));
+    assertThat(results.get(Measure.PV01)).isEqualTo(
+        Result.success(new SwapPv01Function().execute(SWAP_TRADE, md)));
+    // gamma is calculated by a separate function
+    assertThat(results.get(Measure.BUCKETED_GAMMA_PV01).isFailure()).isTrue();
   }
 
   //-------------------------------------------------------------------------
@@ -105,6 +129,7 @@ public class SwapFunctionGroupsTest {
     assertNotNull(new SwapParRateFunction().execute(trade, md));
     assertNotNull(new SwapPv01Function().execute(trade, md));
     assertNotNull(new SwapPvFunction().execute(trade, md));
+    assertNotNull(new SwapCalculationFunction().execute(trade, SwapCalculationFunction.supportedMeasures(), md));
   }
 
 }
@@ -7,12 +7,26 @@ package com.opengamma.strata.function.interpolator;
 
 import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import com.opengamma.analytics.math.interpolation.CombinedInterpolatorExtrapolator;
+import com.opengamma.analytics.math.interpolation.DoubleQuadraticInterpolator1D;
 import com.opengamma.analytics.math.interpolation.ExponentialInterpolator1D;
+import com.opengamma.analytics.math.interpolation.Interpolator1D;
 import com.opengamma.analytics.math.interpolation.LinearInterpolator1D;
+import com.opengamma.analytics.math.interpolation.LogLinearInterpolator1D;
+import com.opengamma.analytics.math.interpolation.NaturalCubicSplineInterpolator1D;
+import com.opengamma.analytics.math.interpolation.data.Interpolator1DDataBundle;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.interpolator.BindableCurveInterpolator;
+import com.opengamma.strata.basics.interpolator.CurveExtrapolator;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 
 /**
  * Test {@link CurveInterpolators}.
@@ -20,6 +34,9 @@ import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 @Test
 public class CurveInterpolatorsTest {
 
+  private static final double[] X_VALUES = {0.25, 0.5, 1, 2, 3, 5, 7, 10};
+  private static final double[] Y_VALUES = {0.9, 0.85, 0.8, 0.7, 0.66, 0.5, 0.45, 0.3};
+
   /**
    * Test that the constants correctly resolve to interpolator instances.
    */
@@ -29,6 +46,50 @@ public class CurveInterpolatorsTest {
 
     CurveInterpolator exponential = CurveInterpolators.EXPONENTIAL;
     assertThat(exponential).isInstanceOf(ExponentialInterpolator1D.class);
+
+    CurveInterpolator spline = CurveInterpolators.NATURAL_CUBIC_SPLINE;
+    assertThat(spline).isInstanceOf(NaturalCubicSplineInterpolator1D.class);
+    assertThat(spline).isInstanceOf(BindableCurveInterpolator.class);
+  }
+
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "bindable")
+  Object[][] data_bindable() {
+    return new Object[][] {
+        {CurveInterpolators.LINEAR, new LinearInterpolator1D(), CurveExtrapolators.FLAT},
+        {CurveInterpolators.LOG_LINEAR, new LogLinearInterpolator1D(), CurveExtrapolators.LOG_LINEAR},
+        {CurveInterpolators.DOUBLE_QUADRATIC, new DoubleQuadraticInterpolator1D(), CurveExtrapolators.LINEAR},
+        {CurveInterpolators.NATURAL_CUBIC_SPLINE, new NaturalCubicSplineInterpolator1D(), CurveExtrapolators.FLAT},
+    };
+  }
+
+  /**
+   * Test that curves using the bound interpolators match the legacy interpolators.
+   * The legacy extrapolators calculate the gradient at the ends by finite difference.
+   */
+  @Test(dataProvider = "bindable")
+  public void bound_matchesLegacy(
+      CurveInterpolator interpolator,
+      Interpolator1D legacy,
+      CurveExtrapolator extrapolator) {
+
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.builder()
+        .metadata(Curves.zeroRates("Test", DayCounts.ACT_365F))
+        .xValues(X_VALUES)
+        .yValues(Y_VALUES)
+        .extrapolatorLeft(extrapolator)
+        .interpolator(interpolator)
+        .extrapolatorRight(extrapolator)
+        .build();
+    Interpolator1D combined = CombinedInterpolatorExtrapolator.of(legacy, extrapolator, extrapolator);
+    Interpolator1DDataBundle bundle = combined.getDataBundleFromSortedArrays(X_VALUES, Y_VALUES);
+    double[] sensitivity = new double[X_VALUES.length];
+    for (double x = 0.1; x < 12; x += 0.37) {
+      assertThat(curve.yValue(x)).isEqualTo(combined.interpolate(bundle, x), offset(1e-6));
+      curve.yValueParameterSensitivity(x, sensitivity);
+      double[] expected = combined.getNodeSensitivitiesForValue(bundle, x);
+      assertThat(DoubleArrayMath.fuzzyEquals(sensitivity, expected, 1e-5)).isTrue();
+    }
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.finance.credit.RestructuringClause;
+import com.opengamma.strata.finance.credit.SeniorityLevel;
+import com.opengamma.strata.finance.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.finance.credit.type.CdsConvention;
+import com.opengamma.strata.finance.credit.type.CdsConventions;
+import com.opengamma.strata.finance.credit.type.IsdaYieldCurveConventions;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+
+/**
+ * Test data for the ISDA curve market data functions.
+ */
+final class IsdaCurveTestData {
+
+  static final LocalDate VAL_DATE = LocalDate.of(2014, 10, 16);
+  static final double RECOVERY_RATE = 0.4;
+  static final SingleNameReferenceInformation REFERENCE_INFORMATION = SingleNameReferenceInformation.of(
+      StandardId.of("Test", "COMP01"),
+      SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+      USD,
+      RestructuringClause.NO_RESTRUCTURING_2014);
+
+  private static final String[] YIELD_TENORS = {
+      "1M", "2M", "3M", "6M", "1Y", "2Y", "3Y", "4Y", "5Y", "6Y",
+      "7Y", "8Y", "9Y", "10Y", "12Y", "15Y", "20Y", "25Y", "30Y"};
+  private static final double[] YIELD_RATES = {
+      0.001535, 0.001954, 0.002281, 0.003217, 0.005444, 0.005905, 0.009555, 0.012775, 0.015395, 0.017445,
+      0.019205, 0.020660, 0.021885, 0.022940, 0.024615, 0.026300, 0.027950, 0.028715, 0.029160};
+  private static final String[] CREDIT_TENORS =
+      {"6M", "1Y", "2Y", "3Y", "4Y", "5Y", "7Y", "10Y", "15Y", "20Y", "30Y"};
+  private static final double[] CREDIT_RATES = {
+      0.0011664, 0.0015065, 0.0027044, 0.0044965, 0.0061096, 0.0083256, 0.0099229, 0.0112823, 0.0114707, 0.0116770,
+      0.0117309};
+
+  /**
+   * Restricted constructor.
+   */
+  private IsdaCurveTestData() {
+  }
+
+  //-------------------------------------------------------------------------
+  static IsdaYieldCurveParRates yieldCurveParRates() {
+    Period[] periods = periods(YIELD_TENORS);
+    LocalDate[] endDates = Stream.of(periods)
+        .map(VAL_DATE::plus)
+        .toArray(LocalDate[]::new);
+    IsdaYieldCurveUnderlyingType[] types = Stream.of(periods)
+        .map(period -> period.toTotalMonths() <= 12 ?
+            IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET :
+            IsdaYieldCurveUnderlyingType.ISDA_SWAP)
+        .toArray(IsdaYieldCurveUnderlyingType[]::new);
+    return IsdaYieldCurveParRates.of(
+        CurveName.of(IsdaYieldCurveConventions.ISDA_USD.getName()),
+        periods,
+        endDates,
+        types,
+        YIELD_RATES,
+        IsdaYieldCurveConventions.ISDA_USD);
+  }
+
+  static IsdaCreditCurveParRates creditCurveParRates() {
+    CdsConvention convention = CdsConventions.NORTH_AMERICAN_USD;
+    Period[] periods = periods(CREDIT_TENORS);
+    LocalDate[] endDates = Stream.of(periods)
+        .map(period -> convention.getUnadjustedMaturityDateFromValuationDate(VAL_DATE, period))
+        .toArray(LocalDate[]::new);
+    return IsdaCreditCurveParRates.of(CurveName.of("COMP01"), periods, endDates, CREDIT_RATES, convention, 1d);
+  }
+
+  private static Period[] periods(String[] tenors) {
+    return Stream.of(tenors)
+        .map(tenor -> Tenor.parse(tenor).getPeriod())
+        .toArray(Period[]::new);
+  }
+
+}
@@ -15,6 +15,7 @@ import static org.assertj.core.api.Assertions.offset;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.testng.annotations.Test;
 
@@ -29,6 +30,7 @@ import com.opengamma.strata.basics.market.MarketDataFeed;
 import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.basics.market.ObservableKey;
+import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
@@ -48,6 +50,7 @@ import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveParameterMetadata;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.ParRates;
 import com.opengamma.strata.market.curve.config.CurveGroupConfig;
 import com.opengamma.strata.market.curve.config.CurveNode;
@@ -290,8 +293,76 @@ public class CurveGroupMarketDataFunctionTest {
     assertThat(forwardMetadata).isEqualTo(expectedForwardMetadata);
   }
 
+  /**
+   * Tests that a calibration starts from the curves of the previous calibration in the cache
+   * and produces the same curves as a calibration from the default starting point.
+   */
+  public void warmStartFromPreviousCalibration() {
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    InterpolatedCurveConfig fraCurveConfig = CurveTestUtils.fraCurveConfig();
+
+    CurveGroupConfig groupConfig = CurveGroupConfig.builder()
+        .name(groupName)
+        .addForwardCurve(fraCurveConfig, IborIndices.USD_LIBOR_3M)
+        .build();
+
+    MarketDataConfig marketDataConfig = MarketDataConfig.builder()
+        .add(groupName, groupConfig)
+        .build();
+
+    CurveGroupId curveGroupId = CurveGroupId.of(groupName);
+    LocalDate valuationDate = date(2011, 3, 8);
+    double[] rates = {0.003, 0.0033, 0.0037, 0.0054, 0.007, 0.0091, 0.0134};
+    MarketEnvironment marketData = fraMarketData(groupName, fraCurveConfig, valuationDate, rates, 0);
+    MarketEnvironment shiftedMarketData = fraMarketData(groupName, fraCurveConfig, valuationDate, rates, 0.0001);
+
+    CurveGroupCache cache = CurveGroupCache.inMemory();
+    CurveGroupMarketDataFunction function = new CurveGroupMarketDataFunction(RootFinderConfig.defaults(), cache);
+    Result<CurveGroup> result = function.build(curveGroupId, marketData, marketDataConfig);
+    assertThat(result).isSuccess();
+    assertThat(cache.get(curveGroupId)).isEqualTo(Optional.of(result.getValue()));
+
+    Result<CurveGroup> warmResult = function.build(curveGroupId, shiftedMarketData, marketDataConfig);
+    assertThat(warmResult).isSuccess();
+
+    CurveCalibrationStatistics statistics = function.getCalibrationStatistics();
+    assertThat(statistics.getCalibrationCount()).isEqualTo(2);
+    assertThat(statistics.getWarmStartCount()).isEqualTo(1);
+    assertThat(statistics.getMaximumTime().compareTo(statistics.getTotalTime())).isLessThanOrEqualTo(0);
+
+    CurveGroupMarketDataFunction coldFunction = new CurveGroupMarketDataFunction(RootFinderConfig.defaults());
+    Result<CurveGroup> coldResult = coldFunction.build(curveGroupId, shiftedMarketData, marketDataConfig);
+    assertThat(coldResult).isSuccess();
+    assertThat(coldFunction.getCalibrationStatistics().getWarmStartCount()).isEqualTo(0);
+
+    InterpolatedNodalCurve warmCurve =
+        (InterpolatedNodalCurve) warmResult.getValue().getForwardCurve(IborIndices.USD_LIBOR_3M).get();
+    InterpolatedNodalCurve coldCurve =
+        (InterpolatedNodalCurve) coldResult.getValue().getForwardCurve(IborIndices.USD_LIBOR_3M).get();
+    assertThat(DoubleArrayMath.fuzzyEquals(warmCurve.getYValues(), coldCurve.getYValues(), 1e-8)).isTrue();
+  }
+
   //-----------------------------------------------------------------------------------------------------------
 
+  private MarketEnvironment fraMarketData(
+      CurveGroupName groupName,
+      InterpolatedCurveConfig fraCurveConfig,
+      LocalDate valuationDate,
+      double[] rates,
+      double shift) {
+
+    List<CurveNode> fraNodes = fraCurveConfig.getNodes();
+    ImmutableMap.Builder<ObservableId, Double> parRateData = ImmutableMap.builder();
+
+    for (int i = 0; i < rates.length; i++) {
+      parRateData.put(CurveTestUtils.id(fraNodes.get(i)), rates[i] + shift);
+    }
+    ParRates fraParRates = ParRates.of(parRateData.build(), fraCurveConfig.metadata(valuationDate));
+    return MarketEnvironment.builder(valuationDate)
+        .addValue(ParRatesId.of(groupName, fraCurveConfig.getName(), MarketDataFeed.NONE), fraParRates)
+        .build();
+  }
+
   private void checkFraPvIsZero(
       FraCurveNode node,
       LocalDate valuationDate,
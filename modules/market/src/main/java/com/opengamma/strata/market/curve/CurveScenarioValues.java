@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * An immutable list of curves, one for each scenario, stored in a compact form.
+ * <p>
+ * When a curve is perturbed in a set of scenarios, the curve in each scenario typically has the same
+ * metadata, x-values, interpolator and extrapolators as the base curve, with only the y-values differing.
+ * This list stores the common data once and the y-values of all the scenarios in a single array.
+ * <p>
+ * The curve for a scenario is created when it is requested from the list. The most recently created
+ * curves are held in a small cache of fixed size, so repeated requests for the same scenario do not
+ * bind the interpolator to the nodes again, while the memory used does not grow with the number of scenarios.
+ * The curve is equal to the curve that was passed to {@link #compact(List)} for the scenario.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CurveScenarioValues extends AbstractList<Curve> implements RandomAccess, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+  /** The number of curves held in the cache. */
+  private static final int CACHE_SIZE = 16;
+
+  /** The curve defining the data common to all scenarios, its y-values are not used. */
+  private final InterpolatedNodalCurve template;
+  /** The y-values of the curves, the values for scenario {@code i} start at index {@code i * nodeCount}. */
+  private final double[] yValues;
+  /** The number of nodes in each curve. */
+  private final int nodeCount;
+  /**
+   * The most recently created curves, the curve for scenario {@code i} is held at index {@code i % CACHE_SIZE}.
+   * The entries are immutable, so races between threads replacing the same entry are benign.
+   */
+  private transient volatile CachedCurve[] cache;
+
+  /**
+   * Returns a compact representation of a list of curves, one for each scenario.
+   * <p>
+   * The curves can be stored compactly if they are all instances of {@link InterpolatedNodalCurve} with
+   * the same metadata, x-values, interpolator and extrapolators.
+   * If the curves cannot be stored compactly the input list is returned.
+   *
+   * @param curves  the curves, one for each scenario
+   * @return a list containing the curves, stored in a compact form if possible
+   */
+  public static List<Curve> compact(List<Curve> curves) {
+    ArgChecker.notNull(curves, "curves");
+    if (curves.isEmpty() || !(curves.get(0) instanceof InterpolatedNodalCurve)) {
+      return curves;
+    }
+    InterpolatedNodalCurve template = (InterpolatedNodalCurve) curves.get(0);
+    int nodeCount = template.getParameterCount();
+    double[] yValues = new double[curves.size() * nodeCount];
+
+    for (int i = 0; i < curves.size(); i++) {
+      Curve curve = curves.get(i);
+      if (!(curve instanceof InterpolatedNodalCurve) || !hasSameStructure(template, (InterpolatedNodalCurve) curve)) {
+        return curves;
+      }
+      System.arraycopy(((InterpolatedNodalCurve) curve).getYValues(), 0, yValues, i * nodeCount, nodeCount);
+    }
+    return new CurveScenarioValues(template, yValues, nodeCount);
+  }
+
+  // checks whether the curve differs from the template only in its y-values
+  private static boolean hasSameStructure(InterpolatedNodalCurve template, InterpolatedNodalCurve curve) {
+    return curve == template ||
+        (Arrays.equals(template.getXValues(), curve.getXValues()) &&
+            Objects.equals(template.getMetadata(), curve.getMetadata()) &&
+            Objects.equals(template.getInterpolator(), curve.getInterpolator()) &&
+            Objects.equals(template.getExtrapolatorLeft(), curve.getExtrapolatorLeft()) &&
+            Objects.equals(template.getExtrapolatorRight(), curve.getExtrapolatorRight()));
+  }
+
+  // restricted constructor
+  private CurveScenarioValues(InterpolatedNodalCurve template, double[] yValues, int nodeCount) {
+    this.template = template;
+    this.yValues = yValues;
+    this.nodeCount = nodeCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the curve for a scenario.
+   * <p>
+   * The same instance is returned for repeated requests unless the curve has been evicted
+   * from the cache by a request for another scenario.
+   *
+   * @param index  the index of the scenario
+   * @return the curve for the scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public InterpolatedNodalCurve get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Invalid scenario index: " + index);
+    }
+    CachedCurve[] cached = cache;
+    if (cached == null) {
+      cached = new CachedCurve[CACHE_SIZE];
+      cache = cached;
+    }
+    int slot = index % CACHE_SIZE;
+    CachedCurve entry = cached[slot];
+    if (entry != null && entry.index == index) {
+      return entry.curve;
+    }
+    int start = index * nodeCount;
+    InterpolatedNodalCurve curve = template.withYValues(Arrays.copyOfRange(yValues, start, start + nodeCount));
+    cached[slot] = new CachedCurve(index, curve);
+    return curve;
+  }
+
+  @Override
+  public int size() {
+    return yValues.length / nodeCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A curve held in the cache and the index of its scenario.
+   */
+  private static final class CachedCurve {
+
+    private final int index;
+    private final InterpolatedNodalCurve curve;
+
+    private CachedCurve(int index, InterpolatedNodalCurve curve) {
+      this.index = index;
+      this.curve = curve;
+    }
+  }
+
+}
@@ -29,9 +29,15 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.analytics.math.interpolation.CombinedInterpolatorExtrapolator;
+import com.opengamma.analytics.math.interpolation.FlatExtrapolator1D;
 import com.opengamma.analytics.math.interpolation.Interpolator1D;
 import com.opengamma.analytics.math.interpolation.Interpolator1DFactory;
 import com.opengamma.analytics.math.interpolation.data.Interpolator1DDataBundle;
+import com.opengamma.strata.basics.interpolator.BindableCurveExtrapolator;
+import com.opengamma.strata.basics.interpolator.BindableCurveInterpolator;
+import com.opengamma.strata.basics.interpolator.BoundCurveExtrapolators;
+import com.opengamma.strata.basics.interpolator.BoundCurveInterpolator;
+import com.opengamma.strata.basics.interpolator.BoundCurveInterpolators;
 import com.opengamma.strata.basics.interpolator.CurveExtrapolator;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.basics.value.ValueAdjustment;
@@ -48,6 +54,10 @@ import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivity;
  * An interpolator is used to find y-values for x-values between two nodes.
  * Two extrapolators are used to find y-values, one when the x-value is to the left
  * of the first node, and one where the x-value is to the right of the last node.
+ * <p>
+ * If the interpolator and extrapolators implement {@link BindableCurveInterpolator} and
+ * {@link BindableCurveExtrapolator}, they are bound to the nodes when the curve is created.
+ * Otherwise the legacy interpolation code is used.
  */
 @BeanDefinition
 public final class InterpolatedNodalCurve
@@ -94,11 +104,15 @@ public final class InterpolatedNodalCurve
   @PropertyDefinition(validate = "notNull")
   private final CurveExtrapolator extrapolatorRight;
   /**
-   * The underlying data bundle.
+   * The interpolator bound to the nodes, null if the legacy interpolator is used.
+   */
+  private transient final BoundCurveInterpolator boundInterpolator;  // derived and cached, not a property
+  /**
+   * The underlying data bundle, null if the bound interpolator is used.
    */
   private transient final Interpolator1DDataBundle underlyingDataBundle;  // derived and cached, not a property
   /**
-   * The underlying interpolator.
+   * The underlying interpolator, null if the bound interpolator is used.
    */
   private transient final Interpolator1D underlyingInterpolator;  // derived and cached, not a property
 
@@ -163,8 +177,42 @@ public final class InterpolatedNodalCurve
     this.extrapolatorLeft = extrapolatorLeft;
     this.interpolator = interpolator;
     this.extrapolatorRight = extrapolatorRight;
-    underlyingInterpolator = CombinedInterpolatorExtrapolator.of(interpolator, extrapolatorLeft, extrapolatorRight);
-    underlyingDataBundle = underlyingInterpolator.getDataBundleFromSortedArrays(this.xValues, this.yValues);
+    boundInterpolator = bind(this.xValues, this.yValues, extrapolatorLeft, interpolator, extrapolatorRight);
+    if (boundInterpolator != null) {
+      underlyingInterpolator = null;
+      underlyingDataBundle = null;
+    } else {
+      underlyingInterpolator = CombinedInterpolatorExtrapolator.of(interpolator, extrapolatorLeft, extrapolatorRight);
+      underlyingDataBundle = underlyingInterpolator.getDataBundleFromSortedArrays(this.xValues, this.yValues);
+    }
+  }
+
+  // binds the interpolator and extrapolators to the nodes, returning null if any cannot be bound
+  // the legacy flat extrapolator is the default, and is bound as its behavior is trivially the same
+  private static BoundCurveInterpolator bind(
+      double[] xValues,
+      double[] yValues,
+      CurveExtrapolator extrapolatorLeft,
+      CurveInterpolator interpolator,
+      CurveExtrapolator extrapolatorRight) {
+
+    if (!(interpolator instanceof BindableCurveInterpolator) ||
+        !isBindable(extrapolatorLeft) || !isBindable(extrapolatorRight)) {
+      return null;
+    }
+    BoundCurveInterpolator bound = ((BindableCurveInterpolator) interpolator).bind(xValues, yValues);
+    BoundCurveInterpolator left = extrapolatorLeft instanceof BindableCurveExtrapolator ?
+        ((BindableCurveExtrapolator) extrapolatorLeft).bindLeft(xValues, yValues, bound) :
+        BoundCurveExtrapolators.flat(yValues, 0);
+    BoundCurveInterpolator right = extrapolatorRight instanceof BindableCurveExtrapolator ?
+        ((BindableCurveExtrapolator) extrapolatorRight).bindRight(xValues, yValues, bound) :
+        BoundCurveExtrapolators.flat(yValues, yValues.length - 1);
+    return BoundCurveInterpolators.combined(bound, left, right, xValues);
+  }
+
+  // checks if the extrapolator can be bound
+  private static boolean isBindable(CurveExtrapolator extrapolator) {
+    return extrapolator instanceof BindableCurveExtrapolator || extrapolator.getClass() == FlatExtrapolator1D.class;
   }
 
   @ImmutableDefaults
@@ -187,17 +235,52 @@ public final class InterpolatedNodalCurve
   //-------------------------------------------------------------------------
   @Override
   public double yValue(double x) {
+    if (boundInterpolator != null) {
+      return boundInterpolator.interpolate(x);
+    }
     return underlyingInterpolator.interpolate(underlyingDataBundle, x);
   }
 
   @Override
   public CurveUnitParameterSensitivity yValueParameterSensitivity(double x) {
+    if (boundInterpolator != null) {
+      double[] array = new double[xValues.length];
+      boundInterpolator.parameterSensitivity(x, array);
+      return CurveUnitParameterSensitivity.of(metadata, array);
+    }
     double[] array = underlyingInterpolator.getNodeSensitivitiesForValue(underlyingDataBundle, x);
     return CurveUnitParameterSensitivity.of(metadata, array);
   }
 
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters,
+   * writing the result into the specified array.
+   * <p>
+   * This is equivalent to {@link #yValueParameterSensitivity(double)}, but allows
+   * the array to be reused when the sensitivity is needed at many x-values.
+   * No memory is allocated if the interpolator and extrapolators can be bound to the nodes.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param result  the array to write the sensitivity to, one element for each parameter
+   * @throws IllegalArgumentException if the array length does not match the number of parameters
+   */
+  public void yValueParameterSensitivity(double x, double[] result) {
+    if (result.length != xValues.length) {
+      throw new IllegalArgumentException("Length of result must match the number of parameters");
+    }
+    if (boundInterpolator != null) {
+      boundInterpolator.parameterSensitivity(x, result);
+    } else {
+      double[] array = underlyingInterpolator.getNodeSensitivitiesForValue(underlyingDataBundle, x);
+      System.arraycopy(array, 0, result, 0, result.length);
+    }
+  }
+
   @Override
   public double firstDerivative(double x) {
+    if (boundInterpolator != null) {
+      return boundInterpolator.firstDerivative(x);
+    }
     return underlyingInterpolator.firstDerivative(underlyingDataBundle, x);
   }
 
@@ -0,0 +1,605 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxConvertible;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Cross-gamma parameter sensitivity for a collection of curves.
+ * <p>
+ * Cross-gamma is the second order sensitivity of a currency-based value to the parameters
+ * of the curves used to determine the value. It is expressed as a square matrix, with one row
+ * and one column for each parameter of each curve.
+ * <p>
+ * The parameters are ordered curve by curve, in the order of the curve metadata, and within
+ * each curve in the order of the curve parameters. The element at row {@code i} and column {@code j}
+ * is the sensitivity of the delta to parameter {@code j} to a change in parameter {@code i}.
+ */
+@BeanDefinition(builderScope = "private")
+public final class CrossGammaParameterSensitivity
+    implements FxConvertible<CrossGammaParameterSensitivity>, ImmutableBean {
+
+  /**
+   * The metadata of the curves, in the order of the rows and columns of the matrix.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<CurveMetadata> curveMetadata;
+  /**
+   * The number of parameters of each curve, in the same order as the curve metadata.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final int[] parameterCounts;
+  /**
+   * The currency of the sensitivity.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+  /**
+   * The cross-gamma sensitivity values.
+   * The matrix is square, with one row and one column for each parameter of each curve.
+   */
+  @PropertyDefinition(validate = "notNull", get = "manual")
+  private final double[][] sensitivity;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the curve metadata, parameter counts, currency and sensitivity matrix.
+   * <p>
+   * The implementation will copy the input arrays.
+   *
+   * @param curveMetadata  the metadata of the curves, in matrix order
+   * @param parameterCounts  the number of parameters of each curve, in the same order as the metadata
+   * @param currency  the currency of the sensitivity
+   * @param sensitivity  the sensitivity matrix, with one row and one column for each parameter
+   * @return the sensitivity object
+   */
+  public static CrossGammaParameterSensitivity of(
+      List<CurveMetadata> curveMetadata,
+      int[] parameterCounts,
+      Currency currency,
+      double[][] sensitivity) {
+
+    ArgChecker.noNulls(sensitivity, "sensitivity");
+    return new CrossGammaParameterSensitivity(
+        ImmutableList.copyOf(curveMetadata), parameterCounts, currency, copy(sensitivity));
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    if (curveMetadata.size() != parameterCounts.length) {
+      throw new IllegalArgumentException("Length of curve metadata and parameter counts must match");
+    }
+    int total = 0;
+    for (int i = 0; i < parameterCounts.length; i++) {
+      int count = parameterCounts[i];
+      curveMetadata.get(i).getParameterMetadata().ifPresent(params -> {
+        if (count != params.size()) {
+          throw new IllegalArgumentException(
+              "Parameter count and length of parameter metadata must match when metadata present");
+        }
+      });
+      total += count;
+    }
+    if (sensitivity.length != total) {
+      throw new IllegalArgumentException("Number of rows of sensitivity must match total parameter count");
+    }
+    for (double[] row : sensitivity) {
+      if (row.length != total) {
+        throw new IllegalArgumentException("Number of columns of sensitivity must match total parameter count");
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total number of parameters, which is the size of the matrix.
+   *
+   * @return the number of parameters
+   */
+  public int getParameterCount() {
+    return sensitivity.length;
+  }
+
+  /**
+   * Gets the cross-gamma sensitivity values.
+   * <p>
+   * The matrix is square, with one row and one column for each parameter of each curve.
+   *
+   * @return a copy of the sensitivity matrix
+   */
+  public double[][] getSensitivity() {
+    return copy(sensitivity);
+  }
+
+  /**
+   * Gets the block of the matrix for a pair of curves.
+   * <p>
+   * The rows of the block are the parameters of the first curve and the columns
+   * are the parameters of the second curve. The block for the same curve twice
+   * is the cross-gamma within the curve.
+   *
+   * @param rowCurveName  the name of the curve whose parameters are the rows of the block
+   * @param columnCurveName  the name of the curve whose parameters are the columns of the block
+   * @return the block of the sensitivity matrix
+   * @throws IllegalArgumentException if either curve is not found
+   */
+  public double[][] getSensitivity(CurveName rowCurveName, CurveName columnCurveName) {
+    int rowCurve = curveIndex(rowCurveName);
+    int columnCurve = curveIndex(columnCurveName);
+    int rowStart = parameterOffset(rowCurve);
+    int columnStart = parameterOffset(columnCurve);
+    double[][] block = new double[parameterCounts[rowCurve]][];
+    for (int i = 0; i < block.length; i++) {
+      block[i] = new double[parameterCounts[columnCurve]];
+      System.arraycopy(sensitivity[rowStart + i], columnStart, block[i], 0, block[i].length);
+    }
+    return block;
+  }
+
+  // finds the index of the curve
+  private int curveIndex(CurveName curveName) {
+    for (int i = 0; i < curveMetadata.size(); i++) {
+      if (curveMetadata.get(i).getCurveName().equals(curveName)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException(Messages.format("Unable to find sensitivity for curve: {}", curveName));
+  }
+
+  // finds the index of the first parameter of the curve
+  private int parameterOffset(int curveIndex) {
+    int offset = 0;
+    for (int i = 0; i < curveIndex; i++) {
+      offset += parameterCounts[i];
+    }
+    return offset;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts this sensitivity to an equivalent in the specified currency.
+   * <p>
+   * Any FX conversion that is required will use rates from the provider.
+   *
+   * @param resultCurrency  the currency of the result
+   * @param rateProvider  the provider of FX rates
+   * @return the sensitivity object expressed in terms of the result currency
+   * @throws RuntimeException if no FX rate could be found
+   */
+  @Override
+  public CrossGammaParameterSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
+    if (currency.equals(resultCurrency)) {
+      return this;
+    }
+    double fxRate = rateProvider.fxRate(currency, resultCurrency);
+    return mapSensitivity(s -> s * fxRate, resultCurrency);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an instance with the sensitivity values multiplied by the specified factor.
+   * <p>
+   * Each value in the sensitivity matrix will be multiplied by the factor.
+   *
+   * @param factor  the multiplicative factor
+   * @return an instance based on this one, with each sensitivity multiplied by the factor
+   */
+  public CrossGammaParameterSensitivity multipliedBy(double factor) {
+    return mapSensitivity(s -> s * factor);
+  }
+
+  /**
+   * Returns an instance with the specified operation applied to the sensitivity values.
+   * <p>
+   * Each value in the sensitivity matrix will be operated on.
+   *
+   * @param operator  the operator to be applied to the sensitivities
+   * @return an instance based on this one, with the operator applied to the sensitivity values
+   */
+  public CrossGammaParameterSensitivity mapSensitivity(DoubleUnaryOperator operator) {
+    return mapSensitivity(operator, currency);
+  }
+
+  // maps the sensitivities and potentially changes the currency
+  private CrossGammaParameterSensitivity mapSensitivity(DoubleUnaryOperator operator, Currency currency) {
+    double[][] mapped = new double[sensitivity.length][];
+    for (int i = 0; i < mapped.length; i++) {
+      mapped[i] = DoubleArrayMath.apply(sensitivity[i], operator);
+    }
+    return new CrossGammaParameterSensitivity(curveMetadata, parameterCounts, currency, mapped);
+  }
+
+  // copies each row of the matrix
+  private static double[][] copy(double[][] matrix) {
+    double[][] copy = new double[matrix.length][];
+    for (int i = 0; i < matrix.length; i++) {
+      copy[i] = matrix[i].clone();
+    }
+    return copy;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code CrossGammaParameterSensitivity}.
+   * @return the meta-bean, not null
+   */
+  public static CrossGammaParameterSensitivity.Meta meta() {
+    return CrossGammaParameterSensitivity.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(CrossGammaParameterSensitivity.Meta.INSTANCE);
+  }
+
+  private CrossGammaParameterSensitivity(
+      List<CurveMetadata> curveMetadata,
+      int[] parameterCounts,
+      Currency currency,
+      double[][] sensitivity) {
+    JodaBeanUtils.notNull(curveMetadata, "curveMetadata");
+    JodaBeanUtils.notNull(parameterCounts, "parameterCounts");
+    JodaBeanUtils.notNull(currency, "currency");
+    JodaBeanUtils.notNull(sensitivity, "sensitivity");
+    this.curveMetadata = ImmutableList.copyOf(curveMetadata);
+    this.parameterCounts = parameterCounts.clone();
+    this.currency = currency;
+    this.sensitivity = sensitivity.clone();
+    validate();
+  }
+
+  @Override
+  public CrossGammaParameterSensitivity.Meta metaBean() {
+    return CrossGammaParameterSensitivity.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the metadata of the curves, in the order of the rows and columns of the matrix.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<CurveMetadata> getCurveMetadata() {
+    return curveMetadata;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of parameters of each curve, in the same order as the curve metadata.
+   * @return the value of the property, not null
+   */
+  public int[] getParameterCounts() {
+    return (parameterCounts != null ? parameterCounts.clone() : null);
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency of the sensitivity.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      CrossGammaParameterSensitivity other = (CrossGammaParameterSensitivity) obj;
+      return JodaBeanUtils.equal(getCurveMetadata(), other.getCurveMetadata()) &&
+          JodaBeanUtils.equal(getParameterCounts(), other.getParameterCounts()) &&
+          JodaBeanUtils.equal(getCurrency(), other.getCurrency()) &&
+          JodaBeanUtils.equal(getSensitivity(), other.getSensitivity());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(getCurveMetadata());
+    hash = hash * 31 + JodaBeanUtils.hashCode(getParameterCounts());
+    hash = hash * 31 + JodaBeanUtils.hashCode(getCurrency());
+    hash = hash * 31 + JodaBeanUtils.hashCode(getSensitivity());
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("CrossGammaParameterSensitivity{");
+    buf.append("curveMetadata").append('=').append(getCurveMetadata()).append(',').append(' ');
+    buf.append("parameterCounts").append('=').append(JodaBeanUtils.toString(getParameterCounts())).append(',').append(' ');
+    buf.append("currency").append('=').append(getCurrency()).append(',').append(' ');
+    buf.append("sensitivity").append('=').append(JodaBeanUtils.toString(getSensitivity()));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code CrossGammaParameterSensitivity}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code curveMetadata} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<CurveMetadata>> curveMetadata = DirectMetaProperty.ofImmutable(
+        this, "curveMetadata", CrossGammaParameterSensitivity.class, (Class) ImmutableList.class);
+    /**
+     * The meta-property for the {@code parameterCounts} property.
+     */
+    private final MetaProperty<int[]> parameterCounts = DirectMetaProperty.ofImmutable(
+        this, "parameterCounts", CrossGammaParameterSensitivity.class, int[].class);
+    /**
+     * The meta-property for the {@code currency} property.
+     */
+    private final MetaProperty<Currency> currency = DirectMetaProperty.ofImmutable(
+        this, "currency", CrossGammaParameterSensitivity.class, Currency.class);
+    /**
+     * The meta-property for the {@code sensitivity} property.
+     */
+    private final MetaProperty<double[][]> sensitivity = DirectMetaProperty.ofImmutable(
+        this, "sensitivity", CrossGammaParameterSensitivity.class, double[][].class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "curveMetadata",
+        "parameterCounts",
+        "currency",
+        "sensitivity");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 278233406:  // curveMetadata
+          return curveMetadata;
+        case -32420275:  // parameterCounts
+          return parameterCounts;
+        case 575402001:  // currency
+          return currency;
+        case 564403871:  // sensitivity
+          return sensitivity;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends CrossGammaParameterSensitivity> builder() {
+      return new CrossGammaParameterSensitivity.Builder();
+    }
+
+    @Override
+    public Class<? extends CrossGammaParameterSensitivity> beanType() {
+      return CrossGammaParameterSensitivity.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code curveMetadata} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<CurveMetadata>> curveMetadata() {
+      return curveMetadata;
+    }
+
+    /**
+     * The meta-property for the {@code parameterCounts} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<int[]> parameterCounts() {
+      return parameterCounts;
+    }
+
+    /**
+     * The meta-property for the {@code currency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> currency() {
+      return currency;
+    }
+
+    /**
+     * The meta-property for the {@code sensitivity} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<double[][]> sensitivity() {
+      return sensitivity;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 278233406:  // curveMetadata
+          return ((CrossGammaParameterSensitivity) bean).getCurveMetadata();
+        case -32420275:  // parameterCounts
+          return ((CrossGammaParameterSensitivity) bean).getParameterCounts();
+        case 575402001:  // currency
+          return ((CrossGammaParameterSensitivity) bean).getCurrency();
+        case 564403871:  // sensitivity
+          return ((CrossGammaParameterSensitivity) bean).getSensitivity();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code CrossGammaParameterSensitivity}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<CrossGammaParameterSensitivity> {
+
+    private List<CurveMetadata> curveMetadata = ImmutableList.of();
+    private int[] parameterCounts;
+    private Currency currency;
+    private double[][] sensitivity;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 278233406:  // curveMetadata
+          return curveMetadata;
+        case -32420275:  // parameterCounts
+          return parameterCounts;
+        case 575402001:  // currency
+          return currency;
+        case 564403871:  // sensitivity
+          return sensitivity;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 278233406:  // curveMetadata
+          this.curveMetadata = (List<CurveMetadata>) newValue;
+          break;
+        case -32420275:  // parameterCounts
+          this.parameterCounts = (int[]) newValue;
+          break;
+        case 575402001:  // currency
+          this.currency = (Currency) newValue;
+          break;
+        case 564403871:  // sensitivity
+          this.sensitivity = (double[][]) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public CrossGammaParameterSensitivity build() {
+      return new CrossGammaParameterSensitivity(
+          curveMetadata,
+          parameterCounts,
+          currency,
+          sensitivity);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(160);
+      buf.append("CrossGammaParameterSensitivity.Builder{");
+      buf.append("curveMetadata").append('=').append(JodaBeanUtils.toString(curveMetadata)).append(',').append(' ');
+      buf.append("parameterCounts").append('=').append(JodaBeanUtils.toString(parameterCounts)).append(',').append(' ');
+      buf.append("currency").append('=').append(JodaBeanUtils.toString(currency)).append(',').append(' ');
+      buf.append("sensitivity").append('=').append(JodaBeanUtils.toString(sensitivity));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Mutable builder for sensitivity to a group of curves.
+ * <p>
+ * Contains one mutable array of sensitivity values for each curve and currency,
+ * into which each added {@linkplain CurveCurrencyParameterSensitivity parameter sensitivity}
+ * is summed in place. The immutable {@link CurveCurrencyParameterSensitivities} is only created
+ * when {@link #build()} is called.
+ * <p>
+ * This produces the same result as repeatedly calling
+ * {@link CurveCurrencyParameterSensitivities#combinedWith(CurveCurrencyParameterSensitivity)},
+ * without creating a new list and a new array each time a sensitivity is added.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ */
+public final class CurveCurrencyParameterSensitivitiesBuilder {
+
+  /**
+   * The sensitivities, keyed by curve name and currency.
+   */
+  private final Map<Pair<CurveName, Currency>, Entry> entries = new LinkedHashMap<>();
+
+  /**
+   * Creates an empty instance.
+   */
+  public CurveCurrencyParameterSensitivitiesBuilder() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of curve and currency combinations.
+   *
+   * @return the number of sensitivity entries that will be built
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Adds a parameter sensitivity, summing it into the existing values for the same curve and currency.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   * @throws IllegalArgumentException if the number of parameters differs from an existing entry
+   */
+  public CurveCurrencyParameterSensitivitiesBuilder add(CurveCurrencyParameterSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    Pair<CurveName, Currency> key = Pair.of(sensitivity.getCurveName(), sensitivity.getCurrency());
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entries.put(key, new Entry(sensitivity.getMetadata(), sensitivity.getSensitivity()));
+    } else {
+      entry.add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds parameter sensitivities, summing each into the existing values for the same curve and currency.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   * @throws IllegalArgumentException if the number of parameters differs from an existing entry
+   */
+  public CurveCurrencyParameterSensitivitiesBuilder add(CurveCurrencyParameterSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (CurveCurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the immutable parameter sensitivities.
+   * <p>
+   * The builder may continue to be used after this method is called.
+   *
+   * @return the immutable sensitivities
+   */
+  public CurveCurrencyParameterSensitivities build() {
+    List<CurveCurrencyParameterSensitivity> sensitivities = new ArrayList<>(entries.size());
+    for (Map.Entry<Pair<CurveName, Currency>, Entry> entry : entries.entrySet()) {
+      Entry value = entry.getValue();
+      sensitivities.add(CurveCurrencyParameterSensitivity.of(
+          value.metadata, entry.getKey().getSecond(), value.values.clone()));
+    }
+    return CurveCurrencyParameterSensitivities.of(sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The mutable values of a single curve and currency.
+   */
+  private static final class Entry {
+
+    /**
+     * The metadata of the curve, from the first sensitivity added.
+     */
+    private final CurveMetadata metadata;
+    /**
+     * The summed sensitivity values.
+     */
+    private final double[] values;
+
+    private Entry(CurveMetadata metadata, double[] values) {
+      this.metadata = metadata;
+      this.values = values;
+    }
+
+    // sums the values in place
+    private void add(CurveCurrencyParameterSensitivity sensitivity) {
+      double[] addition = sensitivity.getSensitivity();
+      ArgChecker.isTrue(addition.length == values.length, "Sensitivities cannot be combined as they differ in length");
+      for (int i = 0; i < values.length; i++) {
+        values[i] += addition[i];
+      }
+    }
+  }
+
+}
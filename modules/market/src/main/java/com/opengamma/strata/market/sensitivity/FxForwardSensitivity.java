@@ -164,6 +164,16 @@ public final class FxForwardSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + currencyPair.hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + referenceCurrency.hashCode();
+    hash = hash * 31 + referenceDate.hashCode();
+    return hash;
+  }
+
   @Override
   public FxForwardSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (FxForwardSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
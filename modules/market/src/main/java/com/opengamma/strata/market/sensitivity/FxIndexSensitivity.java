@@ -178,6 +178,16 @@ public final class FxIndexSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + index.getName().hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + referenceCurrency.hashCode();
+    hash = hash * 31 + fixingDate.hashCode();
+    return hash;
+  }
+
   @Override
   public FxIndexSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (FxIndexSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
@@ -159,6 +159,18 @@ public final class IborFutureOptionSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + index.getName().hashCode();
+    hash = hash * 31 + expiration.hashCode();
+    hash = hash * 31 + fixingDate.hashCode();
+    hash = hash * 31 + Double.hashCode(strikePrice);
+    hash = hash * 31 + Double.hashCode(futurePrice);
+    hash = hash * 31 + currency.hashCode();
+    return hash;
+  }
+
   @Override
   public IborFutureOptionSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (IborFutureOptionSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
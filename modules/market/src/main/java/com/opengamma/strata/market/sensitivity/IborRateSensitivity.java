@@ -120,6 +120,15 @@ public final class IborRateSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + index.getName().hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + fixingDate.hashCode();
+    return hash;
+  }
+
   @Override
   public IborRateSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (IborRateSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
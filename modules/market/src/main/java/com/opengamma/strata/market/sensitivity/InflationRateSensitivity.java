@@ -120,6 +120,15 @@ public final class InflationRateSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + index.getName().hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + referenceMonth.hashCode();
+    return hash;
+  }
+
   @Override
   public InflationRateSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (InflationRateSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
@@ -153,6 +153,16 @@ public final class IssuerCurveZeroRateSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + curveCurrency.hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + date.hashCode();
+    hash = hash * 31 + legalEntityGroup.hashCode();
+    return hash;
+  }
+
   @Override
   public IssuerCurveZeroRateSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (IssuerCurveZeroRateSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
@@ -178,28 +178,23 @@ public final class MutablePointSensitivities
   /**
    * Normalizes the point sensitivities by sorting and merging, mutating the internal list.
    * <p>
-   * The list of sensitivities is sorted and then merged.
+   * The list of sensitivities is merged and then sorted.
    * Any two entries that represent the same curve query are merged.
    * For example, if there are two point sensitivities that were created based on the same curve,
    * currency and fixing date, then the entries are combined, summing the sensitivity value.
    * <p>
    * The intention is that normalization occurs after gathering all the point sensitivities.
+   * The merging takes linear time, see {@link PointSensitivityCompactor}.
    * 
    * @return {@code this}, for method chaining
    */
   @Override
   public MutablePointSensitivities normalize() {
-    sensitivities.sort(PointSensitivity::compareKey);
-    PointSensitivity previous = sensitivities.get(0);
-    for (int i = 1; i < sensitivities.size(); i++) {
-      PointSensitivity current = sensitivities.get(i);
-      if (current.compareKey(previous) == 0) {
-        sensitivities.set(i - 1, previous.withSensitivity(previous.getSensitivity() + current.getSensitivity()));
-        sensitivities.remove(i);
-        i--;
-      }
-      previous = current;
-    }
+    List<PointSensitivity> normalized = new PointSensitivityCompactor()
+        .addAll(sensitivities)
+        .buildList();
+    sensitivities.clear();
+    sensitivities.addAll(normalized);
     return this;
   }
 
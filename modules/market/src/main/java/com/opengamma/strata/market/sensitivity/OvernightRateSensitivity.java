@@ -140,6 +140,16 @@ public final class OvernightRateSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + index.getName().hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + fixingDate.hashCode();
+    hash = hash * 31 + endDate.hashCode();
+    return hash;
+  }
+
   @Override
   public OvernightRateSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (OvernightRateSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
@@ -169,7 +169,7 @@ public final class PointSensitivities
   /**
    * Normalizes the point sensitivities by sorting and merging.
    * <p>
-   * The list of sensitivities is sorted and then merged.
+   * The list of sensitivities is merged and then sorted.
    * Any two entries that represent the same curve query are merged.
    * For example, if there are two point sensitivities that were created based on the same curve,
    * currency and fixing date, then the entries are combined, summing the sensitivity value.
@@ -184,19 +184,10 @@ public final class PointSensitivities
     if (sensitivities.isEmpty()) {
       return this;
     }
-    List<PointSensitivity> mutable = new ArrayList<>(sensitivities);
-    mutable.sort(PointSensitivity::compareKey);
-    PointSensitivity last = mutable.get(0);
-    for (int i = 1; i < mutable.size(); i++) {
-      PointSensitivity current = mutable.get(i);
-      if (current.compareKey(last) == 0) {
-        mutable.set(i - 1, last.withSensitivity(last.getSensitivity() + current.getSensitivity()));
-        mutable.remove(i);
-        i--;
-      }
-      last = current;
-    }
-    return new PointSensitivities(mutable);
+    List<PointSensitivity> normalized = new PointSensitivityCompactor()
+        .addAll(sensitivities)
+        .buildList();
+    return new PointSensitivities(normalized);
   }
 
   //-----------------------------------------------------------------------
@@ -76,6 +76,21 @@ public interface PointSensitivity
    */
   public abstract int compareKey(PointSensitivity other);
 
+  /**
+   * Gets a hash code of the key, excluding the point sensitivity value.
+   * <p>
+   * Two sensitivities whose keys are equal according to {@link #compareKey(PointSensitivity)}
+   * must have the same key hash code.
+   * <p>
+   * The default implementation hashes a copy with a sensitivity of zero.
+   * Implementations should override this to hash the key without creating a copy.
+   *
+   * @return the hash code of the key
+   */
+  public default int hashKey() {
+    return withSensitivity(0d).hashCode();
+  }
+
   /**
    * Converts this instance to an equivalent amount in the specified currency.
    * <p>
@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Mutable builder that merges point sensitivities as they are added.
+ * <p>
+ * Each {@linkplain PointSensitivity point sensitivity} is keyed by everything except its value,
+ * such as the curve, date and currency. The first time a key is seen it is allocated a slot,
+ * and the values of all the point sensitivities with that key are summed into the slot.
+ * The slots are found using an open-addressing hash table, using {@link PointSensitivity#hashKey()}
+ * and {@link PointSensitivity#compareKey(PointSensitivity)}, so adding a point sensitivity
+ * takes constant time and only one object is created per distinct key.
+ * <p>
+ * When there are many duplicates, as is typical when gathering the sensitivities of many trades,
+ * this is much faster and uses much less memory than gathering all the point sensitivities
+ * and then normalizing them.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ * It is intended to be used to create a normalized {@link PointSensitivities} instance.
+ */
+public final class PointSensitivityCompactor {
+
+  /**
+   * The initial capacity if none is specified.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+  /**
+   * The marker for an empty entry in the hash table.
+   */
+  private static final int EMPTY = -1;
+
+  /**
+   * The keys of the slots, being the point sensitivities with a value of zero.
+   */
+  private PointSensitivity[] keys;
+  /**
+   * The accumulated value of each slot.
+   */
+  private double[] values;
+  /**
+   * The number of slots in use.
+   */
+  private int size;
+  /**
+   * The hash table, containing the slot index of each key, or {@code EMPTY}.
+   * The length is always a power of two and at least twice the capacity of the slots.
+   */
+  private int[] table;
+
+  /**
+   * Creates an empty instance.
+   */
+  public PointSensitivityCompactor() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty instance with an initial capacity.
+   * <p>
+   * The capacity is the number of distinct keys expected, the instance grows as necessary.
+   *
+   * @param capacity  the initial capacity
+   */
+  public PointSensitivityCompactor(int capacity) {
+    ArgChecker.notNegative(capacity, "capacity");
+    int slotCount = Math.max(capacity, DEFAULT_CAPACITY);
+    this.keys = new PointSensitivity[slotCount];
+    this.values = new double[slotCount];
+    this.table = emptyTable(slotCount);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of distinct keys.
+   *
+   * @return the number of point sensitivities that will be built
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds a point sensitivity, merging it with any existing point sensitivity with the same key.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityCompactor add(PointSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    int mask = table.length - 1;
+    int index = spread(sensitivity.hashKey()) & mask;
+    while (table[index] != EMPTY) {
+      int slot = table[index];
+      if (keys[slot].compareKey(sensitivity) == 0) {
+        values[slot] += sensitivity.getSensitivity();
+        return this;
+      }
+      index = (index + 1) & mask;
+    }
+    if (size == keys.length) {
+      grow();
+      return add(sensitivity);
+    }
+    keys[size] = sensitivity.withSensitivity(0d);
+    values[size] = sensitivity.getSensitivity();
+    table[index] = size;
+    size++;
+    return this;
+  }
+
+  /**
+   * Adds a list of point sensitivities, merging each with any existing point sensitivity with the same key.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityCompactor addAll(List<? extends PointSensitivity> sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (PointSensitivity sensitivity : sensitivities) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the point sensitivities of an immutable instance, merging each with any existing
+   * point sensitivity with the same key.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityCompactor addAll(PointSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    return addAll(sensitivities.getSensitivities());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the normalized list of point sensitivities.
+   * <p>
+   * The list contains one point sensitivity for each distinct key, sorted as per
+   * {@link PointSensitivity#compareKey(PointSensitivity)}.
+   * Only the distinct keys are sorted, so this is fast when there were many duplicates.
+   *
+   * @return the normalized list of point sensitivities
+   */
+  public List<PointSensitivity> buildList() {
+    List<PointSensitivity> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(keys[i].withSensitivity(values[i]));
+    }
+    result.sort(PointSensitivity::compareKey);
+    return result;
+  }
+
+  /**
+   * Builds the normalized point sensitivities.
+   * <p>
+   * The result contains one point sensitivity for each distinct key, sorted as per
+   * {@link PointSensitivity#compareKey(PointSensitivity)}.
+   *
+   * @return the normalized point sensitivities
+   */
+  public PointSensitivities build() {
+    return PointSensitivities.of(buildList());
+  }
+
+  //-------------------------------------------------------------------------
+  // doubles the capacity, rehashing the existing keys
+  private void grow() {
+    int slotCount = keys.length * 2;
+    keys = Arrays.copyOf(keys, slotCount);
+    values = Arrays.copyOf(values, slotCount);
+    table = emptyTable(slotCount);
+    int mask = table.length - 1;
+    for (int slot = 0; slot < size; slot++) {
+      int index = spread(keys[slot].hashKey()) & mask;
+      while (table[index] != EMPTY) {
+        index = (index + 1) & mask;
+      }
+      table[index] = slot;
+    }
+  }
+
+  // creates a hash table with a load factor of at most one half
+  private static int[] emptyTable(int slotCount) {
+    int[] table = new int[Integer.highestOneBit(slotCount) * 4];
+    Arrays.fill(table, EMPTY);
+    return table;
+  }
+
+  // spreads the bits of the hash code, as the hash table size is a power of two
+  private static int spread(int hash) {
+    int spread = hash * 0x9E3779B9;
+    return spread ^ (spread >>> 16);
+  }
+
+}
@@ -152,6 +152,16 @@ public final class RepoCurveZeroRateSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + curveCurrency.hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + date.hashCode();
+    hash = hash * 31 + bondGroup.hashCode();
+    return hash;
+  }
+
   @Override
   public RepoCurveZeroRateSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (RepoCurveZeroRateSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
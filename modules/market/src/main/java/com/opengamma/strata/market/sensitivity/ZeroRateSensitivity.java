@@ -120,6 +120,15 @@ public final class ZeroRateSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + curveCurrency.hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + date.hashCode();
+    return hash;
+  }
+
   @Override
   public ZeroRateSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (ZeroRateSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
@@ -25,8 +25,15 @@ import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
+import com.opengamma.analytics.math.interpolation.CombinedInterpolatorExtrapolator;
+import com.opengamma.analytics.math.interpolation.FlatExtrapolator1D;
 import com.opengamma.analytics.math.interpolation.GridInterpolator2D;
+import com.opengamma.analytics.math.interpolation.Interpolator1D;
+import com.opengamma.analytics.math.interpolation.LinearInterpolator1D;
+import com.opengamma.analytics.math.interpolation.NaturalCubicSplineInterpolator1D;
 import com.opengamma.analytics.math.interpolation.data.Interpolator1DDataBundle;
+import com.opengamma.strata.basics.interpolator.BoundSurfaceInterpolator;
+import com.opengamma.strata.basics.interpolator.BoundSurfaceInterpolators;
 import com.opengamma.strata.basics.value.ValueAdjustment;
 import com.opengamma.strata.collect.function.DoubleTenaryOperator;
 import com.opengamma.strata.collect.tuple.DoublesPair;
@@ -39,6 +46,11 @@ import com.opengamma.strata.collect.tuple.DoublesPair;
  * Each node has an x-value and a y-value.
  * The interface is focused on finding the z-value for a given x-value and y-value.
  * An interpolator is used to find z-values for x-values and y-values between two nodes.
+ * <p>
+ * If the nodes form a grid, and the interpolator is linear with flat extrapolation in the x-direction
+ * and either linear or natural cubic spline with flat extrapolation in the y-direction,
+ * the interpolator is bound to the nodes when the surface is created, see {@link BoundSurfaceInterpolators}.
+ * Otherwise the legacy interpolation code is used.
  */
 @BeanDefinition
 public final class InterpolatedNodalSurface
@@ -79,7 +91,11 @@ public final class InterpolatedNodalSurface
   @PropertyDefinition(validate = "notNull")
   private final GridInterpolator2D interpolator;
   /**
-   * The underlying data bundle.
+   * The interpolator bound to the nodes, null if the legacy interpolator is used.
+   */
+  private transient final BoundSurfaceInterpolator boundInterpolator;  // derived and cached, not a property
+  /**
+   * The underlying data bundle, null if the bound interpolator is used.
    */
   private transient final Map<Double, Interpolator1DDataBundle> underlyingDataBundle;  // derived and cached, not a property
 
@@ -144,12 +160,49 @@ public final class InterpolatedNodalSurface
     this.xValues = xValues.clone();
     this.yValues = yValues.clone();
     this.zValues = zValues.clone();
-    Map<DoublesPair, Double> pairs = new HashMap<>();
-    for (int i = 0; i < xValues.length; i++) {
-      pairs.put(DoublesPair.of(xValues[i], yValues[i]), zValues[i]);
-    }
     this.interpolator = interpolator;
-    underlyingDataBundle = interpolator.getDataBundle(pairs);
+    boundInterpolator = bind(this.xValues, this.yValues, this.zValues, interpolator);
+    if (boundInterpolator != null) {
+      underlyingDataBundle = null;
+    } else {
+      Map<DoublesPair, Double> pairs = new HashMap<>();
+      for (int i = 0; i < xValues.length; i++) {
+        pairs.put(DoublesPair.of(xValues[i], yValues[i]), zValues[i]);
+      }
+      underlyingDataBundle = interpolator.getDataBundle(pairs);
+    }
+  }
+
+  // binds the interpolator to the nodes, returning null if it cannot be bound
+  private static BoundSurfaceInterpolator bind(
+      double[] xValues,
+      double[] yValues,
+      double[] zValues,
+      GridInterpolator2D interpolator) {
+
+    if (!isFlatExtrapolated(interpolator.getXInterpolator(), LinearInterpolator1D.class) ||
+        !BoundSurfaceInterpolators.isGrid(xValues, yValues)) {
+      return null;
+    }
+    Interpolator1D yInterpolator = interpolator.getYInterpolator();
+    if (isFlatExtrapolated(yInterpolator, LinearInterpolator1D.class)) {
+      return BoundSurfaceInterpolators.bilinear(xValues, yValues, zValues);
+    }
+    if (isFlatExtrapolated(yInterpolator, NaturalCubicSplineInterpolator1D.class)) {
+      return BoundSurfaceInterpolators.linearNaturalCubicSpline(xValues, yValues, zValues);
+    }
+    return null;
+  }
+
+  // checks if the legacy interpolator is of the specified type, with flat extrapolation on both sides
+  private static boolean isFlatExtrapolated(Interpolator1D interpolator, Class<? extends Interpolator1D> type) {
+    if (!(interpolator instanceof CombinedInterpolatorExtrapolator)) {
+      return false;
+    }
+    CombinedInterpolatorExtrapolator combined = (CombinedInterpolatorExtrapolator) interpolator;
+    return type.isInstance(combined.getInterpolator()) &&
+        combined.getLeftExtrapolator() instanceof FlatExtrapolator1D &&
+        combined.getRightExtrapolator() instanceof FlatExtrapolator1D;
   }
 
   // ensure standard constructor is invoked
@@ -166,14 +219,45 @@ public final class InterpolatedNodalSurface
   //-------------------------------------------------------------------------
   @Override
   public double zValue(double x, double y) {
+    if (boundInterpolator != null) {
+      return boundInterpolator.interpolate(x, y);
+    }
     return zValue(DoublesPair.of(x, y));
   }
 
   @Override
   public double zValue(DoublesPair xyPair) {
+    if (boundInterpolator != null) {
+      return boundInterpolator.interpolate(xyPair.getFirst(), xyPair.getSecond());
+    }
     return interpolator.interpolate(underlyingDataBundle, xyPair);
   }
 
+  /**
+   * Computes the z-values for a number of points, writing the result into the specified array.
+   * <p>
+   * The z-value for the x-value and y-value at each index is written to the result at the same index.
+   * This allows many points to be evaluated at once, such as the options of a portfolio.
+   * No memory is allocated if the interpolator can be bound to the nodes.
+   * 
+   * @param xValues  the x-values to find the z-values for
+   * @param yValues  the y-values to find the z-values for
+   * @param result  the array to write the z-values to, the same length as the x-values and y-values
+   * @throws IllegalArgumentException if the array lengths do not match
+   */
+  public void zValue(double[] xValues, double[] yValues, double[] result) {
+    if (xValues.length != yValues.length || xValues.length != result.length) {
+      throw new IllegalArgumentException("Length of x-values, y-values and result must match");
+    }
+    if (boundInterpolator != null) {
+      boundInterpolator.interpolate(xValues, yValues, result);
+    } else {
+      for (int i = 0; i < result.length; i++) {
+        result[i] = interpolator.interpolate(underlyingDataBundle, DoublesPair.of(xValues[i], yValues[i]));
+      }
+    }
+  }
+
   @Override
   public Map<DoublesPair, Double> zValueParameterSensitivity(double x, double y) {
     return zValueParameterSensitivity(DoublesPair.of(x, y));
@@ -181,9 +265,47 @@ public final class InterpolatedNodalSurface
 
   @Override
   public Map<DoublesPair, Double> zValueParameterSensitivity(DoublesPair xyPair) {
+    if (boundInterpolator != null) {
+      double[] array = new double[xValues.length];
+      boundInterpolator.parameterSensitivity(xyPair.getFirst(), xyPair.getSecond(), array);
+      Map<DoublesPair, Double> result = new HashMap<>();
+      for (int i = 0; i < array.length; i++) {
+        result.put(DoublesPair.of(xValues[i], yValues[i]), array[i]);
+      }
+      return result;
+    }
     return interpolator.getNodeSensitivitiesForValue(underlyingDataBundle, xyPair);
   }
 
+  /**
+   * Computes the sensitivity of the z-value with respect to the surface parameters,
+   * writing the result into the specified array.
+   * <p>
+   * This is equivalent to {@link #zValueParameterSensitivity(double, double)}, but the sensitivity
+   * is in the order of the parameters rather than keyed by node, and the array can be reused when
+   * the sensitivity is needed at many points.
+   * No memory is allocated if the interpolator can be bound to the nodes.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param y  the y-value at which the parameter sensitivity is computed
+   * @param result  the array to write the sensitivity to, one element for each parameter
+   * @throws IllegalArgumentException if the array length does not match the number of parameters
+   */
+  public void zValueParameterSensitivity(double x, double y, double[] result) {
+    if (result.length != xValues.length) {
+      throw new IllegalArgumentException("Length of result must match the number of parameters");
+    }
+    if (boundInterpolator != null) {
+      boundInterpolator.parameterSensitivity(x, y, result);
+    } else {
+      Map<DoublesPair, Double> map =
+          interpolator.getNodeSensitivitiesForValue(underlyingDataBundle, DoublesPair.of(x, y));
+      for (int i = 0; i < result.length; i++) {
+        result[i] = map.getOrDefault(DoublesPair.of(xValues[i], yValues[i]), 0d);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public InterpolatedNodalSurface withZValues(double[] zValues) {
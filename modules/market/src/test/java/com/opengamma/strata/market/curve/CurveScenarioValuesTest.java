@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.analytics.math.interpolation.LinearInterpolator1D;
+import com.opengamma.analytics.math.interpolation.LogLinearInterpolator1D;
+import com.opengamma.strata.basics.interpolator.CurveInterpolator;
+
+/**
+ * Test {@link CurveScenarioValues}.
+ */
+@Test
+public class CurveScenarioValuesTest {
+
+  private static final CurveMetadata METADATA = Curves.zeroRates(CurveName.of("TestCurve"), ACT_365F);
+  private static final double[] XVALUES = {1d, 2d, 3d};
+  private static final CurveInterpolator INTERPOLATOR = new LinearInterpolator1D();
+  private static final InterpolatedNodalCurve CURVE1 =
+      InterpolatedNodalCurve.of(METADATA, XVALUES, new double[] {5d, 7d, 8d}, INTERPOLATOR);
+  private static final InterpolatedNodalCurve CURVE2 = CURVE1.withYValues(new double[] {6d, 8d, 9d});
+  private static final InterpolatedNodalCurve CURVE3 = CURVE1.withYValues(new double[] {4d, 6d, 7d});
+
+  //-------------------------------------------------------------------------
+  public void test_compact() {
+    List<Curve> test = CurveScenarioValues.compact(ImmutableList.of(CURVE1, CURVE2, CURVE3));
+    assertThat(test).isInstanceOf(CurveScenarioValues.class);
+    assertThat(test).hasSize(3);
+    assertThat(test).containsExactly(CURVE1, CURVE2, CURVE3);
+    assertThat(test.get(1).yValue(2.5d)).isEqualTo(CURVE2.yValue(2.5d));
+    assertThrows(() -> test.get(3), IndexOutOfBoundsException.class);
+  }
+
+  public void test_get_cached() {
+    List<Curve> test = CurveScenarioValues.compact(ImmutableList.of(CURVE1, CURVE2, CURVE3));
+    assertThat(test.get(1)).isSameAs(test.get(1));
+    assertThat(test.get(2)).isEqualTo(CURVE3);
+  }
+
+  public void test_get_notAllRetained() {
+    List<Curve> curves = IntStream.range(0, 40)
+        .mapToObj(i -> CURVE1.withYValues(new double[] {i, i + 1d, i + 2d}))
+        .collect(toImmutableList());
+    List<Curve> test = CurveScenarioValues.compact(curves);
+    Curve first = test.get(0);
+    assertThat(test.get(0)).isSameAs(first);
+    // reading every scenario evicts the first curve, so the curves are not all held by the list
+    for (int i = 0; i < test.size(); i++) {
+      assertThat(test.get(i)).isEqualTo(curves.get(i));
+    }
+    assertThat(test.get(0)).isNotSameAs(first).isEqualTo(first);
+  }
+
+  public void test_compact_differentXValues() {
+    InterpolatedNodalCurve curve = CURVE1.withNode(0, 0.5d, 5d);
+    List<Curve> curves = ImmutableList.of(CURVE1, curve);
+    assertThat(CurveScenarioValues.compact(curves)).isSameAs(curves);
+  }
+
+  public void test_compact_differentInterpolator() {
+    InterpolatedNodalCurve curve = CURVE1.toBuilder().interpolator(new LogLinearInterpolator1D()).build();
+    List<Curve> curves = ImmutableList.of(CURVE1, curve);
+    assertThat(CurveScenarioValues.compact(curves)).isSameAs(curves);
+  }
+
+  public void test_compact_notInterpolatedNodalCurve() {
+    List<Curve> curves = ImmutableList.of(CURVE1, ConstantNodalCurve.of(METADATA, 1d));
+    assertThat(CurveScenarioValues.compact(curves)).isSameAs(curves);
+    List<Curve> empty = ImmutableList.of();
+    assertThat(CurveScenarioValues.compact(empty)).isSameAs(empty);
+  }
+
+  public void test_serialization() {
+    List<Curve> test = CurveScenarioValues.compact(ImmutableList.of(CURVE1, CURVE2));
+    test.get(0);
+    assertSerialization(test);
+  }
+
+}
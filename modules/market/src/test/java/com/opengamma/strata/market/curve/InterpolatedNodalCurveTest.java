@@ -13,6 +13,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,11 +25,16 @@ import com.opengamma.analytics.math.interpolation.CombinedInterpolatorExtrapolat
 import com.opengamma.analytics.math.interpolation.FlatExtrapolator1D;
 import com.opengamma.analytics.math.interpolation.Interpolator1D;
 import com.opengamma.analytics.math.interpolation.Interpolator1DFactory;
+import com.opengamma.analytics.math.interpolation.LinearInterpolator1D;
 import com.opengamma.analytics.math.interpolation.LogLinearInterpolator1D;
 import com.opengamma.analytics.math.interpolation.data.Interpolator1DDataBundle;
+import com.opengamma.strata.basics.interpolator.BindableCurveInterpolator;
+import com.opengamma.strata.basics.interpolator.BoundCurveInterpolator;
+import com.opengamma.strata.basics.interpolator.BoundCurveInterpolators;
 import com.opengamma.strata.basics.interpolator.CurveExtrapolator;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.basics.value.ValueAdjustment;
+import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivity;
 
 /**
@@ -90,6 +96,31 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(COMBINED.firstDerivative(bundle, 10d));
   }
 
+  public void test_lookup_bound() {
+    Interpolator1D legacy = CombinedInterpolatorExtrapolator.of(
+        Interpolator1DFactory.LINEAR_INSTANCE, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    Interpolator1DDataBundle bundle = legacy.getDataBundle(XVALUES, YVALUES);
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, new BindableLinear());
+    double[] array = new double[SIZE];
+    for (double x : new double[] {0.5d, 1.2d, 2.7d, 10d}) {
+      assertThat(test.yValue(x)).isEqualTo(legacy.interpolate(bundle, x), offset(1e-12));
+      assertThat(test.firstDerivative(x)).isEqualTo(legacy.firstDerivative(bundle, x), offset(1e-12));
+      double[] expected = legacy.getNodeSensitivitiesForValue(bundle, x);
+      double[] sensitivity = test.yValueParameterSensitivity(x).getSensitivity();
+      assertThat(DoubleArrayMath.fuzzyEquals(sensitivity, expected, 1e-12)).isTrue();
+      test.yValueParameterSensitivity(x, array);
+      assertThat(DoubleArrayMath.fuzzyEquals(array, expected, 1e-12)).isTrue();
+    }
+  }
+
+  public void test_yValueParameterSensitivity_array() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    double[] array = new double[SIZE];
+    test.yValueParameterSensitivity(2.5d, array);
+    assertThat(array).containsExactly(test.yValueParameterSensitivity(2.5d).getSensitivity());
+    assertThrowsIllegalArg(() -> test.yValueParameterSensitivity(2.5d, new double[SIZE + 1]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_withYValues() {
     double[] yBumped = YVALUES_BUMPED.clone();
@@ -236,4 +267,15 @@ public class InterpolatedNodalCurveTest {
     assertSerialization(test);
   }
 
+  //-------------------------------------------------------------------------
+  // a linear interpolator that can be bound
+  private static final class BindableLinear extends LinearInterpolator1D implements BindableCurveInterpolator {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public BoundCurveInterpolator bind(double[] xValues, double[] yValues) {
+      return BoundCurveInterpolators.linear(xValues, yValues);
+    }
+  }
+
 }
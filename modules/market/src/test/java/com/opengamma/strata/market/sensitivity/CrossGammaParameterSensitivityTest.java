@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterMetadata;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+
+/**
+ * Test {@link CrossGammaParameterSensitivity}.
+ */
+@Test
+public class CrossGammaParameterSensitivityTest {
+
+  private static final Currency USD = Currency.USD;
+  private static final Currency EUR = Currency.EUR;
+  private static final FxRate FX_RATE = FxRate.of(EUR, USD, 1.5d);
+  private static final CurveName NAME1 = CurveName.of("NAME-1");
+  private static final CurveMetadata METADATA1 = DefaultCurveMetadata.of(NAME1);
+  private static final CurveName NAME2 = CurveName.of("NAME-2");
+  private static final CurveMetadata METADATA2 = DefaultCurveMetadata.of(NAME2);
+  private static final ImmutableList<CurveMetadata> METADATA = ImmutableList.of(METADATA1, METADATA2);
+  private static final int[] COUNTS = new int[] {2, 1};
+  private static final double[][] MATRIX = new double[][] {
+      {1, 2, 3},
+      {2, 4, 5},
+      {3, 5, 6}};
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CrossGammaParameterSensitivity test = CrossGammaParameterSensitivity.of(METADATA, COUNTS, USD, MATRIX);
+    assertThat(test.getCurveMetadata()).containsExactly(METADATA1, METADATA2);
+    assertThat(test.getParameterCounts()).isEqualTo(COUNTS);
+    assertThat(test.getCurrency()).isEqualTo(USD);
+    assertThat(test.getParameterCount()).isEqualTo(3);
+    assertThat(test.getSensitivity()).isEqualTo(MATRIX);
+  }
+
+  public void test_of_copiesMatrix() {
+    double[][] matrix = new double[][] {{1}};
+    CrossGammaParameterSensitivity test =
+        CrossGammaParameterSensitivity.of(ImmutableList.of(METADATA1), new int[] {1}, USD, matrix);
+    matrix[0][0] = 2;
+    test.getSensitivity()[0][0] = 3;
+    assertThat(test.getSensitivity()).isEqualTo(new double[][] {{1}});
+  }
+
+  public void test_of_badSize() {
+    assertThrowsIllegalArg(() -> CrossGammaParameterSensitivity.of(METADATA, new int[] {2}, USD, MATRIX));
+    assertThrowsIllegalArg(() -> CrossGammaParameterSensitivity.of(METADATA, new int[] {2, 2}, USD, MATRIX));
+    assertThrowsIllegalArg(() -> CrossGammaParameterSensitivity.of(
+        METADATA, COUNTS, USD, new double[][] {{1, 2, 3}, {2, 4}, {3, 5, 6}}));
+  }
+
+  public void test_of_badMetadata() {
+    CurveMetadata metadata = Curves.zeroRates(NAME1, ACT_365F, CurveParameterMetadata.listOfEmpty(3));
+    assertThrowsIllegalArg(() -> CrossGammaParameterSensitivity.of(
+        ImmutableList.of(metadata, METADATA2), COUNTS, USD, MATRIX));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_getSensitivity_block() {
+    CrossGammaParameterSensitivity test = CrossGammaParameterSensitivity.of(METADATA, COUNTS, USD, MATRIX);
+    assertThat(test.getSensitivity(NAME1, NAME1)).isEqualTo(new double[][] {{1, 2}, {2, 4}});
+    assertThat(test.getSensitivity(NAME1, NAME2)).isEqualTo(new double[][] {{3}, {5}});
+    assertThat(test.getSensitivity(NAME2, NAME1)).isEqualTo(new double[][] {{3, 5}});
+    assertThat(test.getSensitivity(NAME2, NAME2)).isEqualTo(new double[][] {{6}});
+    assertThrowsIllegalArg(() -> test.getSensitivity(NAME1, CurveName.of("NAME-3")));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_convertedTo() {
+    CrossGammaParameterSensitivity base = CrossGammaParameterSensitivity.of(METADATA, COUNTS, EUR, MATRIX);
+    CrossGammaParameterSensitivity test = base.convertedTo(USD, FX_RATE);
+    double[][] expected = new double[][] {
+        {1.5, 3, 4.5},
+        {3, 6, 7.5},
+        {4.5, 7.5, 9}};
+    assertThat(test).isEqualTo(CrossGammaParameterSensitivity.of(METADATA, COUNTS, USD, expected));
+    assertThat(base.convertedTo(EUR, FX_RATE)).isSameAs(base);
+  }
+
+  public void test_multipliedBy() {
+    CrossGammaParameterSensitivity base = CrossGammaParameterSensitivity.of(METADATA, COUNTS, USD, MATRIX);
+    CrossGammaParameterSensitivity test = base.multipliedBy(2);
+    double[][] expected = new double[][] {
+        {2, 4, 6},
+        {4, 8, 10},
+        {6, 10, 12}};
+    assertThat(test).isEqualTo(CrossGammaParameterSensitivity.of(METADATA, COUNTS, USD, expected));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    CrossGammaParameterSensitivity test = CrossGammaParameterSensitivity.of(METADATA, COUNTS, USD, MATRIX);
+    coverImmutableBean(test);
+    CrossGammaParameterSensitivity test2 = CrossGammaParameterSensitivity.of(
+        ImmutableList.of(METADATA2), new int[] {1}, EUR, new double[][] {{7}});
+    coverBeanEquals(test, test2);
+  }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+
+/**
+ * Test {@link CurveCurrencyParameterSensitivitiesBuilder}.
+ */
+@Test
+public class CurveCurrencyParameterSensitivitiesBuilderTest {
+
+  private static final Currency USD = Currency.USD;
+  private static final Currency EUR = Currency.EUR;
+  private static final CurveMetadata METADATA1 = DefaultCurveMetadata.of(CurveName.of("NAME-1"));
+  private static final CurveMetadata METADATA2 = DefaultCurveMetadata.of(CurveName.of("NAME-2"));
+
+  private static final CurveCurrencyParameterSensitivity ENTRY_USD1 =
+      CurveCurrencyParameterSensitivity.of(METADATA1, USD, new double[] {100, 200, 300});
+  private static final CurveCurrencyParameterSensitivity ENTRY_USD2 =
+      CurveCurrencyParameterSensitivity.of(METADATA1, USD, new double[] {10, 20, 30});
+  private static final CurveCurrencyParameterSensitivity ENTRY_EUR =
+      CurveCurrencyParameterSensitivity.of(METADATA1, EUR, new double[] {1, 2, 3});
+  private static final CurveCurrencyParameterSensitivity ENTRY_OTHER =
+      CurveCurrencyParameterSensitivity.of(METADATA2, USD, new double[] {5, 6});
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    CurveCurrencyParameterSensitivitiesBuilder test = new CurveCurrencyParameterSensitivitiesBuilder();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.build()).isEqualTo(CurveCurrencyParameterSensitivities.empty());
+  }
+
+  public void test_add_matchesCombinedWith() {
+    CurveCurrencyParameterSensitivitiesBuilder test = new CurveCurrencyParameterSensitivitiesBuilder();
+    test.add(ENTRY_OTHER).add(ENTRY_USD1).add(ENTRY_EUR).add(ENTRY_USD2);
+    CurveCurrencyParameterSensitivities expected = CurveCurrencyParameterSensitivities.empty()
+        .combinedWith(ENTRY_OTHER)
+        .combinedWith(ENTRY_USD1)
+        .combinedWith(ENTRY_EUR)
+        .combinedWith(ENTRY_USD2);
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.build()).isEqualTo(expected);
+    assertThat(test.build().getSensitivity(METADATA1.getCurveName(), USD).getSensitivity())
+        .containsExactly(110, 220, 330);
+  }
+
+  public void test_add_sensitivities() {
+    CurveCurrencyParameterSensitivitiesBuilder test = new CurveCurrencyParameterSensitivitiesBuilder();
+    test.add(CurveCurrencyParameterSensitivities.of(ENTRY_USD1)).add(CurveCurrencyParameterSensitivities.of(ENTRY_USD2));
+    assertThat(test.build()).isEqualTo(CurveCurrencyParameterSensitivities.of(ENTRY_USD1).combinedWith(ENTRY_USD2));
+  }
+
+  public void test_build_snapshot() {
+    CurveCurrencyParameterSensitivitiesBuilder test = new CurveCurrencyParameterSensitivitiesBuilder();
+    test.add(ENTRY_USD1);
+    CurveCurrencyParameterSensitivities first = test.build();
+    test.add(ENTRY_USD2);
+    assertThat(first).isEqualTo(CurveCurrencyParameterSensitivities.of(ENTRY_USD1));
+    assertThat(ENTRY_USD1.getSensitivity()).containsExactly(100, 200, 300);
+  }
+
+  public void test_add_differentLength() {
+    CurveCurrencyParameterSensitivitiesBuilder test = new CurveCurrencyParameterSensitivitiesBuilder();
+    test.add(ENTRY_USD1);
+    assertThrowsIllegalArg(() -> test.add(CurveCurrencyParameterSensitivity.of(METADATA1, USD, new double[] {1})));
+  }
+
+}
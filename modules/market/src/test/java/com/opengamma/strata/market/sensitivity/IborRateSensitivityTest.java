@@ -85,6 +85,14 @@ public class IborRateSensitivityTest {
     assertEquals(other.compareKey(a1) > 0, true);
   }
 
+  public void test_hashKey() {
+    IborRateSensitivity a1 = IborRateSensitivity.of(GBP_LIBOR_3M, date(2015, 8, 27), 32d);
+    IborRateSensitivity a2 = IborRateSensitivity.of(GBP_LIBOR_3M, date(2015, 8, 27), 12d);
+    IborRateSensitivity b = IborRateSensitivity.of(USD_LIBOR_3M, date(2015, 8, 27), 32d);
+    assertEquals(a1.hashKey(), a2.hashKey());
+    assertEquals(a1.hashKey() == b.hashKey(), false);
+  }
+
   //-------------------------------------------------------------------------
   public void test_convertedTo() {
     LocalDate fixingDate = date(2015, 8, 27);
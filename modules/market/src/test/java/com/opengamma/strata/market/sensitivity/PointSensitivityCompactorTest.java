@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link PointSensitivityCompactor}.
+ */
+@Test
+public class PointSensitivityCompactorTest {
+
+  private static final PointSensitivity CS1 = ZeroRateSensitivity.of(GBP, date(2015, 6, 30), 12d);
+  private static final PointSensitivity CS2 = ZeroRateSensitivity.of(GBP, date(2015, 7, 30), 22d);
+  private static final PointSensitivity CS2B = ZeroRateSensitivity.of(GBP, date(2015, 7, 30), 2d);
+  private static final PointSensitivity CS2_USD = ZeroRateSensitivity.of(GBP, date(2015, 7, 30), USD, 5d);
+  private static final PointSensitivity IBOR = IborRateSensitivity.of(GBP_LIBOR_3M, date(2015, 7, 30), 7d);
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    PointSensitivityCompactor test = new PointSensitivityCompactor();
+    assertEquals(test.size(), 0);
+    assertEquals(test.build(), PointSensitivities.empty());
+  }
+
+  public void test_add() {
+    PointSensitivityCompactor test = new PointSensitivityCompactor();
+    test.add(CS2).add(CS1).add(CS2B);
+    assertEquals(test.size(), 2);
+    assertEquals(test.buildList(), ImmutableList.of(CS1, CS2.withSensitivity(24d)));
+  }
+
+  public void test_addAll_keyIncludesCurrencyAndType() {
+    PointSensitivityCompactor test = new PointSensitivityCompactor();
+    test.addAll(ImmutableList.of(IBOR, CS2, CS2_USD, CS2B, IBOR));
+    assertEquals(test.size(), 3);
+    PointSensitivities expected = PointSensitivities.of(
+        ImmutableList.of(IBOR.withSensitivity(14d), CS2.withSensitivity(24d), CS2_USD)).normalized();
+    assertEquals(test.build(), expected);
+  }
+
+  public void test_addAll_immutable() {
+    PointSensitivityCompactor test = new PointSensitivityCompactor();
+    test.addAll(PointSensitivities.of(CS1, CS2)).addAll(PointSensitivities.of(CS2B));
+    assertEquals(test.build(), PointSensitivities.of(CS1, CS2.withSensitivity(24d)));
+  }
+
+  public void test_grow() {
+    PointSensitivityCompactor test = new PointSensitivityCompactor(0);
+    List<PointSensitivity> sensitivities = new ArrayList<>();
+    List<PointSensitivity> expected = new ArrayList<>();
+    LocalDate start = date(2015, 1, 1);
+    for (int i = 0; i < 1000; i++) {
+      sensitivities.add(ZeroRateSensitivity.of(GBP, start.plusDays(i), 1d));
+      sensitivities.add(ZeroRateSensitivity.of(GBP, start.plusDays(i), 2d));
+      expected.add(ZeroRateSensitivity.of(GBP, start.plusDays(i), 3d));
+    }
+    test.addAll(sensitivities);
+    assertEquals(test.size(), 1000);
+    assertEquals(test.buildList(), expected);
+    assertEquals(PointSensitivities.of(sensitivities).normalized(), PointSensitivities.of(expected));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> new PointSensitivityCompactor(-1));
+    assertThrowsIllegalArg(() -> new PointSensitivityCompactor().add(null));
+  }
+
+}
@@ -68,6 +68,14 @@ public class ZeroRateSensitivityTest {
     assertEquals(other.compareKey(a1) < 0, true);
   }
 
+  public void test_hashKey() {
+    ZeroRateSensitivity a1 = ZeroRateSensitivity.of(GBP, date(2015, 8, 27), 32d);
+    ZeroRateSensitivity a2 = ZeroRateSensitivity.of(GBP, date(2015, 8, 27), 12d);
+    ZeroRateSensitivity b = ZeroRateSensitivity.of(GBP, date(2015, 9, 27), 32d);
+    assertEquals(a1.hashKey(), a2.hashKey());
+    assertEquals(a1.hashKey() == b.hashKey(), false);
+  }
+
   //-------------------------------------------------------------------------
   public void test_convertedTo() {
     LocalDate fixingDate = date(2015, 8, 27);
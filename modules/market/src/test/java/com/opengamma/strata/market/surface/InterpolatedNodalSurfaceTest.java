@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 import java.util.Map;
 
@@ -17,9 +18,13 @@ import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.opengamma.analytics.math.interpolation.CombinedInterpolatorExtrapolator;
+import com.opengamma.analytics.math.interpolation.FlatExtrapolator1D;
 import com.opengamma.analytics.math.interpolation.GridInterpolator2D;
+import com.opengamma.analytics.math.interpolation.Interpolator1D;
 import com.opengamma.analytics.math.interpolation.LinearInterpolator1D;
 import com.opengamma.analytics.math.interpolation.LogLinearInterpolator1D;
+import com.opengamma.analytics.math.interpolation.NaturalCubicSplineInterpolator1D;
 import com.opengamma.analytics.math.interpolation.data.Interpolator1DDataBundle;
 import com.opengamma.strata.basics.value.ValueAdjustment;
 import com.opengamma.strata.collect.tuple.DoublesPair;
@@ -58,6 +63,10 @@ public class InterpolatedNodalSurfaceTest {
       .build();
   private static final GridInterpolator2D INTERPOLATOR =
       new GridInterpolator2D(new LinearInterpolator1D(), new LinearInterpolator1D());
+  private static final Interpolator1D LINEAR_FLAT = CombinedInterpolatorExtrapolator.of(
+      new LinearInterpolator1D(), new FlatExtrapolator1D(), new FlatExtrapolator1D());
+  private static final Interpolator1D SPLINE_FLAT = CombinedInterpolatorExtrapolator.of(
+      new NaturalCubicSplineInterpolator1D(), new FlatExtrapolator1D(), new FlatExtrapolator1D());
 
   //-------------------------------------------------------------------------
   public void test_of_SurfaceMetadata() {
@@ -115,6 +124,58 @@ public class InterpolatedNodalSurfaceTest {
         INTERPOLATOR.getNodeSensitivitiesForValue(bundle, DoublesPair.of(1.5d, 1.5d)));
   }
 
+  public void test_lookup_bound() {
+    for (GridInterpolator2D interpolator : new GridInterpolator2D[] {
+        new GridInterpolator2D(LINEAR_FLAT, LINEAR_FLAT), new GridInterpolator2D(LINEAR_FLAT, SPLINE_FLAT)}) {
+      InterpolatedNodalSurface test = InterpolatedNodalSurface.of(METADATA, XVALUES, YVALUES, ZVALUES, interpolator);
+      Map<Double, Interpolator1DDataBundle> bundle = interpolator.getDataBundle(DATA);
+      double[] array = new double[SIZE];
+      for (DoublesPair point : new DoublesPair[] {
+          DoublesPair.of(1.5d, 3.7d), DoublesPair.of(0.5d, 1.2d), DoublesPair.of(-1d, 2d), DoublesPair.of(5d, 6d)}) {
+        double expected = interpolator.interpolate(bundle, point);
+        assertThat(test.zValue(point)).isEqualTo(expected, offset(1e-12));
+        assertThat(test.zValue(point.getFirst(), point.getSecond())).isEqualTo(expected, offset(1e-12));
+        Map<DoublesPair, Double> expectedSensitivity = interpolator.getNodeSensitivitiesForValue(bundle, point);
+        Map<DoublesPair, Double> sensitivity = test.zValueParameterSensitivity(point);
+        test.zValueParameterSensitivity(point.getFirst(), point.getSecond(), array);
+        for (int i = 0; i < SIZE; i++) {
+          DoublesPair node = DoublesPair.of(XVALUES[i], YVALUES[i]);
+          double expectedNode = expectedSensitivity.getOrDefault(node, 0d);
+          assertThat(sensitivity.get(node)).isEqualTo(expectedNode, offset(1e-12));
+          assertThat(array[i]).isEqualTo(expectedNode, offset(1e-12));
+        }
+      }
+    }
+  }
+
+  public void test_zValue_array() {
+    InterpolatedNodalSurface bound = InterpolatedNodalSurface.of(
+        METADATA, XVALUES, YVALUES, ZVALUES, new GridInterpolator2D(LINEAR_FLAT, LINEAR_FLAT));
+    InterpolatedNodalSurface legacy = InterpolatedNodalSurface.of(METADATA, XVALUES, YVALUES, ZVALUES, INTERPOLATOR);
+    double[] xValues = {1.5d, 0.5d, 3d};
+    double[] yValues = {3.7d, 1.2d, 0.5d};
+    for (InterpolatedNodalSurface test : new InterpolatedNodalSurface[] {bound, legacy}) {
+      double[] result = new double[xValues.length];
+      test.zValue(xValues, yValues, result);
+      for (int i = 0; i < xValues.length; i++) {
+        assertThat(result[i]).isEqualTo(test.zValue(xValues[i], yValues[i]));
+      }
+      assertThrowsIllegalArg(() -> test.zValue(xValues, new double[1], result));
+      assertThrowsIllegalArg(() -> test.zValue(xValues, yValues, new double[1]));
+    }
+  }
+
+  public void test_zValueParameterSensitivity_array() {
+    InterpolatedNodalSurface test = InterpolatedNodalSurface.of(METADATA, XVALUES, YVALUES, ZVALUES, INTERPOLATOR);
+    Map<DoublesPair, Double> expected = test.zValueParameterSensitivity(1.5d, 1.5d);
+    double[] array = new double[SIZE];
+    test.zValueParameterSensitivity(1.5d, 1.5d, array);
+    for (int i = 0; i < SIZE; i++) {
+      assertThat(array[i]).isEqualTo(expected.getOrDefault(DoublesPair.of(XVALUES[i], YVALUES[i]), 0d));
+    }
+    assertThrowsIllegalArg(() -> test.zValueParameterSensitivity(1.5d, 1.5d, new double[SIZE + 1]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_withZValues() {
     double[] zBumped = ZVALUES_BUMPED.clone();
@@ -130,6 +130,17 @@ public final class SwaptionSensitivity
     return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
   }
 
+  @Override
+  public int hashKey() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + currency.hashCode();
+    hash = hash * 31 + expiry.hashCode();
+    hash = hash * 31 + Double.hashCode(tenor);
+    hash = hash * 31 + Double.hashCode(strike);
+    hash = hash * 31 + Double.hashCode(forward);
+    return hash;
+  }
+
   @Override
   public SwaptionSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
     return (SwaptionSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
@@ -132,6 +132,14 @@ public class IsdaCdsHelper {
     return discountFactor * amount.getAsDouble();
   }
 
+  // The time of the fee payment, zero if there is no fee or it has already been paid.
+  private static double upfrontFeeTime(LocalDate valuationDate, Optional<LocalDate> paymentDate) {
+    if (!paymentDate.isPresent() || !paymentDate.get().isAfter(valuationDate)) {
+      return 0d;
+    }
+    return CURVE_DAY_COUNT.yearFraction(valuationDate, paymentDate.get());
+  }
+
   /**
    * Calculate par spread on the specified valuation date.
    *
@@ -158,6 +166,189 @@ public class IsdaCdsHelper {
 
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculate the analytic sensitivity of the present value to the zero hazard rate of each node of the credit curve.
+   * <p>
+   * The sensitivities are the partial derivatives with the yield curve held fixed.
+   * They are expressed in the currency of the product, scaled by the notional and scaling factor.
+   *
+   * @param valuationDate  date that present value is calculated on
+   * @param product  the expanded CDS product
+   * @param yieldCurve  the calibrated ISDA yield curve
+   * @param creditCurve  the calibrated ISDA credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @param scalingFactor  the scaling factor
+   * @return the sensitivity to each node of the credit curve
+   */
+  public static double[] presentValueCreditSensitivity(
+      LocalDate valuationDate,
+      ExpandedCds product,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate,
+      double scalingFactor) {
+
+    // setup
+    CdsAnalytic cdsAnalytic = toAnalytic(valuationDate, product, recoveryRate);
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+
+    // the analytic sensitivities are of the value at the cash settle time
+    double coupon = product.getCoupon();
+    double cashSettleDf = yieldCurveAnalytics.getDiscountFactor(cdsAnalytic.getCashSettleTime());
+    int sign = product.getBuySellProtection().isBuy() ? 1 : -1;
+    double factor = cashSettleDf * product.getNotional() * sign * scalingFactor;
+    double[] sensitivities = new double[creditCurveAnalytics.getNumberOfKnots()];
+    for (int j = 0; j < sensitivities.length; j++) {
+      sensitivities[j] = CALCULATOR.pvCreditSensitivity(
+          cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics, coupon, j) * factor;
+    }
+    return sensitivities;
+  }
+
+  /**
+   * Calculate the analytic sensitivity of the present value to the zero rate of each node of the yield curve.
+   * <p>
+   * The sensitivities are the partial derivatives with the credit curve held fixed.
+   * They are expressed in the currency of the product, scaled by the notional and scaling factor,
+   * and include the sensitivity of any upfront fee that has not yet been paid.
+   *
+   * @param valuationDate  date that present value is calculated on
+   * @param product  the expanded CDS product
+   * @param yieldCurve  the calibrated ISDA yield curve
+   * @param creditCurve  the calibrated ISDA credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @param scalingFactor  the scaling factor
+   * @return the sensitivity to each node of the yield curve
+   */
+  public static double[] presentValueYieldSensitivity(
+      LocalDate valuationDate,
+      ExpandedCds product,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate,
+      double scalingFactor) {
+
+    // setup
+    CdsAnalytic cdsAnalytic = toAnalytic(valuationDate, product, recoveryRate);
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+
+    // the analytic sensitivities are of the value at the cash settle time
+    // the present value is that value discounted from the cash settle time
+    double coupon = product.getCoupon();
+    double cashSettleTime = cdsAnalytic.getCashSettleTime();
+    double cashSettleDf = yieldCurveAnalytics.getDiscountFactor(cashSettleTime);
+    double pv = CALCULATOR.pv(cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics, coupon, CdsPriceType.DIRTY, 0d);
+    int sign = product.getBuySellProtection().isBuy() ? 1 : -1;
+    double factor = product.getNotional() * sign * scalingFactor;
+    double feeTime = upfrontFeeTime(valuationDate, product.getUpfrontFeePaymentDate());
+    double[] sensitivities = new double[yieldCurveAnalytics.getNumberOfKnots()];
+    for (int i = 0; i < sensitivities.length; i++) {
+      double pvSensitivity = CALCULATOR.pvYieldSensitivity(
+          cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics, coupon, i) * cashSettleDf;
+      double dfSensitivity = yieldCurveAnalytics.getSingleNodeDiscountFactorSensitivity(cashSettleTime, i);
+      sensitivities[i] = (pvSensitivity + pv / cashSettleDf * dfSensitivity) * factor;
+      if (product.getUpfrontFeeAmount().isPresent() && feeTime > 0d) {
+        double feeDfSensitivity = yieldCurveAnalytics.getSingleNodeDiscountFactorSensitivity(feeTime, i);
+        sensitivities[i] += product.getUpfrontFeeAmount().getAsDouble() * feeDfSensitivity * sign;
+      }
+    }
+    return sensitivities;
+  }
+
+  /**
+   * Calculate the analytic sensitivity of the par spread of each credit curve pillar
+   * to the zero hazard rate of each node of the credit curve.
+   * <p>
+   * The pillars are the CDSs that the credit curve is calibrated to.
+   * The result is indexed by pillar, then by credit curve node.
+   *
+   * @param valuationDate  date that the credit curve was calibrated on
+   * @param creditCurveParRates  the par rates representation of the ISDA credit curve
+   * @param yieldCurve  the calibrated ISDA yield curve
+   * @param creditCurve  the calibrated ISDA credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @return the par spread sensitivity of each pillar to each node of the credit curve
+   */
+  public static double[][] parSpreadCreditSensitivity(
+      LocalDate valuationDate,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate) {
+
+    // setup
+    CdsAnalytic[] pillars = toPillars(valuationDate, creditCurveParRates, recoveryRate);
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+
+    // calculate
+    int nodeCount = creditCurveAnalytics.getNumberOfKnots();
+    double[][] sensitivities = new double[pillars.length][nodeCount];
+    for (int k = 0; k < pillars.length; k++) {
+      for (int j = 0; j < nodeCount; j++) {
+        sensitivities[k][j] = CALCULATOR.parSpreadCreditSensitivity(
+            pillars[k], yieldCurveAnalytics, creditCurveAnalytics, j);
+      }
+    }
+    return sensitivities;
+  }
+
+  /**
+   * Calculate the analytic sensitivity of the par spread of each credit curve pillar
+   * to the zero rate of each node of the yield curve.
+   * <p>
+   * The pillars are the CDSs that the credit curve is calibrated to.
+   * The result is indexed by pillar, then by yield curve node.
+   *
+   * @param valuationDate  date that the credit curve was calibrated on
+   * @param creditCurveParRates  the par rates representation of the ISDA credit curve
+   * @param yieldCurve  the calibrated ISDA yield curve
+   * @param creditCurve  the calibrated ISDA credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @return the par spread sensitivity of each pillar to each node of the yield curve
+   */
+  public static double[][] parSpreadYieldSensitivity(
+      LocalDate valuationDate,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate) {
+
+    // setup
+    CdsAnalytic[] pillars = toPillars(valuationDate, creditCurveParRates, recoveryRate);
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+
+    // the par spread is the ratio of the protection leg to the clean annuity
+    int nodeCount = yieldCurveAnalytics.getNumberOfKnots();
+    double[][] sensitivities = new double[pillars.length][nodeCount];
+    for (int k = 0; k < pillars.length; k++) {
+      CdsAnalytic pillar = pillars[k];
+      double protectionLeg = CALCULATOR.protectionLeg(pillar, yieldCurveAnalytics, creditCurveAnalytics);
+      double annuity = CALCULATOR.annuity(pillar, yieldCurveAnalytics, creditCurveAnalytics, CdsPriceType.CLEAN);
+      double spread = protectionLeg / annuity;
+      for (int i = 0; i < nodeCount; i++) {
+        double protectionLegSensitivity =
+            CALCULATOR.protectionLegYieldSensitivity(pillar, yieldCurveAnalytics, creditCurveAnalytics, i);
+        double annuitySensitivity =
+            CALCULATOR.pvPremiumLegYieldSensitivity(pillar, yieldCurveAnalytics, creditCurveAnalytics, i);
+        sensitivities[k][i] = spread * (protectionLegSensitivity / protectionLeg - annuitySensitivity / annuity);
+      }
+    }
+    return sensitivities;
+  }
+
   // Converts the interest rate curve par rates to the corresponding analytics form.
   // Calibration is performed here.
   public static IsdaCompliantYieldCurve createIsdaDiscountCurve(
@@ -287,6 +478,36 @@ public class IsdaCdsHelper {
     }
   }
 
+  // Converts the credit curve pillars to the analytics form used when calibrating the credit curve.
+  private static CdsAnalytic[] toPillars(
+      LocalDate valuationDate,
+      IsdaCreditCurveParRates creditCurveParRates,
+      double recoveryRate) {
+
+    try {
+      CdsConvention cdsConvention = creditCurveParRates.getCdsConvention();
+      LocalDate[] endDates = creditCurveParRates.getEndDatePoints();
+      CdsAnalytic[] pillars = new CdsAnalytic[endDates.length];
+      for (int i = 0; i < endDates.length; i++) {
+        pillars[i] = new CdsAnalytic(
+            valuationDate,
+            cdsConvention.getUnadjustedStepInDate(valuationDate),
+            cdsConvention.getAdjustedSettleDate(valuationDate),
+            cdsConvention.getAdjustedStartDate(valuationDate),
+            endDates[i],
+            cdsConvention.getPayAccruedOnDefault(),
+            cdsConvention.getPaymentFrequency().getPeriod(),
+            translateStubType(cdsConvention.getStubConvention()),
+            PROTECT_START,
+            recoveryRate);
+      }
+      return pillars;
+
+    } catch (Exception ex) {
+      throw new PricingException("Error converting the credit curve pillars to analytics: " + ex.getMessage(), ex);
+    }
+  }
+
   //-------------------------------------------------------------------------
   // Converts type of interest curve underlying to the corresponding analytics value.
   private static IsdaInstrumentTypes mapInstrumentType(IsdaYieldCurveUnderlyingType input) {
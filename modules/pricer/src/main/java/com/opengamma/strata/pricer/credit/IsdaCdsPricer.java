@@ -5,9 +5,24 @@
  */
 package com.opengamma.strata.pricer.credit;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.analytics.math.linearalgebra.LUDecompositionCommons;
+import com.opengamma.analytics.math.linearalgebra.LUDecompositionResult;
+import com.opengamma.analytics.math.matrix.DoubleMatrix1D;
+import com.opengamma.analytics.math.matrix.DoubleMatrix2D;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
@@ -38,6 +53,32 @@ public class IsdaCdsPricer {
    */
   private static final double ONE_BPS = 0.0001d;
 
+  /**
+   * The executor used to calculate the bumped present values of the bucketed sensitivities.
+   */
+  private final Executor executor;
+
+  /**
+   * Creates an instance that calculates the bumped present values of the bucketed sensitivities
+   * in the calling thread.
+   */
+  public IsdaCdsPricer() {
+    this(MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Creates an instance that calculates the bumped present values of the bucketed sensitivities
+   * using the specified executor.
+   * <p>
+   * Each curve node is bumped independently of the others, so the bumped present values can be
+   * calculated in parallel if the executor uses multiple threads.
+   *
+   * @param executor  the executor used to calculate the bumped present values
+   */
+  public IsdaCdsPricer(Executor executor) {
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
   //-------------------------------------------------------------------------
 
   /**
@@ -85,8 +126,8 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
 
     return IsdaCdsHelper.price(valuationDate, product, yieldCurve, creditCurve, recoveryRate, scalingFactor);
   }
@@ -111,12 +152,71 @@ public class IsdaCdsPricer {
       LocalDate valuationDate,
       double recoveryRate) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return parRate(product, yieldCurve, creditCurve, valuationDate, recoveryRate);
+  }
+
+  /**
+   * Calculates the par rate of the expanded CDS product.
+   * <p>
+   * The par rate of the CDS is the coupon rate that will make present value of all cashflows
+   * equal zero as of the valuation date.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurve  calibrated curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calculating the result
+   * @param recoveryRate  recovery rate associate with underlying issue or index
+   * @return par rate for the credit default swap
+   */
+  public double parRate(
+      ExpandedCds product,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate) {
 
     return IsdaCdsHelper.parSpread(valuationDate, product, yieldCurve, creditCurve, recoveryRate);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the ISDA discount curve from par rates.
+   * <p>
+   * The calibrated curve only depends on the par rates and the valuation date.
+   * It can be calibrated once and passed to the methods of this class that accept calibrated curves.
+   *
+   * @param valuationDate  date to use when calibrating the curve
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve
+   * @return the calibrated discount curve
+   */
+  public NodalCurve calibrateYieldCurve(LocalDate valuationDate, IsdaYieldCurveParRates yieldCurveParRates) {
+    return ISDANodalCurve.of(valuationDate, yieldCurveParRates);
+  }
+
+  /**
+   * Calibrates the ISDA spread curve from par spread rates.
+   * <p>
+   * The calibrated curve depends on the par spread rates, the calibrated discount curve,
+   * the recovery rate and the valuation date.
+   * It can be calibrated once and passed to the methods of this class that accept calibrated curves.
+   *
+   * @param valuationDate  date to use when calibrating the curve
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve
+   * @param yieldCurve  the calibrated ISDA discount curve
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @return the calibrated spread curve
+   */
+  public NodalCurve calibrateCreditCurve(
+      LocalDate valuationDate,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      double recoveryRate) {
+
+    return ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+  }
+
   /**
    * Local class that implements ISDANodalCurve
    * This is a further step towards supporting regular Strata ParRates and zero curves for CDS
@@ -226,8 +326,35 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01ParallelPar(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in par interest rates.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount ir01ParallelPar(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
     NodalCurve bumpedYieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates.parallelShiftParRatesinBps(ONE_BPS));
     NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
@@ -257,8 +384,35 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01ParallelZero(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in zero rates.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount ir01ParallelZero(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
     NodalCurve bumpedYieldCurve = yieldCurve.shiftedBy((x, y) -> y + ONE_BPS);
     NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
@@ -288,20 +442,42 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01BucketedPar(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
 
-    int points = yieldCurveParRates.getNumberOfPoints();
-    double[] paramSensitivities = new double[points];
-    for (int i = 0; i < points; i++) {
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par interest rates at each curve node.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurveCurrencyParameterSensitivities ir01BucketedPar(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    double[] paramSensitivities = bucketedPvChange(yieldCurveParRates.getNumberOfPoints(), basePrice, i -> {
       NodalCurve bumpedYieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates.bucketedShiftParRatesinBps(i, ONE_BPS));
       NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-      CurrencyAmount bumpedPrice =
-          presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
-      CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
-      paramSensitivities[i] = sensitivity.getAmount();
-    }
+      return presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
+    });
     return CurveCurrencyParameterSensitivities.of(
         CurveCurrencyParameterSensitivity.of(yieldCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
   }
@@ -325,22 +501,46 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01BucketedZero(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par interest rates at each curve node.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurveCurrencyParameterSensitivities ir01BucketedZero(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
-    int points = yieldCurveParRates.getNumberOfPoints();
-    double[] paramSensitivities = new double[points];
-    for (int i = 0; i < points; i++) {
-      double[] shiftVector = yieldCurve.getYValues().clone();
+    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    double[] xValues = yieldCurve.getXValues();
+    double[] yValues = yieldCurve.getYValues();
+    double[] paramSensitivities = bucketedPvChange(yieldCurveParRates.getNumberOfPoints(), basePrice, i -> {
+      double[] shiftVector = yValues.clone();
       shiftVector[i] = shiftVector[i] + ONE_BPS;
-      NodalCurve bumpedYieldCurve = ISDANodalCurve.of(yieldCurveParRates, yieldCurve.getXValues(), shiftVector);
+      NodalCurve bumpedYieldCurve = ISDANodalCurve.of(yieldCurveParRates, xValues, shiftVector);
       NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-      CurrencyAmount bumpedPrice = presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate,
-          scalingFactor);
-      CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
-      paramSensitivities[i] = sensitivity.getAmount();
-    }
+      return presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
+    });
     return CurveCurrencyParameterSensitivities.of(
         CurveCurrencyParameterSensitivity.of(yieldCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
   }
@@ -366,8 +566,35 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01ParallelPar(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in par credit spread rates.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associate with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount cs01ParallelPar(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
     NodalCurve bumpedYieldCurve = yieldCurve;
     NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates.parallelShiftParRatesinBps(ONE_BPS),
@@ -398,8 +625,35 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01ParallelHazard(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in hazard rates.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount cs01ParallelHazard(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
     NodalCurve bumpedYieldCurve = yieldCurve;
     NodalCurve bumpedCreditCurve = creditCurve.shiftedBy((x, y) -> y + ONE_BPS);
@@ -429,21 +683,42 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01BucketedPar(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurveCurrencyParameterSensitivities cs01BucketedPar(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
-    int points = creditCurveParRates.getNumberOfPoints();
-    double[] paramSensitivities = new double[points];
-    for (int i = 0; i < points; i++) {
-      NodalCurve bumpedYieldCurve = yieldCurve;
+    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    double[] paramSensitivities = bucketedPvChange(creditCurveParRates.getNumberOfPoints(), basePrice, i -> {
       NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates.bucketedShiftParRatesinBps(i, ONE_BPS),
           yieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-      CurrencyAmount bumpedPrice = presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate,
-          scalingFactor);
-      CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
-      paramSensitivities[i] = sensitivity.getAmount();
-    }
+      return presentValue(product, yieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
+    });
     return CurveCurrencyParameterSensitivities.of(
         CurveCurrencyParameterSensitivity.of(creditCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
   }
@@ -467,26 +742,308 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01BucketedHazard(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurveCurrencyParameterSensitivities cs01BucketedHazard(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
-    int points = creditCurveParRates.getNumberOfPoints();
-    double[] paramSensitivities = new double[points];
-    for (int i = 0; i < points; i++) {
-      double[] shiftVector = creditCurve.getYValues().clone();
+    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    double[] xValues = creditCurve.getXValues();
+    double[] yValues = creditCurve.getYValues();
+    double[] paramSensitivities = bucketedPvChange(creditCurveParRates.getNumberOfPoints(), basePrice, i -> {
+      double[] shiftVector = yValues.clone();
       shiftVector[i] = shiftVector[i] + ONE_BPS;
-      NodalCurve bumpedYieldCurve = yieldCurve;
-      NodalCurve bumpedCreditCurve = ISDANodalCurve.of(creditCurveParRates, creditCurve.getXValues(), shiftVector);
-      CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-      CurrencyAmount bumpedPrice = presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate,
-          scalingFactor);
-      CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
-      paramSensitivities[i] = sensitivity.getAmount();
+      NodalCurve bumpedCreditCurve = ISDANodalCurve.of(creditCurveParRates, xValues, shiftVector);
+      return presentValue(product, yieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
+    });
+    return CurveCurrencyParameterSensitivities.of(
+        CurveCurrencyParameterSensitivity.of(creditCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
+  }
+
+  // calculates the PV change for each bump, the base PV is calculated once by the caller
+  // the bumps are independent of each other and are calculated using the executor
+  private double[] bucketedPvChange(int bumpCount, CurrencyAmount basePrice, IntFunction<CurrencyAmount> bumpedPriceFn) {
+    double basePv = basePrice.getAmount();
+    List<CompletableFuture<Double>> futures = IntStream.range(0, bumpCount)
+        .mapToObj(i -> CompletableFuture.supplyAsync(() -> bumpedPriceFn.apply(i).getAmount() - basePv, executor))
+        .collect(toImmutableList());
+    try {
+      return futures.stream()
+          .mapToDouble(CompletableFuture::join)
+          .toArray();
+    } catch (CompletionException ex) {
+      Throwables.propagateIfPossible(ex.getCause());
+      throw ex;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node
+   * using analytic sensitivities.
+   * <p>
+   * This is the analytic equivalent of {@link #cs01BucketedPar}. The sensitivity to the nodes of the
+   * credit curve and the sensitivity of the curve pillars to those nodes are calculated analytically,
+   * then a single linear system is solved to obtain the sensitivity to every par spread.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the PV change for a 1 basis point shift in each par spread
+   */
+  public CurveCurrencyParameterSensitivities cs01BucketedParAnalytic(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01BucketedParAnalytic(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node
+   * using analytic sensitivities.
+   * <p>
+   * This is the analytic equivalent of {@link #cs01BucketedPar}. The sensitivity to the nodes of the
+   * credit curve and the sensitivity of the curve pillars to those nodes are calculated analytically,
+   * then a single linear system is solved to obtain the sensitivity to every par spread.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the PV change for a 1 basis point shift in each par spread
+   */
+  public CurveCurrencyParameterSensitivities cs01BucketedParAnalytic(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    double[] parSpreadSensitivities = parSpreadAdjoint(
+        product, yieldCurve, creditCurveParRates, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    double[] paramSensitivities = new double[parSpreadSensitivities.length];
+    for (int i = 0; i < paramSensitivities.length; i++) {
+      paramSensitivities[i] = parSpreadSensitivities[i] * ONE_BPS;
     }
     return CurveCurrencyParameterSensitivities.of(
         CurveCurrencyParameterSensitivity.of(creditCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
   }
 
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in the hazard rate at each curve node
+   * using analytic sensitivities.
+   * <p>
+   * This is the analytic equivalent of {@link #cs01BucketedHazard}.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the PV change for a 1 basis point shift in each node of the credit curve
+   */
+  public CurveCurrencyParameterSensitivities cs01BucketedHazardAnalytic(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01BucketedHazardAnalytic(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in the hazard rate at each curve node
+   * using analytic sensitivities.
+   * <p>
+   * This is the analytic equivalent of {@link #cs01BucketedHazard}.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the PV change for a 1 basis point shift in each node of the credit curve
+   */
+  public CurveCurrencyParameterSensitivities cs01BucketedHazardAnalytic(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    double[] hazardSensitivities = IsdaCdsHelper.presentValueCreditSensitivity(
+        valuationDate, product, yieldCurve, creditCurve, recoveryRate, scalingFactor);
+    double[] paramSensitivities = nodeShiftSensitivities(hazardSensitivities, creditCurve.getXValues());
+    return CurveCurrencyParameterSensitivities.of(
+        CurveCurrencyParameterSensitivity.of(creditCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in the zero rate at each curve node
+   * using analytic sensitivities.
+   * <p>
+   * This is the analytic equivalent of {@link #ir01BucketedZero}. As with the finite difference version,
+   * the credit curve is treated as recalibrated to unchanged par spreads after each shift.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the PV change for a 1 basis point shift in each node of the yield curve
+   */
+  public CurveCurrencyParameterSensitivities ir01BucketedZeroAnalytic(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01BucketedZeroAnalytic(
+        product, yieldCurveParRates, yieldCurve, creditCurveParRates, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in the zero rate at each curve node
+   * using analytic sensitivities.
+   * <p>
+   * This is the analytic equivalent of {@link #ir01BucketedZero}. As with the finite difference version,
+   * the credit curve is treated as recalibrated to unchanged par spreads after each shift.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the PV change for a 1 basis point shift in each node of the yield curve
+   */
+  public CurveCurrencyParameterSensitivities ir01BucketedZeroAnalytic(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    double[] yieldSensitivities = IsdaCdsHelper.presentValueYieldSensitivity(
+        valuationDate, product, yieldCurve, creditCurve, recoveryRate, scalingFactor);
+    // the credit curve moves with the yield curve to keep the par spreads of its pillars unchanged
+    double[] parSpreadSensitivities = parSpreadAdjoint(
+        product, yieldCurve, creditCurveParRates, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    double[][] parSpreadYieldSensitivities = IsdaCdsHelper.parSpreadYieldSensitivity(
+        valuationDate, creditCurveParRates, yieldCurve, creditCurve, recoveryRate);
+    for (int i = 0; i < yieldSensitivities.length; i++) {
+      for (int k = 0; k < parSpreadSensitivities.length; k++) {
+        yieldSensitivities[i] -= parSpreadSensitivities[k] * parSpreadYieldSensitivities[k][i];
+      }
+    }
+    double[] paramSensitivities = nodeShiftSensitivities(yieldSensitivities, yieldCurve.getXValues());
+    return CurveCurrencyParameterSensitivities.of(
+        CurveCurrencyParameterSensitivity.of(yieldCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
+  }
+
+  // calculates the sensitivity of the PV to the par spread of each credit curve pillar
+  // this solves the transposed pillar Jacobian against the sensitivity to the credit curve nodes
+  private static double[] parSpreadAdjoint(
+      ExpandedCds product,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    double[] hazardSensitivities = IsdaCdsHelper.presentValueCreditSensitivity(
+        valuationDate, product, yieldCurve, creditCurve, recoveryRate, scalingFactor);
+    double[][] jacobian = IsdaCdsHelper.parSpreadCreditSensitivity(
+        valuationDate, creditCurveParRates, yieldCurve, creditCurve, recoveryRate);
+    int n = hazardSensitivities.length;
+    double[][] transposed = new double[n][n];
+    for (int k = 0; k < n; k++) {
+      for (int j = 0; j < n; j++) {
+        transposed[j][k] = jacobian[k][j];
+      }
+    }
+    LUDecompositionResult decomposition = new LUDecompositionCommons().evaluate(new DoubleMatrix2D(transposed));
+    return decomposition.solve(new DoubleMatrix1D(hazardSensitivities)).getData();
+  }
+
+  // converts sensitivities to the zero rate of each node into the PV change for a one basis point
+  // shift of each node value, the node values of the ISDA curves being the zero rate multiplied by time
+  private static double[] nodeShiftSensitivities(double[] zeroRateSensitivities, double[] times) {
+    double[] shiftSensitivities = new double[zeroRateSensitivities.length];
+    for (int i = 0; i < shiftSensitivities.length; i++) {
+      shiftSensitivities[i] = zeroRateSensitivities[i] / times[i] * ONE_BPS;
+    }
+    return shiftSensitivities;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the scalar PV change to a 1 basis point shift in recovery rate.
@@ -507,10 +1064,41 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    CurrencyAmount basePrice = presentValue(product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate,
-        scalingFactor);
-    CurrencyAmount bumpedPrice = presentValue(product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate +
-        ONE_BPS, scalingFactor);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return recovery01(
+        product, yieldCurve, creditCurveParRates, creditCurve, valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in recovery rate.
+   * <p>
+   * The spread curve is recalibrated using the shifted recovery rate.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount recovery01(
+      ExpandedCds product,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    double bumpedRecoveryRate = recoveryRate + ONE_BPS;
+    NodalCurve bumpedCreditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, bumpedRecoveryRate);
+
+    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    CurrencyAmount bumpedPrice =
+        presentValue(product, yieldCurve, bumpedCreditCurve, valuationDate, bumpedRecoveryRate, scalingFactor);
     return bumpedPrice.minus(basePrice);
   }
 
@@ -534,8 +1122,31 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    CurrencyAmount basePrice = presentValue(product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate,
-        scalingFactor);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return jumpToDefault(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the risk of default by subtracting from current MTM the Notional amount times Recovery Rate - 1.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurve  calibrated curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount jumpToDefault(
+      ExpandedCds product,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
     CurrencyAmount expectedLoss = CurrencyAmount.of(product.getCurrency(), product.getNotional() * (recoveryRate - 1));
     return expectedLoss.minus(basePrice);
   }
@@ -899,7 +899,7 @@ public class AnalyticCdsPricer {
     ArgChecker.notNull(creditCurve, "null creditCurve");
     ArgChecker.isTrue(yieldCurveNode >= 0 && yieldCurveNode < yieldCurve.getNumberOfKnots(), "yieldCurveNode out of range");
     if ((yieldCurveNode != 0 && cds.getProtectionEnd() <= yieldCurve.getTimeAtIndex(yieldCurveNode - 1)) ||
-        (yieldCurveNode != creditCurve.getNumberOfKnots() - 1 &&
+        (yieldCurveNode != yieldCurve.getNumberOfKnots() - 1 &&
         cds.getEffectiveProtectionStart() >= yieldCurve.getTimeAtIndex(yieldCurveNode + 1))) {
       return 0.0; // can't have any sensitivity in this case
     }
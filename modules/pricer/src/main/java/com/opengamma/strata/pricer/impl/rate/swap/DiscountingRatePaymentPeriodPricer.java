@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.impl.rate.swap;
 import static java.time.temporal.ChronoUnit.DAYS;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
@@ -64,6 +65,27 @@ public class DiscountingRatePaymentPeriodPricer
     return futureValue(period, provider) * df;
   }
 
+  @Override
+  public double[] presentValue(RatePaymentPeriod period, List<? extends RatesProvider> providers) {
+    // the discount factors and notionals of all the providers are gathered into arrays
+    // the notional includes the FX rate, which is 1 if no FX conversion
+    int size = providers.size();
+    double[] discountFactors = new double[size];
+    double[] notionals = new double[size];
+    for (int i = 0; i < size; i++) {
+      RatesProvider provider = providers.get(i);
+      discountFactors[i] = provider.discountFactor(period.getCurrency(), period.getPaymentDate());
+      notionals[i] = period.getNotional() * fxRate(period, provider);
+    }
+    double[] accruals = unitNotionalAccruals(period, providers);
+    // futureValue * discountFactor
+    double[] pvs = new double[size];
+    for (int i = 0; i < size; i++) {
+      pvs[i] = accruals[i] * notionals[i] * discountFactors[i];
+    }
+    return pvs;
+  }
+
   @Override
   public double futureValue(RatePaymentPeriod period, RatesProvider provider) {
     // notional * fxRate
@@ -118,6 +140,31 @@ public class DiscountingRatePaymentPeriodPricer
     return accrueCompounded(period, notional, provider);
   }
 
+  // calculate the accrual for a unit notional for each provider
+  // without compounding the raw rates of each accrual period are gathered into an array for all the providers
+  private double[] unitNotionalAccruals(RatePaymentPeriod period, List<? extends RatesProvider> providers) {
+    int size = providers.size();
+    double[] accruals = new double[size];
+    if (period.isCompoundingApplicable()) {
+      // the compounded accrual is proportional to the notional
+      for (int i = 0; i < size; i++) {
+        accruals[i] = accrueCompounded(period, 1d, providers.get(i));
+      }
+      return accruals;
+    }
+    double[] rawRates = new double[size];
+    for (RateAccrualPeriod accrualPeriod : period.getAccrualPeriods()) {
+      for (int i = 0; i < size; i++) {
+        rawRates[i] = rawRate(accrualPeriod, providers.get(i));
+      }
+      double spread = accrualPeriod.getSpread();
+      for (int i = 0; i < size; i++) {
+        accruals[i] += unitNotionalAccrualRaw(accrualPeriod, rawRates[i], spread);
+      }
+    }
+    return accruals;
+  }
+
   // calculate the accrual for a unit notional
   private double unitNotionalAccrual(RateAccrualPeriod accrualPeriod, double spread, RatesProvider provider) {
     double rawRate = rawRate(accrualPeriod, provider);
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.impl.rate.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.finance.rate.swap.FxResetNotionalExchange;
 import com.opengamma.strata.finance.rate.swap.NotionalExchange;
@@ -65,6 +67,18 @@ public class DispatchingPaymentEventPricer
     }
   }
 
+  @Override
+  public double[] presentValue(PaymentEvent paymentEvent, List<? extends RatesProvider> providers) {
+    // dispatch by runtime type
+    if (paymentEvent instanceof NotionalExchange) {
+      return notionalExchangePricer.presentValue((NotionalExchange) paymentEvent, providers);
+    } else if (paymentEvent instanceof FxResetNotionalExchange) {
+      return fxResetNotionalExchangePricer.presentValue((FxResetNotionalExchange) paymentEvent, providers);
+    } else {
+      throw new IllegalArgumentException("Unknown PaymentEvent type: " + paymentEvent.getClass().getSimpleName());
+    }
+  }
+
   @Override
   public PointSensitivityBuilder presentValueSensitivity(PaymentEvent paymentEvent, RatesProvider provider) {
     // dispatch by runtime type
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.impl.rate.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.finance.rate.swap.KnownAmountPaymentPeriod;
 import com.opengamma.strata.finance.rate.swap.PaymentPeriod;
@@ -64,6 +66,18 @@ public class DispatchingPaymentPeriodPricer
     }
   }
 
+  @Override
+  public double[] presentValue(PaymentPeriod paymentPeriod, List<? extends RatesProvider> providers) {
+    // dispatch by runtime type
+    if (paymentPeriod instanceof RatePaymentPeriod) {
+      return ratePaymentPeriodPricer.presentValue((RatePaymentPeriod) paymentPeriod, providers);
+    } else if (paymentPeriod instanceof KnownAmountPaymentPeriod) {
+      return knownAmountPaymentPeriodPricer.presentValue((KnownAmountPaymentPeriod) paymentPeriod, providers);
+    } else {
+      throw new IllegalArgumentException("Unknown PaymentPeriod type: " + paymentPeriod.getClass().getSimpleName());
+    }
+  }
+
   @Override
   public PointSensitivityBuilder presentValueSensitivity(PaymentPeriod paymentPeriod,
       RatesProvider provider) {
@@ -5,8 +5,18 @@
  */
 package com.opengamma.strata.pricer.rate;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivitiesBuilder;
 import com.opengamma.strata.market.sensitivity.FxForwardSensitivity;
 import com.opengamma.strata.market.sensitivity.FxIndexSensitivity;
 import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
@@ -33,40 +43,47 @@ public abstract class AbstractRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public CurveCurrencyParameterSensitivities curveParameterSensitivity(PointSensitivities sensitivities) {
-    CurveCurrencyParameterSensitivities sens = CurveCurrencyParameterSensitivities.empty();
+    // the rates objects are cached as there are typically many points for each curve
+    Map<Currency, DiscountFactors> discountFactorsCache = new HashMap<>();
+    Map<IborIndex, IborIndexRates> iborRatesCache = new HashMap<>();
+    Map<OvernightIndex, OvernightIndexRates> overnightRatesCache = new HashMap<>();
+    Map<FxIndex, FxIndexRates> fxIndexRatesCache = new HashMap<>();
+    Map<PriceIndex, PriceIndexValues> priceIndexValuesCache = new HashMap<>();
+    Map<CurrencyPair, FxForwardRates> fxForwardRatesCache = new HashMap<>();
+    CurveCurrencyParameterSensitivitiesBuilder sens = new CurveCurrencyParameterSensitivitiesBuilder();
     for (PointSensitivity point : sensitivities.getSensitivities()) {
       if (point instanceof ZeroRateSensitivity) {
         ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
-        DiscountFactors factors = discountFactors(pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.curveParameterSensitivity(pt));
+        DiscountFactors factors = discountFactorsCache.computeIfAbsent(pt.getCurveCurrency(), this::discountFactors);
+        sens.add(factors.curveParameterSensitivity(pt));
 
       } else if (point instanceof IborRateSensitivity) {
         IborRateSensitivity pt = (IborRateSensitivity) point;
-        IborIndexRates rates = iborIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        IborIndexRates rates = iborRatesCache.computeIfAbsent(pt.getIndex(), this::iborIndexRates);
+        sens.add(rates.curveParameterSensitivity(pt));
 
       } else if (point instanceof OvernightRateSensitivity) {
         OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
-        OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        OvernightIndexRates rates = overnightRatesCache.computeIfAbsent(pt.getIndex(), this::overnightIndexRates);
+        sens.add(rates.curveParameterSensitivity(pt));
 
       } else if (point instanceof FxIndexSensitivity) {
         FxIndexSensitivity pt = (FxIndexSensitivity) point;
-        FxIndexRates rates = fxIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        FxIndexRates rates = fxIndexRatesCache.computeIfAbsent(pt.getIndex(), this::fxIndexRates);
+        sens.add(rates.curveParameterSensitivity(pt));
 
       } else if (point instanceof InflationRateSensitivity) {
         InflationRateSensitivity pt = (InflationRateSensitivity) point;
-        PriceIndexValues rates = priceIndexValues(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        PriceIndexValues rates = priceIndexValuesCache.computeIfAbsent(pt.getIndex(), this::priceIndexValues);
+        sens.add(rates.curveParameterSensitivity(pt));
 
       } else if (point instanceof FxForwardSensitivity) {
         FxForwardSensitivity pt = (FxForwardSensitivity) point;
-        FxForwardRates rates = fxForwardRates(pt.getCurrencyPair());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        FxForwardRates rates = fxForwardRatesCache.computeIfAbsent(pt.getCurrencyPair(), this::fxForwardRates);
+        sens.add(rates.curveParameterSensitivity(pt));
       }
     }
-    return sens;
+    return sens.build();
   }
 
   @Override
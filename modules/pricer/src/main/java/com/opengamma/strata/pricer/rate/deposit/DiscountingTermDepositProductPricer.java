@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.rate.deposit;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.finance.rate.deposit.ExpandedTermDeposit;
@@ -59,6 +61,35 @@ public class DiscountingTermDepositProductPricer {
     return CurrencyAmount.of(currency, pv);
   }
 
+  /**
+   * Calculates the present value of the product for each of a set of rates providers.
+   * <p>
+   * This is equivalent to calling {@link #presentValue(TermDepositProduct, RatesProvider)} for each
+   * provider, but the product is only expanded once and no object is created for each present value.
+   * <p>
+   * This is intended for calculating the present value in many scenarios.
+   * 
+   * @param product  the product to price
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the product for each provider, in the currency of the product
+   */
+  public double[] presentValue(TermDepositProduct product, List<? extends RatesProvider> providers) {
+    ExpandedTermDeposit deposit = product.expand();
+    Currency currency = deposit.getCurrency();
+    double finalAmount = deposit.getNotional() + deposit.getInterest();
+    double[] pvs = new double[providers.size()];
+    for (int i = 0; i < pvs.length; i++) {
+      RatesProvider provider = providers.get(i);
+      if (!provider.getValuationDate().isAfter(deposit.getEndDate())) {
+        DiscountFactors discountFactors = provider.discountFactors(currency);
+        double dfStart = discountFactors.discountFactor(deposit.getStartDate());
+        double dfEnd = discountFactors.discountFactor(deposit.getEndDate());
+        pvs[i] = finalAmount * dfEnd - initialAmount(deposit, provider) * dfStart;
+      }
+    }
+    return pvs;
+  }
+
   // the initial amount is the same as the principal, but zero if the start date has passed
   // the caller must negate the result of this method if required
   private double initialAmount(ExpandedTermDeposit deposit, RatesProvider provider) {
@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.rate.fra;
 import static java.time.temporal.ChronoUnit.DAYS;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
@@ -74,6 +75,47 @@ public class DiscountingFraProductPricer {
     return CurrencyAmount.of(fra.getCurrency(), pv);
   }
 
+  /**
+   * Calculates the present value of the FRA product for each of a set of rates providers.
+   * <p>
+   * This is equivalent to calling {@link #presentValue(FraProduct, RatesProvider)} for each provider,
+   * but the product is only expanded once and no object is created for each present value.
+   * The forward rates and discount factors of all the providers are gathered into arrays
+   * before the present values are calculated.
+   * <p>
+   * This is intended for calculating the present value in many scenarios.
+   * 
+   * @param product  the product to price
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the product for each provider, in the currency of the product
+   */
+  public double[] presentValue(FraProduct product, List<? extends RatesProvider> providers) {
+    ExpandedFra fra = product.expand();
+    int size = providers.size();
+    // the payment has already happened in a scenario if it is before the valuation date, as in futureValue0
+    boolean[] paid = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      paid[i] = fra.getPaymentDate().isBefore(providers.get(i).getValuationDate());
+    }
+    // the curves are not queried for scenarios where the payment has already happened
+    double[] forwardRates = new double[size];
+    double[] discountFactors = new double[size];
+    for (int i = 0; i < size; i++) {
+      if (!paid[i]) {
+        RatesProvider provider = providers.get(i);
+        forwardRates[i] = forwardRate(fra, provider);
+        discountFactors[i] = provider.discountFactor(fra.getCurrency(), fra.getPaymentDate());
+      }
+    }
+    // futureValue * discountFactor
+    double notional = fra.getNotional();
+    double[] pvs = new double[size];
+    for (int i = 0; i < size; i++) {
+      pvs[i] = paid[i] ? 0d : notional * unitAmount(fra, forwardRates[i]) * discountFactors[i];
+    }
+    return pvs;
+  }
+
   /**
    * Calculates the present value sensitivity of the FRA product.
    * <p>
@@ -248,38 +290,40 @@ public class DiscountingFraProductPricer {
 
   // unit amount in various discounting methods
   private double unitAmount(ExpandedFra fra, RatesProvider provider) {
+    return unitAmount(fra, forwardRate(fra, provider));
+  }
+
+  // unit amount in various discounting methods for a known forward rate
+  private double unitAmount(ExpandedFra fra, double forwardRate) {
     switch (fra.getDiscounting()) {
       case NONE:
-        return unitAmountNone(fra, provider);
+        return unitAmountNone(fra, forwardRate);
       case ISDA:
-        return unitAmountIsda(fra, provider);
+        return unitAmountIsda(fra, forwardRate);
       case AFMA:
-        return unitAmountAfma(fra, provider);
+        return unitAmountAfma(fra, forwardRate);
       default:
         throw new IllegalArgumentException("Unknown FraDiscounting value: " + fra.getDiscounting());
     }
   }
 
   // NONE discounting method
-  private double unitAmountNone(ExpandedFra fra, RatesProvider provider) {
+  private double unitAmountNone(ExpandedFra fra, double forwardRate) {
     double fixedRate = fra.getFixedRate();
-    double forwardRate = forwardRate(fra, provider);
     double yearFraction = fra.getYearFraction();
     return (forwardRate - fixedRate) * yearFraction;
   }
 
   // ISDA discounting method
-  private double unitAmountIsda(ExpandedFra fra, RatesProvider provider) {
+  private double unitAmountIsda(ExpandedFra fra, double forwardRate) {
     double fixedRate = fra.getFixedRate();
-    double forwardRate = forwardRate(fra, provider);
     double yearFraction = fra.getYearFraction();
     return ((forwardRate - fixedRate) / (1.0 + forwardRate * yearFraction)) * yearFraction;
   }
 
   // AFMA discounting method
-  private double unitAmountAfma(ExpandedFra fra, RatesProvider provider) {
+  private double unitAmountAfma(ExpandedFra fra, double forwardRate) {
     double fixedRate = fra.getFixedRate();
-    double forwardRate = forwardRate(fra, provider);
     double yearFraction = fra.getYearFraction();
     return (1.0 / (1.0 + fixedRate * yearFraction)) - (1.0 / (1.0 + forwardRate * yearFraction));
   }
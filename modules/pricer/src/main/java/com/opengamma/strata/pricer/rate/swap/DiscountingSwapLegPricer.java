@@ -6,8 +6,11 @@
 package com.opengamma.strata.pricer.rate.swap;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
@@ -345,6 +348,54 @@ public class DiscountingSwapLegPricer {
     return total;
   }
 
+  // calculates the present value of the leg in the currency of the swap leg for each provider
+  // each period and event is priced for all the providers in one call to the pricer
+  double[] presentValueInternal(ExpandedSwapLeg leg, List<? extends RatesProvider> providers) {
+    double[] pvs = new double[providers.size()];
+    for (PaymentPeriod period : leg.getPaymentPeriods()) {
+      addPresentValues(
+          pvs, period.getPaymentDate(), providers, active -> paymentPeriodPricer.presentValue(period, active));
+    }
+    for (PaymentEvent event : leg.getPaymentEvents()) {
+      addPresentValues(
+          pvs, event.getPaymentDate(), providers, active -> paymentEventPricer.presentValue(event, active));
+    }
+    return pvs;
+  }
+
+  // adds the present values of a payment to the totals of the providers for which the payment is not in the past
+  private static void addPresentValues(
+      double[] totals,
+      LocalDate paymentDate,
+      List<? extends RatesProvider> providers,
+      Function<List<? extends RatesProvider>, double[]> pricer) {
+
+    int size = providers.size();
+    int[] activeIndices = new int[size];
+    int activeCount = 0;
+    for (int i = 0; i < size; i++) {
+      if (!paymentDate.isBefore(providers.get(i).getValuationDate())) {
+        activeIndices[activeCount++] = i;
+      }
+    }
+    if (activeCount == size) {
+      // the usual case, all the scenarios have the same valuation date
+      double[] pvs = pricer.apply(providers);
+      for (int i = 0; i < size; i++) {
+        totals[i] += pvs[i];
+      }
+    } else if (activeCount > 0) {
+      List<RatesProvider> activeProviders = new ArrayList<>(activeCount);
+      for (int i = 0; i < activeCount; i++) {
+        activeProviders.add(providers.get(activeIndices[i]));
+      }
+      double[] pvs = pricer.apply(activeProviders);
+      for (int i = 0; i < activeCount; i++) {
+        totals[activeIndices[i]] += pvs[i];
+      }
+    }
+  }
+
   // calculates the present value of the periods composing the leg in the currency of the swap leg
   double presentValuePeriodsInternal(ExpandedSwapLeg leg, RatesProvider provider) {
     double total = 0d;
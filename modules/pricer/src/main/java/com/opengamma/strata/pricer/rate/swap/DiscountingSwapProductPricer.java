@@ -5,7 +5,9 @@
  */
 package com.opengamma.strata.pricer.rate.swap;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.ToDoubleBiFunction;
 
@@ -92,6 +94,36 @@ public class DiscountingSwapProductPricer {
     return CurrencyAmount.of(currency, totalPv);
   }
 
+  /**
+   * Calculates the present value of the swap product for each of a set of rates providers,
+   * converted to the specified currency.
+   * <p>
+   * This is equivalent to calling {@link #presentValue(SwapProduct, Currency, RatesProvider)} for each
+   * provider, but the product is only expanded once and no object is created for each present value.
+   * Each payment period and event of the swap is priced for all the providers in a single call to the
+   * period or event pricer, allowing the pricer to gather the market data of all the providers into arrays.
+   * <p>
+   * This is intended for calculating the present value in many scenarios.
+   * 
+   * @param product  the product to price
+   * @param currency  the currency to convert to
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the swap product in the specified currency for each provider
+   */
+  public double[] presentValue(SwapProduct product, Currency currency, List<? extends RatesProvider> providers) {
+    int size = providers.size();
+    double[] totalPvs = new double[size];
+    for (ExpandedSwapLeg leg : product.expand().getLegs()) {
+      double[] pvs = legPricer.presentValueInternal(leg, providers);
+      Currency legCurrency = leg.getCurrency();
+      for (int i = 0; i < size; i++) {
+        double fxRate = legCurrency.equals(currency) ? 1d : providers.get(i).fxRate(legCurrency, currency);
+        totalPvs[i] += (pvs[i] * fxRate);
+      }
+    }
+    return totalPvs;
+  }
+
   /**
    * Calculates the present value of the swap product.
    * <p>
@@ -107,6 +139,41 @@ public class DiscountingSwapProductPricer {
     return swapValue(provider, product.expand(), legPricer::presentValueInternal);
   }
 
+  /**
+   * Calculates the present value of the swap product for each of a set of rates providers.
+   * <p>
+   * This is equivalent to calling {@link #presentValue(SwapProduct, RatesProvider)} for each provider,
+   * but the product is only expanded once and each payment period and event of the swap is priced
+   * for all the providers in a single call to the period or event pricer.
+   * The result is expressed using the payment currency of each leg.
+   * <p>
+   * This is intended for calculating the present value in many scenarios.
+   * 
+   * @param product  the product to price
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the swap product for each provider
+   */
+  public List<MultiCurrencyAmount> presentValue(SwapProduct product, List<? extends RatesProvider> providers) {
+    int size = providers.size();
+    // the present values of the legs are summed by currency for all the providers
+    Map<Currency, double[]> totalPvs = new LinkedHashMap<>();
+    for (ExpandedSwapLeg leg : product.expand().getLegs()) {
+      double[] pvs = legPricer.presentValueInternal(leg, providers);
+      double[] legTotalPvs = totalPvs.computeIfAbsent(leg.getCurrency(), ccy -> new double[size]);
+      for (int i = 0; i < size; i++) {
+        legTotalPvs[i] += pvs[i];
+      }
+    }
+    ImmutableList.Builder<MultiCurrencyAmount> builder = ImmutableList.builder();
+    for (int i = 0; i < size; i++) {
+      int index = i;
+      builder.add(totalPvs.entrySet().stream()
+          .map(entry -> CurrencyAmount.of(entry.getKey(), entry.getValue()[index]))
+          .collect(MultiCurrencyAmount.collector()));
+    }
+    return builder.build();
+  }
+
   /**
    * Calculates the future value of the swap product.
    * <p>
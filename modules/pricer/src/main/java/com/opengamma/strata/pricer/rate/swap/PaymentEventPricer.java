@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.rate.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.finance.rate.swap.PaymentEvent;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -49,6 +51,27 @@ public interface PaymentEventPricer<T extends PaymentEvent> {
    */
   public abstract double presentValue(T event, RatesProvider provider);
 
+  /**
+   * Calculates the present value of a single payment event for each of a set of rates providers.
+   * <p>
+   * This is equivalent to calling {@link #presentValue(PaymentEvent, RatesProvider)} for each provider.
+   * Implementations may override this to gather the market data of all the providers into arrays
+   * before the present values are calculated.
+   * <p>
+   * The payment date of the event should not be in the past for any of the providers.
+   * 
+   * @param event  the event to price
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the event for each provider
+   */
+  public default double[] presentValue(T event, List<? extends RatesProvider> providers) {
+    double[] pvs = new double[providers.size()];
+    for (int i = 0; i < pvs.length; i++) {
+      pvs[i] = presentValue(event, providers.get(i));
+    }
+    return pvs;
+  }
+
   /**
    * Calculates the present value sensitivity of a single payment event.
    * <p>
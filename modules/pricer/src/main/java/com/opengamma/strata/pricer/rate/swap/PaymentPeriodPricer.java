@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.rate.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.finance.rate.swap.PaymentPeriod;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -49,6 +51,27 @@ public interface PaymentPeriodPricer<T extends PaymentPeriod> {
    */
   public abstract double presentValue(T period, RatesProvider provider);
 
+  /**
+   * Calculates the present value of a single payment period for each of a set of rates providers.
+   * <p>
+   * This is equivalent to calling {@link #presentValue(PaymentPeriod, RatesProvider)} for each provider.
+   * Implementations may override this to gather the market data of all the providers into arrays
+   * before the present values are calculated.
+   * <p>
+   * The payment date of the period should not be in the past for any of the providers.
+   * 
+   * @param period  the period to price
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the period for each provider
+   */
+  public default double[] presentValue(T period, List<? extends RatesProvider> providers) {
+    double[] pvs = new double[providers.size()];
+    for (int i = 0; i < pvs.length; i++) {
+      pvs[i] = presentValue(period, providers.get(i));
+    }
+    return pvs;
+  }
+
   /**
    * Calculates the present value sensitivity of a single payment period.
    * <p>
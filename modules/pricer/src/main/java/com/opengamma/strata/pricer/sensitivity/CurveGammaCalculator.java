@@ -5,21 +5,44 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.analytics.math.differentiation.FiniteDifferenceType;
 import com.opengamma.analytics.math.differentiation.VectorFieldFirstOrderDifferentiator;
 import com.opengamma.analytics.math.function.Function1D;
 import com.opengamma.analytics.math.matrix.DoubleMatrix1D;
 import com.opengamma.analytics.math.matrix.DoubleMatrix2D;
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.sensitivity.CrossGammaParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 
 /**
  * Computes the cross-gamma and related figures to the rate curves parameters for rates provider.
  * <p>
- * This implementation supports a single {@link NodalCurve} on the zero-coupon rates.
+ * The semi-parallel gamma supports a single {@link NodalCurve} on the zero-coupon rates.
+ * The full cross-gamma supports all the curves of an {@link ImmutableRatesProvider}, which must be nodal curves.
+ * The bumped deltas of the cross-gamma are independent of each other. If the calculator is called from
+ * a fork-join pool, typically the pool of the calculation engine, they are evaluated in parallel in that pool.
+ * <p>
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
@@ -36,6 +59,14 @@ public class CurveGammaCalculator {
    * The first order finite difference calculator.
    */
   private final VectorFieldFirstOrderDifferentiator fd;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
 
   /**
    * Create an instance of the finite difference calculator.
@@ -45,6 +76,8 @@ public class CurveGammaCalculator {
    */
   public CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
+    this.fdType = ArgChecker.notNull(fdType, "fdType");
+    this.shift = shift;
   }
 
   //-------------------------------------------------------------------------
@@ -76,6 +109,193 @@ public class CurveGammaCalculator {
   }
 
   //-------------------------------------------------------------------------
+  /**
+   * Computes the full cross-gamma for a sensitivity function of a rates provider.
+   * <p>
+   * The cross-gamma is computed across all the curves of the rates provider, which must be of type
+   * {@link NodalCurve}. A curve used for more than one currency or index is identified by its name
+   * and is bumped everywhere it is used. Each parameter of each curve is bumped in turn and the
+   * delta to all the parameters is computed for each bumped rates provider.
+   * <p>
+   * If this method is called from a fork-join pool, the deltas of the different bumps are evaluated
+   * as fork-join tasks in the same pool, so the sensitivity function must be safe to call concurrently.
+   * Otherwise they are evaluated in the calling thread.
+   * <p>
+   * The sensitivity function is typically the curve parameter sensitivity computed from the point
+   * sensitivities of an expanded product. Any sensitivity in a currency other than the specified
+   * currency is converted using the FX rates of the rates provider.
+   * 
+   * @param provider  the rates provider
+   * @param currency  the currency of the resulting sensitivity
+   * @param sensitivitiesFn  the function to convert a bumped rates provider to parameter sensitivities
+   * @return the cross-gamma matrix
+   */
+  public CrossGammaParameterSensitivity calculateCrossGamma(
+      ImmutableRatesProvider provider,
+      Currency currency,
+      Function<ImmutableRatesProvider, CurveCurrencyParameterSensitivities> sensitivitiesFn) {
+
+    ArgChecker.notNull(provider, "provider");
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNull(sensitivitiesFn, "sensitivitiesFn");
+    List<NodalCurve> curves = nodalCurves(provider);
+    int[] parameterCounts = curves.stream().mapToInt(NodalCurve::getParameterCount).toArray();
+    int parameterCount = Arrays.stream(parameterCounts).sum();
+    double[] deltaInit = fdType == FiniteDifferenceType.CENTRAL ?
+        null :
+        delta(provider, currency, curves, parameterCount, sensitivitiesFn);
+
+    // one task for each parameter of each curve, each task computes one row of the matrix
+    List<GammaRowTask> tasks = new ArrayList<>(parameterCount);
+    for (NodalCurve curve : curves) {
+      for (int i = 0; i < curve.getParameterCount(); i++) {
+        int node = i;
+        tasks.add(new GammaRowTask(
+            () -> gammaRow(provider, currency, curves, parameterCount, curve, node, sensitivitiesFn, deltaInit)));
+      }
+    }
+    double[][] gamma = new double[parameterCount][];
+    if (ForkJoinTask.inForkJoinPool()) {
+      // forking and joining from a worker lets the worker run the tasks instead of blocking
+      ForkJoinTask.invokeAll(tasks);
+      for (int i = 0; i < parameterCount; i++) {
+        gamma[i] = tasks.get(i).join();
+      }
+    } else {
+      for (int i = 0; i < parameterCount; i++) {
+        gamma[i] = tasks.get(i).compute();
+      }
+    }
+    List<CurveMetadata> metadata = curves.stream().map(NodalCurve::getMetadata).collect(toImmutableList());
+    return CrossGammaParameterSensitivity.of(metadata, parameterCounts, currency, gamma);
+  }
+
+  // finds the distinct curves of the rates provider, in the order of the discount curves and then the index curves
+  private static List<NodalCurve> nodalCurves(ImmutableRatesProvider provider) {
+    Map<CurveName, NodalCurve> curves = new LinkedHashMap<>();
+    for (Curve curve : provider.getDiscountCurves().values()) {
+      curves.putIfAbsent(curve.getName(), checkNodal(curve));
+    }
+    for (Curve curve : provider.getIndexCurves().values()) {
+      curves.putIfAbsent(curve.getName(), checkNodal(curve));
+    }
+    return ImmutableList.copyOf(curves.values());
+  }
+
+  // computes the row of the matrix for a single parameter of a single curve
+  private double[] gammaRow(
+      ImmutableRatesProvider provider,
+      Currency currency,
+      List<NodalCurve> curves,
+      int parameterCount,
+      NodalCurve curve,
+      int node,
+      Function<ImmutableRatesProvider, CurveCurrencyParameterSensitivities> sensitivitiesFn,
+      double[] deltaInit) {
+
+    double[] gamma = new double[parameterCount];
+    switch (fdType) {
+      case FORWARD: {
+        double[] deltaUp =
+            delta(bumpedProvider(provider, curve, node, shift), currency, curves, parameterCount, sensitivitiesFn);
+        for (int i = 0; i < parameterCount; i++) {
+          gamma[i] = (deltaUp[i] - deltaInit[i]) / shift;
+        }
+        return gamma;
+      }
+      case BACKWARD: {
+        double[] deltaDown =
+            delta(bumpedProvider(provider, curve, node, -shift), currency, curves, parameterCount, sensitivitiesFn);
+        for (int i = 0; i < parameterCount; i++) {
+          gamma[i] = (deltaInit[i] - deltaDown[i]) / shift;
+        }
+        return gamma;
+      }
+      case CENTRAL: {
+        double[] deltaUp =
+            delta(bumpedProvider(provider, curve, node, shift), currency, curves, parameterCount, sensitivitiesFn);
+        double[] deltaDown =
+            delta(bumpedProvider(provider, curve, node, -shift), currency, curves, parameterCount, sensitivitiesFn);
+        for (int i = 0; i < parameterCount; i++) {
+          gamma[i] = (deltaUp[i] - deltaDown[i]) / (2 * shift);
+        }
+        return gamma;
+      }
+      default:
+        throw new IllegalStateException("Unknown finite difference type: " + fdType);
+    }
+  }
+
+  // computes the delta to all the parameters of all the curves, in the order of the curves
+  private static double[] delta(
+      ImmutableRatesProvider provider,
+      Currency currency,
+      List<NodalCurve> curves,
+      int parameterCount,
+      Function<ImmutableRatesProvider, CurveCurrencyParameterSensitivities> sensitivitiesFn) {
+
+    CurveCurrencyParameterSensitivities sensitivities = sensitivitiesFn.apply(provider).convertedTo(currency, provider);
+    double[] delta = new double[parameterCount];
+    int offset = 0;
+    for (NodalCurve curve : curves) {
+      for (CurveCurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+        if (sensitivity.getCurveName().equals(curve.getName())) {
+          System.arraycopy(sensitivity.getSensitivity(), 0, delta, offset, curve.getParameterCount());
+        }
+      }
+      offset += curve.getParameterCount();
+    }
+    return delta;
+  }
+
+  // creates a new rates provider in which every use of the curve is bumped at a given parameter
+  private static ImmutableRatesProvider bumpedProvider(
+      ImmutableRatesProvider provider,
+      NodalCurve curve,
+      int node,
+      double bump) {
+
+    double[] yieldBumped = curve.getYValues();
+    yieldBumped[node] += bump;
+    NodalCurve curveBumped = curve.withYValues(yieldBumped);
+    return provider.toBuilder()
+        .discountCurves(replaceCurve(provider.getDiscountCurves(), curveBumped))
+        .indexCurves(replaceCurve(provider.getIndexCurves(), curveBumped))
+        .build();
+  }
+
+  // replaces the curves with the same name as the bumped curve
+  private static <T> Map<T, Curve> replaceCurve(Map<T, Curve> curves, Curve curveBumped) {
+    return curves.entrySet().stream()
+        .collect(toImmutableMap(
+            Map.Entry::getKey,
+            entry -> entry.getValue().getName().equals(curveBumped.getName()) ? curveBumped : entry.getValue()));
+  }
+
+  // check that the curve is a NodalCurve
+  private static NodalCurve checkNodal(Curve curve) {
+    ArgChecker.isTrue(curve instanceof NodalCurve, "Curve must be a NodalCurve");
+    return (NodalCurve) curve;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Fork-join task computing one row of the cross-gamma matrix.
+   */
+  private static final class GammaRowTask extends RecursiveTask<double[]> {
+    private static final long serialVersionUID = 1L;
+    private final transient Supplier<double[]> rowFn;
+
+    private GammaRowTask(Supplier<double[]> rowFn) {
+      this.rowFn = rowFn;
+    }
+
+    @Override
+    protected double[] compute() {
+      return rowFn.get();
+    }
+  }
+
   /**
    * Inner class to compute the delta for a given parallel shift of the curve.
    */
@@ -5,13 +5,24 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import org.joda.beans.MetaProperty;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.analytics.math.differentiation.FiniteDifferenceType;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.curve.Curve;
@@ -26,27 +37,70 @@ import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, and calculates the sensitivity by finite difference.
  * The curves underlying the rates provider must be of type {@link NodalCurve}.
+ * <p>
+ * The sensitivities of many functions can be computed together, in which case each bumped
+ * rates provider is created once and shared by all the functions.
+ * The bumps of each node are independent of each other and are evaluated using the executor,
+ * which allows them to be evaluated in parallel.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
   /**
-   * Default implementation. The shift is one basis point (0.0001).
+   * Default implementation. The finite difference is forward and the shift is one basis point (0.0001).
    */
   public static final RatesFiniteDifferenceSensitivityCalculator DEFAULT =
       new RatesFiniteDifferenceSensitivityCalculator(1.0E-4);
 
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
   /**
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The executor used to evaluate the functions for each bumped rates provider.
+   */
+  private final Executor executor;
 
   /**
    * Create an instance of the finite difference calculator.
+   * <p>
+   * The finite difference is forward and the bumps are evaluated in the calling thread.
    * 
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(FiniteDifferenceType.FORWARD, shift);
+  }
+
+  /**
+   * Create an instance of the finite difference calculator.
+   * <p>
+   * The bumps are evaluated in the calling thread.
+   * 
+   * @param fdType  the finite difference type
+   * @param shift  the shift used in the finite difference computation
+   */
+  public RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType fdType, double shift) {
+    this(fdType, shift, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Create an instance of the finite difference calculator.
+   * <p>
+   * The bumps are evaluated using the specified executor.
+   * If the executor uses multiple threads, the functions must be safe to call concurrently.
+   * 
+   * @param fdType  the finite difference type
+   * @param shift  the shift used in the finite difference computation
+   * @param executor  the executor used to evaluate the functions for each bumped rates provider
+   */
+  public RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType fdType, double shift, Executor executor) {
+    this.fdType = ArgChecker.notNull(fdType, "fdType");
     this.shift = shift;
+    this.executor = ArgChecker.notNull(executor, "executor");
   }
 
   //-------------------------------------------------------------------------
@@ -54,7 +108,7 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference.
    * <p>
    * The curves underlying the rates provider must be of type {@link NodalCurve}.
-   * The finite difference is computed by forward type. 
+   * The finite difference is computed using the finite difference type of this calculator.
    * The function should return a value in the same currency for any rate provider.
    * 
    * @param provider  the rates provider
@@ -65,51 +119,175 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       ImmutableRatesProvider provider,
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn) {
 
-    CurrencyAmount valueInit = valueFn.apply(provider);
-    CurveCurrencyParameterSensitivities discounting = sensitivity(
-        provider, valueFn, ImmutableRatesProvider.meta().discountCurves(), valueInit);
-    CurveCurrencyParameterSensitivities forward = sensitivity(
-        provider, valueFn, ImmutableRatesProvider.meta().indexCurves(), valueInit);
-    return discounting.combinedWith(forward);
+    return sensitivity(provider, ImmutableList.of(valueFn)).get(0);
+  }
+
+  /**
+   * Computes the first order sensitivities of many functions of a RatesProvider to a double by finite difference.
+   * <p>
+   * The curves underlying the rates provider must be of type {@link NodalCurve}.
+   * The finite difference is computed using the finite difference type of this calculator.
+   * Each function should return a value in the same currency for any rate provider.
+   * <p>
+   * Each node of each curve is bumped once, and the bumped rates provider is shared by all the functions.
+   * This is typically used to compute the sensitivities of all the trades in a portfolio in one call.
+   * 
+   * @param provider  the rates provider
+   * @param valueFns  the functions from a rate provider to a currency amount for which the sensitivity should be computed
+   * @return the curve sensitivity of each function, in the same order as the functions
+   */
+  public List<CurveCurrencyParameterSensitivities> sensitivity(
+      ImmutableRatesProvider provider,
+      List<? extends Function<ImmutableRatesProvider, CurrencyAmount>> valueFns) {
+
+    ArgChecker.notNull(provider, "provider");
+    ArgChecker.noNulls(valueFns, "valueFns");
+    List<CurrencyAmount> valuesInit = valueFns.stream()
+        .map(valueFn -> valueFn.apply(provider))
+        .collect(toImmutableList());
+    List<CurveBumper<?>> bumpers = ImmutableList.<CurveBumper<?>>builder()
+        .addAll(curveBumpers(provider, ImmutableRatesProvider.meta().discountCurves()))
+        .addAll(curveBumpers(provider, ImmutableRatesProvider.meta().indexCurves()))
+        .build();
+
+    // one task for each node of each curve, the values of all the functions are computed by each task
+    List<CompletableFuture<double[]>> futures = new ArrayList<>();
+    for (CurveBumper<?> bumper : bumpers) {
+      for (int i = 0; i < bumper.getNodeCount(); i++) {
+        int node = i;
+        futures.add(CompletableFuture.supplyAsync(() -> nodeSensitivity(bumper, node, valueFns, valuesInit), executor));
+      }
+    }
+    List<double[]> nodeSensitivities = join(futures);
+
+    List<CurveCurrencyParameterSensitivities> results = new ArrayList<>(valueFns.size());
+    for (int fnIndex = 0; fnIndex < valueFns.size(); fnIndex++) {
+      CurveCurrencyParameterSensitivities result = CurveCurrencyParameterSensitivities.empty();
+      int taskIndex = 0;
+      for (CurveBumper<?> bumper : bumpers) {
+        double[] sensitivity = new double[bumper.getNodeCount()];
+        for (int i = 0; i < sensitivity.length; i++) {
+          sensitivity[i] = nodeSensitivities.get(taskIndex++)[fnIndex];
+        }
+        CurveMetadata metadata = bumper.getMetadata();
+        Currency currency = valuesInit.get(fnIndex).getCurrency();
+        result = result.combinedWith(CurveCurrencyParameterSensitivity.of(metadata, currency, sensitivity));
+      }
+      results.add(result);
+    }
+    return results;
   }
 
-  // computes the sensitivity with respect to the curves
-  private <T> CurveCurrencyParameterSensitivities sensitivity(
+  // creates the bumpers for the curves
+  private <T> List<CurveBumper<T>> curveBumpers(
       ImmutableRatesProvider provider,
-      Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      MetaProperty<? extends Map<T, Curve>> metaProperty,
-      CurrencyAmount valueInit) {
+      MetaProperty<? extends Map<T, Curve>> metaProperty) {
 
     Map<T, Curve> baseCurves = metaProperty.get(provider);
-    CurveCurrencyParameterSensitivities result = CurveCurrencyParameterSensitivities.empty();
-    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
-      NodalCurve curveInt = checkNodal(entry.getValue());
-      int nbNodePoint = curveInt.getXValues().length;
-      double[] sensitivity = new double[nbNodePoint];
-      for (int i = 0; i < nbNodePoint; i++) {
-        Curve dscBumped = bumpedCurve(curveInt, i);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+    return baseCurves.entrySet().stream()
+        .map(entry -> new CurveBumper<>(provider, metaProperty, entry.getKey(), checkNodal(entry.getValue())))
+        .collect(toImmutableList());
+  }
+
+  // computes the sensitivity of each function to a single node
+  private double[] nodeSensitivity(
+      CurveBumper<?> bumper,
+      int node,
+      List<? extends Function<ImmutableRatesProvider, CurrencyAmount>> valueFns,
+      List<CurrencyAmount> valuesInit) {
+
+    double[] sensitivity = new double[valueFns.size()];
+    switch (fdType) {
+      case FORWARD: {
+        ImmutableRatesProvider providerUp = bumper.bumpedProvider(node, shift);
+        for (int i = 0; i < sensitivity.length; i++) {
+          double valueUp = valueFns.get(i).apply(providerUp).getAmount();
+          sensitivity[i] = (valueUp - valuesInit.get(i).getAmount()) / shift;
+        }
+        return sensitivity;
       }
-      CurveMetadata metadata = entry.getValue().getMetadata();
-      result = result.combinedWith(CurveCurrencyParameterSensitivity.of(metadata, valueInit.getCurrency(), sensitivity));
+      case BACKWARD: {
+        ImmutableRatesProvider providerDown = bumper.bumpedProvider(node, -shift);
+        for (int i = 0; i < sensitivity.length; i++) {
+          double valueDown = valueFns.get(i).apply(providerDown).getAmount();
+          sensitivity[i] = (valuesInit.get(i).getAmount() - valueDown) / shift;
+        }
+        return sensitivity;
+      }
+      case CENTRAL: {
+        ImmutableRatesProvider providerUp = bumper.bumpedProvider(node, shift);
+        ImmutableRatesProvider providerDown = bumper.bumpedProvider(node, -shift);
+        for (int i = 0; i < sensitivity.length; i++) {
+          double valueUp = valueFns.get(i).apply(providerUp).getAmount();
+          double valueDown = valueFns.get(i).apply(providerDown).getAmount();
+          sensitivity[i] = (valueUp - valueDown) / (2 * shift);
+        }
+        return sensitivity;
+      }
+      default:
+        throw new IllegalStateException("Unknown finite difference type: " + fdType);
+    }
+  }
+
+  // waits for the tasks to complete, rethrowing the exception thrown by any failed task
+  private static List<double[]> join(List<CompletableFuture<double[]>> futures) {
+    try {
+      return futures.stream()
+          .map(CompletableFuture::join)
+          .collect(toImmutableList());
+    } catch (CompletionException ex) {
+      Throwables.propagateIfPossible(ex.getCause());
+      throw ex;
     }
-    return result;
   }
 
   // check that the curve is a NodalCurve
-  private NodalCurve checkNodal(Curve curve) {
+  private static NodalCurve checkNodal(Curve curve) {
     ArgChecker.isTrue(curve instanceof NodalCurve, "Curve must be a NodalCurve");
     return (NodalCurve) curve;
   }
 
-  // create new curve by bumping the existing curve at a given parameter
-  private NodalCurve bumpedCurve(NodalCurve curveInt, int loopnode) {
-    double[] yieldBumped = curveInt.getYValues();
-    yieldBumped[loopnode] += shift;
-    return curveInt.withYValues(yieldBumped);
+  //-------------------------------------------------------------------------
+  /**
+   * Creates rates providers in which one node of one curve is bumped.
+   * 
+   * @param <T>  the type of the key of the curve in the rates provider
+   */
+  private static final class CurveBumper<T> {
+
+    private final ImmutableRatesProvider provider;
+    private final MetaProperty<? extends Map<T, Curve>> metaProperty;
+    private final T key;
+    private final NodalCurve curve;
+
+    private CurveBumper(
+        ImmutableRatesProvider provider,
+        MetaProperty<? extends Map<T, Curve>> metaProperty,
+        T key,
+        NodalCurve curve) {
+
+      this.provider = provider;
+      this.metaProperty = metaProperty;
+      this.key = key;
+      this.curve = curve;
+    }
+
+    private CurveMetadata getMetadata() {
+      return curve.getMetadata();
+    }
+
+    private int getNodeCount() {
+      return curve.getParameterCount();
+    }
+
+    // create new rates provider by bumping the curve at a given parameter
+    private ImmutableRatesProvider bumpedProvider(int node, double bump) {
+      double[] yieldBumped = curve.getYValues();
+      yieldBumped[node] += bump;
+      Map<T, Curve> mapBumped = new HashMap<>(metaProperty.get(provider));
+      mapBumped.put(key, curve.withYValues(yieldBumped));
+      return provider.toBuilder().set(metaProperty, mapBumped).build();
+    }
   }
 
 }
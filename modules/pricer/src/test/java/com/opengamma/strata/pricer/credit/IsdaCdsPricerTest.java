@@ -0,0 +1,205 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.finance.credit.ExpandedCds;
+import com.opengamma.strata.finance.credit.RestructuringClause;
+import com.opengamma.strata.finance.credit.SeniorityLevel;
+import com.opengamma.strata.finance.credit.type.CdsConvention;
+import com.opengamma.strata.finance.credit.type.CdsConventions;
+import com.opengamma.strata.finance.credit.type.IsdaYieldCurveConventions;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
+
+/**
+ * Test {@link IsdaCdsPricer}.
+ */
+@Test
+public class IsdaCdsPricerTest {
+
+  private static final double TOLERANCE = 1e-8;
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 10, 16);
+  private static final double RECOVERY_RATE = 0.4;
+  private static final CdsConvention CONVENTION = CdsConventions.NORTH_AMERICAN_USD;
+  private static final ExpandedCds PRODUCT = CONVENTION.toSingleNameTrade(
+      LocalDate.of(2014, 9, 22),
+      LocalDate.of(2019, 12, 20),
+      BuySell.BUY,
+      100_000_000d,
+      0.0100,
+      StandardId.of("Test", "COMP01"),
+      SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+      RestructuringClause.NO_RESTRUCTURING_2014,
+      3_694_117.73d,
+      LocalDate.of(2014, 10, 21))
+      .getProduct()
+      .expand();
+  private static final IsdaYieldCurveParRates YIELD_CURVE_PAR_RATES = yieldCurveParRates();
+  private static final IsdaCreditCurveParRates CREDIT_CURVE_PAR_RATES = creditCurveParRates();
+
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final IsdaCdsPricer parallelPricer = new IsdaCdsPricer(executor);
+
+  @AfterClass
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue_calibratedCurves() {
+    NodalCurve yieldCurve = PRICER.calibrateYieldCurve(VAL_DATE, YIELD_CURVE_PAR_RATES);
+    NodalCurve creditCurve = PRICER.calibrateCreditCurve(VAL_DATE, CREDIT_CURVE_PAR_RATES, yieldCurve, RECOVERY_RATE);
+    double expected = PRICER.presentValue(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d).getAmount();
+    double calculated = PRICER.presentValue(PRODUCT, yieldCurve, creditCurve, VAL_DATE, RECOVERY_RATE, 1d).getAmount();
+    assertEquals(calculated, expected, TOLERANCE);
+  }
+
+  public void test_ir01BucketedPar_parallel() {
+    CurveCurrencyParameterSensitivities expected = PRICER.ir01BucketedPar(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    CurveCurrencyParameterSensitivities calculated = parallelPricer.ir01BucketedPar(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(calculated.getSensitivities().get(0).getSensitivity().length, YIELD_CURVE_PAR_RATES.getNumberOfPoints());
+    assertEquals(calculated.equalWithTolerance(expected, TOLERANCE), true);
+  }
+
+  public void test_cs01BucketedPar_parallel() {
+    CurveCurrencyParameterSensitivities expected = PRICER.cs01BucketedPar(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    CurveCurrencyParameterSensitivities calculated = parallelPricer.cs01BucketedPar(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(calculated.getSensitivities().get(0).getSensitivity().length, CREDIT_CURVE_PAR_RATES.getNumberOfPoints());
+    assertEquals(calculated.equalWithTolerance(expected, TOLERANCE), true);
+  }
+
+  public void test_cs01BucketedHazard_sumMatchesParallel() {
+    CurveCurrencyParameterSensitivities bucketed = parallelPricer.cs01BucketedHazard(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    double parallel = PRICER.cs01ParallelHazard(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d).getAmount();
+    double sum = bucketed.total().getAmount(PRODUCT.getCurrency()).getAmount();
+    assertEquals(sum, parallel, Math.abs(parallel) * 1e-2);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_cs01BucketedParAnalytic() {
+    CurveCurrencyParameterSensitivities expected = PRICER.cs01BucketedPar(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    CurveCurrencyParameterSensitivities calculated = PRICER.cs01BucketedParAnalytic(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    assertMatchesFiniteDifference(calculated, expected);
+  }
+
+  public void test_cs01BucketedHazardAnalytic() {
+    CurveCurrencyParameterSensitivities expected = PRICER.cs01BucketedHazard(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    CurveCurrencyParameterSensitivities calculated = PRICER.cs01BucketedHazardAnalytic(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    assertMatchesFiniteDifference(calculated, expected);
+  }
+
+  public void test_ir01BucketedZeroAnalytic() {
+    CurveCurrencyParameterSensitivities expected = PRICER.ir01BucketedZero(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    CurveCurrencyParameterSensitivities calculated = PRICER.ir01BucketedZeroAnalytic(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    assertMatchesFiniteDifference(calculated, expected);
+  }
+
+  public void test_ir01BucketedZeroAnalytic_calibratedCurves() {
+    NodalCurve yieldCurve = PRICER.calibrateYieldCurve(VAL_DATE, YIELD_CURVE_PAR_RATES);
+    NodalCurve creditCurve = PRICER.calibrateCreditCurve(VAL_DATE, CREDIT_CURVE_PAR_RATES, yieldCurve, RECOVERY_RATE);
+    CurveCurrencyParameterSensitivities expected = PRICER.ir01BucketedZeroAnalytic(
+        PRODUCT, YIELD_CURVE_PAR_RATES, CREDIT_CURVE_PAR_RATES, VAL_DATE, RECOVERY_RATE, 1d);
+    CurveCurrencyParameterSensitivities calculated = PRICER.ir01BucketedZeroAnalytic(
+        PRODUCT, YIELD_CURVE_PAR_RATES, yieldCurve, CREDIT_CURVE_PAR_RATES, creditCurve, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(calculated.equalWithTolerance(expected, TOLERANCE), true);
+  }
+
+  // the finite difference sensitivities use a one basis point bump, so only agree approximately
+  private static void assertMatchesFiniteDifference(
+      CurveCurrencyParameterSensitivities calculated,
+      CurveCurrencyParameterSensitivities expected) {
+
+    assertEquals(calculated.size(), 1);
+    CurveCurrencyParameterSensitivity calculatedSensitivity = calculated.getSensitivities().get(0);
+    CurveCurrencyParameterSensitivity expectedSensitivity = expected.getSensitivities().get(0);
+    assertEquals(calculatedSensitivity.getMetadata(), expectedSensitivity.getMetadata());
+    assertEquals(calculatedSensitivity.getCurrency(), expectedSensitivity.getCurrency());
+    double[] calculatedValues = calculatedSensitivity.getSensitivity();
+    double[] expectedValues = expectedSensitivity.getSensitivity();
+    assertEquals(calculatedValues.length, expectedValues.length);
+    double tolerance = DoubleStream.of(expectedValues).map(Math::abs).max().getAsDouble() * 1e-2;
+    for (int i = 0; i < expectedValues.length; i++) {
+      assertEquals(calculatedValues[i], expectedValues[i], tolerance);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static IsdaYieldCurveParRates yieldCurveParRates() {
+    Period[] periods = periods(
+        "1M", "2M", "3M", "6M", "1Y", "2Y", "3Y", "4Y", "5Y", "6Y",
+        "7Y", "8Y", "9Y", "10Y", "12Y", "15Y", "20Y", "25Y", "30Y");
+    double[] rates = {
+        0.001535, 0.001954, 0.002281, 0.003217, 0.005444, 0.005905, 0.009555, 0.012775, 0.015395, 0.017445,
+        0.019205, 0.020660, 0.021885, 0.022940, 0.024615, 0.026300, 0.027950, 0.028715, 0.029160};
+    LocalDate[] endDates = Stream.of(periods)
+        .map(VAL_DATE::plus)
+        .toArray(LocalDate[]::new);
+    IsdaYieldCurveUnderlyingType[] types = Stream.of(periods)
+        .map(period -> period.toTotalMonths() <= 12 ?
+            IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET :
+            IsdaYieldCurveUnderlyingType.ISDA_SWAP)
+        .toArray(IsdaYieldCurveUnderlyingType[]::new);
+    return IsdaYieldCurveParRates.of(
+        CurveName.of(IsdaYieldCurveConventions.ISDA_USD.getName()),
+        periods,
+        endDates,
+        types,
+        rates,
+        IsdaYieldCurveConventions.ISDA_USD);
+  }
+
+  private static IsdaCreditCurveParRates creditCurveParRates() {
+    Period[] periods = periods("6M", "1Y", "2Y", "3Y", "4Y", "5Y", "7Y", "10Y", "15Y", "20Y", "30Y");
+    double[] rates = {
+        0.0011664, 0.0015065, 0.0027044, 0.0044965, 0.0061096, 0.0083256, 0.0099229, 0.0112823, 0.0114707,
+        0.0116770, 0.0117309};
+    LocalDate[] endDates = Stream.of(periods)
+        .map(period -> CONVENTION.getUnadjustedMaturityDateFromValuationDate(VAL_DATE, period))
+        .toArray(LocalDate[]::new);
+    return IsdaCreditCurveParRates.of(CurveName.of("COMP01"), periods, endDates, rates, CONVENTION, 1d);
+  }
+
+  private static Period[] periods(String... tenors) {
+    return Stream.of(tenors)
+        .map(tenor -> Tenor.parse(tenor).getPeriod())
+        .toArray(Period[]::new);
+  }
+
+}
@@ -191,6 +191,26 @@ public class DiscountingRatePaymentPeriodPricerTest {
     assertEquals(pvComputed, pvExpected, TOLERANCE_PV);
   }
 
+  public void test_presentValue_scenarios() {
+    List<RatesProvider> providers = ImmutableList.of(createProvider(VAL_DATE), createProvider(VAL_DATE));
+    List<RatePaymentPeriod> periods = ImmutableList.of(
+        PAYMENT_PERIOD_1,
+        PAYMENT_PERIOD_1_FX,
+        PAYMENT_PERIOD_1_GS,
+        PAYMENT_PERIOD_FULL_GS,
+        PAYMENT_PERIOD_FULL_GS_FX_USD,
+        PAYMENT_PERIOD_FULL_GS.toBuilder().compoundingMethod(CompoundingMethod.STRAIGHT).build(),
+        PAYMENT_PERIOD_FULL_GS.toBuilder().compoundingMethod(CompoundingMethod.FLAT).build());
+    for (RatePaymentPeriod period : periods) {
+      double[] pvComputed = DiscountingRatePaymentPeriodPricer.DEFAULT.presentValue(period, providers);
+      assertEquals(pvComputed.length, 2);
+      for (int i = 0; i < 2; i++) {
+        double pvExpected = DiscountingRatePaymentPeriodPricer.DEFAULT.presentValue(period, providers.get(i));
+        assertEquals(pvComputed[i], pvExpected, TOLERANCE_PV);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_futureValue_single() {
     SimpleRatesProvider prov = createProvider(VAL_DATE);
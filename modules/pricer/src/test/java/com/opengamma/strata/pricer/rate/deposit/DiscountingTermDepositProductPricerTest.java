@@ -19,6 +19,7 @@ import java.time.LocalDate;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.analytics.math.interpolation.Interpolator1DFactory;
 import com.opengamma.strata.basics.BuySell;
@@ -118,6 +119,17 @@ public class DiscountingTermDepositProductPricerTest {
     assertEquals(computed.getAmount(), 0.0d, TOLERANCE * NOTIONAL);
   }
 
+  public void test_presentValue_scenarios() {
+    SimpleRatesProvider provNotStarted = provider(VAL_DATE, DF_START, DF_END);
+    SimpleRatesProvider provStarted = provider(date(2014, 2, 22), 1.2d, DF_END);
+    SimpleRatesProvider provEnded = provider(date(2014, 9, 22), 1.2d, 1.1d);
+    double[] computed = PRICER.presentValue(TERM_DEPOSIT, ImmutableList.of(provNotStarted, provStarted, provEnded));
+    assertEquals(computed.length, 3);
+    assertEquals(computed[0], PRICER.presentValue(TERM_DEPOSIT, provNotStarted).getAmount(), TOLERANCE * NOTIONAL);
+    assertEquals(computed[1], PRICER.presentValue(TERM_DEPOSIT, provStarted).getAmount(), TOLERANCE * NOTIONAL);
+    assertEquals(computed[2], 0.0d, TOLERANCE * NOTIONAL);
+  }
+
   public void test_presentValueSensitivity() {
     PointSensitivities computed = PRICER.presentValueSensitivity(TERM_DEPOSIT, IMM_PROV);
     CurveCurrencyParameterSensitivities sensiComputed = IMM_PROV.curveParameterSensitivity(computed);
@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate.e2e;
+
+import static com.opengamma.strata.basics.PayReceive.PAY;
+import static com.opengamma.strata.basics.PayReceive.RECEIVE;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.THIRTY_U_360;
+import static com.opengamma.strata.basics.schedule.Frequency.P3M;
+import static com.opengamma.strata.basics.schedule.Frequency.P6M;
+import static com.opengamma.strata.pricer.rate.e2e.SwapEnd2EndTest.BDA_MF;
+import static com.opengamma.strata.pricer.rate.e2e.SwapEnd2EndTest.BDA_P;
+import static com.opengamma.strata.pricer.rate.e2e.SwapEnd2EndTest.NOTIONAL;
+import static com.opengamma.strata.pricer.rate.e2e.SwapEnd2EndTest.USD_LIBOR_3M;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.value.ValueSchedule;
+import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
+import com.opengamma.strata.finance.rate.swap.FixedRateCalculation;
+import com.opengamma.strata.finance.rate.swap.IborRateCalculation;
+import com.opengamma.strata.finance.rate.swap.PaymentSchedule;
+import com.opengamma.strata.finance.rate.swap.RateCalculationSwapLeg;
+import com.opengamma.strata.finance.rate.swap.Swap;
+import com.opengamma.strata.finance.rate.swap.SwapLeg;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.rate.swap.DiscountingSwapProductPricer;
+
+/**
+ * Vague performance test comparing the present value of a swap in many scenarios
+ * calculated one scenario at a time and for all scenarios together.
+ */
+public class SwapScenarioPricePerformance {
+
+  private static final int SCENARIO_COUNT = 1_000;
+
+  public static void main(String[] args) throws Exception {
+    System.out.println("Go");
+    for (int i = 0; i < 12; i++) {
+      if (process() > 0) {
+        System.out.println(i);
+      }
+    }
+  }
+
+  private static double process() {
+    SwapScenarioPricePerformance test = new SwapScenarioPricePerformance();
+    long start = System.nanoTime();
+    double total = 0d;
+    for (int i = 0; i < 100; i++) {
+      total += test.test_perScenario();
+    }
+    long mid = System.nanoTime();
+    for (int i = 0; i < 100; i++) {
+      total -= test.test_allScenarios();
+    }
+    long end = System.nanoTime();
+    System.out.println("Difference: " + total);
+    System.out.println("Per scenario:  " + (mid - start) / 1_000_000_000d + " s");
+    System.out.println("All scenarios: " + (end - mid) / 1_000_000_000d + " s");
+    return total;
+  }
+
+  //-------------------------------------------------------------------------
+  private static final SwapLeg PAY_LEG = RateCalculationSwapLeg.builder()
+      .payReceive(PAY)
+      .accrualSchedule(PeriodicSchedule.builder()
+          .startDate(LocalDate.of(2014, 9, 12))
+          .endDate(LocalDate.of(2021, 9, 12))
+          .frequency(P6M)
+          .businessDayAdjustment(BDA_MF)
+          .build())
+      .paymentSchedule(PaymentSchedule.builder()
+          .paymentFrequency(P6M)
+          .paymentDateOffset(DaysAdjustment.NONE)
+          .build())
+      .notionalSchedule(NOTIONAL)
+      .calculation(FixedRateCalculation.builder()
+          .dayCount(THIRTY_U_360)
+          .rate(ValueSchedule.of(0.015))
+          .build())
+      .build();
+
+  private static final SwapLeg RECEIVE_LEG = RateCalculationSwapLeg.builder()
+      .payReceive(RECEIVE)
+      .accrualSchedule(PeriodicSchedule.builder()
+          .startDate(LocalDate.of(2014, 9, 12))
+          .endDate(LocalDate.of(2021, 9, 12))
+          .frequency(P3M)
+          .businessDayAdjustment(BDA_MF)
+          .build())
+      .paymentSchedule(PaymentSchedule.builder()
+          .paymentFrequency(P3M)
+          .paymentDateOffset(DaysAdjustment.NONE)
+          .build())
+      .notionalSchedule(NOTIONAL)
+      .calculation(IborRateCalculation.builder()
+          .index(USD_LIBOR_3M)
+          .fixingDateOffset(DaysAdjustment.ofBusinessDays(-2, CalendarUSD.NYC, BDA_P))
+          .build())
+      .build();
+
+  private static final ExpandedSwap SWAP = Swap.of(PAY_LEG, RECEIVE_LEG).expand();
+  private static final List<RatesProvider> PROVIDERS =
+      Collections.nCopies(SCENARIO_COUNT, SwapEnd2EndTest.provider());
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  // the present value calculated separately for each scenario
+  public double test_perScenario() {
+    double total = 0d;
+    for (RatesProvider provider : PROVIDERS) {
+      total += PRICER.presentValue(SWAP, USD, provider).getAmount();
+    }
+    return total;
+  }
+
+  // the present value calculated for all scenarios together
+  public double test_allScenarios() {
+    double total = 0d;
+    for (double pv : PRICER.presentValue(SWAP, USD, PROVIDERS)) {
+      total += pv;
+    }
+    return total;
+  }
+
+}
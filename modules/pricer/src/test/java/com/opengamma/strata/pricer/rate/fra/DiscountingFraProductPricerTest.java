@@ -188,6 +188,24 @@ public class DiscountingFraProductPricerTest {
     assertEquals(computed.getAmount(), 0d, TOLERANCE);
   }
 
+  /**
+   * Test present value for multiple rates providers matches the present value for each provider.
+   */
+  public void test_presentValue_scenarios() {
+    DiscountingFraProductPricer test = DiscountingFraProductPricer.DEFAULT;
+    for (Fra fra : ImmutableList.of(FRA, FRA_NONE, FRA_AFMA)) {
+      ExpandedFra fraExp = fra.expand();
+      SimpleRatesProvider prov = createProvider(fraExp);
+      SimpleRatesProvider provInPast = createProvider(fraExp);
+      provInPast.setValuationDate(fraExp.getPaymentDate().plusDays(1));
+
+      double[] computed = test.presentValue(fraExp, ImmutableList.of(prov, provInPast));
+      assertEquals(computed.length, 2);
+      assertEquals(computed[0], test.presentValue(fraExp, prov).getAmount(), TOLERANCE);
+      assertEquals(computed[1], 0d, TOLERANCE);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Test future value sensitivity for ISDA FRA discounting method. 
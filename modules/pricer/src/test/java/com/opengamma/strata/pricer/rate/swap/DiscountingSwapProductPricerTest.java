@@ -46,6 +46,7 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.YearMonth;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -381,6 +382,55 @@ public class DiscountingSwapProductPricerTest {
         pricerSwap.presentValue(expanded, USD, MOCK_PROV));
   }
 
+  public void test_presentValue_withCurrency_scenarios() {
+    RatesProvider mockProv2 = new MockRatesProvider(RatesProviderDataSets.VAL_DATE_2014_01_22);
+    List<RatesProvider> providers = ImmutableList.of(MOCK_PROV, mockProv2);
+    DiscountingSwapProductPricer pricerSwap = new DiscountingSwapProductPricer(scenarioLegPricer(providers));
+    ExpandedSwap expanded = SWAP_CROSS_CURRENCY.expand();
+    double[] computed = pricerSwap.presentValue(expanded, USD, providers);
+    assertEquals(computed.length, 2);
+    assertEquals(computed[0], 1000d * MockRatesProvider.RATE - 500d, TOLERANCE_PV);
+    assertEquals(computed[1], 2000d * MockRatesProvider.RATE - 700d, TOLERANCE_PV);
+  }
+
+  public void test_presentValue_scenarios() {
+    RatesProvider mockProv2 = new MockRatesProvider(RatesProviderDataSets.VAL_DATE_2014_01_22);
+    List<RatesProvider> providers = ImmutableList.of(MOCK_PROV, mockProv2);
+    DiscountingSwapProductPricer pricerSwap = new DiscountingSwapProductPricer(scenarioLegPricer(providers));
+    ExpandedSwap expanded = SWAP_CROSS_CURRENCY.expand();
+    List<MultiCurrencyAmount> computed = pricerSwap.presentValue(expanded, providers);
+    assertEquals(computed, ImmutableList.of(
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1000d), CurrencyAmount.of(USD, -500d)),
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 2000d), CurrencyAmount.of(USD, -700d))));
+  }
+
+  public void test_presentValue_scenarios_singleCurrency() {
+    ExpandedSwap expanded = SWAP.expand();
+    List<RatesProvider> providers = ImmutableList.of(RATES_GBP, RATES_GBP);
+    List<MultiCurrencyAmount> computed = PRICER_SWAP.presentValue(expanded, providers);
+    MultiCurrencyAmount expected = PRICER_SWAP.presentValue(expanded, RATES_GBP);
+    assertEquals(computed.size(), 2);
+    for (MultiCurrencyAmount pv : computed) {
+      assertEquals(pv.getCurrencies(), expected.getCurrencies());
+      assertEquals(pv.getAmount(GBP).getAmount(), expected.getAmount(GBP).getAmount(), TOLERANCE_PV);
+    }
+  }
+
+  // leg pricer whose period and event pricers return fixed present values for the scenario providers
+  private static DiscountingSwapLegPricer scenarioLegPricer(List<RatesProvider> providers) {
+    PaymentPeriodPricer<PaymentPeriod> mockPeriod = mock(PaymentPeriodPricer.class);
+    when(mockPeriod.presentValue(IBOR_RATE_PAYMENT_PERIOD_REC_GBP, providers))
+        .thenReturn(new double[] {1000d, 2000d});
+    when(mockPeriod.presentValue(FIXED_RATE_PAYMENT_PERIOD_PAY_USD, providers))
+        .thenReturn(new double[] {-500d, -700d});
+    PaymentEventPricer<PaymentEvent> mockEvent = mock(PaymentEventPricer.class);
+    when(mockEvent.presentValue(NOTIONAL_EXCHANGE_REC_GBP, providers))
+        .thenReturn(new double[2]);
+    when(mockEvent.presentValue(NOTIONAL_EXCHANGE_PAY_USD, providers))
+        .thenReturn(new double[2]);
+    return new DiscountingSwapLegPricer(mockPeriod, mockEvent);
+  }
+
   public void test_presentValue_inflation() {
     DiscountingSwapLegPricer pricerLeg = DiscountingSwapLegPricer.DEFAULT;
     DiscountingSwapProductPricer pricerSwap = new DiscountingSwapProductPricer(pricerLeg);
@@ -21,6 +21,7 @@ import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -49,6 +50,7 @@ import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.sensitivity.CrossGammaParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
@@ -167,6 +169,78 @@ public class CurveGammaCalculatorTest {
   }
 
   //-------------------------------------------------------------------------
+  // Checks that the cross-gamma of a single curve is consistent with the semi-parallel gamma.
+  public void crossGammaSingleCurve() {
+    ImmutableRatesProvider provider = SINGLE;
+    NodalCurve curve = (NodalCurve) Iterables.getOnlyElement(provider.getDiscountCurves().values());
+    CrossGammaParameterSensitivity crossGamma =
+        GAMMA_CAL.calculateCrossGamma(provider, SINGLE_CURRENCY, p -> buildSensitivities(p));
+    assertEquals(crossGamma.getCurveMetadata().size(), 1);
+    assertEquals(crossGamma.getCurveMetadata().get(0), curve.getMetadata());
+    assertEquals(crossGamma.getCurrency(), SINGLE_CURRENCY);
+    double[] semiParallel = GAMMA_CAL.calculateSemiParallelGamma(
+        curve, SINGLE_CURRENCY, c -> buildSensitivities(c, provider)).getSensitivity();
+    double[][] matrix = crossGamma.getSensitivity();
+    int nbNode = curve.getParameterCount();
+    assertEquals(matrix.length, nbNode);
+    for (int j = 0; j < nbNode; j++) {
+      double sum = 0;
+      for (int i = 0; i < nbNode; i++) {
+        sum += matrix[i][j];
+      }
+      assertEquals(sum, semiParallel[j], TOLERANCE_GAMMA);
+    }
+  }
+
+  // Checks the cross-gamma across several curves, which should be symmetric.
+  public void crossGammaMultiCurve() {
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_USD;
+    CrossGammaParameterSensitivity crossGamma =
+        GAMMA_CAL.calculateCrossGamma(provider, SINGLE_CURRENCY, p -> buildSensitivities(p));
+    // the discounting curve is also the overnight curve, so there are three curves
+    assertEquals(crossGamma.getCurveMetadata().size(), 3);
+    int nbParameters = provider.getDiscountCurves().get(USD).getParameterCount() +
+        provider.getIndexCurves().get(USD_LIBOR_3M).getParameterCount() +
+        provider.getIndexCurves().get(USD_LIBOR_6M).getParameterCount();
+    assertEquals(crossGamma.getParameterCount(), nbParameters);
+    double[][] matrix = crossGamma.getSensitivity();
+    for (int i = 0; i < nbParameters; i++) {
+      for (int j = 0; j < i; j++) {
+        assertEquals(matrix[i][j], matrix[j][i], TOLERANCE_GAMMA);
+      }
+    }
+    // the swap does not depend on the 6M curve
+    double[][] blockL6 =
+        crossGamma.getSensitivity(RatesProviderDataSets.USD_L6_NAME, RatesProviderDataSets.USD_L6_NAME);
+    for (double[] row : blockL6) {
+      for (double value : row) {
+        assertEquals(value, 0d);
+      }
+    }
+  }
+
+  // Checks that the bumped deltas evaluated in parallel in a fork-join pool give the same result.
+  public void crossGammaForkJoinPool() throws Exception {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      CurveGammaCalculator calculator = new CurveGammaCalculator(FiniteDifferenceType.CENTRAL, FD_SHIFT);
+      ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_USD;
+      CrossGammaParameterSensitivity expected =
+          calculator.calculateCrossGamma(provider, SINGLE_CURRENCY, p -> buildSensitivities(p));
+      CrossGammaParameterSensitivity computed = pool.submit(
+          () -> calculator.calculateCrossGamma(provider, SINGLE_CURRENCY, p -> buildSensitivities(p))).get();
+      assertEquals(computed, expected);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static CurveCurrencyParameterSensitivities buildSensitivities(RatesProvider ratesProvider) {
+    PointSensitivities pointSensitivities = PRICER_SWAP.presentValueSensitivity(SWAP, ratesProvider).build();
+    return ratesProvider.curveParameterSensitivity(pointSensitivities);
+  }
+
   private static CurveCurrencyParameterSensitivity buildSensitivities(NodalCurve bumpedCurve, ImmutableRatesProvider ratesProvider) {
     RatesProvider bumpedRatesProvider = ratesProvider.toBuilder()
         .discountCurves(ratesProvider.getDiscountCurves().keySet().stream()
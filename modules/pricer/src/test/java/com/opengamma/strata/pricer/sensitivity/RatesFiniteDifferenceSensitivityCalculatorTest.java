@@ -5,14 +5,22 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.opengamma.analytics.math.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.index.Index;
@@ -20,6 +28,7 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
 import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 
@@ -69,6 +78,69 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_central() {
+    RatesFiniteDifferenceSensitivityCalculator calculator =
+        new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.CENTRAL, 1.0E-4);
+    CurveCurrencyParameterSensitivities sensiComputed = calculator.sensitivity(RatesProviderDataSets.MULTI_USD, this::fn);
+    CurveCurrencyParameterSensitivities sensiExpected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_USD, this::fn);
+    assertTrue(sensiComputed.equalWithTolerance(sensiExpected, TOLERANCE_DELTA));
+  }
+
+  @Test
+  public void sensitivity_backward() {
+    RatesFiniteDifferenceSensitivityCalculator calculator =
+        new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.BACKWARD, 1.0E-4);
+    CurveCurrencyParameterSensitivities sensiComputed = calculator.sensitivity(RatesProviderDataSets.MULTI_USD, this::fn);
+    CurveCurrencyParameterSensitivities sensiExpected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_USD, this::fn);
+    assertTrue(sensiComputed.equalWithTolerance(sensiExpected, TOLERANCE_DELTA));
+  }
+
+  @Test
+  public void sensitivity_multiple_functions() {
+    List<Function<ImmutableRatesProvider, CurrencyAmount>> fns = ImmutableList.of(
+        this::fn, provider -> fn(provider).multipliedBy(2d), provider -> CurrencyAmount.of(EUR, 1d));
+    List<CurveCurrencyParameterSensitivities> sensiComputed = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_USD, fns);
+    assertEquals(sensiComputed.size(), 3);
+    CurveCurrencyParameterSensitivities sensiExpected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_USD, this::fn);
+    assertTrue(sensiComputed.get(0).equalWithTolerance(sensiExpected, TOLERANCE_DELTA));
+    assertTrue(sensiComputed.get(1).equalWithTolerance(sensiExpected.multipliedBy(2d), TOLERANCE_DELTA));
+    CurveCurrencyParameterSensitivities sensiEur = sensiComputed.get(2);
+    assertEquals(sensiEur.size(), 3);
+    for (CurveCurrencyParameterSensitivity sensi : sensiEur.getSensitivities()) {
+      assertEquals(sensi.getCurrency(), EUR);
+      for (double value : sensi.getSensitivity()) {
+        assertEquals(value, 0d, TOLERANCE_DELTA);
+      }
+    }
+  }
+
+  @Test
+  public void sensitivity_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      RatesFiniteDifferenceSensitivityCalculator calculator =
+          new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.FORWARD, 1.0E-4, executor);
+      List<Function<ImmutableRatesProvider, CurrencyAmount>> fns =
+          ImmutableList.of(this::fn, provider -> fn(provider).multipliedBy(2d));
+      List<CurveCurrencyParameterSensitivities> sensiComputed = calculator.sensitivity(RatesProviderDataSets.MULTI_USD, fns);
+      List<CurveCurrencyParameterSensitivities> sensiExpected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_USD, fns);
+      assertEquals(sensiComputed, sensiExpected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void sensitivity_exception() {
+    FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_USD, provider -> {
+      if (provider != RatesProviderDataSets.MULTI_USD) {
+        throw new IllegalArgumentException();
+      }
+      return fn(provider);
+    });
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
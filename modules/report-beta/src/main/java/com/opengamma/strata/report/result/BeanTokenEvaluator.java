@@ -7,8 +7,11 @@ package com.opengamma.strata.report.result;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
 
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.FailureReason;
@@ -35,11 +38,40 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
         .filter(p -> p.toLowerCase().equals(token))
         .findFirst();
     if (propertyName.isPresent()) {
-      Object propertyValue = bean.property(propertyName.get()).get();
-      return propertyValue != null ? Result.success(propertyValue) : Result.failure(FailureReason.INVALID_INPUT,
-          Messages.format("Property '{}' not set", token));
+      return propertyValue(bean.property(propertyName.get()).get(), token);
     }
     return invalidTokenFailure(bean, token);
   }
 
+  /**
+   * Resolves a token against a bean, returning a function that evaluates the token.
+   * <p>
+   * The properties of an immutable bean are defined by its type, so the meta-property
+   * matching the token is found once and used to read the property of each bean.
+   * 
+   * @param bean  a bean of the type against which the token will be evaluated
+   * @param token  the token
+   * @return the function evaluating the token against beans of the same type
+   */
+  @Override
+  public Function<Bean, Result<?>> resolve(Bean bean, String token) {
+    if (!(bean instanceof ImmutableBean)) {
+      return super.resolve(bean, token);
+    }
+    Optional<MetaProperty<?>> metaProperty = bean.metaBean().metaPropertyMap().values().stream()
+        .filter(mp -> mp.name().toLowerCase().equals(token))
+        .findFirst();
+    if (!metaProperty.isPresent()) {
+      return super.resolve(bean, token);
+    }
+    MetaProperty<?> property = metaProperty.get();
+    return obj -> propertyValue(property.get(obj), token);
+  }
+
+  // creates the result for the value of a property
+  static Result<?> propertyValue(Object propertyValue, String token) {
+    return propertyValue != null ? Result.success(propertyValue) : Result.failure(FailureReason.INVALID_INPUT,
+        Messages.format("Property '{}' not set", token));
+  }
+
 }
@@ -8,6 +8,7 @@ package com.opengamma.strata.report.result;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
@@ -44,6 +45,21 @@ public abstract class TokenEvaluator<T> {
    * @return the result of the evaluation
    */
   public abstract Result<?> evaluate(T object, String token);
+
+  /**
+   * Resolves a token against a given object, returning a function that evaluates the token.
+   * <p>
+   * The returned function may be applied to any object of the same type as the given object.
+   * This allows the work of matching the token to be done once for a type, rather than for
+   * every object evaluated. The default implementation evaluates the token against each object.
+   * 
+   * @param object  an object of the type against which the token will be evaluated
+   * @param token  the token
+   * @return the function evaluating the token against objects of the same type
+   */
+  public Function<T, Result<?>> resolve(T object, String token) {
+    return obj -> evaluate(obj, token);
+  }
   
   //-------------------------------------------------------------------------
   /**
@@ -7,10 +7,12 @@ package com.opengamma.strata.report.result;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.joda.beans.Bean;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.Sets;
 import com.opengamma.strata.collect.Messages;
@@ -64,4 +66,41 @@ public class TradeTokenEvaluator extends TokenEvaluator<Trade> {
     return invalidTokenFailure(trade, token);
   }
 
+  /**
+   * Resolves a token against a trade, returning a function that evaluates the token.
+   * <p>
+   * The meta-property of the trade or trade info matching the token is found once
+   * and used to read the property of each trade.
+   * 
+   * @param trade  a trade of the type against which the token will be evaluated
+   * @param token  the token
+   * @return the function evaluating the token against trades of the same type
+   */
+  @Override
+  public Function<Trade, Result<?>> resolve(Trade trade, String token) {
+    // trade
+    Optional<MetaProperty<?>> tradeProperty = findMetaProperty(JodaBeanUtils.metaBean(trade.getClass()), token);
+    if (tradeProperty.isPresent()) {
+      MetaProperty<?> property = tradeProperty.get();
+      return obj -> BeanTokenEvaluator.propertyValue(property.get((Bean) obj), token);
+    }
+
+    // trade info
+    Optional<MetaProperty<?>> infoProperty = findMetaProperty(trade.getTradeInfo().metaBean(), token);
+    if (infoProperty.isPresent()) {
+      MetaProperty<?> property = infoProperty.get();
+      return obj -> BeanTokenEvaluator.propertyValue(property.get(obj.getTradeInfo()), token);
+    }
+
+    // no match
+    return super.resolve(trade, token);
+  }
+
+  // finds the meta-property matching the token, ignoring case
+  private static Optional<MetaProperty<?>> findMetaProperty(MetaBean metaBean, String token) {
+    return metaBean.metaPropertyMap().values().stream()
+        .filter(mp -> mp.name().equalsIgnoreCase(token))
+        .findFirst();
+  }
+
 }
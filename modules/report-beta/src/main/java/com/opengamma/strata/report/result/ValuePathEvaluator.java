@@ -9,14 +9,19 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
@@ -40,6 +45,9 @@ public class ValuePathEvaluator {
   /** The separator used in the value path */
   private static final String PATH_SEPARATOR = "\\.";
 
+  /** The evaluator for each type of object, found from the token evaluators and cached. */
+  private final Map<Class<?>, Optional<TokenEvaluator<Object>>> evaluatorsByType = new ConcurrentHashMap<>();
+
   private final ImmutableList<TokenEvaluator<?>> tokenEvaluators = ImmutableList.of(
       new CurrencyAmountTokenEvaluator(),
       new MapTokenEvaluator(),
@@ -78,6 +86,26 @@ public class ValuePathEvaluator {
    * @return the list of resolved results for each trade
    */
   public List<Result<?>> evaluate(String valuePath, ReportCalculationResults results) {
+    IntFunction<Result<?>> compiledPath = compile(valuePath, results);
+    return IntStream.range(0, results.getCalculationResults().getRowCount())
+        .mapToObj(compiledPath)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Compiles a value path against a set of results, returning a function that resolves
+   * the result for the trade at a given row index.
+   * <p>
+   * The path is parsed once, and each token of the path is resolved once for each type of
+   * object it is evaluated against. For beans, this resolves the token to a meta-property,
+   * so the value of each row is found by following a chain of cached meta-properties.
+   * The function may be called from multiple threads, allowing the rows to be evaluated in parallel.
+   * 
+   * @param valuePath  the value path
+   * @param results  the calculation results
+   * @return the function resolving the result for the trade at a row index
+   */
+  public IntFunction<Result<?>> compile(String valuePath, ReportCalculationResults results) {
     Queue<String> tokens = tokenize(valuePath);
     IntFunction<Result<?>> rootResultSupplier;
     try {
@@ -98,10 +126,7 @@ public class ValuePathEvaluator {
     } catch (Exception ex) {
       rootResultSupplier = i -> Result.failure(FailureReason.INVALID_INPUT, ex.getMessage());
     }
-    return IntStream.range(0, results.getCalculationResults().getRowCount())
-        .mapToObj(rootResultSupplier)
-        .map(r -> evaluate(r, new LinkedList<String>(tokens)))
-        .collect(Collectors.toList());
+    return new CompiledPath(rootResultSupplier, ImmutableList.copyOf(tokens));
   }
 
   /**
@@ -184,43 +209,107 @@ public class ValuePathEvaluator {
     return i -> results.getCalculationResults().get(i, columnIdx);
   }
 
-  // evaluates a sequence of tokens against a result
-  private Result<?> evaluate(Result<?> rootResult, Queue<String> tokens) {
-    Result<?> result = rootResult;
-    while (result.isSuccess() && !tokens.isEmpty()) {
-      result = evaluateValue(result.getValue(), tokens);
-    }
-    return result;
-  }
-
-  // performs a single step of evaluation against an object
-  private Result<?> evaluateValue(Object object, Queue<String> tokens) {
+  // resolves a single step of evaluation against an object
+  // the step applies to any object of the same type, unless the object is a mutable bean
+  private PathStep resolveStep(Object object, List<String> tokens) {
     Optional<TokenEvaluator<Object>> evaluator = getEvaluator(object.getClass());
     if (object instanceof Bean && !isTypeSpecificEvaluator(evaluator)) {
       Bean bean = (Bean) object;
-      if (bean.propertyNames().size() == 1 && !evaluator.get().tokens(bean).contains(tokens.peek())) {
+      if (bean.propertyNames().size() == 1 && !evaluator.get().tokens(bean).contains(tokens.get(0))) {
         // Allow single properties to be skipped over in the value path
         String singlePropertyName = Iterables.getOnlyElement(bean.propertyNames());
-        return Result.success(bean.property(singlePropertyName).get());
+        if (bean instanceof ImmutableBean) {
+          MetaProperty<?> singleProperty = bean.metaBean().metaProperty(singlePropertyName);
+          return new PathStep(obj -> Result.success(singleProperty.get((Bean) obj)), false);
+        }
+        return new PathStep(obj -> Result.success(((Bean) obj).property(singlePropertyName).get()), false);
       }
     }
     if (!evaluator.isPresent()) {
-      return Result.failure(FailureReason.INVALID_INPUT, "Unable to drill into type {} to evaluate: {}",
+      Result<?> failure = Result.failure(FailureReason.INVALID_INPUT, "Unable to drill into type {} to evaluate: {}",
           object.getClass().getSimpleName(), String.join(PATH_SEPARATOR, tokens));
+      return new PathStep(obj -> failure, true);
     }
-    return evaluator.get().evaluate(object, tokens.remove().toLowerCase());
+    return new PathStep(evaluator.get().resolve(object, tokens.get(0).toLowerCase()), true);
   }
 
   @SuppressWarnings("unchecked")
   private Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClazz) {
-    return tokenEvaluators.stream()
-        .filter(e -> e.getTargetType().isAssignableFrom(targetClazz))
+    return evaluatorsByType.computeIfAbsent(targetClazz, clazz -> tokenEvaluators.stream()
+        .filter(e -> e.getTargetType().isAssignableFrom(clazz))
         .map(e -> (TokenEvaluator<Object>) e)
-        .findFirst();
+        .findFirst());
   }
 
   private boolean isTypeSpecificEvaluator(Optional<TokenEvaluator<Object>> evaluator) {
     return evaluator.isPresent() && !Bean.class.equals(evaluator.get().getTargetType());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * A step in the evaluation of a value path, resolved for a type of object.
+   */
+  private static final class PathStep {
+
+    /** The function evaluating the step against an object. */
+    private final Function<Object, Result<?>> function;
+    /** Whether the step consumes a token of the path, false if a single property is skipped over. */
+    private final boolean consumesToken;
+
+    private PathStep(Function<Object, Result<?>> function, boolean consumesToken) {
+      this.function = function;
+      this.consumesToken = consumesToken;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A value path compiled against a set of results.
+   * <p>
+   * The steps of the path are cached for each token position and type of object,
+   * so each token is only resolved once for each type.
+   */
+  private final class CompiledPath implements IntFunction<Result<?>> {
+
+    /** The supplier of the root result for each row. */
+    private final IntFunction<Result<?>> rootResultSupplier;
+    /** The tokens of the path following the root. */
+    private final ImmutableList<String> tokens;
+    /** The resolved steps, keyed by the type of object, for each token position. */
+    private final List<Map<Class<?>, PathStep>> steps;
+
+    private CompiledPath(IntFunction<Result<?>> rootResultSupplier, ImmutableList<String> tokens) {
+      this.rootResultSupplier = rootResultSupplier;
+      this.tokens = tokens;
+      this.steps = tokens.stream()
+          .map(token -> new ConcurrentHashMap<Class<?>, PathStep>())
+          .collect(Collectors.toList());
+    }
+
+    @Override
+    public Result<?> apply(int rowIdx) {
+      Result<?> result = rootResultSupplier.apply(rowIdx);
+      int tokenIdx = 0;
+      while (result.isSuccess() && tokenIdx < tokens.size()) {
+        Object object = result.getValue();
+        PathStep step = step(object, tokenIdx);
+        result = step.function.apply(object);
+        if (step.consumesToken) {
+          tokenIdx++;
+        }
+      }
+      return result;
+    }
+
+    // finds the step for an object at a token position, resolving it if necessary
+    private PathStep step(Object object, int tokenIdx) {
+      List<String> remainingTokens = tokens.subList(tokenIdx, tokens.size());
+      if (object instanceof Bean && !(object instanceof ImmutableBean)) {
+        // the properties of a mutable bean can vary between instances
+        return resolveStep(object, remainingTokens);
+      }
+      return steps.get(tokenIdx).computeIfAbsent(object.getClass(), type -> resolveStep(object, remainingTokens));
+    }
+  }
+
 }
@@ -7,6 +7,7 @@ package com.opengamma.strata.report.trade;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -50,23 +51,14 @@ public class TradeReportRunner implements ReportRunner<TradeReportTemplate> {
         .map(c -> c.getHeader())
         .toArray(i -> new String[i]);
 
-    Result<?>[][] dataTable = new Result<?>[results.getCalculationResults().getRowCount()][reportTemplate
-        .getColumns().size()];
-
-    for (int reportColumnIdx = 0; reportColumnIdx < reportTemplate.getColumns().size(); reportColumnIdx++) {
-      TradeReportColumn reportColumn = reportTemplate.getColumns().get(reportColumnIdx);
-      List<Result<?>> columnResults;
-      if (reportColumn.getValue().isPresent()) {
-        columnResults = valuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
-      } else {
-        columnResults = IntStream.range(0, results.getTrades().size())
-            .mapToObj(i -> Result.failure(FailureReason.INVALID_INPUT, "No value specified in report template"))
-            .collect(Collectors.toList());
-      }
-      for (int rowIdx = 0; rowIdx < dataTable.length; rowIdx++) {
-        dataTable[rowIdx][reportColumnIdx] = columnResults.get(rowIdx);
-      }
-    }
+    // the value path of each column is compiled once, then the rows are evaluated in parallel
+    List<IntFunction<Result<?>>> columnEvaluators = reportTemplate.getColumns().stream()
+        .map(c -> compileColumn(c, results))
+        .collect(Collectors.toList());
+    Result<?>[][] dataTable = new Result<?>[results.getCalculationResults().getRowCount()][];
+    IntStream.range(0, dataTable.length)
+        .parallel()
+        .forEach(rowIdx -> dataTable[rowIdx] = evaluateRow(rowIdx, columnEvaluators));
 
     return TradeReport.builder()
         .runInstant(Instant.now())
@@ -77,4 +69,23 @@ public class TradeReportRunner implements ReportRunner<TradeReportTemplate> {
         .build();
   }
 
+  //-------------------------------------------------------------------------
+  // compiles the value path of a column into a function evaluating the value for a row
+  private IntFunction<Result<?>> compileColumn(TradeReportColumn reportColumn, ReportCalculationResults results) {
+    if (!reportColumn.getValue().isPresent()) {
+      Result<?> failure = Result.failure(FailureReason.INVALID_INPUT, "No value specified in report template");
+      return i -> failure;
+    }
+    return valuePathEvaluator.compile(reportColumn.getValue().get(), results);
+  }
+
+  // evaluates the values of all the columns for a row
+  private static Result<?>[] evaluateRow(int rowIdx, List<IntFunction<Result<?>>> columnEvaluators) {
+    Result<?>[] row = new Result<?>[columnEvaluators.size()];
+    for (int colIdx = 0; colIdx < row.length; colIdx++) {
+      row[colIdx] = columnEvaluators.get(colIdx).apply(rowIdx);
+    }
+    return row;
+  }
+
 }
@@ -0,0 +1,266 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.result;
+
+import static com.opengamma.strata.basics.BuySell.BUY;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.joda.beans.Bean;
+import org.joda.beans.impl.flexi.FlexiBean;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.config.Measure;
+import com.opengamma.strata.finance.Trade;
+import com.opengamma.strata.finance.TradeInfo;
+import com.opengamma.strata.finance.rate.deposit.TermDeposit;
+import com.opengamma.strata.finance.rate.deposit.TermDepositTrade;
+import com.opengamma.strata.finance.rate.fra.Fra;
+import com.opengamma.strata.finance.rate.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link ValuePathEvaluator}.
+ */
+@Test
+public class ValuePathEvaluatorTest {
+
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2015, 6, 1);
+  private static final Measure CUSTOM = Measure.of("Custom");
+  private static final StandardId COUNTERPARTY = StandardId.of("OG-Counterparty", "A");
+
+  private static final FraTrade FRA_TRADE = FraTrade.builder()
+      .tradeInfo(TradeInfo.builder().counterparty(COUNTERPARTY).tradeDate(VALUATION_DATE).build())
+      .product(Fra.builder()
+          .buySell(BUY)
+          .notional(1_000_000d)
+          .startDate(LocalDate.of(2015, 9, 15))
+          .endDate(LocalDate.of(2015, 12, 15))
+          .fixedRate(0.02d)
+          .index(GBP_LIBOR_3M)
+          .build())
+      .build();
+  private static final TermDepositTrade DEPOSIT_TRADE = TermDepositTrade.builder()
+      .tradeInfo(TradeInfo.builder().tradeDate(VALUATION_DATE).build())
+      .product(TermDeposit.builder()
+          .buySell(BUY)
+          .currency(GBP)
+          .notional(1_000_000d)
+          .startDate(LocalDate.of(2015, 6, 3))
+          .endDate(LocalDate.of(2015, 9, 3))
+          .dayCount(ACT_365F)
+          .rate(0.01d)
+          .build())
+      .build();
+
+  private static final ReportCalculationResults RESULTS = results(3);
+
+  /** Paths covering each root, the type-specific evaluators, and failures. */
+  private static final List<String> PATHS = ImmutableList.of(
+      "Trade",
+      "Trade.counterparty",
+      "Trade.tradeDate",
+      "Trade.product.startDate",
+      "Product.startDate",
+      "Product.currency",
+      "Product.index",
+      "Product.foo",
+      "Measures.PresentValue",
+      "Measures.PresentValue.GBP",
+      "Measures.PresentValue.GBP.amount",
+      "Measures.PresentValue.GBP.currency",
+      "Measures.PresentValue.amounts.USD",
+      "Measures.PresentValue.USD",
+      "Measures.Custom.a",
+      "Measures.Custom.b",
+      "Measures.Unknown",
+      "Foo.bar");
+
+  //-------------------------------------------------------------------------
+  public void compile_matchesPerCellEvaluation() {
+    ValuePathEvaluator evaluator = new ValuePathEvaluator();
+    for (String path : PATHS) {
+      IntFunction<Result<?>> compiled = evaluator.compile(path, RESULTS);
+      List<Result<?>> evaluated = evaluator.evaluate(path, RESULTS);
+      for (int row = 0; row < RESULTS.getTrades().size(); row++) {
+        // a new evaluator and path for each cell, so nothing resolved for one row is used for another
+        Result<?> perCell = new ValuePathEvaluator().compile(path, RESULTS).apply(row);
+        assertSameResult(compiled.apply(row), perCell, path);
+        assertSameResult(evaluated.get(row), perCell, path);
+      }
+    }
+  }
+
+  public void compile_differentTradeTypes() {
+    IntFunction<Result<?>> startDate = new ValuePathEvaluator().compile("Product.startDate", RESULTS);
+    // evaluate the deposit first, so the step for the FRA is resolved after the step for the deposit
+    assertEquals(startDate.apply(1).getValue(), LocalDate.of(2015, 6, 3));
+    assertEquals(startDate.apply(0).getValue(), LocalDate.of(2015, 9, 15));
+
+    IntFunction<Result<?>> index = new ValuePathEvaluator().compile("Product.index", RESULTS);
+    assertEquals(index.apply(0).getValue(), GBP_LIBOR_3M);
+    assertFailure(index.apply(1), "Invalid field: index.*");
+
+    IntFunction<Result<?>> counterparty = new ValuePathEvaluator().compile("Trade.counterparty", RESULTS);
+    assertEquals(counterparty.apply(0).getValue(), COUNTERPARTY);
+    assertFailure(counterparty.apply(1), "Property 'counterparty' not set");
+  }
+
+  public void compile_mutableBeans() {
+    IntFunction<Result<?>> a = new ValuePathEvaluator().compile("Measures.Custom.a", RESULTS);
+    assertEquals(a.apply(0).getValue(), "x");
+    assertEquals(a.apply(1).getValue(), "y");
+    assertEquals(a.apply(2).getValue(), "w");
+
+    // the properties of mutable beans of the same type differ, so each bean is resolved separately
+    IntFunction<Result<?>> b = new ValuePathEvaluator().compile("Measures.Custom.b", RESULTS);
+    assertEquals(b.apply(1).getValue(), "z");
+    // a bean with one property is skipped over, and the token can't be evaluated against its value
+    assertFailure(b.apply(0), "Unable to drill into type String.*");
+    assertEquals(b.apply(1).getValue(), "z");
+  }
+
+  public void compile_singlePropertySkipped() {
+    ValuePathEvaluator evaluator = new ValuePathEvaluator();
+    IntFunction<Result<?>> skipped = evaluator.compile("Measures.PresentValue.GBP", RESULTS);
+    IntFunction<Result<?>> explicit = evaluator.compile("Measures.PresentValue.amounts.GBP", RESULTS);
+    assertEquals(skipped.apply(0).getValue(), CurrencyAmount.of(GBP, 10d));
+    assertEquals(skipped.apply(1).getValue(), CurrencyAmount.of(GBP, 30d));
+    assertEquals(explicit.apply(0).getValue(), skipped.apply(0).getValue());
+    assertEquals(explicit.apply(1).getValue(), skipped.apply(1).getValue());
+    // the failed calculation is returned
+    assertFailure(skipped.apply(2), "Calculation failed");
+  }
+
+  public void compile_missingTokens() {
+    ValuePathEvaluator evaluator = new ValuePathEvaluator();
+    assertFailure(evaluator.compile("Product.foo", RESULTS).apply(0), "Invalid field: foo.*");
+    assertFailure(evaluator.compile("Measures.PresentValue.USD", RESULTS).apply(1), "Invalid field: usd.*");
+    assertFailure(evaluator.compile("Measures.Unknown", RESULTS).apply(0), "Measure not present: Unknown");
+    assertFailure(evaluator.compile("Measures", RESULTS).apply(0), "No measure specified.*");
+    assertFailure(evaluator.compile("Foo.bar", RESULTS).apply(0), "Invalid root: Foo.*");
+    // a path with no tokens after the root returns the root
+    assertEquals(evaluator.compile("Trade", RESULTS).apply(0).getValue(), FRA_TRADE);
+  }
+
+  public void compile_parallelRows() {
+    ReportCalculationResults results = results(300);
+    for (String path : PATHS) {
+      IntFunction<Result<?>> compiled = new ValuePathEvaluator().compile(path, results);
+      List<Result<?>> parallel = IntStream.range(0, results.getTrades().size())
+          .parallel()
+          .mapToObj(compiled)
+          .collect(Collectors.toList());
+      for (int row = 0; row < results.getTrades().size(); row++) {
+        assertSameResult(parallel.get(row), new ValuePathEvaluator().compile(path, results).apply(row), path);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void resolve_trade() {
+    TradeTokenEvaluator evaluator = new TradeTokenEvaluator();
+    for (String token : ImmutableList.of("product", "counterparty", "tradedate", "foo")) {
+      Function<Trade, Result<?>> resolved = evaluator.resolve(FRA_TRADE, token);
+      assertSameResult(resolved.apply(FRA_TRADE), evaluator.evaluate(FRA_TRADE, token), token);
+    }
+    // the trade info property resolved against one trade is read from another
+    Function<Trade, Result<?>> counterparty = evaluator.resolve(FRA_TRADE, "counterparty");
+    assertFailure(counterparty.apply(DEPOSIT_TRADE), "Property 'counterparty' not set");
+  }
+
+  public void resolve_bean() {
+    BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
+    Fra fra = FRA_TRADE.getProduct();
+    for (String token : ImmutableList.of("startdate", "index", "foo")) {
+      Function<Bean, Result<?>> resolved = evaluator.resolve(fra, token);
+      assertSameResult(resolved.apply(fra), evaluator.evaluate(fra, token), token);
+    }
+    // a mutable bean is evaluated against each bean, as the properties may differ
+    Function<Bean, Result<?>> b = evaluator.resolve(flexiBean("a", "x"), "b");
+    assertEquals(b.apply(flexiBean("a", "y", "b", "z")).getValue(), "z");
+  }
+
+  //-------------------------------------------------------------------------
+  // creates results for the trades and values, repeated in turn to fill the rows
+  private static ReportCalculationResults results(int rowCount) {
+    List<Trade> trades = new ArrayList<>();
+    List<Result<?>> items = new ArrayList<>();
+    for (int row = 0; row < rowCount; row++) {
+      switch (row % 3) {
+        case 0:
+          trades.add(FRA_TRADE);
+          items.add(Result.success(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 10d), CurrencyAmount.of(USD, 20d))));
+          items.add(Result.success(flexiBean("a", "x")));
+          break;
+        case 1:
+          trades.add(DEPOSIT_TRADE);
+          items.add(Result.success(MultiCurrencyAmount.of(GBP, 30d)));
+          items.add(Result.success(flexiBean("a", "y", "b", "z")));
+          break;
+        default:
+          trades.add(FRA_TRADE);
+          items.add(Result.failure(FailureReason.CALCULATION_FAILED, "Calculation failed"));
+          items.add(Result.success(flexiBean("a", "w")));
+          break;
+      }
+    }
+    Results calculationResults = Results.builder()
+        .rowCount(rowCount)
+        .columnCount(2)
+        .items(items)
+        .build();
+    List<Column> columns = ImmutableList.of(Column.of(Measure.PRESENT_VALUE), Column.of(CUSTOM));
+    return ReportCalculationResults.of(VALUATION_DATE, trades, columns, calculationResults);
+  }
+
+  // creates a mutable bean with the specified property names and values
+  private static FlexiBean flexiBean(String... namesAndValues) {
+    FlexiBean bean = new FlexiBean();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      bean.set(namesAndValues[i], namesAndValues[i + 1]);
+    }
+    return bean;
+  }
+
+  // compares results, ignoring the stack traces of failures
+  private static void assertSameResult(Result<?> actual, Result<?> expected, String path) {
+    assertEquals(actual.isSuccess(), expected.isSuccess(), path);
+    if (expected.isSuccess()) {
+      assertEquals(actual.getValue(), expected.getValue(), path);
+    } else {
+      assertEquals(actual.getFailure().getReason(), expected.getFailure().getReason(), path);
+      assertEquals(actual.getFailure().getMessage(), expected.getFailure().getMessage(), path);
+    }
+  }
+
+  private static void assertFailure(Result<?> result, String messageRegex) {
+    assertTrue(result.isFailure());
+    String message = result.getFailure().getMessage();
+    assertTrue(message.matches(messageRegex), message);
+  }
+
+}